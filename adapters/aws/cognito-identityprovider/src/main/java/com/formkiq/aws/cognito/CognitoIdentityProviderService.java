@@ -131,10 +131,21 @@ public class CognitoIdentityProviderService {
    * @param builder {@link CognitoIdentityProviderConnectionBuilder}
    */
   public CognitoIdentityProviderService(final CognitoIdentityProviderConnectionBuilder builder) {
-    this.cognitoProvider = builder.build();
+    this(builder.build(), builder.getClientId(), builder.getUserPoolId());
+  }
 
-    this.clientId = builder.getClientId();
-    this.userPoolId = builder.getUserPoolId();
+  /**
+   * Constructor.
+   *
+   * @param client {@link CognitoIdentityProviderClient}
+   * @param cognitoClientId {@link String}
+   * @param cognitoUserPoolId {@link String}
+   */
+  public CognitoIdentityProviderService(final CognitoIdentityProviderClient client,
+      final String cognitoClientId, final String cognitoUserPoolId) {
+    this.cognitoProvider = client;
+    this.clientId = cognitoClientId;
+    this.userPoolId = cognitoUserPoolId;
   }
 
   /**
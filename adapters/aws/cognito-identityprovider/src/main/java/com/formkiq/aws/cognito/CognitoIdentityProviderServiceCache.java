@@ -0,0 +1,300 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.cognito;
+
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminConfirmSignUpResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminSetUserPasswordResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminUpdateUserAttributesResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.CreateGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GetGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListGroupsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 
+ * Read-through cache for {@link CognitoIdentityProviderService} group and user lookups. Concurrent
+ * identical lookups share a single Cognito request and any mutating call clears the cache.
+ *
+ */
+public class CognitoIdentityProviderServiceCache extends CognitoIdentityProviderService {
+
+  /** Maximum number of cached lookups. */
+  private static final int MAX_ENTRIES = 1000;
+
+  /** Cached Lookup. */
+  private record Cached(Object value, long expiresAtMs) {
+  }
+
+  /** Lookup cache. */
+  private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+  /** Lookups currently in flight. */
+  private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation, so stale in flight lookups are not cached. */
+  private final AtomicLong generation = new AtomicLong();
+  /** Cache TTL in milliseconds. */
+  private final long cacheTtl;
+
+  /**
+   * Constructor.
+   *
+   * @param builder {@link CognitoIdentityProviderConnectionBuilder}
+   * @param cacheTtlMs cache TTL in milliseconds
+   */
+  public CognitoIdentityProviderServiceCache(final CognitoIdentityProviderConnectionBuilder builder,
+      final long cacheTtlMs) {
+    this(builder.build(), builder.getClientId(), builder.getUserPoolId(), cacheTtlMs);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param client {@link CognitoIdentityProviderClient}
+   * @param cognitoClientId {@link String}
+   * @param cognitoUserPoolId {@link String}
+   * @param cacheTtlMs cache TTL in milliseconds
+   */
+  public CognitoIdentityProviderServiceCache(final CognitoIdentityProviderClient client,
+      final String cognitoClientId, final String cognitoUserPoolId, final long cacheTtlMs) {
+    super(client, cognitoClientId, cognitoUserPoolId);
+    this.cacheTtl = cacheTtlMs;
+  }
+
+  @Override
+  public CreateGroupResponse addGroup(final String groupName, final String groupDescription) {
+    try {
+      return super.addGroup(groupName, groupDescription);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public UserType addUser(final String username, final String temporaryPassword,
+      final Map<String, String> userAttributes, final boolean emailVerified) {
+    try {
+      return super.addUser(username, temporaryPassword, userAttributes, emailVerified);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void addUserToGroup(final String email, final String groupname) {
+    try {
+      super.addUserToGroup(email, groupname);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public AdminConfirmSignUpResponse confirmSignUp(final String username) {
+    try {
+      return super.confirmSignUp(username);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void deleteGroup(final String groupName) {
+    try {
+      super.deleteGroup(groupName);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void deleteUser(final String username) {
+    try {
+      super.deleteUser(username);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void disableUser(final String username) {
+    try {
+      super.disableUser(username);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void enableUser(final String username) {
+    try {
+      super.enableUser(username);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public ListUsersResponse findUserByEmail(final String email) {
+    return get("email#" + email, () -> super.findUserByEmail(email));
+  }
+
+  /**
+   * Get cached value or load it, sharing the load with any concurrent identical lookup.
+   *
+   * @param <T> Type of value
+   * @param key {@link String}
+   * @param loader {@link Supplier}
+   * @return T
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T get(final String key, final Supplier<T> loader) {
+
+    Cached cached = this.cache.get(key);
+    if (cached != null && cached.expiresAtMs() > System.currentTimeMillis()) {
+      return (T) cached.value();
+    }
+
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    CompletableFuture<Object> existing = this.inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return (T) join(existing);
+    }
+
+    long startGeneration = this.generation.get();
+
+    try {
+      T value = loader.get();
+
+      if (this.cacheTtl > 0 && startGeneration == this.generation.get()) {
+        if (this.cache.size() >= MAX_ENTRIES) {
+          this.cache.clear();
+        }
+        this.cache.put(key, new Cached(value, System.currentTimeMillis() + this.cacheTtl));
+      }
+
+      future.complete(value);
+      return value;
+
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      this.inFlight.remove(key, future);
+    }
+  }
+
+  @Override
+  public GetGroupResponse getGroup(final String groupName) {
+    return get("group#" + groupName, () -> super.getGroup(groupName));
+  }
+
+  /**
+   * Clear all cached lookups.
+   */
+  public void invalidate() {
+    this.generation.incrementAndGet();
+    this.inFlight.clear();
+    this.cache.clear();
+  }
+
+  private Object join(final CompletableFuture<Object> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public ListGroupsResponse listGroups(final String token, final Integer limit) {
+    return get("groups#" + token + "#" + limit, () -> super.listGroups(token, limit));
+  }
+
+  @Override
+  public AdminListGroupsForUserResponse listGroups(final String username, final String token,
+      final Integer limit) {
+    return get("userGroups#" + username + "#" + token + "#" + limit,
+        () -> super.listGroups(username, token, limit));
+  }
+
+  @Override
+  public ListUsersInGroupResponse listUsersInGroup(final String groupName, final String token,
+      final Integer limit) {
+    return get("groupUsers#" + groupName + "#" + token + "#" + limit,
+        () -> super.listUsersInGroup(groupName, token, limit));
+  }
+
+  @Override
+  public void removeUserFromGroup(final String username, final String groupname) {
+    try {
+      super.removeUserFromGroup(username, groupname);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void resetUserPassword(final String username) {
+    try {
+      super.resetUserPassword(username);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public AdminSetUserPasswordResponse setUserPassword(final String username, final String password,
+      final boolean permanent) {
+    try {
+      return super.setUserPassword(username, password, permanent);
+    } finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public AdminUpdateUserAttributesResponse updateUserAttributes(final String username,
+      final Collection<AttributeType> userAttributes) {
+    try {
+      return super.updateUserAttributes(username, userAttributes);
+    } finally {
+      invalidate();
+    }
+  }
+}
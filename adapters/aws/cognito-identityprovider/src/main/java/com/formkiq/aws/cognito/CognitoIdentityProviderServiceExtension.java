@@ -37,6 +37,11 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 public class CognitoIdentityProviderServiceExtension
     implements AwsServiceExtension<CognitoIdentityProviderService> {
 
+  /** Environment variable for Cognito lookup cache TTL. */
+  private static final String CACHE_TTL_MS = "COGNITO_CACHE_TTL_MS";
+  /** Default Cognito lookup cache TTL in milliseconds. */
+  private static final long DEFAULT_CACHE_TTL_MS = 15000L;
+
   /** {@link CognitoIdentityProviderService}. */
   private CognitoIdentityProviderService service;
 
@@ -60,7 +65,10 @@ public class CognitoIdentityProviderServiceExtension
           new CognitoIdentityProviderConnectionBuilder(cognitoClientId, cognitoUserPoolId)
               .setRegion(serviceCache.region()).setCredentials(cred);
 
-      this.service = new CognitoIdentityProviderService(connection);
+      long cacheTtlMs = serviceCache.environmentLong(CACHE_TTL_MS, DEFAULT_CACHE_TTL_MS);
+      this.service = cacheTtlMs > 0
+          ? new CognitoIdentityProviderServiceCache(connection, cacheTtlMs)
+          : new CognitoIdentityProviderService(connection);
     }
 
     return this.service;
@@ -0,0 +1,183 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.cognito;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GetGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 
+ * Unit Tests for {@link CognitoIdentityProviderServiceCache}.
+ *
+ */
+public class CognitoIdentityProviderServiceCacheTest {
+
+  /** Cache TTL. */
+  private static final long CACHE_TTL_MS = 60000L;
+
+  /** {@link InMemoryCognitoIdentityProviderClient}. */
+  private InMemoryCognitoIdentityProviderClient client;
+  /** {@link CognitoIdentityProviderServiceCache}. */
+  private CognitoIdentityProviderServiceCache service;
+
+  /**
+   * Before Each.
+   */
+  @BeforeEach
+  public void beforeEach() {
+    this.client = new InMemoryCognitoIdentityProviderClient();
+    this.service =
+        new CognitoIdentityProviderServiceCache(this.client, "clientId", "userPoolId", CACHE_TTL_MS);
+    this.service.addGroup("admins", "");
+    this.service.addUserToGroup("joe@formkiq.com", "admins");
+  }
+
+  /**
+   * Repeated lookups only call Cognito once.
+   */
+  @Test
+  public void testCachedLookups01() {
+    // given
+    final int count = 5;
+
+    // when
+    for (int i = 0; i < count; i++) {
+      assertEquals("admins", this.service.getGroup("admins").group().groupName());
+      assertEquals(1, this.service.listGroups(null, null).groups().size());
+      assertEquals(1, this.service.listUsersInGroup("admins", null, null).users().size());
+      assertEquals(1, this.service.findUserByEmail("joe@formkiq.com").users().size());
+      assertEquals(1, this.service.listGroups("joe@formkiq.com", null, null).groups().size());
+    }
+
+    // then
+    assertEquals(1, this.client.getRequestCount("GetGroup"));
+    assertEquals(1, this.client.getRequestCount("ListGroups"));
+    assertEquals(1, this.client.getRequestCount("ListUsersInGroup"));
+    assertEquals(1, this.client.getRequestCount("ListUsers"));
+    assertEquals(1, this.client.getRequestCount("AdminListGroupsForUser"));
+  }
+
+  /**
+   * Mutating calls invalidate cached lookups.
+   */
+  @Test
+  public void testInvalidate01() {
+    // given
+    assertEquals(1, this.service.listUsersInGroup("admins", null, null).users().size());
+    assertEquals(1, this.service.listGroups("joe@formkiq.com", null, null).groups().size());
+
+    // when
+    this.service.removeUserFromGroup("joe@formkiq.com", "admins");
+
+    // then
+    assertEquals(0, this.service.listUsersInGroup("admins", null, null).users().size());
+    assertEquals(0, this.service.listGroups("joe@formkiq.com", null, null).groups().size());
+    assertEquals(2, this.client.getRequestCount("ListUsersInGroup"));
+    assertEquals(2, this.client.getRequestCount("AdminListGroupsForUser"));
+
+    // when
+    this.service.getGroup("admins");
+    this.service.deleteGroup("admins");
+
+    // then
+    assertThrows(ResourceNotFoundException.class, () -> this.service.getGroup("admins"));
+    assertEquals(2, this.client.getRequestCount("GetGroup"));
+  }
+
+  /**
+   * Failed lookups are not cached.
+   */
+  @Test
+  public void testNotFound01() {
+    // given
+    // when
+    assertThrows(ResourceNotFoundException.class, () -> this.service.getGroup("missing"));
+    assertThrows(ResourceNotFoundException.class, () -> this.service.getGroup("missing"));
+
+    // then
+    assertEquals(2, this.client.getRequestCount("GetGroup"));
+  }
+
+  /**
+   * Concurrent identical lookups share one Cognito request.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  public void testConcurrentLookups01() throws Exception {
+    // given
+    final int threads = 8;
+    CountDownLatch release = new CountDownLatch(1);
+    this.client.setGetGroupRelease(release);
+
+    List<Future<GetGroupResponse>> futures = new ArrayList<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+
+      // when
+      futures.add(executor.submit(() -> this.service.getGroup("admins")));
+      assertTrue(this.client.getGroupStarted().await(1, TimeUnit.MINUTES));
+
+      for (int i = 1; i < threads; i++) {
+        futures.add(executor.submit(() -> this.service.getGroup("admins")));
+      }
+
+      // give the other lookups time to join the in flight request
+      TimeUnit.MILLISECONDS.sleep(threads * threads);
+      release.countDown();
+
+      // then
+      for (Future<GetGroupResponse> future : futures) {
+        assertEquals("admins", getGroupName(future));
+      }
+
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(1, this.client.getRequestCount("GetGroup"));
+  }
+
+  private String getGroupName(final Future<GetGroupResponse> future)
+      throws InterruptedException, ExecutionException {
+    return future.get().group().groupName();
+  }
+}
@@ -0,0 +1,219 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.cognito;
+
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminAddUserToGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminListGroupsForUserResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminRemoveUserFromGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.CreateGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.CreateGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.DeleteGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.DeleteGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GetGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GetGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListGroupsRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListGroupsResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersInGroupResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersRequest;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 
+ * In-memory {@link CognitoIdentityProviderClient} stand-in that counts the number of Cognito
+ * requests made.
+ *
+ */
+public class InMemoryCognitoIdentityProviderClient implements CognitoIdentityProviderClient {
+
+  /** Group name to members. */
+  private final Map<String, Set<String>> groups = new TreeMap<>();
+  /** Request counts by operation. */
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+  /** {@link CountDownLatch} signalled when a GetGroup request starts. */
+  private final CountDownLatch getGroupStarted = new CountDownLatch(1);
+  /** {@link CountDownLatch} GetGroup requests wait on, if set. */
+  private volatile CountDownLatch getGroupRelease;
+
+  /**
+   * constructor.
+   */
+  public InMemoryCognitoIdentityProviderClient() {}
+
+  @Override
+  public synchronized AdminAddUserToGroupResponse adminAddUserToGroup(
+      final AdminAddUserToGroupRequest request) {
+    count("AdminAddUserToGroup");
+    members(request.groupName()).add(request.username());
+    return AdminAddUserToGroupResponse.builder().build();
+  }
+
+  @Override
+  public synchronized AdminListGroupsForUserResponse adminListGroupsForUser(
+      final AdminListGroupsForUserRequest request) {
+    count("AdminListGroupsForUser");
+    List<GroupType> list = this.groups.entrySet().stream()
+        .filter(e -> e.getValue().contains(request.username()))
+        .map(e -> GroupType.builder().groupName(e.getKey()).build()).toList();
+    return AdminListGroupsForUserResponse.builder().groups(list).build();
+  }
+
+  @Override
+  public synchronized AdminRemoveUserFromGroupResponse adminRemoveUserFromGroup(
+      final AdminRemoveUserFromGroupRequest request) {
+    count("AdminRemoveUserFromGroup");
+    members(request.groupName()).remove(request.username());
+    return AdminRemoveUserFromGroupResponse.builder().build();
+  }
+
+  @Override
+  public void close() {
+    // nothing to close
+  }
+
+  private void count(final String operation) {
+    this.requests.computeIfAbsent(operation, k -> new AtomicInteger()).incrementAndGet();
+  }
+
+  @Override
+  public synchronized CreateGroupResponse createGroup(final CreateGroupRequest request) {
+    count("CreateGroup");
+    this.groups.putIfAbsent(request.groupName(), new TreeSet<>());
+    return CreateGroupResponse.builder()
+        .group(GroupType.builder().groupName(request.groupName()).build()).build();
+  }
+
+  @Override
+  public synchronized DeleteGroupResponse deleteGroup(final DeleteGroupRequest request) {
+    count("DeleteGroup");
+    members(request.groupName());
+    this.groups.remove(request.groupName());
+    return DeleteGroupResponse.builder().build();
+  }
+
+  @Override
+  public GetGroupResponse getGroup(final GetGroupRequest request) {
+    count("GetGroup");
+    this.getGroupStarted.countDown();
+
+    CountDownLatch release = this.getGroupRelease;
+    if (release != null) {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    synchronized (this) {
+      members(request.groupName());
+      return GetGroupResponse.builder()
+          .group(GroupType.builder().groupName(request.groupName()).build()).build();
+    }
+  }
+
+  /**
+   * Get {@link CountDownLatch} signalled when a GetGroup request starts.
+   *
+   * @return {@link CountDownLatch}
+   */
+  public CountDownLatch getGroupStarted() {
+    return this.getGroupStarted;
+  }
+
+  /**
+   * Get number of requests made for an operation.
+   *
+   * @param operation {@link String}
+   * @return int
+   */
+  public int getRequestCount(final String operation) {
+    AtomicInteger count = this.requests.get(operation);
+    return count != null ? count.get() : 0;
+  }
+
+  @Override
+  public synchronized ListGroupsResponse listGroups(final ListGroupsRequest request) {
+    count("ListGroups");
+    List<GroupType> list =
+        this.groups.keySet().stream().map(g -> GroupType.builder().groupName(g).build()).toList();
+    return ListGroupsResponse.builder().groups(list).build();
+  }
+
+  @Override
+  public synchronized ListUsersResponse listUsers(final ListUsersRequest request) {
+    count("ListUsers");
+    List<UserType> list = this.groups.values().stream().flatMap(Set::stream).distinct()
+        .filter(u -> request.filter() == null || request.filter().equals("email=\"" + u + "\""))
+        .map(u -> UserType.builder().username(u).build()).toList();
+    return ListUsersResponse.builder().users(list).build();
+  }
+
+  @Override
+  public synchronized ListUsersInGroupResponse listUsersInGroup(
+      final ListUsersInGroupRequest request) {
+    count("ListUsersInGroup");
+    List<UserType> list = members(request.groupName()).stream()
+        .map(u -> UserType.builder().username(u).build()).toList();
+    return ListUsersInGroupResponse.builder().users(list).build();
+  }
+
+  private Set<String> members(final String groupName) {
+    Set<String> members = this.groups.get(groupName);
+    if (members == null) {
+      throw ResourceNotFoundException.builder().message("Group not found.").build();
+    }
+    return members;
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+
+  /**
+   * Make GetGroup requests wait until the {@link CountDownLatch} is released.
+   *
+   * @param latch {@link CountDownLatch}
+   */
+  public void setGetGroupRelease(final CountDownLatch latch) {
+    this.getGroupRelease = latch;
+  }
+}
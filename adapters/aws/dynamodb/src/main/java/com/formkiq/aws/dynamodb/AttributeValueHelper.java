@@ -27,7 +27,6 @@ import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
 
@@ -50,8 +49,7 @@ public class AttributeValueHelper {
   public static void addDateIfNotNull(final Map<String, AttributeValue> map, final String key,
       final Date value) {
     if (value != null) {
-      SimpleDateFormat df = DateUtil.getIsoDateFormatter();
-      map.put(key, AttributeValue.fromS(df.format(value)));
+      map.put(key, AttributeValue.fromS(DateUtil.formatIsoDate(value)));
     }
   }
 
@@ -125,8 +123,7 @@ public class AttributeValueHelper {
 
     if (!isEmpty(date)) {
       try {
-        SimpleDateFormat df = DateUtil.getIsoDateFormatter();
-        returnDate = df.parse(date);
+        returnDate = DateUtil.parseIsoDate(date);
       } catch (ParseException e) {
         // ignore
       }
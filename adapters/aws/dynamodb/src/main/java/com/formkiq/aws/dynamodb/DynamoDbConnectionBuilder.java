@@ -24,6 +24,9 @@
 package com.formkiq.aws.dynamodb;
 
 import java.net.URI;
+
+import com.formkiq.module.lambdaservices.metrics.MetricsExecutionInterceptor;
+
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
@@ -52,7 +55,8 @@ public class DynamoDbConnectionBuilder {
    * @param enableAwsXray Enables AWS X-Ray
    */
   public DynamoDbConnectionBuilder(final boolean enableAwsXray) {
-    Builder clientConfig = ClientOverrideConfiguration.builder();
+    Builder clientConfig = ClientOverrideConfiguration.builder()
+        .addExecutionInterceptor(new MetricsExecutionInterceptor());
     SdkHttpClient c = UrlConnectionHttpClient.builder().build();
     this.builder =
         DynamoDbClient.builder().httpClient(c).overrideConfiguration(clientConfig.build());
@@ -0,0 +1,264 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.dynamodb;
+
+import com.formkiq.aws.dynamodb.base64.StringToMapAttributeValue;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromS;
+
+/**
+ * Streaming k-way merge of sharded {@link QueryRequest}. Each shard is already sorted, so shards
+ * are read a page at a time and merged until the limit is reached. The next token holds a cursor
+ * per shard, so the following page resumes each shard where it stopped.
+ */
+public class DynamoDbShardMerge {
+
+  /** Maximum concurrent shard queries per container. */
+  private static final int MAX_CONCURRENCY = 32;
+  /** Shared I/O {@link BoundedExecutor}, keeps blocking calls off the common pool. */
+  private static final BoundedExecutor EXECUTOR = new BoundedExecutor(MAX_CONCURRENCY);
+  /** Next Token key marking a per shard cursor token. */
+  private static final String SHARDS_KEY = "shards";
+  /** Separator between shard index and key name. */
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Shard state.
+   */
+  private static final class Shard {
+    /** Buffered items. */
+    private final Deque<Map<String, AttributeValue>> buffer = new ArrayDeque<>();
+    /** Shard index. */
+    private final int index;
+    /** {@link QueryRequest}. */
+    private final QueryRequest request;
+    /** Key of the last consumed item. */
+    private Map<String, AttributeValue> cursor;
+    /** Last Evaluated Key of last response, null when shard has no more pages. */
+    private Map<String, AttributeValue> lastEvaluatedKey;
+
+    private Shard(final int shardIndex, final QueryRequest queryRequest,
+        final Map<String, AttributeValue> startKey) {
+      this.index = shardIndex;
+      this.request = queryRequest;
+      this.cursor = startKey;
+      this.lastEvaluatedKey = startKey;
+    }
+
+    private boolean hasMore() {
+      return !this.buffer.isEmpty() || this.lastEvaluatedKey != null;
+    }
+  }
+
+  /** {@link DynamoDbService}. */
+  private final DynamoDbService db;
+  /** {@link Comparator}, null when shards are concatenated. */
+  private final Comparator<? super Map<String, AttributeValue>> comparator;
+  /** Index Name. */
+  private final String indexName;
+
+  /**
+   * constructor.
+   *
+   * @param dbService {@link DynamoDbService}
+   * @param itemComparator {@link Comparator}
+   * @param index {@link String}
+   */
+  public DynamoDbShardMerge(final DynamoDbService dbService,
+      final Comparator<? super Map<String, AttributeValue>> itemComparator, final String index) {
+    this.db = dbService;
+    this.comparator = itemComparator;
+    this.indexName = index;
+  }
+
+  /**
+   * Whether Next Token contains per shard cursors.
+   *
+   * @param nextToken {@link String}
+   * @return boolean
+   */
+  public static boolean isShardToken(final String nextToken) {
+    Map<String, AttributeValue> map = new StringToMapAttributeValue().apply(nextToken);
+    return map != null && map.containsKey(SHARDS_KEY);
+  }
+
+  private List<Shard> createShards(final List<QueryRequest> requests, final String nextToken) {
+
+    Map<String, AttributeValue> token =
+        isShardToken(nextToken) ? new StringToMapAttributeValue().apply(nextToken) : null;
+
+    List<Shard> shards = new ArrayList<>();
+
+    for (int i = 0; i < requests.size(); i++) {
+
+      QueryRequest request = requests.get(i);
+
+      if (token == null) {
+        Map<String, AttributeValue> startKey =
+            request.hasExclusiveStartKey() ? request.exclusiveStartKey() : null;
+        shards.add(new Shard(i, request, startKey));
+      } else if (token.containsKey(String.valueOf(i))) {
+        shards.add(new Shard(i, request, getCursor(token, i)));
+      }
+    }
+
+    return shards;
+  }
+
+  private void fetch(final List<Shard> shards, final int limit) {
+
+    List<Shard> pending = shards;
+
+    while (!pending.isEmpty()) {
+
+      List<CompletableFuture<QueryResponse>> futures = new ArrayList<>();
+      for (Shard shard : pending) {
+        QueryRequest q = shard.request.toBuilder().exclusiveStartKey(shard.lastEvaluatedKey)
+            .limit(limit).build();
+        futures.add(EXECUTOR.submit(() -> this.db.query(q)));
+      }
+
+      try {
+        for (int i = 0; i < pending.size(); i++) {
+          Shard shard = pending.get(i);
+          QueryResponse response = futures.get(i).join();
+          shard.buffer.addAll(response.items());
+          shard.lastEvaluatedKey = response.hasLastEvaluatedKey()
+              && !response.lastEvaluatedKey().isEmpty() ? response.lastEvaluatedKey() : null;
+        }
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException re) {
+          throw re;
+        }
+        throw e;
+      }
+
+      // a page can be empty and still have a LastEvaluatedKey, e.g. when a filter expression
+      // removes every item, keep reading those shards
+      pending = pending.stream().filter(s -> s.buffer.isEmpty() && s.lastEvaluatedKey != null)
+          .toList();
+    }
+  }
+
+  private Map<String, AttributeValue> getCursor(final Map<String, AttributeValue> token,
+      final int index) {
+
+    String prefix = index + SEPARATOR;
+    Map<String, AttributeValue> cursor = new HashMap<>();
+    token.forEach((k, v) -> {
+      if (k.startsWith(prefix)) {
+        cursor.put(k.substring(prefix.length()), v);
+      }
+    });
+
+    return !cursor.isEmpty() ? cursor : null;
+  }
+
+  private Comparator<Shard> getShardComparator() {
+    Comparator<Shard> byIndex = Comparator.comparingInt(s -> s.index);
+    return this.comparator != null
+        ? Comparator.<Shard, Map<String, AttributeValue>>comparing(s -> s.buffer.peekFirst(),
+            this.comparator).thenComparing(byIndex)
+        : byIndex;
+  }
+
+  /**
+   * Query shards and merge results.
+   *
+   * @param requests {@link List} {@link QueryRequest}, one per shard
+   * @param nextToken {@link String}
+   * @param limit int
+   * @return {@link QueryResult}
+   */
+  public QueryResult query(final List<QueryRequest> requests, final String nextToken,
+      final int limit) {
+
+    List<Shard> shards = createShards(requests, nextToken);
+    List<Map<String, AttributeValue>> items = new ArrayList<>(limit);
+
+    if (!shards.isEmpty()) {
+
+      int pageSize = Math.ceilDiv(limit, shards.size()) + 1;
+      fetch(shards, pageSize);
+
+      PriorityQueue<Shard> heads = new PriorityQueue<>(getShardComparator());
+      shards.stream().filter(s -> !s.buffer.isEmpty()).forEach(heads::add);
+
+      while (items.size() < limit && !heads.isEmpty()) {
+
+        Shard shard = heads.poll();
+        Map<String, AttributeValue> item = shard.buffer.removeFirst();
+        items.add(item);
+        shard.cursor = new DynamodbLastEvaluatedKeyBuilder(item, this.indexName).build(false);
+
+        if (shard.buffer.isEmpty() && shard.lastEvaluatedKey != null && items.size() < limit) {
+          fetch(List.of(shard), limit - items.size());
+        }
+
+        if (!shard.buffer.isEmpty()) {
+          heads.add(shard);
+        }
+      }
+    }
+
+    return new QueryResult(items, toNextToken(shards));
+  }
+
+  private Map<String, AttributeValue> toNextToken(final List<Shard> shards) {
+
+    Map<String, AttributeValue> token = new HashMap<>();
+
+    for (Shard shard : shards) {
+
+      if (shard.hasMore()) {
+
+        token.put(String.valueOf(shard.index), fromS("1"));
+        if (shard.cursor != null) {
+          shard.cursor.forEach((k, v) -> token.put(shard.index + SEPARATOR + k, v));
+        }
+      }
+    }
+
+    if (!token.isEmpty()) {
+      token.put(SHARDS_KEY, fromS(String.valueOf(shards.size())));
+    }
+
+    return !token.isEmpty() ? token : null;
+  }
+}
@@ -30,9 +30,7 @@ import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
-import static com.formkiq.aws.dynamodb.DbKeys.GSI2;
 import static com.formkiq.aws.dynamodb.objects.Objects.isEmpty;
 
 /**
@@ -97,7 +95,7 @@ public interface DynamoDbShardQuery {
   }
 
   /**
-   * Find the first record to match {@link QueryRequest}.
+   * Query all shards and merge the results, see {@link DynamoDbShardMerge}.
    *
    * @param db {@link DynamoDbService}
    * @param tableName DynamoDb Table Name.
@@ -109,24 +107,12 @@ public interface DynamoDbShardQuery {
   default QueryResult query(DynamoDbService db, String tableName, String siteId, String nextToken,
       int limit) {
 
-    List<QueryRequest> queryRequest = build(tableName, siteId, nextToken, limit);
+    String token = DynamoDbShardMerge.isShardToken(nextToken) ? null : nextToken;
+    List<QueryRequest> queryRequest = build(tableName, siteId, token, limit);
     boolean scanIndexForward = isScanIndexForward(queryRequest);
 
-    List<QueryResult> results = queryRequest.parallelStream().map(db::query)
-        .map(r -> new QueryResult(r.items(), r.lastEvaluatedKey())).toList();
-
-    Stream<Map<String, AttributeValue>> stream = results.stream().flatMap(r -> r.items().stream());
-
     Comparator<? super Map<String, AttributeValue>> comparator = getComparator(scanIndexForward);
-    if (comparator != null) {
-      stream = stream.sorted(comparator);
-    }
-
-    List<Map<String, AttributeValue>> list = stream.toList();
-
-    QueryResult.Builder rb = QueryResult.builder();
-    rb.items(list, limit);
-    rb.lastEvaluatedKeyLastItem(GSI2, true);
-    return rb.build();
+    return new DynamoDbShardMerge(db, comparator, getIndexName(queryRequest)).query(queryRequest,
+        nextToken, limit);
   }
 }
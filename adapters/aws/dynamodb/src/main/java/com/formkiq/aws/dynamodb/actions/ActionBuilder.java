@@ -164,9 +164,9 @@ public class ActionBuilder implements DynamoDbEntityBuilder<Action>, DbKeys {
 
       if (!isEmpty(artifactId)) {
         b.gsi1Sk("action_art#" + documentId + "#" + artifactId + "#"
-            + DateUtil.getIsoDateFormatter().format(new Date()));
+            + DateUtil.formatIsoDate(new Date()));
       } else {
-        b.gsi1Sk("action#" + documentId + "#" + DateUtil.getIsoDateFormatter().format(new Date()));
+        b.gsi1Sk("action#" + documentId + "#" + DateUtil.formatIsoDate(new Date()));
       }
     }
 
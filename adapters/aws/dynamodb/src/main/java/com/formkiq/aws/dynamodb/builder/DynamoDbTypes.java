@@ -24,15 +24,13 @@
 package com.formkiq.aws.dynamodb.builder;
 
 import com.formkiq.aws.dynamodb.AttributeValueToMap;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
  * Helper methods for dealing with DynamoDb Types.
@@ -49,15 +47,7 @@ public interface DynamoDbTypes {
    * @return String
    */
   static String fromDate(final Date value) {
-    DateFormat df = getDateFormat();
-    return df.format(value);
-  }
-
-  private static DateFormat getDateFormat() {
-    DateFormat df = new SimpleDateFormat(DATE_PATTERN);
-    TimeZone tz = TimeZone.getTimeZone("UTC");
-    df.setTimeZone(tz);
-    return df;
+    return DateUtil.formatIsoDate(value);
   }
 
   /**
@@ -88,7 +78,7 @@ public interface DynamoDbTypes {
 
   /**
    * Parses the given date-time {@link String} to a {@link Date} using the pattern
-   * {@code yyyy-MM-dd'T'HH:mm:ssZ}.
+   * {@code yyyy-MM-dd'T'HH:mm:ssZ}, see {@link DateUtil#parseIsoDate(String)}.
    *
    * @param s the date-time string to parse
    * @return the parsed Date
@@ -97,9 +87,8 @@ public interface DynamoDbTypes {
   static Date toDate(final String s) {
     Date date = null;
     if (s != null) {
-      DateFormat df = getDateFormat();
       try {
-        date = df.parse(s);
+        date = DateUtil.parseIsoDate(s);
       } catch (ParseException e) {
         // ignore
       }
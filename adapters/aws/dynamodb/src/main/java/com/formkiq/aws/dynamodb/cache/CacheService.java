@@ -23,6 +23,7 @@
  */
 package com.formkiq.aws.dynamodb.cache;
 
+import java.time.Duration;
 import java.util.Date;
 
 /**
@@ -31,6 +32,13 @@ import java.util.Date;
  */
 public interface CacheService {
 
+  /**
+   * Delete Value from Cache.
+   *
+   * @param key {@link String}
+   */
+  void delete(String key);
+
   /**
    * Get Cache Key Expiry Date.
    * 
@@ -55,4 +63,14 @@ public interface CacheService {
    * @param cacheInDays int
    */
   void write(String key, String value, int cacheInDays);
+
+  /**
+   * Write to Cache only if the key is missing or has expired.
+   *
+   * @param key {@link String}
+   * @param value {@link String}
+   * @param timeToLive {@link Duration}
+   * @return boolean whether the value was written
+   */
+  boolean writeIfAbsent(String key, String value, Duration timeToLive);
 }
@@ -23,16 +23,18 @@
  */
 package com.formkiq.aws.dynamodb.cache;
 
-import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.TimeZone;
 import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 
@@ -44,8 +46,6 @@ public final class DynamoDbCacheService implements CacheService {
 
   /** MilliSeconds per Second. */
   private static final int MILLISECONDS = 1000;
-  /** Date Format. */
-  private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ";
 
   /** Partition Key of Table. */
   private static final String PK = "PK";
@@ -53,13 +53,8 @@ public final class DynamoDbCacheService implements CacheService {
   /** Sort Key of Table. */
   private static final String SK = "SK";
 
-  /** {@link SimpleDateFormat} format. */
-  private SimpleDateFormat df;
-
   /** Cache Table Name. */
   private String cacheTableName;
-  /** UTC {@link TimeZone}. */
-  private TimeZone tz = TimeZone.getTimeZone("UTC");
   /** {@link DynamoDbClient}. */
   private DynamoDbClient dbClient;
 
@@ -77,9 +72,13 @@ public final class DynamoDbCacheService implements CacheService {
 
     this.dbClient = connection.build();
     this.cacheTableName = table;
+  }
 
-    this.df = new SimpleDateFormat(DATE_FORMAT);
-    this.df.setTimeZone(this.tz);
+  @Override
+  public void delete(final String key) {
+    DeleteItemRequest r =
+        DeleteItemRequest.builder().tableName(this.cacheTableName).key(getKey(key)).build();
+    this.dbClient.deleteItem(r);
   }
 
   @Override
@@ -115,16 +114,46 @@ public final class DynamoDbCacheService implements CacheService {
    * @return {@link Map}
    */
   private Map<String, AttributeValue> getFromCache(final String key) {
-    Map<String, AttributeValue> keyMap = new HashMap<>();
-    keyMap.put(PK, AttributeValue.builder().s(key).build());
-    keyMap.put(SK, AttributeValue.builder().s("cache").build());
-
-    GetItemRequest r = GetItemRequest.builder().tableName(this.cacheTableName).key(keyMap).build();
+    GetItemRequest r =
+        GetItemRequest.builder().tableName(this.cacheTableName).key(getKey(key)).build();
 
     Map<String, AttributeValue> result = this.dbClient.getItem(r).item();
     return result;
   }
 
+  /**
+   * Get Cache Item.
+   *
+   * @param key {@link String}
+   * @param data {@link String}
+   * @param timeToLive long epoch seconds
+   * @return {@link Map}
+   */
+  private Map<String, AttributeValue> getItem(final String key, final String data,
+      final long timeToLive) {
+
+    String fulldate = DateUtil.formatIsoDate(new Date());
+
+    Map<String, AttributeValue> pkvalues = getKey(key);
+    pkvalues.put("InsertedDate", AttributeValue.builder().s(fulldate).build());
+    pkvalues.put("TimeToLive", AttributeValue.builder().n(String.valueOf(timeToLive)).build());
+    pkvalues.put("Data", AttributeValue.builder().s(data).build());
+    return pkvalues;
+  }
+
+  /**
+   * Get Cache Key.
+   *
+   * @param key {@link String}
+   * @return {@link Map}
+   */
+  private Map<String, AttributeValue> getKey(final String key) {
+    Map<String, AttributeValue> keyMap = new HashMap<>();
+    keyMap.put(PK, AttributeValue.builder().s(key).build());
+    keyMap.put(SK, AttributeValue.builder().s("cache").build());
+    return keyMap;
+  }
+
   @Override
   public String read(final String key) {
     Map<String, AttributeValue> result = getFromCache(key);
@@ -134,21 +163,37 @@ public final class DynamoDbCacheService implements CacheService {
   @Override
   public void write(final String key, final String data, final int cacheInDays) {
 
-    Date now = new Date();
     long timeout = getExpiryTime(cacheInDays).getTime() / MILLISECONDS;
 
-    String fulldate = this.df.format(now);
+    PutItemRequest putItemRequest = PutItemRequest.builder().tableName(this.cacheTableName)
+        .item(getItem(key, data, timeout)).build();
 
-    Map<String, AttributeValue> pkvalues = new HashMap<String, AttributeValue>();
-    pkvalues.put(PK, AttributeValue.builder().s(key).build());
-    pkvalues.put(SK, AttributeValue.builder().s("cache").build());
-    pkvalues.put("InsertedDate", AttributeValue.builder().s(fulldate).build());
-    pkvalues.put("TimeToLive", AttributeValue.builder().n(String.valueOf(timeout)).build());
-    pkvalues.put("Data", AttributeValue.builder().s(data).build());
+    this.dbClient.putItem(putItemRequest);
+  }
 
-    PutItemRequest putItemRequest =
-        PutItemRequest.builder().tableName(this.cacheTableName).item(pkvalues).build();
+  @Override
+  public boolean writeIfAbsent(final String key, final String data, final Duration timeToLive) {
+
+    long now = System.currentTimeMillis() / MILLISECONDS;
+    long timeout = now + timeToLive.toSeconds();
+
+    // DynamoDB removes expired items lazily, so an expired item still counts as absent
+    PutItemRequest putItemRequest = PutItemRequest.builder().tableName(this.cacheTableName)
+        .item(getItem(key, data, timeout))
+        .conditionExpression("attribute_not_exists(" + PK + ") OR #ttl < :now")
+        .expressionAttributeNames(Map.of("#ttl", "TimeToLive"))
+        .expressionAttributeValues(
+            Map.of(":now", AttributeValue.builder().n(String.valueOf(now)).build()))
+        .build();
+
+    boolean written = true;
+
+    try {
+      this.dbClient.putItem(putItemRequest);
+    } catch (ConditionalCheckFailedException e) {
+      written = false;
+    }
 
-    this.dbClient.putItem(putItemRequest);
+    return written;
   }
 }
@@ -34,7 +34,6 @@ import com.formkiq.graalvm.annotations.Reflectable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -54,8 +53,6 @@ public class DocumentAttributeRecord implements DynamoDbEntityBuilder<DocumentAt
 
   /** Attribute constant. */
   public static final String ATTR = "attr#";
-  /** {@link SimpleDateFormat}. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
   /** Boolean value. */
   private Boolean booleanValue;
   /** Attribute Document Id. */
@@ -162,7 +159,7 @@ public class DocumentAttributeRecord implements DynamoDbEntityBuilder<DocumentAt
     }
 
     if (this.insertedDate != null) {
-      map.put("inserteddate", fromS(df.format(this.insertedDate)));
+      map.put("inserteddate", fromS(DateUtil.formatIsoDate(this.insertedDate)));
     }
 
     return map;
@@ -195,7 +192,7 @@ public class DocumentAttributeRecord implements DynamoDbEntityBuilder<DocumentAt
 
       if (attrs.containsKey("inserteddate")) {
         try {
-          record = record.setInsertedDate(df.parse(ss(attrs, "inserteddate")));
+          record = record.setInsertedDate(DateUtil.parseIsoDate(ss(attrs, "inserteddate")));
         } catch (ParseException e) {
           // ignore
         }
@@ -221,11 +221,10 @@ public class DocumentRecordBuilder implements DynamoDbEntityBuilder<DocumentReco
     DynamoDbKey.Builder builder = DynamoDbKey.builder().pk(siteId, pk).sk(sk);
 
     if (gsi1) {
-      String shortdate = DateUtil.getYyyyMmDdFormatter().format(insertedDate);
+      String shortdate = DateUtil.formatYyyyMmDd(insertedDate);
       String gsi1Pk = DbKeys.PREFIX_DOCUMENT_DATE_TS + shortdate;
 
-      DateUtil.getIsoDateFormatter();
-      String fullInsertedDate = DateUtil.getIsoDateFormatter().format(insertedDate);
+      String fullInsertedDate = DateUtil.formatIsoDate(insertedDate);
       String gsi1Sk = fullInsertedDate + DbKeys.TAG_DELIMINATOR + documentId;
 
       builder.gsi1Pk(siteId, gsi1Pk).gsi1Sk(gsi1Sk);
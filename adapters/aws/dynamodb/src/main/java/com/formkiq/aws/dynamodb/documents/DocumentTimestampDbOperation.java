@@ -25,41 +25,34 @@ package com.formkiq.aws.dynamodb.documents;
 
 import com.formkiq.aws.dynamodb.DbKeys;
 import com.formkiq.aws.dynamodb.DynamoDbClientOperation;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
  * DynamoDb Operation to Save Document Timestamp.
  */
 public class DocumentTimestampDbOperation implements DynamoDbClientOperation, DbKeys {
 
-  /** {@link SimpleDateFormat} YYYY-mm-dd format. */
-  private final SimpleDateFormat yyyymmddFormat;
   /** Last Short Date. */
   private String lastShortDate = null;
 
   /**
    * constructor.
    */
-  public DocumentTimestampDbOperation() {
-    this.yyyymmddFormat = new SimpleDateFormat("yyyy-MM-dd");
-    TimeZone tz = TimeZone.getTimeZone("UTC");
-    this.yyyymmddFormat.setTimeZone(tz);
-  }
+  public DocumentTimestampDbOperation() {}
 
   @Override
   public void execute(final DynamoDbClient dbClient, final String tableName, final String siteId,
       final Object... params) {
 
     Date insertedDate = params.length > 0 ? (Date) params[0] : new Date();
-    String shortdate = this.yyyymmddFormat.format(insertedDate);
+    String shortdate = DateUtil.formatYyyyMmDd(insertedDate);
 
     if (this.lastShortDate == null || !this.lastShortDate.equals(shortdate)) {
 
@@ -50,7 +50,7 @@ public class DispositionDateAttribute extends RetentionEffectiveEndDateAttribute
 
     var dispositionDate = Date.from(date.toInstant().atZone(ZoneOffset.UTC).toLocalDate()
         .plus(periodInDays, ChronoUnit.DAYS).atStartOfDay(ZoneOffset.UTC).toInstant());
-    return DateUtil.getIsoDateFormatter().format(dispositionDate);
+    return DateUtil.formatIsoDate(dispositionDate);
   }
 
   @Override
@@ -53,7 +53,7 @@ public class RetentionDispositionCompositeAttribute extends DispositionDateAttri
 
     var sourceType = getSourceType(entityRecord);
     var date = getDispositionField(entityRecord, document);
-    var dateString = DateUtil.getYyyyMmDdFormatter().format(date);
+    var dateString = DateUtil.formatYyyyMmDd(date);
     var sv =
         new DocumentAttributeEntityKeyValue(entityRecord.entityTypeId(), entityRecord.documentId())
             .getStringValue();
@@ -50,7 +50,7 @@ public class RetentionEffectiveEndDateAttribute implements DerivedDocumentAttrib
         : document.insertedDate();
 
     var effectiveDate = Date.from(date.toInstant().plus(periodInDays, ChronoUnit.DAYS));
-    return DateUtil.getIsoDateFormatter().format(effectiveDate);
+    return DateUtil.formatIsoDate(effectiveDate);
   }
 
   @Override
@@ -122,7 +122,7 @@ public class DocumentTagRecordBuilder
     String skPrefix = artifactId != null ? "tags_art#" + artifactId + TAG_DELIMINATOR : PREFIX_TAGS;
     String sk = tagValueIndex > -1 ? skPrefix + tagKey + TAG_DELIMINATOR + "idx" + tagValueIndex
         : skPrefix + tagKey;
-    String fullDate = DateUtil.getIsoDateFormatter().format(insertedDate);
+    String fullDate = DateUtil.formatIsoDate(insertedDate);
     String gsi2Sk = value != null && !value.isEmpty() ? value : " ";
 
     return DynamoDbKey.builder().pk(siteId, pk).sk(sk)
@@ -23,19 +23,22 @@
  */
 package com.formkiq.aws.dynamodb.objects;
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.time.zone.ZoneRulesException;
 import java.util.Date;
 import java.util.TimeZone;
@@ -47,6 +50,54 @@ public final class DateUtil {
   public static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ";
   /** Date Form yyyy-mm-dd. */
   public static final String DATE_FORMAT_YYYY_MM_DD = "yyyy-MM-dd";
+  /** {@link #DATE_FORMAT} {@link DateTimeFormatter} in UTC. */
+  private static final DateTimeFormatter ISO_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern(DATE_FORMAT).withZone(ZoneOffset.UTC);
+  /** {@link #DATE_FORMAT_YYYY_MM_DD} {@link DateTimeFormatter} in UTC. */
+  private static final DateTimeFormatter YYYY_MM_DD_FORMATTER =
+      DateTimeFormatter.ofPattern(DATE_FORMAT_YYYY_MM_DD).withZone(ZoneOffset.UTC);
+  /**
+   * {@link #DATE_FORMAT} parser, also accepts fractional seconds and the other offsets stored by
+   * earlier versions ('Z', '+HH:MM', zone ids such as 'UTC' or 'GMT').
+   */
+  private static final DateTimeFormatter ISO_DATE_PARSER =
+      new DateTimeFormatterBuilder().append(DateTimeFormatter.ISO_LOCAL_DATE_TIME).optionalStart()
+          .appendOffset("+HHMM", "Z").optionalEnd().optionalStart().appendZoneOrOffsetId()
+          .optionalEnd().toFormatter().withResolverStyle(ResolverStyle.STRICT)
+          .withChronology(IsoChronology.INSTANCE);
+  /** ISO date, with an optional time and, if there is a time, an optional offset. */
+  private static final DateTimeFormatter ISO_DATE_TIME_PARSER =
+      new DateTimeFormatterBuilder().append(DateTimeFormatter.ISO_LOCAL_DATE).optionalStart()
+          .appendLiteral('T').append(DateTimeFormatter.ISO_LOCAL_TIME).optionalStart()
+          .appendOffsetId().optionalEnd().optionalEnd().toFormatter()
+          .withResolverStyle(ResolverStyle.STRICT).withChronology(IsoChronology.INSTANCE);
+  /** ISO date, with an optional time. */
+  private static final DateTimeFormatter ISO_LOCAL_DATE_TIME_PARSER =
+      new DateTimeFormatterBuilder().append(DateTimeFormatter.ISO_LOCAL_DATE).optionalStart()
+          .appendLiteral('T').append(DateTimeFormatter.ISO_LOCAL_TIME).optionalEnd().toFormatter()
+          .withResolverStyle(ResolverStyle.STRICT).withChronology(IsoChronology.INSTANCE);
+
+  /**
+   * Format {@link Date} in {@link #DATE_FORMAT} UTC, thread-safe replacement of
+   * {@link #getIsoDateFormatter()}.
+   *
+   * @param date {@link Date}
+   * @return {@link String}
+   */
+  public static String formatIsoDate(final Date date) {
+    return ISO_DATE_FORMATTER.format(date.toInstant());
+  }
+
+  /**
+   * Format {@link Date} in {@link #DATE_FORMAT_YYYY_MM_DD} UTC, thread-safe replacement of
+   * {@link #getYyyyMmDdFormatter()}.
+   *
+   * @param date {@link Date}
+   * @return {@link String}
+   */
+  public static String formatYyyyMmDd(final Date date) {
+    return YYYY_MM_DD_FORMATTER.format(date.toInstant());
+  }
 
   /**
    * Formats TZ String to start with '+' or '-'.
@@ -95,7 +146,8 @@ public final class DateUtil {
   }
 
   /**
-   * String to ISO Standard format.
+   * String to ISO Standard format. {@link SimpleDateFormat} is not thread-safe, prefer
+   * {@link #formatIsoDate(Date)} and {@link #parseIsoDate(String)}.
    * 
    * @return {@link SimpleDateFormat}
    */
@@ -117,7 +169,8 @@ public final class DateUtil {
   }
 
   /**
-   * String to ISO Standard format.
+   * String to yyyy-MM-dd format. {@link SimpleDateFormat} is not thread-safe, prefer
+   * {@link #formatYyyyMmDd(Date)}.
    * 
    * @return {@link SimpleDateFormat}
    */
@@ -128,6 +181,24 @@ public final class DateUtil {
     return df;
   }
 
+  /**
+   * Parse {@link #DATE_FORMAT} {@link String} to {@link Date}. ISO-8601 offsets, such as
+   * {@code 2025-11-29T14:20:00Z} or {@code 2025-11-29T14:20:00.123+02:00}, are accepted as well.
+   *
+   * @param date {@link String}
+   * @return {@link Date}
+   * @throws ParseException ParseException
+   */
+  public static Date parseIsoDate(final String date) throws ParseException {
+    try {
+      return Date.from(ISO_DATE_PARSER.parse(date, Instant::from));
+    } catch (DateTimeParseException e) {
+      ParseException pe = new ParseException(e.getMessage(), e.getErrorIndex());
+      pe.initCause(e);
+      throw pe;
+    }
+  }
+
   private static boolean hasZoneMatch(final ZoneId zone, final String value, final String regex) {
     return zone == null && value.matches(regex);
   }
@@ -150,49 +221,41 @@ public final class DateUtil {
    * Parses a date or date-time string into a {@link java.util.Date} instance.
    *
    * <p>
-   * This method accepts multiple ISO-8601 compatible formats and attempts parsing in the following
-   * order:
+   * This method accepts multiple ISO-8601 compatible formats, detected in a single parse:
    * </p>
    *
    * <ol>
    * <li><strong>Offset date-time</strong> (e.g., {@code 2025-11-29T14:20:00Z},
-   * {@code 2025-11-29T14:20:00+02:00}) via {@link java.time.OffsetDateTime#parse}</li>
+   * {@code 2025-11-29T14:20:00+02:00})</li>
    * <li><strong>Local date-time</strong> without timezone (e.g., {@code 2025-11-29T14:20:00}) which
-   * is interpreted as UTC</li>
-   * <li><strong>Date only</strong> (e.g., {@code 2025-11-29}), interpreted as the start of day
-   * UTC</li>
+   * is interpreted in the {@link ZoneId}</li>
+   * <li><strong>Date only</strong> (e.g., {@code 2025-11-29}), interpreted as the start of day in
+   * the {@link ZoneId}</li>
    * </ol>
    *
-   * <p>
-   * If a format fails to parse, the method transparently falls back to the next format until a
-   * valid {@link Date} is produced. A {@link java.time.format.DateTimeParseException} will only be
-   * thrown if the input cannot be parsed by any of the allowed formats.
-   * </p>
-   *
    * @param s the input date or date-time string (must be in an ISO-8601 compatible format)
    * @param zoneId {@link ZoneId}
    * @return a {@link Date} representing the parsed instant in time
    * @throws java.time.format.DateTimeParseException if the string is not a valid date or date-time
    */
   public static Date toDateFromString(final String s, final ZoneId zoneId) {
-    Date result;
 
-    try {
-      // First try: full date-time with timezone (ISO 8601)
-      result = Date.from(OffsetDateTime.parse(s).toInstant());
-    } catch (DateTimeParseException e1) {
-      try {
-        // Second try: local date-time (assume UTC)
-        LocalDateTime dt = LocalDateTime.parse(s);
-        result = Date.from(dt.atZone(zoneId).toInstant());
-      } catch (DateTimeParseException e2) {
-        // Final fallback: date only
-        LocalDate date = LocalDate.parse(s);
-        result = Date.from(date.atStartOfDay(zoneId).toInstant());
-      }
+    TemporalAccessor parsed = ISO_DATE_TIME_PARSER.parse(s);
+    LocalDate date = parsed.query(TemporalQueries.localDate());
+    LocalTime time = parsed.query(TemporalQueries.localTime());
+    ZoneOffset offset = parsed.query(TemporalQueries.offset());
+
+    Instant instant;
+
+    if (time == null) {
+      instant = date.atStartOfDay(zoneId).toInstant();
+    } else if (offset != null) {
+      instant = date.atTime(time).toInstant(offset);
+    } else {
+      instant = date.atTime(time).atZone(zoneId).toInstant();
     }
 
-    return result;
+    return Date.from(instant);
   }
 
   /**
@@ -207,21 +270,15 @@ public final class DateUtil {
   public static ZonedDateTime toDateTimeFromString(final String date, final String tz)
       throws DateTimeException, ZoneRulesException {
 
-    DateTimeFormatter df = new DateTimeFormatterBuilder().append(DateTimeFormatter.ISO_LOCAL_DATE)
-        .parseDefaulting(ChronoField.NANO_OF_SECOND, 0).optionalStart().appendLiteral('T')
-        .append(DateTimeFormatter.ISO_LOCAL_TIME).toFormatter();
-
     String tzString = formatTz(tz);
     ZoneId zone = ZoneId.of(tzString);
 
-    ZonedDateTime zoneDate;
+    TemporalAccessor parsed = ISO_LOCAL_DATE_TIME_PARSER.parse(date);
+    LocalDate localDate = parsed.query(TemporalQueries.localDate());
+    LocalTime localTime = parsed.query(TemporalQueries.localTime());
 
-    try {
-      zoneDate = LocalDateTime.parse(date, df).atZone(zone);
-    } catch (DateTimeException e) {
-      LocalDate parsedDate = LocalDate.parse(date, df);
-      zoneDate = parsedDate.atStartOfDay(zone);
-    }
+    ZonedDateTime zoneDate = localTime != null ? localDate.atTime(localTime).atZone(zone)
+        : localDate.atStartOfDay(zone);
 
     return zoneDate;
   }
@@ -23,12 +23,23 @@
  */
 package com.formkiq.aws.dynamodb.objects;
 
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_BMP;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_DOCX;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_GIF;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_GZIP;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_HEIC;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_HTML;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_JPEG;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_JSON;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_PDF;
 import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_PNG;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_RAR;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_TIFF;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_WEBP;
+import static com.formkiq.aws.dynamodb.objects.MimeType.MIME_ZIP;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -37,6 +48,34 @@ import java.util.Set;
  */
 public class MimeFinder {
 
+  /** Number of leading bytes needed by {@link #sniff(byte[])}. */
+  public static final int SNIFF_LENGTH = 16;
+
+  /** Matches any byte in a magic bytes signature. */
+  private static final int ANY = -1;
+  /** Byte Mask. */
+  private static final int BYTE_MASK = 0xFF;
+
+  /** Magic bytes signature, matched from the start of the document. */
+  private record Signature(MimeType type, int[] magic) {
+  }
+
+  /** Magic bytes signatures, checked in order. */
+  private static final List<Signature> SIGNATURES =
+      List.of(new Signature(MIME_PDF, magic("%PDF-")),
+          new Signature(MIME_PNG, new int[] {0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+          new Signature(MIME_JPEG, new int[] {0xFF, 0xD8, 0xFF}),
+          new Signature(MIME_GIF, magic("GIF87a")), new Signature(MIME_GIF, magic("GIF89a")),
+          new Signature(MIME_TIFF, new int[] {'I', 'I', '*', 0}),
+          new Signature(MIME_TIFF, new int[] {'M', 'M', 0, '*'}),
+          new Signature(MIME_WEBP, magic("RIFF????WEBP")),
+          new Signature(MIME_HEIC, magic("????ftypheic")),
+          new Signature(MIME_HEIC, magic("????ftypheix")),
+          new Signature(MIME_HEIC, magic("????ftypmif1")),
+          new Signature(MIME_ZIP, new int[] {'P', 'K', 0x03, 0x04}),
+          new Signature(MIME_GZIP, new int[] {0x1F, 0x8B}), new Signature(MIME_RAR, magic("Rar!")),
+          new Signature(MIME_BMP, magic("BM")));
+
   /** Supported Conversions. */
   private static final Set<String> CONVERSIONS = Set.of(MIME_DOCX.name() + MIME_PDF.name(),
       MIME_HTML.name() + MIME_PDF.name(), MIME_JPEG.name() + MIME_JSON.name(),
@@ -49,16 +88,7 @@ public class MimeFinder {
    * @return {@link MimeType}
    */
   public static MimeType find(final String s) {
-
-    MimeType type = MimeType.MIME_UNKNOWN;
-
-    for (MimeType m : MimeType.values()) {
-      if (s != null && m.getContentType().equalsIgnoreCase(s)) {
-        type = m;
-      }
-    }
-
-    return type;
+    return MimeType.fromContentType(s);
   }
 
   /**
@@ -71,4 +101,59 @@ public class MimeFinder {
   public static boolean isSupported(final MimeType source, final MimeType dest) {
     return CONVERSIONS.contains(source.name() + dest.name());
   }
+
+  /**
+   * Convert {@link String} to magic bytes, '?' matches any byte.
+   *
+   * @param s {@link String}
+   * @return int[]
+   */
+  private static int[] magic(final String s) {
+    return s.chars().map(c -> c == '?' ? ANY : c).toArray();
+  }
+
+  private static boolean matches(final byte[] bytes, final int[] magic) {
+    boolean match = bytes.length >= magic.length;
+
+    for (int i = 0; match && i < magic.length; i++) {
+      match = magic[i] == ANY || (bytes[i] & BYTE_MASK) == magic[i];
+    }
+
+    return match;
+  }
+
+  /**
+   * Find {@link MimeType} from the magic bytes at the start of a document. Office Open XML
+   * documents are zip files, so are found as {@link MimeType#MIME_ZIP}.
+   *
+   * @param bytes the first {@link #SNIFF_LENGTH} bytes of the document, fewer if shorter
+   * @return {@link MimeType}
+   */
+  public static MimeType sniff(final byte[] bytes) {
+
+    MimeType type = MimeType.MIME_UNKNOWN;
+
+    if (bytes != null) {
+      for (Signature signature : SIGNATURES) {
+        if (matches(bytes, signature.magic())) {
+          type = signature.type();
+          break;
+        }
+      }
+    }
+
+    return type;
+  }
+
+  /**
+   * Find {@link MimeType} from the magic bytes at the start of an {@link InputStream}, reads at
+   * most {@link #SNIFF_LENGTH} bytes.
+   *
+   * @param is {@link InputStream}
+   * @return {@link MimeType}
+   * @throws IOException IOException
+   */
+  public static MimeType sniff(final InputStream is) throws IOException {
+    return sniff(is.readNBytes(SNIFF_LENGTH));
+  }
 }
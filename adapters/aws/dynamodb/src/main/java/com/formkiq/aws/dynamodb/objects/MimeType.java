@@ -25,6 +25,10 @@ package com.formkiq.aws.dynamodb.objects;
 
 import static com.formkiq.aws.dynamodb.objects.Strings.isEmpty;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Supported Conversion Formats.
  *
@@ -102,7 +106,7 @@ public enum MimeType {
   }
 
   /**
-   * Find {@link MimeType} from Content-Type.
+   * Find {@link MimeType} from Content-Type, ignoring case and parameters such as charset.
    * 
    * @param ct {@link String}
    * @return {@link MimeType}
@@ -112,11 +116,10 @@ public enum MimeType {
     MimeType type = MimeType.MIME_UNKNOWN;
 
     if (!isEmpty(ct)) {
-      for (MimeType mt : MimeType.values()) {
-        if (ct.equals(mt.getContentType())) {
-          type = mt;
-          break;
-        }
+      type = Index.BY_CONTENT_TYPE.get(ct);
+
+      if (type == null) {
+        type = Index.BY_CONTENT_TYPE.getOrDefault(normalizeContentType(ct), MIME_UNKNOWN);
       }
     }
 
@@ -124,7 +127,7 @@ public enum MimeType {
   }
 
   /**
-   * Find {@link MimeType} from Extension.
+   * Find {@link MimeType} from Extension, ignoring case.
    *
    * @param ext {@link String}
    * @return {@link MimeType}
@@ -134,11 +137,10 @@ public enum MimeType {
     MimeType type = MimeType.MIME_UNKNOWN;
 
     if (!isEmpty(ext)) {
-      for (MimeType mt : MimeType.values()) {
-        if (ext.equals(mt.getExtension())) {
-          type = mt;
-          break;
-        }
+      type = Index.BY_EXTENSION.get(ext);
+
+      if (type == null) {
+        type = Index.BY_EXTENSION.getOrDefault(ext.toLowerCase(Locale.ROOT), MIME_UNKNOWN);
       }
     }
 
@@ -157,6 +159,18 @@ public enum MimeType {
             || "application/x-www-form-urlencoded".equals(contentType));
   }
 
+  /**
+   * Normalize Content-Type, removes any parameters and converts to lower case.
+   *
+   * @param ct {@link String}
+   * @return {@link String}
+   */
+  public static String normalizeContentType(final String ct) {
+    int pos = ct.indexOf(';');
+    String type = pos > -1 ? ct.substring(0, pos) : ct;
+    return type.trim().toLowerCase(Locale.ROOT);
+  }
+
   /** Content Type. */
   private final String contentType;
 
@@ -192,4 +206,26 @@ public enum MimeType {
   public String getExtension() {
     return this.extension;
   }
+
+  /**
+   * Lookup indexes by Content-Type and Extension, the first declared {@link MimeType} wins.
+   */
+  private static final class Index {
+
+    /** {@link MimeType} by Content-Type. */
+    private static final Map<String, MimeType> BY_CONTENT_TYPE = new HashMap<>();
+    /** {@link MimeType} by Extension. */
+    private static final Map<String, MimeType> BY_EXTENSION = new HashMap<>();
+
+    static {
+      for (MimeType mt : MimeType.values()) {
+        BY_CONTENT_TYPE.putIfAbsent(mt.getContentType().toLowerCase(Locale.ROOT), mt);
+        if (!isEmpty(mt.getExtension())) {
+          BY_EXTENSION.putIfAbsent(mt.getExtension(), mt);
+        }
+      }
+    }
+
+    private Index() {}
+  }
 }
@@ -391,7 +391,7 @@ public class ActivityRecordBuilder implements DynamoDbShardEntityBuilder<Activit
   }
 
   private String getGsi2Pk() {
-    return "activity#" + DateUtil.getYyyyMmDdFormatter().format(insertedDate);
+    return "activity#" + DateUtil.formatYyyyMmDd(insertedDate);
   }
 
   private String getSkDate() {
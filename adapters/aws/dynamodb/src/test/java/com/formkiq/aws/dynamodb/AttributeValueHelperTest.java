@@ -0,0 +1,66 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.dynamodb;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromS;
+
+/**
+ * Unit test for {@link AttributeValueHelper}.
+ */
+public class AttributeValueHelperTest {
+
+  /**
+   * Convert stored legacy and ISO-8601 dates.
+   */
+  @Test
+  void toDateValue01() {
+    // given
+    Map<String, AttributeValue> attrs = Map.of("legacy", fromS("2024-03-01T08:30:00+0000"),
+        "iso", fromS("2024-03-01T08:30:00Z"), "offset", fromS("2024-03-01T03:30:00-05:00"),
+        "millis", fromS("2024-03-01T08:30:00.000Z"), "invalid", fromS("2024-03-01"));
+    Instant expected = Instant.parse("2024-03-01T08:30:00Z");
+
+    for (String key : List.of("legacy", "iso", "offset", "millis")) {
+
+      // when
+      Date date = AttributeValueHelper.toDateValue(attrs, key);
+
+      // then
+      assertEquals(expected, date.toInstant(), key);
+    }
+
+    assertNull(AttributeValueHelper.toDateValue(attrs, "invalid"));
+    assertNull(AttributeValueHelper.toDateValue(attrs, "missing"));
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.dynamodb;
+
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.formkiq.testutils.aws.DynamoDbExtension.DOCUMENTS_TABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromBool;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromS;
+
+/** Unit Tests for {@link DynamoDbShardMerge}. */
+@ExtendWith(DynamoDbExtension.class)
+public class DynamoDbShardMergeTest implements DbKeys {
+
+  /** {@link DynamoDbService}. */
+  private DynamoDbService service;
+
+  /**
+   * Before Test.
+   *
+   * @throws Exception Exception
+   */
+  @BeforeEach
+  public void before() throws Exception {
+    this.service =
+        new DynamoDbServiceImpl(DynamoDbTestServices.getDynamoDbConnection(), DOCUMENTS_TABLE);
+  }
+
+  private void addItems(final String pk, final String prefix, final int count,
+      final int hidden) {
+    List<Map<String, AttributeValue>> items = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      items.add(Map.of(PK, fromS(pk), SK, fromS(prefix + i), "hidden", fromBool(i < hidden)));
+    }
+    this.service.putItems(items);
+  }
+
+  private static QueryRequest createRequest(final String pk) {
+    return QueryRequest.builder().tableName(DOCUMENTS_TABLE).keyConditionExpression(PK + " = :pk")
+        .filterExpression("#hidden = :hidden").expressionAttributeNames(Map.of("#hidden", "hidden"))
+        .expressionAttributeValues(Map.of(":pk", fromS(pk), ":hidden", fromBool(false))).build();
+  }
+
+  private static List<String> toSk(final QueryResult result) {
+    return result.items().stream().map(i -> i.get(SK).s()).toList();
+  }
+
+  /**
+   * Query shard where the first pages are filtered out, but have a LastEvaluatedKey.
+   */
+  @Test
+  public void testQuery01() {
+    // given
+    final int limit = 3;
+    String pk = "shardmerge#" + ID.uuid();
+    addItems(pk + "#0", "a", 10, 9);
+    addItems(pk + "#1", "b", 5, 0);
+
+    List<QueryRequest> requests = List.of(createRequest(pk + "#0"), createRequest(pk + "#1"));
+    Comparator<Map<String, AttributeValue>> comparator =
+        Comparator.comparing(i -> i.get(SK).s());
+    DynamoDbShardMerge merge = new DynamoDbShardMerge(this.service, comparator, null);
+
+    // when
+    QueryResult result = merge.query(requests, null, limit);
+
+    // then
+    assertEquals("[a9, b0, b1]", toSk(result).toString());
+
+    // when
+    result = merge.query(requests, result.toNextToken(), limit);
+
+    // then
+    assertEquals("[b2, b3, b4]", toSk(result).toString());
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.dynamodb.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromS;
+
+/**
+ * Unit test for {@link DynamoDbTypes}.
+ */
+public class DynamoDbTypesTest {
+
+  /**
+   * Dates stored in {@link DynamoDbTypes#DATE_PATTERN} and in ISO-8601 offset formats.
+   */
+  @Test
+  void toDate01() {
+    // given
+    Instant expected = Instant.parse("2024-03-01T08:30:00Z");
+    List<String> values = List.of("2024-03-01T08:30:00+0000", "2024-03-01T08:30:00Z",
+        "2024-03-01T08:30:00+00:00", "2024-03-01T08:30:00UTC", "2024-03-01T10:30:00+02:00");
+
+    for (String value : values) {
+
+      // when
+      var date = DynamoDbTypes.toDate(fromS(value));
+
+      // then
+      assertEquals(expected, date.toInstant(), value);
+      assertEquals("2024-03-01T08:30:00+0000", DynamoDbTypes.fromDate(date));
+    }
+  }
+
+  /**
+   * Invalid dates.
+   */
+  @Test
+  void toDate02() {
+    assertNull(DynamoDbTypes.toDate((String) null));
+    assertNull(DynamoDbTypes.toDate("2024-03-01T08:30:00"));
+    assertNull(DynamoDbTypes.toDate("invalid"));
+  }
+}
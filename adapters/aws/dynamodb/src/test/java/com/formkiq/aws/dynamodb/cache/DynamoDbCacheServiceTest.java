@@ -30,11 +30,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /** Unit Tests for {@link CacheService}. */
@@ -80,4 +83,48 @@ public class DynamoDbCacheServiceTest {
     assertTrue(before.before(date));
     assertTrue(after.after(date));
   }
+
+  /**
+   * Test Write If Absent to Cache.
+   *
+   */
+  @Test
+  public void testWriteIfAbsent01() {
+    // given
+    String key = ID.uuid();
+
+    // when
+    boolean first = this.service.writeIfAbsent(key, "processing", Duration.ofMinutes(1));
+    boolean second = this.service.writeIfAbsent(key, "other", Duration.ofMinutes(1));
+
+    // then
+    assertTrue(first);
+    assertFalse(second);
+    assertEquals("processing", this.service.read(key));
+
+    // when
+    this.service.delete(key);
+
+    // then
+    assertNull(this.service.read(key));
+    assertTrue(this.service.writeIfAbsent(key, "processing", Duration.ofMinutes(1)));
+  }
+
+  /**
+   * Test Write If Absent replaces an expired value.
+   *
+   */
+  @Test
+  public void testWriteIfAbsent02() {
+    // given
+    String key = ID.uuid();
+    this.service.writeIfAbsent(key, "processing", Duration.ofMinutes(-1));
+
+    // when
+    boolean written = this.service.writeIfAbsent(key, "done", Duration.ofMinutes(1));
+
+    // then
+    assertTrue(written);
+    assertEquals("done", this.service.read(key));
+  }
 }
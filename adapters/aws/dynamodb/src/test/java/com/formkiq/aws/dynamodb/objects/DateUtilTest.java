@@ -25,6 +25,7 @@ package com.formkiq.aws.dynamodb.objects;
 
 import org.junit.jupiter.api.Test;
 
+import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -32,11 +33,18 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit Tests for {@link DateUtil}.
@@ -89,6 +97,57 @@ public class DateUtilTest {
     assertEquals(expected, DateUtil.toDateFromString(input, tz).toInstant());
   }
 
+  @Test
+  void testFormatIsoDate() throws Exception {
+    // given
+    final int count = 100000;
+    final long start = 1700000000000L;
+    final long step = 37000L;
+
+    for (int i = 0; i < count; i++) {
+      Date date = new Date(start + i * step);
+
+      // when
+      String iso = DateUtil.formatIsoDate(date);
+
+      // then
+      assertEquals(DateUtil.getIsoDateFormatter().format(date), iso);
+      assertEquals(DateUtil.getYyyyMmDdFormatter().format(date), DateUtil.formatYyyyMmDd(date));
+      assertEquals(date, DateUtil.parseIsoDate(iso));
+    }
+  }
+
+  @Test
+  void testFormatIsoDateConcurrent() throws Exception {
+    // given
+    final int threads = 8;
+    final int count = 10000;
+    final long start = 1700000000000L;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final long offset = t * 1000L;
+        futures.add(executor.submit(() -> {
+          boolean match = true;
+          for (int i = 0; i < count; i++) {
+            Date date = new Date(start + offset + i * 1000L * threads);
+            match &= date.equals(DateUtil.parseIsoDate(DateUtil.formatIsoDate(date)));
+          }
+          return match;
+        }));
+      }
+
+      // then
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   void testGmtStyleZone() {
     ZoneId zone = DateUtil.toZoneId("GMT+2");
@@ -155,6 +214,11 @@ public class DateUtilTest {
   // Error Handling Tests
   // ------------------------------
 
+  @Test
+  void testInvalidIsoDateThrows() {
+    assertThrows(ParseException.class, () -> DateUtil.parseIsoDate("2025-11-30"));
+  }
+
   @Test
   void testNamedZoneAmerica() {
     ZoneId zone = DateUtil.toZoneId("America/Winnipeg");
@@ -231,6 +295,34 @@ public class DateUtilTest {
     assertEquals(ZoneOffset.of("+09:30"), zone);
   }
 
+  @Test
+  void testParseIsoDate01() throws Exception {
+    // given
+    Instant utc = Instant.parse("2025-11-30T15:45:30Z");
+    Map<String, Instant> values = Map.of("2025-11-30T15:45:30+0000", utc, "2025-11-30T15:45:30Z",
+        utc, "2025-11-30T15:45:30+00:00", utc, "2025-11-30T15:45:30UTC", utc,
+        "2025-11-30T15:45:30GMT", utc, "2025-11-30T10:45:30-0500", utc,
+        "2025-11-30T10:45:30-05:00", utc, "2025-11-30T15:45:30.123Z",
+        Instant.parse("2025-11-30T15:45:30.123Z"));
+
+    for (Map.Entry<String, Instant> e : values.entrySet()) {
+
+      // when
+      Date date = DateUtil.parseIsoDate(e.getKey());
+
+      // then
+      assertEquals(e.getValue(), date.toInstant(), e.getKey());
+    }
+  }
+
+  @Test
+  void testParseIsoDate02() {
+    for (String value : List.of("2025-11-30T15:45:30", "2025-11-30", "2025-02-30T15:45:30Z",
+        "invalid")) {
+      assertThrows(ParseException.class, () -> DateUtil.parseIsoDate(value), value);
+    }
+  }
+
   @Test
   void testToDateFromString_dateOnly() {
     // given
@@ -0,0 +1,121 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.dynamodb.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 
+ * Unit Test for {@link MimeFinder}.
+ *
+ */
+class MimeFinderTest {
+
+  private static byte[] bytes(final int... values) {
+    byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+
+  private static byte[] bytes(final String s) {
+    return s.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Test find.
+   */
+  @Test
+  void testFind() {
+    assertEquals(MimeType.MIME_PDF, MimeFinder.find("APPLICATION/PDF"));
+    assertEquals(MimeType.MIME_HTML, MimeFinder.find("text/html;charset=UTF-8"));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.find(null));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.find("text/unknown"));
+  }
+
+  /**
+   * Test isSupported.
+   */
+  @Test
+  void testIsSupported() {
+    assertTrue(MimeFinder.isSupported(MimeType.MIME_DOCX, MimeType.MIME_PDF));
+    assertFalse(MimeFinder.isSupported(MimeType.MIME_PDF, MimeType.MIME_DOCX));
+  }
+
+  /**
+   * Test sniff.
+   */
+  @Test
+  void testSniff01() {
+    final int jpeg = 0xFF;
+    final int jpegSoi = 0xD8;
+    final int png = 0x89;
+    final int eof = 0x1A;
+    final int zip = 0x03;
+
+    assertEquals(MimeType.MIME_PDF, MimeFinder.sniff(bytes("%PDF-1.7\n%")));
+    assertEquals(MimeType.MIME_PNG,
+        MimeFinder.sniff(bytes(png, 'P', 'N', 'G', '\r', '\n', eof, '\n', 0, 0)));
+    assertEquals(MimeType.MIME_JPEG, MimeFinder.sniff(bytes(jpeg, jpegSoi, jpeg, 0)));
+    assertEquals(MimeType.MIME_GIF, MimeFinder.sniff(bytes("GIF89a")));
+    assertEquals(MimeType.MIME_TIFF, MimeFinder.sniff(bytes('I', 'I', '*', 0)));
+    assertEquals(MimeType.MIME_WEBP, MimeFinder.sniff(bytes("RIFF1234WEBPVP8 ")));
+    assertEquals(MimeType.MIME_HEIC, MimeFinder.sniff(bytes("0000ftypheic")));
+    assertEquals(MimeType.MIME_ZIP, MimeFinder.sniff(bytes('P', 'K', zip, zip + 1)));
+    assertEquals(MimeType.MIME_BMP, MimeFinder.sniff(bytes("BM")));
+  }
+
+  /**
+   * Test sniff unknown or too short.
+   */
+  @Test
+  void testSniff02() {
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.sniff((byte[]) null));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.sniff(new byte[0]));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.sniff(bytes("%PD")));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.sniff(bytes("testdata")));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeFinder.sniff(bytes("RIFF1234WAVE")));
+  }
+
+  /**
+   * Test sniff {@link java.io.InputStream}.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void testSniff03() throws IOException {
+    byte[] data = bytes("%PDF-1.7\n" + "x".repeat(MimeFinder.SNIFF_LENGTH * 2));
+    ByteArrayInputStream is = new ByteArrayInputStream(data);
+
+    assertEquals(MimeType.MIME_PDF, MimeFinder.sniff(is));
+    assertEquals(data.length - MimeFinder.SNIFF_LENGTH, is.available());
+  }
+}
@@ -42,6 +42,10 @@ class MimeTypeTest {
   void testFromContentType() {
     assertEquals(MimeType.MIME_PNG, MimeType.fromContentType("image/png"));
     assertEquals(MimeType.MIME_UNKNOWN, MimeType.fromContentType(null));
+    assertEquals(MimeType.MIME_PLAIN_TEXT, MimeType.fromContentType("text/plain; charset=UTF-8"));
+    assertEquals(MimeType.MIME_PDF, MimeType.fromContentType(" Application/PDF "));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeType.fromContentType("application/unknown"));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeType.fromContentType("UNKNOWN"));
   }
 
   /**
@@ -52,6 +56,11 @@ class MimeTypeTest {
     assertEquals("png", MimeType.fromContentType("image/png").getExtension());
     assertEquals("txt", MimeType.fromContentType("text/plain").getExtension());
     assertEquals("", MimeType.fromContentType(null).getExtension());
+    assertEquals(MimeType.MIME_JPEG, MimeType.fromExtension("jpg"));
+    assertEquals(MimeType.MIME_TIF, MimeType.fromExtension("tif"));
+    assertEquals(MimeType.MIME_PDF, MimeType.fromExtension("PDF"));
+    assertEquals(MimeType.MIME_UNKNOWN, MimeType.fromExtension(""));
+    assertEquals(MimeType.MIME_DOCX, MimeType.findByPath("test.docx"));
   }
 
   /**
@@ -0,0 +1,257 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.eventbridge;
+
+import com.formkiq.module.lambdaservices.logger.LogLevel;
+import com.formkiq.module.lambdaservices.logger.Logger;
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link EventBridgeMessage} in PutEvents batches of up to 10 entries and 256 KB,
+ * retrying only the entries reported as failed.
+ */
+public class EventBridgeBatchPublisher {
+
+  /** Maximum number of entries in a PutEvents request. */
+  public static final int MAX_BATCH_ENTRIES = 10;
+  /** Maximum size of a PutEvents request in bytes. */
+  public static final long MAX_BATCH_SIZE = 256 * 1024;
+  /** Error code for entries larger than {@link #MAX_BATCH_SIZE}. */
+  public static final String ENTRY_TOO_LARGE = "EntryTooLarge";
+  /** Maximum number of PutEvents calls per batch. */
+  private static final int MAX_ATTEMPTS = 3;
+  /** Base retry delay in milliseconds. */
+  private static final long RETRY_DELAY_MILLIS = 100;
+  /** Error codes that can be retried. */
+  private static final Set<String> RETRYABLE_ERROR_CODES =
+      Set.of("InternalFailure", "ThrottlingException");
+
+  /**
+   * Calculate the size of a PutEvents entry, as defined by EventBridge.
+   *
+   * @param message {@link EventBridgeMessage}
+   * @return long
+   */
+  public static long entrySize(final EventBridgeMessage message) {
+    return utf8Length(message.getSource()) + utf8Length(message.getDetailType())
+        + utf8Length(message.getDetail());
+  }
+
+  /**
+   * Split messages into batches of at most {@link #MAX_BATCH_ENTRIES} entries and
+   * {@link #MAX_BATCH_SIZE} bytes. Messages larger than {@link #MAX_BATCH_SIZE} are not included.
+   *
+   * @param messages {@link List} {@link EventBridgeMessage}
+   * @return {@link List} of batches
+   */
+  public static List<List<EventBridgeMessage>> partition(final List<EventBridgeMessage> messages) {
+
+    List<List<EventBridgeMessage>> batches = new ArrayList<>();
+    List<EventBridgeMessage> batch = new ArrayList<>();
+    long batchSize = 0;
+
+    for (EventBridgeMessage message : messages) {
+
+      long size = entrySize(message);
+      if (size > MAX_BATCH_SIZE) {
+        continue;
+      }
+
+      if (batch.size() == MAX_BATCH_ENTRIES || batchSize + size > MAX_BATCH_SIZE) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchSize = 0;
+      }
+
+      batch.add(message);
+      batchSize += size;
+    }
+
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+
+    return batches;
+  }
+
+  private static long utf8Length(final String s) {
+    return s != null ? s.getBytes(StandardCharsets.UTF_8).length : 0;
+  }
+
+  /** {@link EventBridgeClient}. */
+  private final EventBridgeClient client;
+  /** {@link Logger}. */
+  private final Logger log;
+
+  /**
+   * constructor.
+   *
+   * @param eventBridgeClient {@link EventBridgeClient}
+   * @param logger {@link Logger}
+   */
+  public EventBridgeBatchPublisher(final EventBridgeClient eventBridgeClient,
+      final Logger logger) {
+    this.client = eventBridgeClient;
+    this.log = logger;
+  }
+
+  private List<PutEventsRequestEntry> buildEntries(final String eventBusName,
+      final List<EventBridgeMessage> messages) {
+    return messages.stream()
+        .map(m -> PutEventsRequestEntry.builder().eventBusName(eventBusName)
+            .detailType(m.getDetailType()).source(m.getSource()).detail(m.getDetail()).build())
+        .toList();
+  }
+
+  private void logMetrics(final EventBridgeBatchMetrics metrics) {
+    if (this.log != null && this.log.isLogged(LogLevel.DEBUG)) {
+      this.log.debug(String.format(
+          "{\"type\":\"eventBridgeBatch\",\"batch\":%d,\"entries\":%d,\"sizeInBytes\":%d,"
+              + "\"attempts\":%d,\"failedEntries\":%d,\"elapsedMillis\":%d}",
+          metrics.batch(), metrics.entries(), metrics.sizeInBytes(), metrics.attempts(),
+          metrics.failedEntries(), metrics.elapsedMillis()));
+    }
+  }
+
+  /**
+   * Publish messages.
+   *
+   * @param eventBusName {@link String}
+   * @param messages {@link List} {@link EventBridgeMessage}
+   * @return {@link EventBridgeBatchResult}
+   */
+  public EventBridgeBatchResult publish(final String eventBusName,
+      final List<EventBridgeMessage> messages) {
+
+    if (eventBusName == null) {
+      throw new IllegalStateException("'eventBusName' cannot be null");
+    }
+
+    List<EventBridgeFailedEntry> failed = new ArrayList<>();
+    messages.stream().filter(m -> entrySize(m) > MAX_BATCH_SIZE)
+        .forEach(m -> failed.add(new EventBridgeFailedEntry(m, ENTRY_TOO_LARGE,
+            "Entry is larger than " + MAX_BATCH_SIZE + " bytes")));
+
+    List<EventBridgeBatchMetrics> metrics = new ArrayList<>();
+    List<List<EventBridgeMessage>> batches = partition(messages);
+
+    for (int i = 0; i < batches.size(); i++) {
+      EventBridgeBatchMetrics m = send(i, eventBusName, batches.get(i), failed);
+      logMetrics(m);
+      metrics.add(m);
+    }
+
+    return new EventBridgeBatchResult(metrics, failed);
+  }
+
+  /**
+   * Send a batch, retrying the entries that failed with a retryable error.
+   *
+   * @param batch int
+   * @param eventBusName {@link String}
+   * @param messages {@link List} {@link EventBridgeMessage}
+   * @param failed {@link List} {@link EventBridgeFailedEntry}
+   * @return {@link EventBridgeBatchMetrics}
+   */
+  private EventBridgeBatchMetrics send(final int batch, final String eventBusName,
+      final List<EventBridgeMessage> messages, final List<EventBridgeFailedEntry> failed) {
+
+    long start = System.currentTimeMillis();
+    long size = messages.stream().mapToLong(EventBridgeBatchPublisher::entrySize).sum();
+
+    List<EventBridgeMessage> pending = messages;
+    List<EventBridgeFailedEntry> retryFailed = new ArrayList<>();
+    int permanentFailures = 0;
+    int attempts = 0;
+
+    while (!pending.isEmpty() && attempts < MAX_ATTEMPTS && backoff(attempts)) {
+
+      attempts++;
+      retryFailed.clear();
+
+      PutEventsRequest request =
+          PutEventsRequest.builder().entries(buildEntries(eventBusName, pending)).build();
+      List<PutEventsResultEntry> results = this.client.putEvents(request).entries();
+
+      List<EventBridgeMessage> retry = new ArrayList<>();
+
+      for (int i = 0; i < results.size() && i < pending.size(); i++) {
+
+        PutEventsResultEntry result = results.get(i);
+        if (result.errorCode() != null) {
+
+          EventBridgeMessage message = pending.get(i);
+          EventBridgeFailedEntry entry =
+              new EventBridgeFailedEntry(message, result.errorCode(), result.errorMessage());
+
+          if (RETRYABLE_ERROR_CODES.contains(result.errorCode())) {
+            retry.add(message);
+            retryFailed.add(entry);
+          } else {
+            failed.add(entry);
+            permanentFailures++;
+          }
+        }
+      }
+
+      pending = retry;
+    }
+
+    failed.addAll(retryFailed);
+
+    return new EventBridgeBatchMetrics(batch, messages.size(), size, attempts,
+        permanentFailures + retryFailed.size(), System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Wait before a retry attempt, the delay doubles on each attempt.
+   *
+   * @param attempt int
+   * @return boolean whether to continue
+   */
+  private boolean backoff(final int attempt) {
+
+    boolean proceed = true;
+
+    if (attempt > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS << (attempt - 1));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        proceed = false;
+      }
+    }
+
+    return proceed;
+  }
+}
@@ -0,0 +1,54 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.eventbridge;
+
+import java.util.List;
+
+/**
+ * Result of publishing a list of {@link EventBridgeMessage}.
+ *
+ * @param batches {@link List} {@link EventBridgeBatchMetrics}
+ * @param failed {@link List} {@link EventBridgeFailedEntry}
+ */
+public record EventBridgeBatchResult(List<EventBridgeBatchMetrics> batches,
+    List<EventBridgeFailedEntry> failed) {
+
+  /**
+   * Number of PutEvents calls made.
+   *
+   * @return int
+   */
+  public int calls() {
+    return this.batches.stream().mapToInt(EventBridgeBatchMetrics::attempts).sum();
+  }
+
+  /**
+   * Whether any entry failed.
+   *
+   * @return boolean
+   */
+  public boolean hasFailures() {
+    return !this.failed.isEmpty();
+  }
+}
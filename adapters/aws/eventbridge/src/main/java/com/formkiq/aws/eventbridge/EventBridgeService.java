@@ -27,6 +27,8 @@ import software.amazon.awssdk.services.eventbridge.model.CreateEventBusResponse;
 import software.amazon.awssdk.services.eventbridge.model.DeleteEventBusResponse;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 
+import java.util.List;
+
 /**
  * Event Bridge Service.
  *
@@ -83,6 +85,17 @@ public interface EventBridgeService {
    */
   PutEventsResponse putEvents(String eventBusName, EventBridgeMessage eventBridgeMessage);
 
+  /**
+   * Put AWS Event Bridge Events, in batches of up to 10 entries and 256 KB per PutEvents call.
+   * Entries reported as failed with a retryable error are retried.
+   *
+   * @param eventBusName The name or ARN of the event bus to receive the events.
+   * @param eventBridgeMessages {@link List} {@link EventBridgeMessage}
+   * @return {@link EventBridgeBatchResult}
+   */
+  EventBridgeBatchResult putEvents(String eventBusName,
+      List<EventBridgeMessage> eventBridgeMessages);
+
   /**
    * Put AWS Event Bridge Event.
    *
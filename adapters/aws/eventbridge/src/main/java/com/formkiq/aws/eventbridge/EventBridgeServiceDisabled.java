@@ -27,6 +27,8 @@ import software.amazon.awssdk.services.eventbridge.model.CreateEventBusResponse;
 import software.amazon.awssdk.services.eventbridge.model.DeleteEventBusResponse;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 
+import java.util.List;
+
 /**
  * Disabled {@link EventBridgeService} returns NoOp.
  */
@@ -58,6 +60,12 @@ public class EventBridgeServiceDisabled implements EventBridgeService {
     throw new UnsupportedOperationException("Operational Mode 'Disabled'");
   }
 
+  @Override
+  public EventBridgeBatchResult putEvents(final String eventBusName,
+      final List<EventBridgeMessage> eventBridgeMessages) {
+    throw new UnsupportedOperationException("Operational Mode 'Disabled'");
+  }
+
   @Override
   public PutEventsResponse putEvents(final String eventBusName, final String detailType,
       final String detail, final String source) {
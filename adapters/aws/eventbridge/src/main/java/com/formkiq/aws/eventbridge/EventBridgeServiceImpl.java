@@ -38,6 +38,8 @@ import software.amazon.awssdk.services.eventbridge.model.PutTargetsRequest;
 import software.amazon.awssdk.services.eventbridge.model.RemoveTargetsRequest;
 import software.amazon.awssdk.services.eventbridge.model.Target;
 
+import java.util.List;
+
 /**
  * Implementation of {@link EventBridgeService}.
  */
@@ -45,6 +47,8 @@ public class EventBridgeServiceImpl implements EventBridgeService {
 
   /** {@link EventBridgeClient}. */
   private final EventBridgeClient client;
+  /** {@link EventBridgeBatchPublisher}. */
+  private final EventBridgeBatchPublisher publisher;
   /** {@link Logger}. */
   private final Logger log;
 
@@ -59,6 +63,7 @@ public class EventBridgeServiceImpl implements EventBridgeService {
       final EventBridgeConnectionBuilder connection) {
     this.client = connection.build();
     this.log = logger;
+    this.publisher = new EventBridgeBatchPublisher(this.client, logger);
   }
 
   @Override
@@ -102,6 +107,12 @@ public class EventBridgeServiceImpl implements EventBridgeService {
     return putEvents(eventBusName, msg.getDetailType(), msg.getDetail(), msg.getSource());
   }
 
+  @Override
+  public EventBridgeBatchResult putEvents(final String eventBusName,
+      final List<EventBridgeMessage> eventBridgeMessages) {
+    return this.publisher.publish(eventBusName, eventBridgeMessages);
+  }
+
   @Override
   public PutEventsResponse putEvents(final String eventBusName, final String detailType,
       final String detail, final String source) {
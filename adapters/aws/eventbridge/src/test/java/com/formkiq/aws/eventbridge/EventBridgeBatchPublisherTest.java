@@ -0,0 +1,223 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.eventbridge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.formkiq.module.lambdaservices.logger.LoggerRecorder;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+/** Unit tests for {@link EventBridgeBatchPublisher}. */
+public class EventBridgeBatchPublisherTest {
+
+  private static List<String> details(final PutEventsRequest request) {
+    return request.entries().stream().map(PutEventsRequestEntry::detail).toList();
+  }
+
+  private static EventBridgeMessage message(final int detailSize) {
+    return new EventBridgeMessage("type", "a".repeat(detailSize), "source");
+  }
+
+  private static List<EventBridgeMessage> messages(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new EventBridgeMessage("type", "m" + i, "source")).toList();
+  }
+
+  /**
+   * Partition by number of entries.
+   */
+  @Test
+  void partition01() {
+    // given
+    List<EventBridgeMessage> messages = IntStream.range(0, 25).mapToObj(i -> message(10)).toList();
+
+    // when
+    List<List<EventBridgeMessage>> batches = EventBridgeBatchPublisher.partition(messages);
+
+    // then
+    assertEquals(3, batches.size());
+    assertEquals(10, batches.get(0).size());
+    assertEquals(10, batches.get(1).size());
+    assertEquals(5, batches.get(2).size());
+  }
+
+  /**
+   * Partition by request size.
+   */
+  @Test
+  void partition02() {
+    // given
+    final int detailSize = 100 * 1024;
+    List<EventBridgeMessage> messages =
+        IntStream.range(0, 5).mapToObj(i -> message(detailSize)).toList();
+
+    // when
+    List<List<EventBridgeMessage>> batches = EventBridgeBatchPublisher.partition(messages);
+
+    // then
+    assertEquals(3, batches.size());
+    assertEquals(2, batches.get(0).size());
+    assertEquals(2, batches.get(1).size());
+    assertEquals(1, batches.get(2).size());
+  }
+
+  /**
+   * Entries larger than the request size are skipped.
+   */
+  @Test
+  void partition03() {
+    // given
+    final int detailSize = 257 * 1024;
+    List<EventBridgeMessage> messages = List.of(message(10), message(detailSize), message(10));
+
+    // when
+    List<List<EventBridgeMessage>> batches = EventBridgeBatchPublisher.partition(messages);
+
+    // then
+    assertEquals(1, batches.size());
+    assertEquals(2, batches.get(0).size());
+    assertEquals(4 + 6 + 10, EventBridgeBatchPublisher.entrySize(message(10)));
+  }
+
+  /**
+   * Only the failed entries are retried.
+   */
+  @Test
+  void publish01() {
+    // given
+    final int count = 12;
+    InMemoryEventBridgeClient client =
+        new InMemoryEventBridgeClient().errors("m3", "ThrottlingException", "InternalFailure");
+    LoggerRecorder logger = new LoggerRecorder();
+    EventBridgeBatchPublisher publisher = new EventBridgeBatchPublisher(client, logger);
+
+    // when
+    EventBridgeBatchResult result = publisher.publish("bus", messages(count));
+
+    // then
+    assertFalse(result.hasFailures());
+    assertEquals(4, result.calls());
+
+    List<PutEventsRequest> requests = client.requests();
+    assertEquals(4, requests.size());
+    assertEquals(10, requests.get(0).entries().size());
+    assertEquals(List.of("m3"), details(requests.get(1)));
+    assertEquals(List.of("m3"), details(requests.get(2)));
+    assertEquals(List.of("m10", "m11"), details(requests.get(3)));
+    assertEquals("bus", requests.get(1).entries().get(0).eventBusName());
+  }
+
+  /**
+   * Retries stop once the attempts are exhausted.
+   */
+  @Test
+  void publish02() {
+    // given
+    InMemoryEventBridgeClient client = new InMemoryEventBridgeClient().errors("m1",
+        "ThrottlingException", "ThrottlingException", "ThrottlingException", "ThrottlingException");
+    EventBridgeBatchPublisher publisher = new EventBridgeBatchPublisher(client, null);
+
+    // when
+    EventBridgeBatchResult result = publisher.publish("bus", messages(2));
+
+    // then
+    assertEquals(3, client.requests().size());
+    assertEquals(List.of("m0", "m1"), details(client.requests().get(0)));
+    assertEquals(List.of("m1"), details(client.requests().get(1)));
+    assertEquals(List.of("m1"), details(client.requests().get(2)));
+
+    assertEquals(1, result.failed().size());
+    assertEquals("m1", result.failed().get(0).message().getDetail());
+    assertEquals("ThrottlingException", result.failed().get(0).errorCode());
+  }
+
+  /**
+   * Non retryable and oversized entries fail without a retry.
+   */
+  @Test
+  void publish03() {
+    // given
+    final int detailSize = 257 * 1024;
+    InMemoryEventBridgeClient client =
+        new InMemoryEventBridgeClient().errors("m0", "MalformedDetail");
+    EventBridgeBatchPublisher publisher = new EventBridgeBatchPublisher(client, null);
+    List<EventBridgeMessage> messages = List.of(messages(2).get(0), message(detailSize));
+
+    // when
+    EventBridgeBatchResult result = publisher.publish("bus", messages);
+
+    // then
+    assertEquals(1, client.requests().size());
+    assertEquals(List.of("m0"), details(client.requests().get(0)));
+
+    assertEquals(2, result.failed().size());
+    assertEquals(EventBridgeBatchPublisher.ENTRY_TOO_LARGE, result.failed().get(0).errorCode());
+    assertEquals("MalformedDetail", result.failed().get(1).errorCode());
+  }
+
+  /**
+   * Metrics are recorded and logged per batch.
+   */
+  @Test
+  void publish04() {
+    // given
+    final int count = 12;
+    InMemoryEventBridgeClient client = new InMemoryEventBridgeClient().errors("m0",
+        "ThrottlingException", "ThrottlingException", "ThrottlingException");
+    LoggerRecorder logger = new LoggerRecorder();
+    EventBridgeBatchPublisher publisher = new EventBridgeBatchPublisher(client, logger);
+
+    // when
+    EventBridgeBatchResult result = publisher.publish("bus", messages(count));
+
+    // then
+    assertEquals(2, result.batches().size());
+
+    EventBridgeBatchMetrics metrics = result.batches().get(0);
+    assertEquals(0, metrics.batch());
+    assertEquals(10, metrics.entries());
+    assertEquals(3, metrics.attempts());
+    assertEquals(1, metrics.failedEntries());
+    assertEquals(messages(count).subList(0, 10).stream()
+        .mapToLong(EventBridgeBatchPublisher::entrySize).sum(), metrics.sizeInBytes());
+
+    metrics = result.batches().get(1);
+    assertEquals(1, metrics.batch());
+    assertEquals(2, metrics.entries());
+    assertEquals(1, metrics.attempts());
+    assertEquals(0, metrics.failedEntries());
+
+    assertEquals(2, logger.getMessages().size());
+    assertTrue(logger.containsString("\"type\":\"eventBridgeBatch\",\"batch\":0,\"entries\":10"));
+    assertTrue(logger.containsString("\"attempts\":3,\"failedEntries\":1"));
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.eventbridge;
+
+import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 
+ * In-memory {@link EventBridgeClient} stand-in that records PutEvents requests and fails entries
+ * with scripted error codes.
+ *
+ */
+public class InMemoryEventBridgeClient implements EventBridgeClient {
+
+  /** Error codes returned for an entry detail, one per attempt. */
+  private final Map<String, Queue<String>> errors = new HashMap<>();
+  /** Recorded {@link PutEventsRequest}. */
+  private final List<PutEventsRequest> requests = new ArrayList<>();
+
+  /**
+   * constructor.
+   */
+  public InMemoryEventBridgeClient() {}
+
+  @Override
+  public void close() {
+    // nothing to close
+  }
+
+  /**
+   * Fail the entry with the detail with the error codes, one per attempt.
+   *
+   * @param detail {@link String}
+   * @param errorCodes {@link String}
+   * @return {@link InMemoryEventBridgeClient}
+   */
+  public InMemoryEventBridgeClient errors(final String detail, final String... errorCodes) {
+    this.errors.put(detail, new ArrayDeque<>(Arrays.asList(errorCodes)));
+    return this;
+  }
+
+  @Override
+  public PutEventsResponse putEvents(final PutEventsRequest request) {
+
+    this.requests.add(request);
+
+    List<PutEventsResultEntry> results = new ArrayList<>();
+    int failed = 0;
+
+    for (PutEventsRequestEntry entry : request.entries()) {
+
+      Queue<String> codes = this.errors.get(entry.detail());
+      String errorCode = codes != null ? codes.poll() : null;
+
+      if (errorCode != null) {
+        results.add(PutEventsResultEntry.builder().errorCode(errorCode)
+            .errorMessage(errorCode + " error").build());
+        failed++;
+      } else {
+        results.add(PutEventsResultEntry.builder().eventId(entry.detail()).build());
+      }
+    }
+
+    return PutEventsResponse.builder().entries(results).failedEntryCount(failed).build();
+  }
+
+  /**
+   * Get recorded {@link PutEventsRequest}.
+   *
+   * @return {@link List} {@link PutEventsRequest}
+   */
+  public List<PutEventsRequest> requests() {
+    return this.requests;
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+}
@@ -24,6 +24,8 @@
 package com.formkiq.aws.s3;
 
 import java.net.URI;
+
+import com.formkiq.module.lambdaservices.metrics.MetricsExecutionInterceptor;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
@@ -56,7 +58,8 @@ public class S3ConnectionBuilder {
   public S3ConnectionBuilder(final boolean enableAwsXray) {
     System.setProperty("aws.s3UseUsEast1RegionalEndpoint", "regional");
 
-    ClientOverrideConfiguration.Builder clientConfig = ClientOverrideConfiguration.builder();
+    ClientOverrideConfiguration.Builder clientConfig = ClientOverrideConfiguration.builder()
+        .addExecutionInterceptor(new MetricsExecutionInterceptor());
     SdkHttpClient c = UrlConnectionHttpClient.builder().build();
 
     // if (enableAwsXray) {
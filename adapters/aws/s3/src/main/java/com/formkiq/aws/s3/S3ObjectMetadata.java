@@ -32,6 +32,10 @@ import java.util.Map;
  *
  */
 public class S3ObjectMetadata {
+  /** Cache Control. */
+  private String cacheControl;
+  /** Content Encoding. */
+  private String contentEncoding;
   /** Content Length. */
   private Long contentLength;
   /** Object Content Type. */
@@ -72,6 +76,15 @@ public class S3ObjectMetadata {
     return hex.toString();
   }
 
+  /**
+   * Get Cache Control.
+   *
+   * @return {@link String}
+   */
+  public String getCacheControl() {
+    return this.cacheControl;
+  }
+
   /**
    * Get Checksum.
    * 
@@ -143,6 +156,15 @@ public class S3ObjectMetadata {
     return checksumType;
   }
 
+  /**
+   * Get Content Encoding.
+   *
+   * @return {@link String}
+   */
+  public String getContentEncoding() {
+    return this.contentEncoding;
+  }
+
   /**
    * Get Content Length.
    * 
@@ -212,6 +234,17 @@ public class S3ObjectMetadata {
     return s.replaceAll("^['\"]|['\"]$", "");
   }
 
+  /**
+   * Set Cache Control.
+   *
+   * @param objectCacheControl {@link String}
+   * @return {@link S3ObjectMetadata}
+   */
+  public S3ObjectMetadata setCacheControl(final String objectCacheControl) {
+    this.cacheControl = objectCacheControl;
+    return this;
+  }
+
   /**
    * Set Checksum Sha1.
    * 
@@ -245,6 +278,17 @@ public class S3ObjectMetadata {
     return this;
   }
 
+  /**
+   * Set Content Encoding.
+   *
+   * @param objectContentEncoding {@link String}
+   * @return {@link S3ObjectMetadata}
+   */
+  public S3ObjectMetadata setContentEncoding(final String objectContentEncoding) {
+    this.contentEncoding = objectContentEncoding;
+    return this;
+  }
+
   /**
    * Set Content Length.
    *
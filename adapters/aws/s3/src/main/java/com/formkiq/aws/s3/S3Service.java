@@ -311,24 +311,28 @@ public class S3Service {
 
       response = s3Client.listObjectVersions(requestBuilder.build());
 
+      List<ObjectIdentifier> batch = new ArrayList<>();
+
       for (ObjectVersion version : response.versions()) {
         if (version.key().equals(key)) {
-          DeleteObjectRequest deleteVersionRequest = DeleteObjectRequest.builder()
-              .bucket(bucketName).key(key).versionId(version.versionId()).build();
-          totalDeleted++;
-          s3Client.deleteObject(deleteVersionRequest);
+          batch.add(ObjectIdentifier.builder().key(key).versionId(version.versionId()).build());
         }
       }
 
       for (DeleteMarkerEntry deleteMarker : response.deleteMarkers()) {
         if (deleteMarker.key().equals(key)) {
-          DeleteObjectRequest deleteMarkerRequest = DeleteObjectRequest.builder().bucket(bucketName)
-              .key(key).versionId(deleteMarker.versionId()).build();
-          totalDeleted++;
-          s3Client.deleteObject(deleteMarkerRequest);
+          batch.add(
+              ObjectIdentifier.builder().key(key).versionId(deleteMarker.versionId()).build());
         }
       }
 
+      // DeleteObjects accepts up to 1000 keys per request
+      for (int i = 0; i < batch.size(); i += maxKeys) {
+        deleteBatch(bucketName, batch.subList(i, Math.min(batch.size(), i + maxKeys)));
+      }
+
+      totalDeleted += batch.size();
+
       // Prepare for next page of results, if any
       keyMarker = response.nextKeyMarker();
       versionIdMarker = response.nextVersionIdMarker();
@@ -454,6 +458,19 @@ public class S3Service {
     return response.asInputStream();
   }
 
+  /**
+   * Get File Content as an unbuffered {@link InputStream} read directly from S3, the caller must
+   * close the stream.
+   *
+   * @param bucket {@link String}
+   * @param key {@link String}
+   * @return {@link InputStream}
+   */
+  public InputStream getContentAsStream(final String bucket, final String key) {
+    GetObjectRequest get = GetObjectRequest.builder().bucket(bucket).key(key).build();
+    return this.s3Client.getObject(get);
+  }
+
   /**
    * Get File String Content.
    * 
@@ -520,6 +537,8 @@ public class S3Service {
       Map<String, String> metadata = resp.metadata();
       md.setObjectExists(true);
       md.setContentType(resp.contentType());
+      md.setContentEncoding(resp.contentEncoding());
+      md.setCacheControl(resp.cacheControl());
       md.setMetadata(metadata);
       md.setEtag(resp.eTag());
       md.setContentLength(resp.contentLength());
@@ -639,6 +658,24 @@ public class S3Service {
    */
   public PutObjectResponse putObject(final String bucket, final String key, final byte[] data,
       final String contentType, final Map<String, String> metadata) {
+    return putObject(bucket, key, data, contentType, metadata, null, null);
+  }
+
+  /**
+   * Put Object in Bucket with HTTP Content-Encoding / Cache-Control headers.
+   * 
+   * @param bucket {@link String}
+   * @param key {@link String}
+   * @param data byte[]
+   * @param contentType {@link String}
+   * @param metadata {@link Map}
+   * @param contentEncoding {@link String}
+   * @param cacheControl {@link String}
+   * @return {@link PutObjectResponse}
+   */
+  public PutObjectResponse putObject(final String bucket, final String key, final byte[] data,
+      final String contentType, final Map<String, String> metadata, final String contentEncoding,
+      final String cacheControl) {
     int contentLength = data.length;
     PutObjectRequest.Builder build =
         PutObjectRequest.builder().bucket(bucket).key(key).contentLength((long) contentLength);
@@ -651,6 +688,14 @@ public class S3Service {
       build.metadata(metadata);
     }
 
+    if (contentEncoding != null) {
+      build.contentEncoding(contentEncoding);
+    }
+
+    if (cacheControl != null) {
+      build.cacheControl(cacheControl);
+    }
+
     PutObjectRequest request = build.build();
 
     if (this.interceptor != null) {
@@ -0,0 +1,226 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.sqs;
+
+import com.formkiq.module.lambdaservices.logger.Logger;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQS queue consumer. Long polls the queue, processes messages on a pool of workers, extends the
+ * visibility timeout of messages still being processed and deletes processed messages using
+ * DeleteMessageBatch. Messages still being processed are extended by the queue's visibility
+ * timeout, every half of the visibility timeout.
+ */
+public class SqsConsumer implements AutoCloseable {
+
+  /** Maximum messages per receive. */
+  private static final int MAX_MESSAGES = 10;
+  /** Long polling wait time. */
+  private static final int WAIT_TIME_SECONDS = 20;
+  /** How often processed messages are deleted and visibility is extended. */
+  private static final long MAINTENANCE_DELAY_MILLIS = 500;
+  /** Shutdown wait time. */
+  private static final long SHUTDOWN_WAIT_SECONDS = 60;
+
+  /** Processed receipt handles waiting to be deleted. */
+  private final Queue<String> completed = new ConcurrentLinkedQueue<>();
+  /** {@link SqsMessageHandler}. */
+  private final SqsMessageHandler handler;
+  /** In flight receipt handles and the time their visibility was last extended. */
+  private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+  /** {@link Logger}. */
+  private final Logger logger;
+  /** {@link ScheduledExecutorService}. */
+  private final ScheduledExecutorService maintenance =
+      Executors.newSingleThreadScheduledExecutor();
+  /** Available worker permits. */
+  private final Semaphore permits;
+  /** Queue Url. */
+  private final String queueUrl;
+  /** Whether consumer is running. */
+  private volatile boolean running;
+  /** {@link SqsService}. */
+  private final SqsService sqs;
+  /** Polling {@link Thread}. */
+  private Thread poller;
+  /** Worker {@link ExecutorService}. */
+  private final ExecutorService workers;
+  /** Visibility timeout in seconds, set on messages still being processed. */
+  private int visibilityTimeout;
+  /** How often the visibility timeout of in flight messages is extended. */
+  private long visibilityExtendMillis;
+
+  /**
+   * constructor.
+   *
+   * @param sqsService {@link SqsService}
+   * @param sqsQueueUrl {@link String}
+   * @param messageHandler {@link SqsMessageHandler}
+   * @param workerCount number of messages processed concurrently
+   * @param log {@link Logger}
+   */
+  public SqsConsumer(final SqsService sqsService, final String sqsQueueUrl,
+      final SqsMessageHandler messageHandler, final int workerCount, final Logger log) {
+    if (workerCount < 1) {
+      throw new IllegalArgumentException("'workerCount' must be greater than 0");
+    }
+    this.sqs = sqsService;
+    this.queueUrl = sqsQueueUrl;
+    this.handler = messageHandler;
+    this.logger = log;
+    this.permits = new Semaphore(workerCount);
+    this.workers = Executors.newFixedThreadPool(workerCount);
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    this.running = false;
+    if (this.poller != null) {
+      this.poller.interrupt();
+      this.poller.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_WAIT_SECONDS));
+    }
+    this.workers.shutdown();
+    this.workers.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+    this.maintenance.shutdown();
+    this.maintenance.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+    deleteCompleted();
+  }
+
+  private void deleteCompleted() {
+
+    List<String> receiptHandles = new ArrayList<>();
+    for (String receiptHandle = this.completed.poll(); receiptHandle != null; receiptHandle =
+        this.completed.poll()) {
+      receiptHandles.add(receiptHandle);
+    }
+
+    if (!receiptHandles.isEmpty()) {
+      List<BatchResultErrorEntry> failed = this.sqs.deleteMessages(this.queueUrl, receiptHandles);
+      failed.forEach(f -> this.logger.error(String.format(
+          "unable to delete message from %s: %s %s", this.queueUrl, f.code(), f.message())));
+    }
+  }
+
+  private void extendVisibility() {
+
+    long now = System.currentTimeMillis();
+
+    this.inFlight.forEach((receiptHandle, lastExtended) -> {
+      if (now - lastExtended >= this.visibilityExtendMillis
+          && this.inFlight.replace(receiptHandle, lastExtended, now)) {
+        this.sqs.changeMessageVisibility(this.queueUrl, receiptHandle, this.visibilityTimeout);
+      }
+    });
+  }
+
+  private void maintain() {
+    try {
+      deleteCompleted();
+      extendVisibility();
+    } catch (RuntimeException e) {
+      this.logger.error(e);
+    }
+  }
+
+  private void poll() {
+    while (this.running) {
+      try {
+        receive();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        this.running = false;
+      } catch (RuntimeException e) {
+        // receive is aborted by the interrupt on close
+        if (this.running) {
+          this.logger.error(e);
+        }
+      }
+    }
+  }
+
+  private void process(final Message message) {
+    String receiptHandle = message.receiptHandle();
+    try {
+      this.handler.handle(message);
+      this.completed.add(receiptHandle);
+    } catch (Exception e) {
+      this.logger.error(e);
+    } finally {
+      this.inFlight.remove(receiptHandle);
+      this.permits.release();
+    }
+  }
+
+  /**
+   * Receive as many messages as there are idle workers and submit them for processing.
+   *
+   * @throws InterruptedException InterruptedException
+   */
+  private void receive() throws InterruptedException {
+
+    this.permits.acquire();
+    int available = 1 + this.permits.drainPermits();
+    int maxNumberOfMessages = Math.min(MAX_MESSAGES, available);
+
+    List<Message> messages = List.of();
+    try {
+      messages = this.sqs.receiveMessages(this.queueUrl, maxNumberOfMessages, WAIT_TIME_SECONDS)
+          .messages();
+    } finally {
+      this.permits.release(available - messages.size());
+    }
+
+    long now = System.currentTimeMillis();
+    for (Message message : messages) {
+      this.inFlight.put(message.receiptHandle(), now);
+      this.workers.submit(() -> process(message));
+    }
+  }
+
+  /**
+   * Start consuming messages.
+   */
+  public void start() {
+    this.visibilityTimeout = Math.max(1, this.sqs.getVisibilityTimeout(this.queueUrl));
+    this.visibilityExtendMillis =
+        Math.max(MAINTENANCE_DELAY_MILLIS, TimeUnit.SECONDS.toMillis(this.visibilityTimeout) / 2);
+    this.running = true;
+    this.maintenance.scheduleWithFixedDelay(this::maintain, MAINTENANCE_DELAY_MILLIS,
+        MAINTENANCE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    this.poller = Thread.ofPlatform().name("sqs-consumer").daemon().start(this::poll);
+  }
+}
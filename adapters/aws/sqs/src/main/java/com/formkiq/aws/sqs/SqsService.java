@@ -25,6 +25,7 @@ package com.formkiq.aws.sqs;
 
 import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
 import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
 import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
 import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
@@ -35,6 +36,8 @@ import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
 
+import java.util.List;
+
 /**
  * SQS Service.
  *
@@ -49,6 +52,16 @@ public interface SqsService {
    */
   AddPermissionResponse addPermission(AddPermissionRequest request);
 
+  /**
+   * Change the visibility timeout of a received message.
+   *
+   * @param queueUrl {@link String}
+   * @param receiptHandle {@link String}
+   * @param visibilityTimeoutInSeconds int
+   */
+  void changeMessageVisibility(String queueUrl, String receiptHandle,
+      int visibilityTimeoutInSeconds);
+
   /**
    * Removes all messages from the given SQS queue.
    *
@@ -80,6 +93,15 @@ public interface SqsService {
    */
   void deleteMessage(String queueUrl, String receiptHandle);
 
+  /**
+   * Delete SQS Messages using DeleteMessageBatch, 10 receipt handles per request.
+   *
+   * @param queueUrl {@link String}
+   * @param receiptHandles {@link List} {@link String}
+   * @return {@link List} {@link BatchResultErrorEntry} of messages that failed to delete
+   */
+  List<BatchResultErrorEntry> deleteMessages(String queueUrl, List<String> receiptHandles);
+
   /**
    * Delete SQS Queue.
    * 
@@ -104,6 +126,14 @@ public interface SqsService {
    */
   String getQueueArn(String queueUrl);
 
+  /**
+   * Get SQS Queue visibility timeout.
+   *
+   * @param queueUrl {@link String}
+   * @return int visibility timeout in seconds
+   */
+  int getVisibilityTimeout(String queueUrl);
+
   /**
    * List SQS Queues by Prefix.
    * 
@@ -129,6 +159,17 @@ public interface SqsService {
    */
   ReceiveMessageResponse receiveMessages(String queueUrl, int maxNumberOfMessages);
 
+  /**
+   * Receives SQS Messages from a queueUrl using long polling.
+   *
+   * @param queueUrl {@link String}
+   * @param maxNumberOfMessages int
+   * @param waitTimeSeconds int
+   * @return {@link ReceiveMessageResponse}
+   */
+  ReceiveMessageResponse receiveMessages(String queueUrl, int maxNumberOfMessages,
+      int waitTimeSeconds);
+
   /**
    * Send Message to SQS.
    * 
@@ -138,6 +179,16 @@ public interface SqsService {
    */
   SendMessageResponse sendMessage(String queueUrl, String message);
 
+  /**
+   * Send Messages to SQS using SendMessageBatch, 10 messages per request.
+   *
+   * @param queueUrl {@link String}
+   * @param messages {@link List} {@link String}
+   * @return {@link List} {@link BatchResultErrorEntry} of messages that failed to send, the id is
+   *         the index of the message in the list
+   */
+  List<BatchResultErrorEntry> sendMessages(String queueUrl, List<String> messages);
+
   /**
    * Set Queue Attributes.
    * 
@@ -26,8 +26,12 @@ package com.formkiq.aws.sqs;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
 import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
@@ -37,11 +41,14 @@ import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -49,6 +56,9 @@ import java.util.List;
  */
 public class SqsServiceImpl implements SqsService {
 
+  /** Maximum entries in a SQS batch request. */
+  private static final int MAX_BATCH_ENTRIES = 10;
+
   /** {@link SqsClient}. */
   private final SqsClient sqsClient;
 
@@ -67,12 +77,19 @@ public class SqsServiceImpl implements SqsService {
     return this.sqsClient.addPermission(request);
   }
 
+  @Override
+  public void changeMessageVisibility(final String queueUrl, final String receiptHandle,
+      final int visibilityTimeoutInSeconds) {
+    this.sqsClient.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+        .queueUrl(queueUrl).receiptHandle(receiptHandle)
+        .visibilityTimeout(visibilityTimeoutInSeconds).build());
+  }
+
   @Override
   public void clearQueue(final String queueUrl) {
-    final int maxNumberOfMessages = 10;
     while (true) {
       ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder().queueUrl(queueUrl)
-          .maxNumberOfMessages(maxNumberOfMessages).waitTimeSeconds(0).build();
+          .maxNumberOfMessages(MAX_BATCH_ENTRIES).waitTimeSeconds(0).build();
 
       List<Message> messages = sqsClient.receiveMessage(receiveRequest).messages();
 
@@ -80,12 +97,7 @@ public class SqsServiceImpl implements SqsService {
         break;
       }
 
-      // Delete each message
-      for (Message message : messages) {
-        DeleteMessageRequest deleteRequest = DeleteMessageRequest.builder().queueUrl(queueUrl)
-            .receiptHandle(message.receiptHandle()).build();
-        sqsClient.deleteMessage(deleteRequest);
-      }
+      deleteMessages(queueUrl, messages.stream().map(Message::receiptHandle).toList());
     }
   }
 
@@ -105,6 +117,29 @@ public class SqsServiceImpl implements SqsService {
         DeleteMessageRequest.builder().queueUrl(queueUrl).receiptHandle(receiptHandle).build());
   }
 
+  @Override
+  public List<BatchResultErrorEntry> deleteMessages(final String queueUrl,
+      final List<String> receiptHandles) {
+
+    List<BatchResultErrorEntry> failed = new ArrayList<>();
+
+    for (int i = 0; i < receiptHandles.size(); i += MAX_BATCH_ENTRIES) {
+
+      List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+      int end = Math.min(i + MAX_BATCH_ENTRIES, receiptHandles.size());
+      for (int j = i; j < end; j++) {
+        entries.add(DeleteMessageBatchRequestEntry.builder().id(String.valueOf(j))
+            .receiptHandle(receiptHandles.get(j)).build());
+      }
+
+      DeleteMessageBatchResponse response =
+          this.sqsClient.deleteMessageBatch(b -> b.queueUrl(queueUrl).entries(entries));
+      failed.addAll(response.failed());
+    }
+
+    return failed;
+  }
+
   @Override
   public DeleteQueueResponse deleteQueue(final String queueUrl) {
     return this.sqsClient.deleteQueue(DeleteQueueRequest.builder().queueUrl(queueUrl).build());
@@ -125,6 +160,15 @@ public class SqsServiceImpl implements SqsService {
         .attributesAsStrings().get("QueueArn");
   }
 
+  @Override
+  public int getVisibilityTimeout(final String queueUrl) {
+    String visibilityTimeout = this.sqsClient
+        .getQueueAttributes(GetQueueAttributesRequest.builder()
+            .attributeNamesWithStrings("VisibilityTimeout").queueUrl(queueUrl).build())
+        .attributesAsStrings().get("VisibilityTimeout");
+    return Integer.parseInt(visibilityTimeout);
+  }
+
   @Override
   public ListQueuesResponse listQueues(final String queueNamePrefix) {
     return this.sqsClient
@@ -143,12 +187,42 @@ public class SqsServiceImpl implements SqsService {
         .maxNumberOfMessages(maxNumberOfMessages).build());
   }
 
+  @Override
+  public ReceiveMessageResponse receiveMessages(final String queueUrl,
+      final int maxNumberOfMessages, final int waitTimeSeconds) {
+    return this.sqsClient.receiveMessage(ReceiveMessageRequest.builder().queueUrl(queueUrl)
+        .maxNumberOfMessages(maxNumberOfMessages).waitTimeSeconds(waitTimeSeconds).build());
+  }
+
   @Override
   public SendMessageResponse sendMessage(final String queueUrl, final String message) {
     return this.sqsClient
         .sendMessage(SendMessageRequest.builder().queueUrl(queueUrl).messageBody(message).build());
   }
 
+  @Override
+  public List<BatchResultErrorEntry> sendMessages(final String queueUrl,
+      final List<String> messages) {
+
+    List<BatchResultErrorEntry> failed = new ArrayList<>();
+
+    for (int i = 0; i < messages.size(); i += MAX_BATCH_ENTRIES) {
+
+      List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+      int end = Math.min(i + MAX_BATCH_ENTRIES, messages.size());
+      for (int j = i; j < end; j++) {
+        entries.add(SendMessageBatchRequestEntry.builder().id(String.valueOf(j))
+            .messageBody(messages.get(j)).build());
+      }
+
+      SendMessageBatchResponse response =
+          this.sqsClient.sendMessageBatch(b -> b.queueUrl(queueUrl).entries(entries));
+      failed.addAll(response.failed());
+    }
+
+    return failed;
+  }
+
   @Override
   public SetQueueAttributesResponse setQueueAttributes(final SetQueueAttributesRequest request) {
     return this.sqsClient.setQueueAttributes(request);
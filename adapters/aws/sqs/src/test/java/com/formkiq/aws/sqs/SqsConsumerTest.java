@@ -0,0 +1,353 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.sqs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import com.formkiq.module.lambdaservices.logger.LoggerRecorder;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
+import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+
+/**
+ * Unit Tests for {@link SqsConsumer}.
+ */
+public class SqsConsumerTest {
+
+  /** Queue Url. */
+  private static final String QUEUE_URL = "http://localhost/queue";
+  /** Test wait time in milliseconds. */
+  private static final long WAIT_MILLIS = 10000;
+
+  /**
+   * In memory {@link SqsService}, records deletes and visibility changes.
+   */
+  private static final class TestSqsService implements SqsService {
+
+    /** Queued messages. */
+    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+    /** Deleted receipt handles. */
+    private final List<String> deleted = new CopyOnWriteArrayList<>();
+    /** Visibility changes, receipt handle and timeout. */
+    private final List<String> visibilityChanges = new CopyOnWriteArrayList<>();
+    /** Number of receive requests. */
+    private final AtomicInteger receives = new AtomicInteger();
+    /** Queue visibility timeout. */
+    private final int visibilityTimeout;
+
+    TestSqsService(final int queueVisibilityTimeout) {
+      this.visibilityTimeout = queueVisibilityTimeout;
+    }
+
+    void add(final String body) {
+      this.queue.add(Message.builder().messageId(body).receiptHandle("rh-" + body).body(body)
+          .build());
+    }
+
+    @Override
+    public AddPermissionResponse addPermission(final AddPermissionRequest request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void changeMessageVisibility(final String queueUrl, final String receiptHandle,
+        final int visibilityTimeoutInSeconds) {
+      this.visibilityChanges.add(receiptHandle + "=" + visibilityTimeoutInSeconds);
+    }
+
+    @Override
+    public void clearQueue(final String queueUrl) {
+      this.queue.clear();
+    }
+
+    @Override
+    public CreateQueueResponse createQueue(final CreateQueueRequest request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CreateQueueResponse createQueue(final String queueName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteMessage(final String queueUrl, final String receiptHandle) {
+      this.deleted.add(receiptHandle);
+    }
+
+    @Override
+    public List<BatchResultErrorEntry> deleteMessages(final String queueUrl,
+        final List<String> receiptHandles) {
+      this.deleted.addAll(receiptHandles);
+      return List.of();
+    }
+
+    @Override
+    public DeleteQueueResponse deleteQueue(final String queueUrl) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean exists(final String queueName) {
+      return true;
+    }
+
+    @Override
+    public String getQueueArn(final String queueUrl) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getVisibilityTimeout(final String queueUrl) {
+      return this.visibilityTimeout;
+    }
+
+    @Override
+    public ListQueuesResponse listQueues(final String queueNamePrefix) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessages(final String queueUrl) {
+      return receiveMessages(queueUrl, 1);
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessages(final String queueUrl,
+        final int maxNumberOfMessages) {
+      return receiveMessages(queueUrl, maxNumberOfMessages, 0);
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessages(final String queueUrl,
+        final int maxNumberOfMessages, final int waitTimeSeconds) {
+      this.receives.incrementAndGet();
+
+      List<Message> messages = new ArrayList<>();
+      try {
+        // short wait instead of long polling, keeps the tests fast
+        Message message = this.queue.poll(50, TimeUnit.MILLISECONDS);
+        if (message != null) {
+          messages.add(message);
+          this.queue.drainTo(messages, maxNumberOfMessages - 1);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("receive interrupted", e);
+      }
+
+      return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(final String queueUrl, final String message) {
+      add(message);
+      return SendMessageResponse.builder().build();
+    }
+
+    @Override
+    public List<BatchResultErrorEntry> sendMessages(final String queueUrl,
+        final List<String> messages) {
+      messages.forEach(this::add);
+      return List.of();
+    }
+
+    @Override
+    public SetQueueAttributesResponse setQueueAttributes(final SetQueueAttributesRequest request) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+    long until = System.currentTimeMillis() + WAIT_MILLIS;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < until) {
+      TimeUnit.MILLISECONDS.sleep(20);
+    }
+    assertTrue(condition.getAsBoolean(), "condition not met");
+  }
+
+  /**
+   * Processed messages are deleted, messages are processed concurrently.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testProcess01() throws Exception {
+    // given
+    final int count = 25;
+    TestSqsService sqs = new TestSqsService(30);
+    for (int i = 0; i < count; i++) {
+      sqs.add("m" + i);
+    }
+
+    List<String> handled = new CopyOnWriteArrayList<>();
+
+    // when
+    try (SqsConsumer consumer =
+        new SqsConsumer(sqs, QUEUE_URL, m -> handled.add(m.body()), 4, new LoggerRecorder())) {
+      consumer.start();
+      waitFor(() -> sqs.deleted.size() == count);
+    }
+
+    // then
+    assertEquals(count, handled.size());
+    assertEquals(count, Set.copyOf(sqs.deleted).size());
+    assertTrue(sqs.deleted.contains("rh-m0"));
+    assertTrue(sqs.visibilityChanges.isEmpty());
+  }
+
+  /**
+   * Messages that fail processing are logged and left on the queue.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testProcess02() throws Exception {
+    // given
+    TestSqsService sqs = new TestSqsService(30);
+    sqs.add("ok0");
+    sqs.add("fail");
+    sqs.add("ok1");
+
+    LoggerRecorder logger = new LoggerRecorder();
+    AtomicInteger handled = new AtomicInteger();
+
+    // when
+    try (SqsConsumer consumer = new SqsConsumer(sqs, QUEUE_URL, m -> {
+      handled.incrementAndGet();
+      if ("fail".equals(m.body())) {
+        throw new IllegalArgumentException("unable to process " + m.body());
+      }
+    }, 2, logger)) {
+      consumer.start();
+      waitFor(() -> handled.get() == 3 && sqs.deleted.size() == 2);
+    }
+
+    // then
+    assertEquals(List.of("rh-ok0", "rh-ok1"), sqs.deleted.stream().sorted().toList());
+    assertTrue(logger.containsString("unable to process fail"));
+  }
+
+  /**
+   * Visibility of messages still being processed is extended by the queue's visibility timeout.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testProcess03() throws Exception {
+    // given
+    final int visibilityTimeout = 2;
+    TestSqsService sqs = new TestSqsService(visibilityTimeout);
+    sqs.add("slow");
+    sqs.add("fast");
+
+    CountDownLatch extended = new CountDownLatch(1);
+
+    // when
+    try (SqsConsumer consumer = new SqsConsumer(sqs, QUEUE_URL, m -> {
+      if ("slow".equals(m.body())) {
+        waitFor(() -> !sqs.visibilityChanges.isEmpty());
+        extended.countDown();
+      }
+    }, 2, new LoggerRecorder())) {
+      consumer.start();
+      assertTrue(extended.await(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+      waitFor(() -> sqs.deleted.size() == 2);
+    }
+
+    // then
+    assertTrue(sqs.visibilityChanges.stream().allMatch(v -> v.equals("rh-slow=2")));
+    assertFalse(sqs.visibilityChanges.contains("rh-fast=2"));
+  }
+
+  /**
+   * Close waits for in flight messages, deletes them and stops receiving.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testClose01() throws Exception {
+    // given
+    TestSqsService sqs = new TestSqsService(30);
+    sqs.add("m0");
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    SqsConsumer consumer = new SqsConsumer(sqs, QUEUE_URL, m -> {
+      started.countDown();
+      release.await();
+    }, 1, new LoggerRecorder());
+    consumer.start();
+    assertTrue(started.await(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+
+    // when
+    Thread closer = Thread.ofPlatform().start(() -> {
+      try {
+        consumer.close();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    TimeUnit.MILLISECONDS.sleep(200);
+    assertTrue(closer.isAlive());
+    assertTrue(sqs.deleted.isEmpty());
+
+    release.countDown();
+    closer.join(WAIT_MILLIS);
+
+    // then
+    assertFalse(closer.isAlive());
+    assertEquals(List.of("rh-m0"), sqs.deleted);
+
+    int receives = sqs.receives.get();
+    sqs.add("m1");
+    TimeUnit.MILLISECONDS.sleep(200);
+    assertEquals(receives, sqs.receives.get());
+  }
+}
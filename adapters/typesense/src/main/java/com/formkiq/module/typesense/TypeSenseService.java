@@ -96,6 +96,19 @@ public interface TypeSenseService {
    */
   HttpResponse<String> isHealthy() throws IOException;
 
+  /**
+   * Full text search, returning the stored document fields (without content) and highlights.
+   *
+   * @param siteId {@link String}
+   * @param text {@link String}
+   * @param nextToken {@link String}
+   * @param maxResults int
+   * @return {@link TypeSenseSearchResults}
+   * @throws IOException IOException
+   */
+  TypeSenseSearchResults search(String siteId, String text, String nextToken, int maxResults)
+      throws IOException;
+
   /**
    * Full text search.
    * 
@@ -42,6 +42,7 @@ import com.formkiq.module.http.HttpHeaders;
 import com.formkiq.module.http.HttpService;
 import com.formkiq.module.http.JsonService;
 import com.formkiq.module.http.JsonServiceGson;
+import com.formkiq.module.http.RetryExecutor;
 import com.formkiq.module.httpsigv4.HttpServiceSigv4;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.regions.Region;
@@ -53,6 +54,11 @@ import software.amazon.awssdk.regions.Region;
  */
 public final class TypeSenseServiceImpl implements TypeSenseService {
 
+  /** Fields searched. */
+  private static final String QUERY_BY = "content,path,metadata#*";
+  /** Number of retries of failed or throttled requests. */
+  private static final int RETRIES = 2;
+
   /** {@link Map}. */
   private Map<String, String> additionalHeaders = Collections.emptyMap();
   /** {@link String}. */
@@ -99,12 +105,7 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
 
     String payload = this.json.toJson(schema);
 
-    HttpHeaders headers = getHeader();
-
-    HttpResponse<String> response =
-        this.service.post(url, Optional.of(headers), Optional.empty(), payload);
-
-    return response;
+    return send("POST", url, payload);
   }
 
   @Override
@@ -119,12 +120,7 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
     String url =
         String.format("%s/collections/%s/documents", this.host, encode(getCollectionName(site)));
 
-    HttpHeaders headers = getHeader();
-
-    HttpResponse<String> response =
-        this.service.post(url, Optional.of(headers), Optional.empty(), this.json.toJson(payload));
-
-    return response;
+    return send("POST", url, this.json.toJson(payload));
   }
 
   @Override
@@ -173,12 +169,7 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
     String url =
         String.format("%s/collections/%s/documents/%s", this.host, encode(site), documentId);
 
-    HttpHeaders headers = getHeader();
-
-    HttpResponse<String> response =
-        this.service.delete(url, Optional.of(headers), Optional.empty());
-
-    return response;
+    return send("DELETE", url, null);
   }
 
   private String encode(final String s) {
@@ -202,11 +193,7 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
     String url =
         String.format("%s/collections/%s/documents/%s", this.host, encode(site), documentId);
 
-    HttpHeaders headers = getHeader();
-
-    HttpResponse<String> response = this.service.get(url, Optional.of(headers), Optional.empty());
-
-    return response;
+    return send("GET", url, null);
   }
 
   private HttpHeaders getHeader() {
@@ -223,45 +210,113 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
   public HttpResponse<String> isHealthy() throws IOException {
     String url = String.format("%s/health", this.host);
 
-    HttpHeaders headers = getHeader();
+    return send("GET", url, null);
+  }
 
-    return this.service.get(url, Optional.of(headers), Optional.empty());
+  /**
+   * Get the Typesense page number from a next token.
+   *
+   * @param nextToken {@link String}
+   * @return int
+   */
+  private int getPage(final String nextToken) {
+    int page = 1;
+
+    if (nextToken != null) {
+      try {
+        page = Math.max(1, Integer.parseInt(nextToken));
+      } catch (NumberFormatException e) {
+        page = 1;
+      }
+    }
+
+    return page;
   }
 
+  /**
+   * Get highlighted snippets by field name.
+   *
+   * @param hit {@link Map}
+   * @return {@link Map}
+   */
   @SuppressWarnings("unchecked")
-  @Override
-  public List<String> searchFulltext(final String siteId, final String text, final int maxResults)
+  private Map<String, String> getHighlights(final Map<String, Object> hit) {
+
+    Map<String, String> highlights = new HashMap<>();
+    List<Map<String, Object>> list =
+        (List<Map<String, Object>>) hit.getOrDefault("highlights", Collections.emptyList());
+
+    for (Map<String, Object> h : list) {
+      Object snippet = h.get("snippet");
+      if (h.get("field") != null && snippet != null) {
+        highlights.put(h.get("field").toString(), snippet.toString());
+      }
+    }
+
+    return highlights;
+  }
+
+  /**
+   * Send Typesense request, retrying failed and throttled requests without holding a thread
+   * between attempts.
+   *
+   * @param method {@link String}
+   * @param url {@link String}
+   * @param payload {@link String} or null for no body
+   * @return {@link HttpResponse}
+   * @throws IOException IOException
+   */
+  private HttpResponse<String> send(final String method, final String url, final String payload)
       throws IOException {
+    Optional<HttpHeaders> headers = Optional.of(getHeader());
+    return RetryExecutor.join(RetryExecutor.sendWithRetryAsync(() -> this.service.sendAsync(method,
+        url, headers, Optional.empty(), payload, HttpResponse.BodyHandlers.ofString()), RETRIES));
+  }
 
-    String site = getCollectionName(siteId);
+  @SuppressWarnings("unchecked")
+  @Override
+  public TypeSenseSearchResults search(final String siteId, final String text,
+      final String nextToken, final int maxResults) throws IOException {
 
-    String url = String.format("%s/collections/%s/documents/search?q=%s&query_by=%s&per_page=%s",
-        this.host, encode(site), encode(text), encode("content,path,metadata#*"), "" + maxResults);
+    String site = getCollectionName(siteId);
+    int page = getPage(nextToken);
 
-    HttpHeaders headers = getHeader();
+    String url = String.format(
+        "%s/collections/%s/documents/search?q=%s&query_by=%s&per_page=%s&page=%s"
+            + "&exclude_fields=content",
+        this.host, encode(site), encode(text), encode(QUERY_BY), "" + maxResults, "" + page);
 
-    HttpResponse<String> response = this.service.get(url, Optional.of(headers), Optional.empty());
+    HttpResponse<String> response = send("GET", url, null);
 
-    List<String> list = Collections.emptyList();
+    TypeSenseSearchResults results = new TypeSenseSearchResults(Collections.emptyList(), 0, null);
 
     if (is2XX(response)) {
 
       Map<String, Object> map = this.json.fromJsonToMap(response.body());
+      List<Map<String, Object>> hits =
+          (List<Map<String, Object>>) map.getOrDefault("hits", Collections.emptyList());
+      long found = map.get("found") instanceof Number n ? n.longValue() : hits.size();
 
-      if (map.containsKey("hits")) {
-        List<Map<String, Object>> hits = (List<Map<String, Object>>) map.get("hits");
+      List<TypeSenseSearchHit> list = hits.stream().map(m -> {
+        Map<String, Object> document = (Map<String, Object>) m.get("document");
+        return new TypeSenseSearchHit((String) document.get("id"), document, getHighlights(m));
+      }).toList();
 
-        list = hits.stream().map(m -> {
-          Map<String, String> mm = (Map<String, String>) m.get("document");
-          return mm.get("id");
-        }).collect(Collectors.toList());
-      }
+      String next = (long) page * maxResults < found ? String.valueOf(page + 1) : null;
+      results = new TypeSenseSearchResults(list, found, next);
 
     } else if (!is404(response)) {
       throw new IOException(response.body());
     }
 
-    return list;
+    return results;
+  }
+
+  @Override
+  public List<String> searchFulltext(final String siteId, final String text, final int maxResults)
+      throws IOException {
+    return search(siteId, text, null, maxResults).hits().stream()
+        .map(TypeSenseSearchHit::documentId).collect(Collectors.toList());
   }
 
   @Override
@@ -277,11 +332,6 @@ public final class TypeSenseServiceImpl implements TypeSenseService {
     String url =
         String.format("%s/collections/%s/documents/%s", this.host, encode(site), documentId);
 
-    HttpHeaders headers = getHeader();
-
-    HttpResponse<String> response =
-        this.service.patch(url, Optional.of(headers), Optional.empty(), this.json.toJson(payload));
-
-    return response;
+    return send("PATCH", url, this.json.toJson(payload));
   }
 }
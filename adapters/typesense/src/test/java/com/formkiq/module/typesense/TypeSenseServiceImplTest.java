@@ -24,7 +24,10 @@
 package com.formkiq.module.typesense;
 
 import static com.formkiq.testutils.aws.TypesenseExtension.API_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Arrays;
 import java.util.List;
@@ -121,4 +124,45 @@ class TypeSenseServiceImplTest {
       assertTrue(documentIds.isEmpty());
     }
   }
+
+  /**
+   * Search returns stored fields and paginates.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testSearch02() throws Exception {
+    // given
+    String text = UUID.randomUUID().toString();
+    final int count = 3;
+    final int maxResults = 2;
+    for (String siteId : Arrays.asList(null, UUID.randomUUID().toString())) {
+
+      for (int i = 0; i < count; i++) {
+        this.service.addOrUpdateDocument(siteId, UUID.randomUUID().toString(),
+            Map.of("path", text + "/" + i + ".pdf", "contentType", "application/pdf",
+                "content", "some content", "metadata#", ""));
+      }
+
+      // when
+      TypeSenseSearchResults results = this.service.search(siteId, text, null, maxResults);
+
+      // then
+      assertEquals(count, results.found());
+      assertEquals(maxResults, results.hits().size());
+      assertEquals("2", results.nextToken());
+
+      TypeSenseSearchHit hit = results.hits().get(0);
+      assertNotNull(hit.documentId());
+      assertEquals("application/pdf", hit.document().get("contentType"));
+      assertNull(hit.document().get("content"));
+
+      // when
+      results = this.service.search(siteId, text, results.nextToken(), maxResults);
+
+      // then
+      assertEquals(1, results.hits().size());
+      assertNull(results.nextToken());
+    }
+  }
 }
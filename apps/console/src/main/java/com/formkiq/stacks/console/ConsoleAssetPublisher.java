@@ -0,0 +1,224 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.formkiq.aws.s3.S3Service;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
+
+/**
+ * Publishes the console zip to a S3 bucket. Zip entries are read one at a time and uploaded
+ * concurrently, text assets are stored gzip compressed and content hashed assets are marked as
+ * immutable.
+ */
+public class ConsoleAssetPublisher {
+
+  /** Cache-Control for content hashed assets. */
+  static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+  /** Gzip Content-Encoding. */
+  static final String GZIP = "gzip";
+  /** Minimum size in bytes before an asset is compressed. */
+  static final int MIN_COMPRESS_SIZE = 1024;
+  /** Bundler content hash, a '.' separated hex segment before the file extension. */
+  private static final Pattern HASHED_NAME =
+      Pattern.compile("^.+\\.[0-9a-f]{8,}\\.[A-Za-z0-9]+$");
+  /** Mime Types not known by {@link URLConnection}. */
+  private static final Map<String, String> MIME_TYPES = Map.of("woff2", "font/woff2", "eot",
+      "application/vnd.ms-fontobject", "ico", "image/x-icon", "js", "application/javascript",
+      "svg", "image/svg+xml", "ttf", "font/ttf", "woff", "font/woff", "css", "text/css", "json",
+      "application/json", "map", "application/json");
+  /** Compressible non text Mime Types. */
+  private static final Set<String> COMPRESSIBLE_TYPES = Set.of("application/javascript",
+      "application/json", "application/xml", "application/manifest+json", "image/svg+xml");
+
+  /**
+   * Get Mime Type of file.
+   *
+   * @param fileName {@link String}
+   * @return {@link String}
+   */
+  static String getMimeType(final String fileName) {
+    String mimeType = URLConnection.guessContentTypeFromName(fileName);
+
+    if (mimeType == null) {
+      int pos = fileName.lastIndexOf('.');
+      mimeType = pos > -1 ? MIME_TYPES.get(fileName.substring(pos + 1)) : null;
+    }
+
+    return mimeType;
+  }
+
+  /**
+   * Gzip data.
+   *
+   * @param data byte[]
+   * @return byte[]
+   * @throws IOException IOException
+   */
+  static byte[] gzip(final byte[] data) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 2);
+    try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+      gz.write(data);
+    }
+    return bos.toByteArray();
+  }
+
+  /**
+   * Is Mime Type worth compressing.
+   *
+   * @param mimeType {@link String}
+   * @return boolean
+   */
+  static boolean isCompressible(final String mimeType) {
+    return mimeType != null
+        && (mimeType.startsWith("text/") || COMPRESSIBLE_TYPES.contains(mimeType));
+  }
+
+  /**
+   * Does the file name contain a content hash, ie: main.3f2a9c1b4e5d6f70.js.
+   *
+   * @param fileName {@link String}
+   * @return boolean
+   */
+  static boolean isHashedName(final String fileName) {
+    String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+    return HASHED_NAME.matcher(name).matches();
+  }
+
+  /** {@link BoundedExecutor}. */
+  private final BoundedExecutor executor;
+  /** {@link S3Service}. */
+  private final S3Service s3;
+
+  /**
+   * constructor.
+   *
+   * @param s3Service {@link S3Service}
+   * @param concurrency int
+   */
+  public ConsoleAssetPublisher(final S3Service s3Service, final int concurrency) {
+    this.s3 = s3Service;
+    this.executor = new BoundedExecutor(concurrency);
+  }
+
+  /**
+   * Publish console zip to bucket.
+   *
+   * @param stream {@link InputStream} of zip file
+   * @param bucket {@link String}
+   * @param prefix {@link String}
+   * @return int number of files published
+   * @throws IOException IOException
+   */
+  public int publish(final InputStream stream, final String bucket, final String prefix)
+      throws IOException {
+
+    int count = 0;
+    int maxPending = this.executor.maxConcurrency() * 2;
+    Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+
+    try (ZipInputStream zis = new ZipInputStream(stream)) {
+
+      for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+
+        if (!entry.isDirectory()) {
+          String key = prefix + "/" + entry.getName();
+          byte[] data = zis.readAllBytes();
+          pending.add(this.executor.submit(() -> upload(bucket, key, data)));
+          count++;
+
+          // limit the number of entries held in memory
+          while (pending.size() >= maxPending) {
+            await(pending.removeFirst());
+          }
+        }
+      }
+
+      while (!pending.isEmpty()) {
+        await(pending.removeFirst());
+      }
+
+    } finally {
+      pending.forEach(f -> f.cancel(false));
+    }
+
+    return count;
+  }
+
+  private void await(final CompletableFuture<Void> future) throws IOException {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof IOException ioe ? ioe : new IOException(cause);
+    }
+  }
+
+  /**
+   * Upload a single console file.
+   *
+   * @param bucket {@link String}
+   * @param key {@link String}
+   * @param data byte[]
+   * @return {@link Void}
+   * @throws IOException IOException
+   */
+  private Void upload(final String bucket, final String key, final byte[] data)
+      throws IOException {
+
+    String mimeType = getMimeType(key);
+    String cacheControl = isHashedName(key) ? IMMUTABLE_CACHE_CONTROL : null;
+
+    byte[] body = data;
+    String contentEncoding = null;
+
+    if (data.length >= MIN_COMPRESS_SIZE && isCompressible(mimeType)) {
+      byte[] compressed = gzip(data);
+      if (compressed.length < data.length) {
+        body = compressed;
+        contentEncoding = GZIP;
+      }
+    }
+
+    this.s3.putObject(bucket, key, body, mimeType, null, contentEncoding, cacheControl);
+    return null;
+  }
+}
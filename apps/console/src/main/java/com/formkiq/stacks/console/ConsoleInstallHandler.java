@@ -31,14 +31,10 @@ import java.io.StringWriter;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
-import java.net.URLConnection;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 import com.formkiq.aws.dynamodb.DynamoDbAwsServiceRegistry;
 import com.formkiq.aws.s3.S3AwsServiceRegistry;
@@ -62,6 +58,8 @@ import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsPro
 /** {@link RequestHandler} for installing the console. */
 public class ConsoleInstallHandler implements RequestHandler<Map<String, Object>, Object> {
 
+  /** Default number of concurrent console file uploads. */
+  private static final int DEFAULT_UPLOAD_CONCURRENCY = 16;
   /** {@link AwsServiceCache}. */
   private static AwsServiceCache serviceCache;
 
@@ -74,9 +72,6 @@ public class ConsoleInstallHandler implements RequestHandler<Map<String, Object>
   /** {@link HttpService}. */
   private final HttpService http = new HttpServiceJdk11();
 
-  /** Extra Mime Types. */
-  private final Map<String, String> mimeTypes = createMimeTypes();
-
   // static {
   //
   // AwsServiceCache cache = new AwsServiceCacheBuilder(System.getenv(), Map.of(),
@@ -185,19 +180,6 @@ public class ConsoleInstallHandler implements RequestHandler<Map<String, Object>
     }
   }
 
-  private Map<String, String> createMimeTypes() {
-    Map<String, String> map = new HashMap<>();
-    map.put(".woff2", "font/woff2");
-    map.put(".eot", "application/vnd.ms-fontobject");
-    map.put(".ico", "image/x-icon");
-    map.put(".js", "application/javascript");
-    map.put(".svg", "image/svg+xml");
-    map.put(".ttf", "font/ttf");
-    map.put(".woff", "font/woff");
-    map.put(".css", "text/css");
-    return map;
-  }
-
   /**
    * Empty Console Bucket.
    *
@@ -314,6 +296,17 @@ public class ConsoleInstallHandler implements RequestHandler<Map<String, Object>
     return null;
   }
 
+  /**
+   * Get the number of concurrent console file uploads.
+   *
+   * @return int
+   */
+  private int getUploadConcurrency() {
+    String concurrency = serviceCache.environment("CONSOLE_UPLOAD_CONCURRENCY");
+    return concurrency != null && !concurrency.isEmpty() ? Integer.parseInt(concurrency)
+        : DEFAULT_UPLOAD_CONCURRENCY;
+  }
+
   private boolean isSsoLoginRedirectEnabled() {
     ConfigService configService = serviceCache.getExtension(ConfigService.class);
     SiteConfiguration config = configService.get("global");
@@ -403,52 +396,15 @@ public class ConsoleInstallHandler implements RequestHandler<Map<String, Object>
     String consoleZipUrl = getConsoleZipUrl();
     logger.log("unpacking " + consoleZipUrl + " to bucket " + destinationBucket);
 
+    ConsoleAssetPublisher publisher = new ConsoleAssetPublisher(s3, getUploadConcurrency());
+
     try (InputStream stream = getConsoleZipInputStream(consoleZipUrl)) {
-      writeToBucket(s3, stream, destinationBucket, consoleversion);
+      int count = publisher.publish(stream, destinationBucket, consoleversion);
+      logger.log("published " + count + " files to bucket " + destinationBucket);
     } catch (IOException e) {
 
       logStacktrace(context, e);
       sendResponse(input, logger, context, "FAILED", "Unable to Write files to Bucket.");
     }
   }
-
-  /**
-   * Write {@link InputStream} to Bucket.
-   *
-   * @param s3 {@link S3Service}
-   * @param stream {@link InputStream}
-   * @param destinationBucket {@link String}
-   * @param consoleversion {@link String}
-   *
-   * @throws IOException IOException
-   */
-  private void writeToBucket(final S3Service s3, final InputStream stream,
-      final String destinationBucket, final String consoleversion) throws IOException {
-
-    try (ZipInputStream zis = new ZipInputStream(stream)) {
-
-      ZipEntry entry = zis.getNextEntry();
-
-      while (entry != null) {
-
-        String fileName = consoleversion + "/" + entry.getName();
-        String mimeType = URLConnection.guessContentTypeFromName(fileName);
-
-        if (mimeType == null) {
-          for (Map.Entry<String, String> e : this.mimeTypes.entrySet()) {
-            if (fileName.endsWith(e.getKey())) {
-              mimeType = e.getValue();
-              break;
-            }
-          }
-        }
-
-        byte[] byteArray = S3Service.toByteArray(zis);
-
-        s3.putObject(destinationBucket, fileName, byteArray, mimeType, null);
-
-        entry = zis.getNextEntry();
-      }
-    }
-  }
 }
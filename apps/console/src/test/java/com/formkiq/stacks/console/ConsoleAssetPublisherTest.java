@@ -0,0 +1,165 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.console;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.formkiq.aws.s3.S3ObjectMetadata;
+import com.formkiq.aws.s3.S3Service;
+import com.formkiq.testutils.aws.LocalStackExtension;
+import com.formkiq.testutils.aws.TestServices;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/** Unit Tests for {@link ConsoleAssetPublisher}. */
+@ExtendWith(LocalStackExtension.class)
+public class ConsoleAssetPublisherTest {
+
+  /** Bucket. */
+  private static final String BUCKET = "consolepublisher";
+  /** {@link S3Service}. */
+  private static S3Service s3;
+
+  /**
+   * Before Class.
+   *
+   * @throws URISyntaxException URISyntaxException
+   */
+  @BeforeAll
+  public static void beforeClass() throws URISyntaxException {
+    s3 = new S3Service(TestServices.getS3Connection(null));
+    s3.createBucket(BUCKET);
+  }
+
+  private static byte[] createZip(final Map<String, byte[]> files) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ZipOutputStream zos = new ZipOutputStream(bos)) {
+      zos.putNextEntry(new ZipEntry("assets/"));
+      for (Map.Entry<String, byte[]> e : files.entrySet()) {
+        zos.putNextEntry(new ZipEntry(e.getKey()));
+        zos.write(e.getValue());
+      }
+    }
+    return bos.toByteArray();
+  }
+
+  private static byte[] gunzip(final byte[] data) throws IOException {
+    try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(data))) {
+      return is.readAllBytes();
+    }
+  }
+
+  /**
+   * Test hashed file names.
+   */
+  @Test
+  public void testIsHashedName01() {
+    assertTrue(ConsoleAssetPublisher.isHashedName("0.1/main.3f2a9c1b4e5d6f70.js"));
+    assertTrue(ConsoleAssetPublisher.isHashedName("0.1/runtime.1a2b3c4d.js"));
+    assertTrue(ConsoleAssetPublisher.isHashedName("0.1/assets/icons.9f8e7d6c5b4a.woff2"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/README-LICENSES.txt"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/3rdpartylicenses.txt"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/main.1a2b3c.js"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/chunk-5XRWMB7M.js"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/index.html"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/assets/config.json"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/font-awesome.css"));
+    assertFalse(ConsoleAssetPublisher.isHashedName("0.1/main-something.js"));
+  }
+
+  /**
+   * Test Mime Types.
+   */
+  @Test
+  public void testGetMimeType01() {
+    assertEquals("font/woff2", ConsoleAssetPublisher.getMimeType("a/font.woff2"));
+    assertEquals("text/css", ConsoleAssetPublisher.getMimeType("a/test.css"));
+    assertEquals("application/vnd.ms-fontobject", ConsoleAssetPublisher.getMimeType("test.eot"));
+    assertEquals("image/svg+xml", ConsoleAssetPublisher.getMimeType("test.svg"));
+    assertTrue(ConsoleAssetPublisher.getMimeType("test.js").endsWith("/javascript"));
+    assertNull(ConsoleAssetPublisher.getMimeType("LICENSE"));
+  }
+
+  /**
+   * Test publishing compresses text assets and marks hashed assets immutable.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  public void testPublish01() throws IOException {
+    // given
+    byte[] js = "console.log('formkiq');\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+    byte[] html = "<html></html>".getBytes(StandardCharsets.UTF_8);
+    byte[] font = new byte[ConsoleAssetPublisher.MIN_COMPRESS_SIZE * 2];
+
+    Map<String, byte[]> files = new LinkedHashMap<>();
+    files.put("main.3f2a9c1b4e5d6f70.js", js);
+    files.put("index.html", html);
+    files.put("assets/font.woff2", font);
+
+    ConsoleAssetPublisher publisher = new ConsoleAssetPublisher(s3, 2);
+
+    // when
+    int count = publisher.publish(new ByteArrayInputStream(createZip(files)), BUCKET, "0.2");
+
+    // then
+    assertEquals(files.size(), count);
+
+    S3ObjectMetadata md = s3.getObjectMetadata(BUCKET, "0.2/main.3f2a9c1b4e5d6f70.js", null);
+    assertEquals(ConsoleAssetPublisher.GZIP, md.getContentEncoding());
+    assertEquals(ConsoleAssetPublisher.IMMUTABLE_CACHE_CONTROL, md.getCacheControl());
+    assertTrue(md.getContentLength().longValue() < js.length);
+    assertArrayEquals(js,
+        gunzip(s3.getContentAsBytes(BUCKET, "0.2/main.3f2a9c1b4e5d6f70.js")));
+
+    md = s3.getObjectMetadata(BUCKET, "0.2/index.html", null);
+    assertEquals("text/html", md.getContentType());
+    assertNull(md.getContentEncoding());
+    assertNull(md.getCacheControl());
+
+    md = s3.getObjectMetadata(BUCKET, "0.2/assets/font.woff2", null);
+    assertEquals("font/woff2", md.getContentType());
+    assertNull(md.getContentEncoding());
+    assertEquals(font.length, md.getContentLength().longValue());
+
+    assertFalse(s3.getObjectMetadata(BUCKET, "0.2/assets/", null).isObjectExists());
+  }
+}
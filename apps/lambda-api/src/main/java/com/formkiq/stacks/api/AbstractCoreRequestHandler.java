@@ -116,6 +116,7 @@ import com.formkiq.stacks.api.handler.mappings.MappingsIdRequestHandler;
 import com.formkiq.stacks.api.handler.mappings.MappingsRequestHandler;
 import com.formkiq.stacks.api.handler.publications.PublicationsDocumentIdRequestHandler;
 import com.formkiq.stacks.api.handler.reindex.ReindexDocumentsRequestHandler;
+import com.formkiq.stacks.api.handler.reindex.ReindexSiteDocumentsRequestHandler;
 import com.formkiq.stacks.api.handler.sites.ConfigurationApiKeyRequestHandler;
 import com.formkiq.stacks.api.handler.sites.ConfigurationApiKeysRequestHandler;
 import com.formkiq.stacks.api.handler.sites.ConfigurationRequestHandler;
@@ -152,6 +153,8 @@ import com.formkiq.stacks.dynamodb.DocumentVersionServiceExtension;
 import com.formkiq.stacks.dynamodb.folders.FolderIndexProcessor;
 import com.formkiq.stacks.dynamodb.folders.FolderIndexProcessorExtension;
 import com.formkiq.stacks.dynamodb.WebhooksService;
+import com.formkiq.stacks.dynamodb.WebhooksServiceCache;
+import com.formkiq.stacks.dynamodb.WebhooksServiceCacheExtension;
 import com.formkiq.stacks.dynamodb.WebhooksServiceExtension;
 import com.formkiq.stacks.dynamodb.attributes.AttributeService;
 import com.formkiq.stacks.dynamodb.attributes.AttributeServiceExtension;
@@ -163,6 +166,8 @@ import com.formkiq.stacks.dynamodb.locale.LocaleService;
 import com.formkiq.stacks.dynamodb.locale.LocaleServiceExtension;
 import com.formkiq.stacks.dynamodb.mappings.MappingService;
 import com.formkiq.stacks.dynamodb.mappings.MappingServiceExtension;
+import com.formkiq.stacks.dynamodb.reindex.SiteReindexService;
+import com.formkiq.stacks.dynamodb.reindex.SiteReindexServiceExtension;
 import com.formkiq.stacks.dynamodb.schemas.SchemaService;
 import com.formkiq.stacks.dynamodb.schemas.SchemaServiceExtension;
 import com.google.gson.Gson;
@@ -227,6 +232,7 @@ public abstract class AbstractCoreRequestHandler extends AbstractRestApiRequestH
 
   private static void addReindexEndpoints() {
     addRequestHandler(new ReindexDocumentsRequestHandler());
+    addRequestHandler(new ReindexSiteDocumentsRequestHandler());
   }
 
   /**
@@ -329,6 +335,10 @@ public abstract class AbstractCoreRequestHandler extends AbstractRestApiRequestH
     isEnablePublicUrls = isEnablePublicUrls(serviceCache);
 
     buildUrlMap();
+
+    if ("true".equals(serviceCache.environment("WARM_UP_SERVICES"))) {
+      serviceCache.warmUp();
+    }
   }
 
   /**
@@ -369,6 +379,8 @@ public abstract class AbstractCoreRequestHandler extends AbstractRestApiRequestH
     serviceCache.register(DocumentOcrService.class, new DocumentOcrServiceExtension());
     serviceCache.register(DynamoDbService.class, new DynamoDbServiceExtension());
     serviceCache.register(WebhooksService.class, new WebhooksServiceExtension());
+    serviceCache.register(WebhooksServiceCache.class, new WebhooksServiceCacheExtension());
+    serviceCache.register(SiteReindexService.class, new SiteReindexServiceExtension());
     serviceCache.register(AttributeService.class, new AttributeServiceExtension());
     serviceCache.register(AttributeValidator.class, new AttributeValidatorExtension());
     serviceCache.register(SchemaService.class, new SchemaServiceExtension());
@@ -45,7 +45,8 @@ import com.formkiq.aws.dynamodb.cache.CacheService;
 import com.formkiq.aws.services.lambda.exceptions.UnauthorizedException;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.typesense.TypeSenseService;
-import com.formkiq.module.typesense.TypeSenseServiceImpl;
+import com.formkiq.module.typesense.TypeSenseSearchHit;
+import com.formkiq.module.typesense.TypeSenseSearchResults;
 import com.formkiq.stacks.api.QueryRequestValidator;
 import com.formkiq.stacks.dynamodb.DocumentItemToDynamicDocumentItem;
 import com.formkiq.stacks.dynamodb.DocumentSearchService;
@@ -53,10 +54,9 @@ import com.formkiq.stacks.dynamodb.DocumentService;
 import com.formkiq.aws.dynamodb.base64.Pagination;
 import com.formkiq.validation.ValidationError;
 import com.formkiq.validation.ValidationException;
-import software.amazon.awssdk.auth.credentials.AwsCredentials;
-import software.amazon.awssdk.regions.Region;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -227,28 +227,18 @@ public class SearchRequestHandler implements ApiGatewayRequestHandler, ApiGatewa
     if (!isEmpty(text)) {
 
       if (isEmpty(awsservice.environment("TYPESENSE_HOST"))
-          || isEmpty(awsservice.environment("TYPESENSE_API_KEY"))) {
+          || isEmpty(awsservice.environment("TYPESENSE_API_KEY"))
+          || !awsservice.containsExtension(TypeSenseService.class)) {
         throw new BadException("Typesense Fulltext search is not Enabled");
       }
 
-      Region region = Region.of(awsservice.environment("AWS_REGION"));
+      TypeSenseService ts = awsservice.getExtension(TypeSenseService.class);
 
-      AwsCredentials awsCredentials = awsservice.getExtension(AwsCredentials.class);
       DocumentService docService = awsservice.getExtension(DocumentService.class);
-      TypeSenseService ts = new TypeSenseServiceImpl(awsservice.environment("TYPESENSE_HOST"),
-          awsservice.environment("TYPESENSE_API_KEY"), region, awsCredentials);
+      TypeSenseSearchResults search = ts.search(siteId, text, nextToken, limit);
 
-      List<String> documentIds = ts.searchFulltext(siteId, text, limit);
-      List<DocumentArtifact> documents =
-          documentIds.stream().map(d -> DocumentArtifact.of(d, null)).toList();
-
-      List<DocumentItem> list = docService.findDocuments(siteId, documents);
-
-      List<DynamicDocumentItem> docs =
-          list != null ? list.stream().map(l -> new DocumentItemToDynamicDocumentItem().apply(l))
-              .collect(Collectors.toList()) : Collections.emptyList();
-
-      results = new Pagination<>(docs);
+      List<DynamicDocumentItem> docs = toDocuments(docService, siteId, search.hits());
+      results = new Pagination<>(docs, search.nextToken());
 
     } else {
 
@@ -259,6 +249,42 @@ public class SearchRequestHandler implements ApiGatewayRequestHandler, ApiGatewa
     return results;
   }
 
+  /**
+   * Convert {@link TypeSenseSearchHit} to {@link DynamicDocumentItem}, loading the documents in a
+   * single batch. The index only holds a subset of the document fields and can still contain
+   * documents that have been deleted, so DynamoDB stays the source of the returned documents and
+   * hits that no longer exist are skipped.
+   *
+   * @param docService {@link DocumentService}
+   * @param siteId {@link String}
+   * @param hits {@link List} {@link TypeSenseSearchHit}
+   * @return {@link List} {@link DynamicDocumentItem}
+   */
+  private List<DynamicDocumentItem> toDocuments(final DocumentService docService,
+      final String siteId, final List<TypeSenseSearchHit> hits) {
+
+    List<DocumentArtifact> artifacts =
+        hits.stream().map(h -> DocumentArtifact.of(h.documentId(), null)).toList();
+
+    Map<String, DocumentItem> loaded = new HashMap<>();
+    if (!artifacts.isEmpty()) {
+      notNull(docService.findDocuments(siteId, artifacts))
+          .forEach(d -> loaded.put(d.getDocumentId(), d));
+    }
+
+    DocumentItemToDynamicDocumentItem toDynamic = new DocumentItemToDynamicDocumentItem();
+
+    List<DynamicDocumentItem> docs = new ArrayList<>(hits.size());
+    for (TypeSenseSearchHit hit : hits) {
+      DocumentItem item = loaded.get(hit.documentId());
+      if (item != null) {
+        docs.add(toDynamic.apply(item));
+      }
+    }
+
+    return docs;
+  }
+
   private QueryRequest validatePost(final QueryRequest q) throws ValidationException {
     QueryRequestValidator validator = new QueryRequestValidator();
     Collection<ValidationError> errors = validator.validation(q);
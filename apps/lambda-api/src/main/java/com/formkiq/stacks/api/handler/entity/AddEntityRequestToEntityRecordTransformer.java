@@ -185,7 +185,7 @@ public class AddEntityRequestToEntityRecordTransformer implements ApiGatewayRequ
               EntityAttribute.builder().key("LockedBy")
                   .addStringValue(ApiAuthorization.getAuthorization().getUsername()).build(),
               EntityAttribute.builder().key("LockedDate")
-                  .addStringValue(DateUtil.getIsoDateFormatter().format(new Date())).build());
+                  .addStringValue(DateUtil.formatIsoDate(new Date())).build());
         }
 
         // check attributes exist
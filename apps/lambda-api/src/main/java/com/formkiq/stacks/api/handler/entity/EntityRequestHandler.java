@@ -38,6 +38,7 @@ import com.formkiq.aws.services.lambda.ApiRequestHandlerResponse;
 import com.formkiq.aws.services.lambda.exceptions.NotFoundException;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.plugins.useractivity.UserActivityContext;
+import com.formkiq.stacks.dynamodb.attributes.AttributeValidator;
 import com.formkiq.stacks.dynamodb.schemas.SchemaService;
 import com.formkiq.validation.ValidationBuilder;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -82,6 +83,7 @@ public class EntityRequestHandler implements ApiGatewayRequestHandler, ApiGatewa
       throw new NotFoundException("entity '" + entityId + "' not found");
     }
 
+    awsservice.getExtension(AttributeValidator.class).invalidateEntity(key);
     UserActivityContext.setDelete(ActivityResourceType.ENTITY, deleteResult.attributes());
 
     return ApiRequestHandlerResponse.builder().status(SC_OK).body("message", "Entity deleted")
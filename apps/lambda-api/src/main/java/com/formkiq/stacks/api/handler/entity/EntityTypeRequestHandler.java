@@ -48,6 +48,7 @@ import com.formkiq.aws.services.lambda.exceptions.NotFoundException;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.plugins.useractivity.UserActivityContext;
 import com.formkiq.stacks.dynamodb.attributes.AttributeRecord;
+import com.formkiq.stacks.dynamodb.attributes.AttributeValidator;
 import com.formkiq.validation.ValidationBuilder;
 import com.formkiq.validation.ValidationException;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -115,6 +116,8 @@ public class EntityTypeRequestHandler
       throw new NotFoundException("entityType '" + entityTypeId + "' not found");
     }
 
+    awsservice.getExtension(AttributeValidator.class).invalidateEntity(entityTypeKey);
+
     return ApiRequestHandlerResponse.builder().ok().body("message", "EntityType deleted").build();
   }
 
@@ -0,0 +1,141 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.api.handler.reindex;
+
+import com.formkiq.aws.dynamodb.ApiAuthorization;
+import com.formkiq.aws.dynamodb.ApiPermission;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
+import com.formkiq.aws.services.lambda.ApiGatewayRequestEvent;
+import com.formkiq.aws.services.lambda.ApiGatewayRequestEventUtil;
+import com.formkiq.aws.services.lambda.ApiGatewayRequestHandler;
+import com.formkiq.aws.services.lambda.ApiRequestHandlerResponse;
+import com.formkiq.aws.services.lambda.JsonToObject;
+import com.formkiq.aws.services.lambda.exceptions.NotFoundException;
+import com.formkiq.aws.services.lambda.exceptions.UnauthorizedException;
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.stacks.dynamodb.reindex.ReindexJob;
+import com.formkiq.stacks.dynamodb.reindex.SiteReindexService;
+import com.formkiq.validation.ValidationErrorImpl;
+import com.formkiq.validation.ValidationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.formkiq.aws.dynamodb.objects.Strings.isEmpty;
+
+/**
+ * {@link ApiGatewayRequestHandler} for "/reindex/documents".
+ *
+ * <p>
+ * POST starts (or resumes) a site wide reindex and processes documents for up to
+ * {@link #RUN_TIME_IN_MS}, staying inside the API Gateway integration timeout. Calling POST again
+ * continues from the last checkpoint until the job is complete.
+ * </p>
+ */
+public class ReindexSiteDocumentsRequestHandler
+    implements ApiGatewayRequestHandler, ApiGatewayRequestEventUtil {
+
+  /** Supported reindex target. */
+  private static final String TARGET_ATTRIBUTES = "ATTRIBUTES";
+  /** Maximum time a single request processes documents. */
+  private static final long RUN_TIME_IN_MS = TimeUnit.SECONDS.toMillis(20);
+
+  /**
+   * constructor.
+   *
+   */
+  public ReindexSiteDocumentsRequestHandler() {}
+
+  private void checkAdmin(final String siteId, final ApiAuthorization authorization)
+      throws UnauthorizedException {
+    if (!authorization.getPermissions(siteId).contains(ApiPermission.ADMIN)) {
+      throw new UnauthorizedException("user is unauthorized");
+    }
+  }
+
+  @Override
+  public ApiRequestHandlerResponse get(final ApiGatewayRequestEvent event,
+      final ApiAuthorization authorization, final AwsServiceCache awsservice) throws Exception {
+
+    String siteId = authorization.getSiteId();
+    checkAdmin(siteId, authorization);
+
+    ReindexJob job = awsservice.getExtension(SiteReindexService.class).get(siteId);
+    if (job == null) {
+      throw new NotFoundException("reindex job not found");
+    }
+
+    return ApiRequestHandlerResponse.builder().ok().body(toMap(job)).build();
+  }
+
+  @Override
+  public String getRequestUrl() {
+    return "/reindex/documents";
+  }
+
+  @Override
+  public ApiRequestHandlerResponse post(final ApiGatewayRequestEvent event,
+      final ApiAuthorization authorization, final AwsServiceCache awsservice) throws Exception {
+
+    String siteId = authorization.getSiteId();
+    checkAdmin(siteId, authorization);
+
+    Map<String, Object> body = JsonToObject.fromJson(awsservice, event, Map.class);
+
+    String target = (String) body.getOrDefault("target", null);
+    if (isEmpty(target)) {
+      throw new ValidationException(
+          List.of(new ValidationErrorImpl().key("target").error("'target' is required")));
+    }
+
+    if (!TARGET_ATTRIBUTES.equals(target)) {
+      throw new ValidationException(List.of(new ValidationErrorImpl().key("target")
+          .error("unsupported 'target', supported values: " + TARGET_ATTRIBUTES)));
+    }
+
+    Number segments =
+        (Number) body.getOrDefault("segments", SiteReindexService.DEFAULT_SEGMENTS);
+
+    SiteReindexService service = awsservice.getExtension(SiteReindexService.class);
+    service.start(siteId, segments.intValue());
+    ReindexJob job = service.run(siteId, System.currentTimeMillis() + RUN_TIME_IN_MS);
+
+    return ApiRequestHandlerResponse.builder().ok().body(toMap(job)).build();
+  }
+
+  private Map<String, Object> toMap(final ReindexJob job) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("status", job.status().name());
+    map.put("totalSegments", job.totalSegments());
+    map.put("remainingSegments", job.remainingSegments());
+    map.put("processedCount", job.processedCount());
+    map.put("failedCount", job.failedCount());
+    map.put("documentsPerSecond", job.documentsPerSecond());
+    map.put("startDate", DateUtil.getInIso8601Format(job.startDate()));
+    map.put("lastUpdatedDate", DateUtil.getInIso8601Format(job.lastUpdatedDate()));
+    return map;
+  }
+}
@@ -28,7 +28,6 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.AdminGetUse
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 
-import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
@@ -42,8 +41,6 @@ public class AdminGetUserResponseToMap
     implements Function<AdminGetUserResponse, Map<String, Object>> {
 
 
-  /** {@link SimpleDateFormat}. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
 
   @Override
   public Map<String, Object> apply(final AdminGetUserResponse ut) {
@@ -72,7 +69,7 @@ public class AdminGetUserResponseToMap
     String result = "";
 
     if (date != null) {
-      result = this.df.format(Date.from(date));
+      result = DateUtil.formatIsoDate(Date.from(date));
     }
 
     return result;
@@ -27,7 +27,6 @@ import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.UserType;
 
-import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
@@ -40,8 +39,6 @@ import java.util.function.Function;
 public class UsersResponseToMap implements Function<UserType, Map<String, Object>> {
 
 
-  /** {@link SimpleDateFormat}. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
 
   @Override
   public Map<String, Object> apply(final UserType ut) {
@@ -70,7 +67,7 @@ public class UsersResponseToMap implements Function<UserType, Map<String, Object
     String result = "";
 
     if (date != null) {
-      result = this.df.format(Date.from(date));
+      result = DateUtil.formatIsoDate(Date.from(date));
     }
 
     return result;
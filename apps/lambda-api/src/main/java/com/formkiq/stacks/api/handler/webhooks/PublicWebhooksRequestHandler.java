@@ -26,6 +26,9 @@ package com.formkiq.stacks.api.handler.webhooks;
 import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
 import static com.formkiq.aws.services.lambda.ApiResponseStatus.MOVED_PERMANENTLY;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
@@ -51,15 +54,16 @@ import com.formkiq.aws.services.lambda.exceptions.UnauthorizedException;
 import com.formkiq.aws.dynamodb.cache.CacheService;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.stacks.dynamodb.config.ConfigService;
-import com.formkiq.stacks.dynamodb.WebhooksService;
+import com.formkiq.stacks.dynamodb.WebhooksServiceCache;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import software.amazon.awssdk.utils.StringUtils;
 
 /** {@link ApiGatewayRequestHandler} for "/public/webhooks". */
 public class PublicWebhooksRequestHandler
     implements ApiGatewayRequestHandler, ApiGatewayRequestEventUtil {
 
-  /** Extension for FormKiQ config file. */
-  private static final String FORMKIQ_DOC_EXT = ".fkb64";
   /** To Milliseconds. */
   private static final long TO_MILLIS = 1000L;
 
@@ -67,19 +71,27 @@ public class PublicWebhooksRequestHandler
     return "application/json".equals(contentType);
   }
 
-  private static boolean isJsonValid(final String json) {
-
-    try {
-      GSON.fromJson(json, Object.class);
-      return true;
-    } catch (Exception ex) {
+  /**
+   * Checks JSON validity by streaming over the tokens, without building the parsed object.
+   *
+   * @param json byte[]
+   * @return boolean
+   */
+  private static boolean isJsonValid(final byte[] json) {
+
+    try (JsonReader reader = new JsonReader(
+        new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+      // same leniency as Gson.fromJson
+      reader.setStrictness(Strictness.LENIENT);
+      reader.skipValue();
+      return reader.peek() == JsonToken.END_DOCUMENT;
+    } catch (IOException | RuntimeException ex) {
       return false;
     }
   }
 
   private DynamicObject buildDynamicObject(final AwsServiceCache awsservice, final String siteId,
-      final String webhookId, final DynamicObject hook, final String body,
-      final String contentType) {
+      final String webhookId, final DynamicObject hook, final String contentType) {
 
     DynamicObject item = new DynamicObject(new HashMap<>());
 
@@ -89,7 +101,6 @@ public class PublicWebhooksRequestHandler
       item.put("contentType", contentType);
     }
 
-    item.put("content", body);
     item.put("documentId", documentId);
     item.put("userId", "webhook/" + hook.getOrDefault("path", "webhook"));
     item.put("path", "webhooks/" + webhookId);
@@ -104,9 +115,6 @@ public class PublicWebhooksRequestHandler
       }
     }
 
-    if (siteId != null) {
-      item.put("siteId", siteId);
-    }
     return item;
   }
 
@@ -133,9 +141,8 @@ public class PublicWebhooksRequestHandler
   }
 
   private ApiRequestHandlerResponse buildResponse(final ApiGatewayRequestEvent event,
-      final DynamicObject item) {
+      final DynamicObject item, final byte[] body) {
 
-    String body = item.getString("content");
     String documentId = item.getString("documentId");
     String contentType = item.getString("contentType");
 
@@ -147,7 +154,7 @@ public class PublicWebhooksRequestHandler
     if ("application/x-www-form-urlencoded".equals(contentType)
         && StringUtils.isNotBlank(redirectUri)) {
 
-      response = buildRedirect(event, redirectUri, body);
+      response = buildRedirect(event, redirectUri, new String(body, StandardCharsets.UTF_8));
 
     } else if (StringUtils.isNotBlank(redirectUri)) {
       response = ApiRequestHandlerResponse.builder().status(MOVED_PERMANENTLY)
@@ -274,11 +281,14 @@ public class PublicWebhooksRequestHandler
     String webhookId = getPathParameter(event, "webhooks");
 
     DynamicObject hook =
-        awsservice.getExtension(WebhooksService.class).findWebhook(siteId, webhookId);
+        awsservice.getExtension(WebhooksServiceCache.class).findWebhook(siteId, webhookId);
 
     checkIsWebhookValid(hook);
 
-    String body = event.getBodyAsString();
+    byte[] body = event.getBodyAsBytes();
+    if (body.length == 0) {
+      throw new BadException("request body is required");
+    }
 
     String contentType = getContentType(event);
 
@@ -286,33 +296,42 @@ public class PublicWebhooksRequestHandler
       throw new BadException("body isn't valid JSON");
     }
 
-    DynamicObject item = buildDynamicObject(awsservice, siteId, webhookId, hook, body, contentType);
+    DynamicObject item = buildDynamicObject(awsservice, siteId, webhookId, hook, contentType);
 
     if (!isIdempotencyCached(awsservice, event, siteId, item)) {
-      putObjectToStaging(awsservice, item, siteId);
+      putObjectToStaging(awsservice, item, siteId, webhookId, body);
     }
 
-    return buildResponse(event, item);
+    return buildResponse(event, item, body);
   }
 
   /**
-   * Put Object to Staging Bucket.
+   * Put the webhook payload as is to the Staging Bucket, the document fields are sent as S3 object
+   * metadata.
    *
    * @param awsservice {@link AwsServiceCache}
    * @param item {@link DynamicObject}
    * @param siteId {@link String}
+   * @param webhookId {@link String}
+   * @param body byte[]
    */
   private void putObjectToStaging(final AwsServiceCache awsservice, final DynamicObject item,
-      final String siteId) {
+      final String siteId, final String webhookId, final byte[] body) {
 
-    String s = GSON.toJson(item);
-    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    Map<String, String> metadata = new HashMap<>();
+    metadata.put("webhookid", webhookId);
+    metadata.put("userid", item.getString("userId"));
+    metadata.put("path", item.getString("path"));
+
+    if (item.containsKey("TimeToLive")) {
+      metadata.put("timetolive", item.getString("TimeToLive"));
+    }
 
     String stages3bucket = awsservice.environment("STAGE_DOCUMENTS_S3_BUCKET");
-    String key = createDatabaseKey(siteId, item.getString("documentId") + FORMKIQ_DOC_EXT);
+    String key = createDatabaseKey(siteId, item.getString("documentId"));
     awsservice.getLogger().trace("s3 putObject " + key + " into bucket " + stages3bucket);
 
     S3Service s3 = awsservice.getExtension(S3Service.class);
-    s3.putObject(stages3bucket, key, bytes, "application/json");
+    s3.putObject(stages3bucket, key, body, item.getString("contentType"), metadata);
   }
 }
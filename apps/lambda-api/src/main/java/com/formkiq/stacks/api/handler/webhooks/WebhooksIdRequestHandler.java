@@ -46,6 +46,7 @@ import com.formkiq.aws.ssm.SsmService;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.plugins.useractivity.UserActivityContext;
 import com.formkiq.stacks.dynamodb.WebhooksService;
+import com.formkiq.stacks.dynamodb.WebhooksServiceCache;
 
 /** {@link ApiGatewayRequestHandler} for "/webhooks/{webhookId}". */
 public class WebhooksIdRequestHandler
@@ -64,7 +65,9 @@ public class WebhooksIdRequestHandler
     if (webhook == null) {
       throw new NotFoundException("Webhook 'id' not found");
     }
-    webhooksService.deleteWebhook(siteId, id);
+
+    // write through the cache, so cached public webhook lookups are invalidated
+    awsServices.getExtension(WebhooksServiceCache.class).deleteWebhook(siteId, id);
     UserActivityContext.set(ActivityResourceType.WEBHOOK, UserActivityType.DELETE,
         Map.of("webhookId", new ChangeRecord(id, null), "name",
             new ChangeRecord(webhook.getString("path"), null), "enabled",
@@ -150,10 +153,12 @@ public class WebhooksIdRequestHandler
       map.put("TimeToLive", ttlDate);
     }
 
-    webhooksService.updateWebhook(siteId, id, new DynamicObject(map));
+    // write through the cache, so cached public webhook lookups are invalidated
+    WebhooksServiceCache webhooksCache = awsServices.getExtension(WebhooksServiceCache.class);
+    webhooksCache.updateWebhook(siteId, id, new DynamicObject(map));
 
     if (ttlDate != null) {
-      webhooksService.updateTimeToLive(siteId, id, ttlDate);
+      webhooksCache.updateTimeToLive(siteId, id, ttlDate);
     }
 
     Map<String, ChangeRecord> changes = new HashMap<>();
@@ -26,7 +26,6 @@ package com.formkiq.stacks.api.transformers;
 import com.formkiq.aws.dynamodb.objects.DateUtil;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GroupType;
 
-import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -37,8 +36,6 @@ import java.util.function.Function;
  */
 public class GroupsResponseToMap implements Function<GroupType, Map<String, Object>> {
 
-  /** {@link SimpleDateFormat}. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
 
   @Override
   public Map<String, Object> apply(final GroupType g) {
@@ -52,7 +49,7 @@ public class GroupsResponseToMap implements Function<GroupType, Map<String, Obje
     String result = "";
 
     if (date != null) {
-      result = this.df.format(Date.from(date));
+      result = DateUtil.formatIsoDate(Date.from(date));
     }
 
     return result;
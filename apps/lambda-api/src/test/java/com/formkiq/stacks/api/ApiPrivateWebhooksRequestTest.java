@@ -43,9 +43,6 @@ import com.formkiq.testutils.aws.LocalStackExtension;
 @ExtendWith(LocalStackExtension.class)
 public class ApiPrivateWebhooksRequestTest extends AbstractRequestHandler {
 
-  /** Extension for FormKiQ config file. */
-  private static final String FORMKIQ_DOC_EXT = ".fkb64";
-
   /**
    * Post /private/webhooks with enabled=private .
    *
@@ -100,14 +97,14 @@ public class ApiPrivateWebhooksRequestTest extends AbstractRequestHandler {
       final String name) {
 
     // verify s3 file
-    String key = createDatabaseKey(siteId, documentId + FORMKIQ_DOC_EXT);
-    String json = getS3().getContentAsString(STAGE_BUCKET_NAME, key, null);
-
-    Map<String, Object> map = fromJson(json, Map.class);
-    assertEquals(documentId, map.get("documentId"));
-    assertEquals("webhook/" + name, map.get("userId"));
-    assertEquals("webhooks/" + webhookId, map.get("path"));
-    assertEquals("{\"name\":\"john smith\"}", map.get("content"));
+    String key = createDatabaseKey(siteId, documentId);
+    String content = getS3().getContentAsString(STAGE_BUCKET_NAME, key, null);
+    assertEquals("{\"name\":\"john smith\"}", content);
+
+    Map<String, String> metadata =
+        getS3().getObjectMetadata(STAGE_BUCKET_NAME, key, null).getMetadata();
+    assertEquals("webhook/" + name, metadata.get("userid"));
+    assertEquals("webhooks/" + webhookId, metadata.get("path"));
 
     getS3().deleteObject(STAGE_BUCKET_NAME, key, null);
   }
@@ -55,9 +55,6 @@ import com.formkiq.testutils.aws.LocalStackExtension;
 @ExtendWith(LocalStackExtension.class)
 public class ApiPublicWebhooksRequestTest extends AbstractRequestHandler {
 
-  /** Extension for FormKiQ config file. */
-  private static final String FORMKIQ_DOC_EXT = ".fkb64";
-
   private void enablePublicEnpoint() {
     Map<String, String> map = new HashMap<>(getMap());
     map.put("ENABLE_PUBLIC_URLS", "true");
@@ -448,14 +445,10 @@ public class ApiPublicWebhooksRequestTest extends AbstractRequestHandler {
       assertNotNull(documentId);
 
       // verify s3 file
-      String key = createDatabaseKey(siteId, documentId + FORMKIQ_DOC_EXT);
-      String json = getS3().getContentAsString(STAGE_BUCKET_NAME, key, null);
-      Map<String, Object> map = fromJson(json, Map.class);
-      assertEquals(documentId, map.get("documentId"));
-      assertEquals("webhook/" + name, map.get("userId"));
-      assertEquals("webhooks/" + id, map.get("path"));
-      assertEquals("{\"name\":\"john smith\"}", map.get("content"));
-      assertEquals("1000", map.get("TimeToLive"));
+      String key = createDatabaseKey(siteId, documentId);
+      assertEquals("1000",
+          getS3().getObjectMetadata(STAGE_BUCKET_NAME, key, null).getMetadata().get("timetolive"));
+      verifyS3File(id, siteId, documentId, name, null, false);
     }
   }
 
@@ -504,7 +497,7 @@ public class ApiPublicWebhooksRequestTest extends AbstractRequestHandler {
       m = fromJson(response, Map.class);
       verifyHeaders(m, "200.0");
 
-      String s3key = createDatabaseKey(siteId, documentId + FORMKIQ_DOC_EXT);
+      String s3key = createDatabaseKey(siteId, documentId);
       S3ObjectMetadata om = getS3().getObjectMetadata(STAGE_BUCKET_NAME, s3key, null);
       assertFalse(om.isObjectExists());
     }
@@ -537,6 +530,43 @@ public class ApiPublicWebhooksRequestTest extends AbstractRequestHandler {
     }
   }
 
+  /**
+   * Post /public/webhooks after the cached webhook is disabled through PATCH /webhooks/{id}.
+   *
+   * @throws Exception an error has occurred
+   */
+  @Test
+  public void testPostWebhooks15() throws Exception {
+    enablePublicEnpoint();
+
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+
+      String name = ID.uuid();
+
+      String id = getWebhooksService().saveWebhook(siteId, name, "joe", null, "true");
+
+      ApiGatewayRequestEvent event =
+          toRequestEvent("/request-post-public-webhooks01.json", siteId, id);
+      Map<String, Object> m = fromJson(handleRequest(event), Map.class);
+      verifyHeaders(m, "200.0");
+
+      ApiGatewayRequestEvent patch =
+          createRequest("/request-patch-webhooks-webhookid01.json", siteId, "joe", "Admins");
+      setPathParameter(patch, "webhookId", id);
+      patch.setBody("{\"enabled\":\"false\"}");
+      m = fromJson(handleRequest(patch), Map.class);
+      assertEquals("200.0", String.valueOf(m.get("statusCode")));
+
+      // when
+      String response = handleRequest(
+          toRequestEvent("/request-post-public-webhooks01.json", siteId, id));
+
+      // then
+      m = fromJson(response, Map.class);
+      verifyHeaders(m, "429.0");
+    }
+  }
+
   private ApiGatewayRequestEvent toRequestEvent(final String file, final String siteId,
       final String webhookId) throws IOException {
 
@@ -574,23 +604,24 @@ public class ApiPublicWebhooksRequestTest extends AbstractRequestHandler {
       final String name, final String contentType, final boolean hasTimeToLive) {
 
     // verify s3 file
-    String key = createDatabaseKey(siteId, documentId + FORMKIQ_DOC_EXT);
-    String json = getS3().getContentAsString(STAGE_BUCKET_NAME, key, null);
+    String key = createDatabaseKey(siteId, documentId);
+    String content = getS3().getContentAsString(STAGE_BUCKET_NAME, key, null);
+    assertEquals("{\"name\":\"john smith\"}", content);
 
-    Map<String, Object> map = fromJson(json, Map.class);
-    assertEquals(documentId, map.get("documentId"));
-    assertEquals("webhook/" + name, map.get("userId"));
-    assertEquals("webhooks/" + webhookId, map.get("path"));
-    assertEquals("{\"name\":\"john smith\"}", map.get("content"));
+    S3ObjectMetadata md = getS3().getObjectMetadata(STAGE_BUCKET_NAME, key, null);
+    Map<String, String> metadata = md.getMetadata();
+    assertEquals("webhook/" + name, metadata.get("userid"));
+    assertEquals("webhooks/" + webhookId, metadata.get("path"));
+    assertEquals(webhookId, metadata.get("webhookid"));
 
     if (contentType != null) {
-      assertEquals("application/json", map.get("contentType"));
+      assertEquals("application/json", md.getContentType());
     }
 
     if (hasTimeToLive) {
       DynamicObject obj = getWebhooksService().findWebhook(siteId, webhookId);
       assertNotNull(obj.get("TimeToLive"));
-      assertEquals(obj.get("TimeToLive"), map.get("TimeToLive"));
+      assertEquals(obj.get("TimeToLive"), metadata.get("timetolive"));
     }
 
     getS3().deleteObject(STAGE_BUCKET_NAME, key, null);
@@ -885,6 +885,74 @@ public class DocumentsSearchRequestTest extends AbstractApiClientRequestTest {
     assertEquals(path, documents.get(0).getPath());
   }
 
+  /**
+   * Text Fulltext search returns the document fields stored in DynamoDB, not only the fields
+   * stored in the index.
+   *
+   * @throws Exception an error has occurred
+   */
+  @Test
+  @Timeout(value = TEST_TIMEOUT)
+  public void testHandleSearchRequest31() throws Exception {
+    // given
+    setBearerToken((String) null);
+
+    String text = ID.uuid();
+    String path = "hydrate/" + text + ".txt";
+    String documentId = saveDocument(null, path);
+
+    DocumentSearchRequest dsq = new DocumentSearchRequest().query(new DocumentSearch().text(text));
+
+    // when
+    List<SearchResultDocument> documents = searchUntilFound(dsq);
+
+    // then
+    assertEquals(1, documents.size());
+    SearchResultDocument document = documents.get(0);
+    assertEquals(documentId, document.getDocumentId());
+    assertEquals(path, document.getPath());
+    assertNotNull(document.getInsertedDate());
+    assertNotNull(document.getUserId());
+  }
+
+  /**
+   * Text Fulltext search skips documents that are deleted but still in the index.
+   *
+   * @throws Exception an error has occurred
+   */
+  @Test
+  @Timeout(value = TEST_TIMEOUT)
+  public void testHandleSearchRequest32() throws Exception {
+    // given
+    setBearerToken((String) null);
+
+    String text = ID.uuid();
+    String documentId = saveDocument(null, "deleted/" + text + ".txt");
+
+    DocumentSearchRequest dsq = new DocumentSearchRequest().query(new DocumentSearch().text(text));
+    assertEquals(1, searchUntilFound(dsq).size());
+
+    this.documentsApi.deleteDocument(documentId, null, null, Boolean.FALSE);
+
+    // when
+    DocumentSearchResponse response = this.searchApi.documentSearch(dsq, null, null, null, null);
+
+    // then
+    assertEquals(0, notNull(response.getDocuments()).size());
+  }
+
+  private List<SearchResultDocument> searchUntilFound(final DocumentSearchRequest dsq)
+      throws ApiException, InterruptedException {
+    List<SearchResultDocument> documents =
+        notNull(this.searchApi.documentSearch(dsq, null, null, null, null).getDocuments());
+    while (documents.isEmpty()) {
+      TimeUnit.SECONDS.sleep(1);
+      documents =
+          notNull(this.searchApi.documentSearch(dsq, null, null, null, null).getDocuments());
+    }
+    return documents;
+  }
+
   /**
    * Text Fulltext search no data.
    *
@@ -507,6 +507,53 @@ public class EntityRequestTest extends AbstractApiClientRequestTest {
         resp.exception().getResponseBody());
   }
 
+  /**
+   * DELETE /entities/{entityTypeId}/{entityId} and /entityTypes/{entityTypeId}, then use them in
+   * an Entity Attribute.
+   *
+   * @throws ApiException an error has occurred
+   */
+  @Test
+  public void testDeleteEntity04() throws ApiException {
+    // given
+    for (String siteId : Arrays.asList(DEFAULT_SITE_ID, ID.uuid())) {
+
+      setBearerToken(new String[] {siteId});
+      addAttribute(siteId, "myentity", AttributeDataType.ENTITY);
+
+      String entityTypeId = addEntityType(siteId);
+      String entityId = new AddEntityRequestBuilder(entityTypeId, "custom").name("test0")
+          .getEntityId(client, siteId);
+      String stringValue = entityTypeId + "#" + entityId;
+
+      String linkedId = new AddEntityRequestBuilder(entityTypeId, "custom").name("test1")
+          .addAttribute("myentity", stringValue).getEntityId(client, siteId);
+      this.entityApi.deleteEntity(entityTypeId, linkedId, siteId);
+
+      // when
+      this.entityApi.deleteEntity(entityTypeId, entityId, siteId);
+      var resp = new AddEntityRequestBuilder(entityTypeId, "custom").name("test2")
+          .addAttribute("myentity", stringValue).submit(client, siteId);
+
+      // then
+      assertEquals(HttpStatus.BAD_REQUEST, resp.exception().getCode());
+      assertEquals("{\"errors\":[{\"key\":\"entityId\",\"error\":\"EntityId does not exist\"}]}",
+          resp.exception().getResponseBody());
+
+      // when
+      this.entityApi.deleteEntityType(entityTypeId, siteId);
+      resp = new AddEntityRequestBuilder(addEntityType(siteId), "custom").name("test3")
+          .addAttribute("myentity", stringValue).submit(client, siteId);
+
+      // then
+      assertEquals(HttpStatus.BAD_REQUEST, resp.exception().getCode());
+      assertEquals(
+          "{\"errors\":[{\"key\":\"entityTypeId\",\"error\":\"EntityTypeId does not exist\"},"
+              + "{\"key\":\"entityId\",\"error\":\"EntityId does not exist\"}]}",
+          resp.exception().getResponseBody());
+    }
+  }
+
   /**
    * Get /entities/{entityTypeId}.
    *
@@ -38,6 +38,7 @@ import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.stacks.dynamodb.ApiKey;
 import com.formkiq.stacks.dynamodb.ApiKeysService;
 import com.formkiq.stacks.dynamodb.ApiKeysServiceExtension;
@@ -103,9 +104,13 @@ public class ApiKeyAuthorizerRequestHandler
     return !identitySource.isEmpty() ? identitySource.get(0) : null;
   }
 
-  @Override
-  public Map<String, Object> handleRequest(final APIGatewayV2CustomAuthorizerEvent input,
-      final Context context) {
+  /**
+   * Authorize the API Key of the request.
+   *
+   * @param input {@link APIGatewayV2CustomAuthorizerEvent}
+   * @return {@link Map}
+   */
+  private Map<String, Object> authorize(final APIGatewayV2CustomAuthorizerEvent input) {
 
     Logger logger = awsServices.getLogger();
     ApiKeysService apiKeys = awsServices.getExtension(ApiKeysService.class);
@@ -134,6 +139,16 @@ public class ApiKeyAuthorizerRequestHandler
         .of("permissions", permissions, "cognito:groups", group, "cognito:username", apiKeyName)));
   }
 
+  @Override
+  public Map<String, Object> handleRequest(final APIGatewayV2CustomAuthorizerEvent input,
+      final Context context) {
+    try {
+      return authorize(input);
+    } finally {
+      Metrics.publishEmf(awsServices);
+    }
+  }
+
   private void log(final Logger logger, final APIGatewayV2CustomAuthorizerEvent input,
       final boolean isAuthorized, final String group) {
 
@@ -42,7 +42,10 @@ import java.util.Optional;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.formkiq.aws.dynamodb.DynamoDbAwsServiceRegistry;
 import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
+import com.formkiq.aws.dynamodb.cache.CacheService;
+import com.formkiq.aws.dynamodb.cache.CacheServiceExtension;
 import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
+import com.formkiq.aws.dynamodb.objects.MimeFinder;
 import com.formkiq.aws.dynamodb.objects.MimeType;
 import com.formkiq.aws.s3.S3AwsServiceRegistry;
 import com.formkiq.aws.s3.S3PresignerService;
@@ -82,11 +85,15 @@ import com.formkiq.module.ocr.FormatConverterResult;
 import com.formkiq.module.ocr.OcrScanStatus;
 import com.formkiq.module.ocr.OcrSqsMessage;
 import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.utils.IoUtils;
 
 /** {@link RequestHandler} for handling DynamoDb to Tesseract OCR Processor. */
 public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
 
+  /** Lowest Http Status Code of a server error. */
+  private static final int SERVER_ERROR = 500;
   /** {@link AwsServiceCache}. */
   private static AwsServiceCache serviceCache;
   /** Url Class Map. */
@@ -122,6 +129,7 @@ public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
    */
   protected static void initialize(final AwsServiceCache awsServiceCache) {
     awsServiceCache.register(S3Service.class, new S3ServiceExtension());
+    awsServiceCache.register(CacheService.class, new CacheServiceExtension());
     awsServiceCache.register(DocumentOcrService.class, new DocumentOcrServiceExtension());
     awsServiceCache.register(ActionsService.class, new ActionsServiceExtension());
 
@@ -217,13 +225,46 @@ public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
 
   @Override
   public void handleSqsRequest(final Logger logger, final AwsServiceCache awsServices,
-      final SqsEventRecord record) {
+      final SqsEventRecord record) throws IOException {
 
     DocumentOcrService ocrService = serviceCache.getExtension(DocumentOcrService.class);
     OcrSqsMessage sqsMessage = getSqsMessage(record.body());
     processRecord(logger, awsServices, ocrService, sqsMessage);
   }
 
+  /**
+   * Find {@link MimeType} from the Content-Type, for binary "octet-stream" Content-Types it is
+   * found from the document's first bytes.
+   *
+   * @param awsServices {@link AwsServiceCache}
+   * @param sqsMessage {@link OcrSqsMessage}
+   * @param contentType {@link String}
+   * @return {@link MimeType}
+   * @throws IOException IOException
+   */
+  private MimeType findMimeType(final AwsServiceCache awsServices, final OcrSqsMessage sqsMessage,
+      final String contentType) throws IOException {
+
+    MimeType mt = MimeType.fromContentType(contentType);
+
+    if (contentType != null && contentType.endsWith("/octet-stream")) {
+
+      S3Service s3Service = serviceCache.getExtension(S3Service.class);
+      String documentsBucket = awsServices.environment("DOCUMENTS_S3_BUCKET");
+      String documentS3Key =
+          createS3Key(sqsMessage.siteId(), sqsMessage.documentId(), sqsMessage.artifactId());
+      String range = "bytes=0-" + (MimeFinder.SNIFF_LENGTH - 1);
+
+      try (InputStream is =
+          s3Service.getContentPartAsInputStream(documentsBucket, documentS3Key, range)) {
+        MimeType sniffed = MimeFinder.sniff(is);
+        mt = MimeType.MIME_UNKNOWN.equals(sniffed) ? mt : sniffed;
+      }
+    }
+
+    return mt;
+  }
+
   protected File loadFile(final AwsServiceCache awsServices, final OcrSqsMessage sqsMessage,
       final MimeType mt) throws IOException {
 
@@ -265,8 +306,42 @@ public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
     logger.info(s);
   }
 
+  /**
+   * Is {@link Throwable} or any of its causes a transient AWS error (throttling, service or client
+   * connection failure) that may succeed when the record is retried.
+   *
+   * @param e {@link Throwable}
+   * @return boolean
+   */
+  private boolean isTransient(final Throwable e) {
+
+    boolean transientError = false;
+
+    for (Throwable t = e; t != null && !transientError; t = t.getCause()) {
+
+      if (t instanceof AwsServiceException ase) {
+        transientError = ase.isThrottlingException() || ase.statusCode() >= SERVER_ERROR;
+      } else if (t instanceof SdkClientException) {
+        transientError = true;
+      }
+    }
+
+    return transientError;
+  }
+
+  /**
+   * Process OCR record. Transient errors are rethrown, so the record is reported as a batch item
+   * failure and retried, without changing the OCR Scan Status. Any other error sets the OCR Scan
+   * Status and action to failed.
+   *
+   * @param logger {@link Logger}
+   * @param awsServices {@link AwsServiceCache}
+   * @param ocrService {@link DocumentOcrService}
+   * @param sqsMessage {@link OcrSqsMessage}
+   * @throws IOException IOException
+   */
   private void processRecord(final Logger logger, final AwsServiceCache awsServices,
-      final DocumentOcrService ocrService, final OcrSqsMessage sqsMessage) {
+      final DocumentOcrService ocrService, final OcrSqsMessage sqsMessage) throws IOException {
 
     String siteId = sqsMessage.siteId();
     String documentId = sqsMessage.documentId();
@@ -279,7 +354,7 @@ public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
 
     try {
 
-      MimeType mt = MimeType.fromContentType(contentType);
+      MimeType mt = findMimeType(awsServices, sqsMessage, contentType);
 
       Optional<FormatConverter> fc =
           getConverters().stream().filter(c -> c.isSupported(sqsMessage, mt)).findFirst();
@@ -318,6 +393,10 @@ public class OcrTesseractProcessor extends AbstractRestApiRequestHandler {
 
     } catch (Throwable e) {
 
+      if (isTransient(e)) {
+        throw e;
+      }
+
       ocrService.updateOcrScanStatus(siteId, document, OcrScanStatus.FAILED);
 
       logger.error(String.format("setting OCR Scan Status: %s", OcrScanStatus.FAILED));
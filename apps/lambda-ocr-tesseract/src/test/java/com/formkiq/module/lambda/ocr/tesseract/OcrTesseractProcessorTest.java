@@ -33,6 +33,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -57,6 +59,7 @@ import com.formkiq.aws.s3.S3Service;
 import com.formkiq.aws.sns.SnsAwsServiceRegistry;
 import com.formkiq.aws.sqs.SqsMessageRecord;
 import com.formkiq.aws.sqs.SqsMessageRecords;
+import com.formkiq.aws.sqs.events.SqsBatchResponse;
 import com.formkiq.aws.dynamodb.actions.Action;
 import com.formkiq.aws.dynamodb.actions.ActionStatus;
 import com.formkiq.aws.dynamodb.actions.ActionType;
@@ -67,8 +70,11 @@ import com.formkiq.module.lambda.ocr.pdf.PdfFormatConverter;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.ocr.DocumentOcrService;
+import com.formkiq.module.ocr.FormatConverter;
+import com.formkiq.module.ocr.FormatConverterResult;
 import com.formkiq.module.ocr.Ocr;
 import com.formkiq.module.ocr.OcrScanStatus;
+import com.formkiq.module.ocr.OcrSqsMessage;
 import com.formkiq.testutils.aws.DynamoDbExtension;
 import com.formkiq.testutils.aws.LambdaContextRecorder;
 import com.formkiq.testutils.aws.LocalStackExtension;
@@ -78,6 +84,7 @@ import com.google.gson.GsonBuilder;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
 
 /**
  * 
@@ -100,6 +107,8 @@ class OcrTesseractProcessorTest {
   private static OcrTesseractProcessor processor;
   /** {@link S3Service}. */
   private static S3Service s3;
+  /** {@link AwsServiceCache}. */
+  private static AwsServiceCache services;
 
   @BeforeAll
   public static void beforeAll() {
@@ -111,7 +120,7 @@ class OcrTesseractProcessorTest {
     AwsCredentialsProvider cred = StaticCredentialsProvider
         .create(AwsSessionCredentials.create("ACCESSKEY", "SECRETKEY", "TOKENKEY"));
 
-    AwsServiceCache services = new AwsServiceCacheBuilder(map, TestServices.getEndpointMap(), cred)
+    services = new AwsServiceCacheBuilder(map, TestServices.getEndpointMap(), cred)
         .addService(new DynamoDbAwsServiceRegistry(), new S3AwsServiceRegistry(),
             new SnsAwsServiceRegistry())
         .build();
@@ -145,6 +154,12 @@ class OcrTesseractProcessorTest {
   /** {@link Context}. */
   private final Context context = new LambdaContextRecorder();
 
+  private SqsBatchResponse handleRequest(final InputStream is) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    processor.handleRequest(is, output, this.context);
+    return GSON.fromJson(output.toString(StandardCharsets.UTF_8), SqsBatchResponse.class);
+  }
+
   private ActionBuilder createAction(final String documentId) {
     DocumentArtifact document = DocumentArtifact.of(documentId, null);
     return new ActionBuilder().document(document).indexUlid().userId("joe").type(ActionType.OCR);
@@ -179,9 +194,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("FAILED", obj.status().name());
 
@@ -224,9 +241,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -267,9 +286,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("FAILED", obj.status().name());
 
@@ -309,9 +330,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -355,9 +378,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -401,9 +426,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -446,9 +473,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -494,9 +523,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -543,9 +574,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -598,9 +631,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -645,9 +680,11 @@ class OcrTesseractProcessorTest {
       InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
 
       // when
-      processor.handleRequest(is, null, this.context);
+      SqsBatchResponse response = handleRequest(is);
 
       // then
+      assertEquals(0, response.batchItemFailures().size());
+
       Ocr obj = ocrService.get(siteId, document);
       assertEquals("SUCCESSFUL", obj.status().name());
 
@@ -660,4 +697,69 @@ class OcrTesseractProcessorTest {
       assertEquals(ActionStatus.ASYNC_COMPLETE, actions.getFirst().status());
     }
   }
+
+  /**
+   * Test transient error is retried without failing the OCR Scan.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testHandleRequestTransientError() throws Exception {
+    // given
+    FormatConverter converter = new FormatConverter() {
+      @Override
+      public FormatConverterResult convert(final AwsServiceCache awsServices,
+          final OcrSqsMessage sqsMessage, final MimeType mineType, final File file) {
+        throw SdkClientException.create("connection reset");
+      }
+
+      @Override
+      public boolean isSupported(final OcrSqsMessage sqsMessage, final MimeType mineType) {
+        return true;
+      }
+    };
+
+    OcrTesseractProcessor transientProcessor =
+        new OcrTesseractProcessor(services, List.of(converter));
+
+    for (String siteId : Arrays.asList(DEFAULT_SITE_ID, ID.uuid())) {
+
+      String documentId = ID.uuid();
+      DocumentArtifact document = DocumentArtifact.of(documentId, null);
+      String jobId = ID.uuid();
+
+      List<Action> actions =
+          List.of(createAction(documentId).status(ActionStatus.RUNNING).build(siteId));
+      actionsService.saveNewActions(actions);
+
+      String documentS3Key = createS3Key(siteId, documentId, null);
+      s3.putObject(BUCKET_NAME, documentS3Key, "testdata".getBytes(StandardCharsets.UTF_8),
+          "text/plain");
+
+      createOcrRecord(siteId, document, jobId);
+
+      SqsMessageRecord record = new SqsMessageRecord().eventSource("aws:sqs")
+          .body(GSON.toJson(Map.of("siteId", siteId, "documentId", documentId, "jobId", jobId,
+              "contentType", MimeType.MIME_JPEG.getContentType())));
+      SqsMessageRecords records = new SqsMessageRecords().records(List.of(record));
+
+      String json = GSON.toJson(records);
+      InputStream is = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+      // when
+      transientProcessor.handleRequest(is, output, this.context);
+
+      // then
+      SqsBatchResponse response =
+          GSON.fromJson(output.toString(StandardCharsets.UTF_8), SqsBatchResponse.class);
+      assertEquals(1, response.batchItemFailures().size());
+
+      Ocr obj = ocrService.get(siteId, document);
+      assertEquals("REQUESTED", obj.status().name());
+
+      actions = actionsService.getActions(siteId, document);
+      assertEquals(ActionStatus.RUNNING, actions.getFirst().status());
+    }
+  }
 }
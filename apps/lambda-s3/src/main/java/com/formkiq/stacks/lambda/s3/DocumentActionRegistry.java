@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3;
+
+import com.formkiq.aws.dynamodb.actions.ActionType;
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.stacks.lambda.s3.actions.AddMetadataExtractionAction;
+import com.formkiq.stacks.lambda.s3.actions.AddOcrAction;
+import com.formkiq.stacks.lambda.s3.actions.DeleteAction;
+import com.formkiq.stacks.lambda.s3.actions.DocumentTaggingAction;
+import com.formkiq.stacks.lambda.s3.actions.EventBridgeAction;
+import com.formkiq.stacks.lambda.s3.actions.FullTextAction;
+import com.formkiq.stacks.lambda.s3.actions.IdpAction;
+import com.formkiq.stacks.lambda.s3.actions.LlmPromptAction;
+import com.formkiq.stacks.lambda.s3.actions.MoveAction;
+import com.formkiq.stacks.lambda.s3.actions.NotificationAction;
+import com.formkiq.stacks.lambda.s3.actions.PdfExportAction;
+import com.formkiq.stacks.lambda.s3.actions.SetDataClassificationAction;
+import com.formkiq.stacks.lambda.s3.actions.resize.ResizeAction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link DocumentAction} instances. Actions only hold references to shared services,
+ * so each {@link ActionType} is created once and reused across invocations of the container.
+ */
+public class DocumentActionRegistry {
+
+  /** {@link DocumentAction} by {@link ActionType}. */
+  private final Map<ActionType, DocumentAction> actions = new ConcurrentHashMap<>();
+  /** {@link AwsServiceCache}. */
+  private final AwsServiceCache serviceCache;
+
+  /**
+   * constructor.
+   *
+   * @param awsServiceCache {@link AwsServiceCache}
+   */
+  public DocumentActionRegistry(final AwsServiceCache awsServiceCache) {
+    this.serviceCache = awsServiceCache;
+  }
+
+  private DocumentAction create(final ActionType type) {
+    return switch (type) {
+      case DOCUMENTTAGGING -> new DocumentTaggingAction(this.serviceCache);
+      case OCR -> new AddOcrAction(this.serviceCache);
+      case FULLTEXT -> new FullTextAction(this.serviceCache);
+      case MOVE -> new MoveAction(this.serviceCache);
+      case DELETE -> new DeleteAction(this.serviceCache);
+      case CHECKSUM -> new ChecksumAction(this.serviceCache);
+      case NOTIFICATION -> new NotificationAction(this.serviceCache);
+      case IDP -> new IdpAction(this.serviceCache);
+      case PUBLISH -> new PublishAction(this.serviceCache);
+      case PDFEXPORT -> new PdfExportAction(this.serviceCache);
+      case EVENTBRIDGE -> new EventBridgeAction(this.serviceCache);
+      case RESIZE -> new ResizeAction(this.serviceCache);
+      case DATA_CLASSIFICATION -> new SetDataClassificationAction(this.serviceCache);
+      case METADATA_EXTRACTION -> new AddMetadataExtractionAction(this.serviceCache);
+      case LLMPROMPT -> new LlmPromptAction(this.serviceCache);
+      default -> null;
+    };
+  }
+
+  /**
+   * Get {@link DocumentAction} for {@link ActionType}.
+   *
+   * @param type {@link ActionType}
+   * @return {@link DocumentAction} or null if {@link ActionType} is not handled by a
+   *         {@link DocumentAction}
+   */
+  public DocumentAction get(final ActionType type) {
+    DocumentAction action = this.actions.get(type);
+    if (action == null) {
+      action = create(type);
+      if (action != null) {
+        DocumentAction existing = this.actions.putIfAbsent(type, action);
+        action = existing != null ? existing : action;
+      }
+    }
+    return action;
+  }
+}
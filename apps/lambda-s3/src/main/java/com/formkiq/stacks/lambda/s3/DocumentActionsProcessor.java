@@ -37,6 +37,7 @@ import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
 import com.formkiq.aws.dynamodb.objects.Objects;
 import com.formkiq.aws.dynamodb.objects.Strings;
 import com.formkiq.aws.eventbridge.EventBridgeAwsServiceRegistry;
+import com.formkiq.aws.eventbridge.EventBridgeBatchResult;
 import com.formkiq.aws.eventbridge.EventBridgeMessage;
 import com.formkiq.aws.eventbridge.EventBridgeService;
 import com.formkiq.aws.eventbridge.EventBridgeServiceExtension;
@@ -67,12 +68,17 @@ import com.formkiq.module.events.EventServiceSnsExtension;
 import com.formkiq.module.events.document.DocumentEvent;
 import com.formkiq.module.http.HttpResponseStatus;
 import com.formkiq.module.http.HttpService;
+import com.formkiq.module.http.RetryExecutor;
 import com.formkiq.module.httpsigv4.HttpServiceSigv4;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.lambdaservices.ClassServiceExtension;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+import com.formkiq.module.ocr.DocumentOcrService;
+import com.formkiq.module.ocr.DocumentOcrServiceExtension;
 import com.formkiq.module.typesense.TypeSenseService;
 import com.formkiq.module.typesense.TypeSenseServiceExtension;
 import com.formkiq.stacks.dynamodb.DocumentSyncService;
@@ -88,25 +94,14 @@ import com.formkiq.stacks.dynamodb.attributes.AttributeServiceExtension;
 import com.formkiq.stacks.dynamodb.folders.FolderIndexProcessor;
 import com.formkiq.stacks.dynamodb.folders.FolderIndexProcessorExtension;
 import com.formkiq.stacks.dynamodb.mappings.MappingService;
-import com.formkiq.stacks.dynamodb.mappings.MappingServiceExtension;
-import com.formkiq.stacks.lambda.s3.actions.AddMetadataExtractionAction;
-import com.formkiq.stacks.lambda.s3.actions.AddOcrAction;
-import com.formkiq.stacks.lambda.s3.actions.DeleteAction;
+import com.formkiq.stacks.dynamodb.mappings.MappingServiceCacheExtension;
 import com.formkiq.stacks.lambda.s3.actions.DocumentExternalSystemExport;
-import com.formkiq.stacks.lambda.s3.actions.DocumentTaggingAction;
-import com.formkiq.stacks.lambda.s3.actions.EventBridgeAction;
 import com.formkiq.stacks.lambda.s3.actions.EventBridgeMessageBuilder;
-import com.formkiq.stacks.lambda.s3.actions.FullTextAction;
 import com.formkiq.stacks.lambda.s3.actions.HttpRetryException;
-import com.formkiq.stacks.lambda.s3.actions.IdpAction;
-import com.formkiq.stacks.lambda.s3.actions.LlmPromptAction;
-import com.formkiq.stacks.lambda.s3.actions.MoveAction;
-import com.formkiq.stacks.lambda.s3.actions.NotificationAction;
-import com.formkiq.stacks.lambda.s3.actions.PdfExportAction;
-import com.formkiq.stacks.lambda.s3.actions.SetDataClassificationAction;
-import com.formkiq.stacks.lambda.s3.actions.resize.ResizeAction;
 import com.formkiq.stacks.lambda.s3.actions.SendHttpRequest;
 import com.formkiq.stacks.lambda.s3.event.AwsEvent;
+import com.formkiq.stacks.lambda.s3.event.AwsEventBatchItemFailure;
+import com.formkiq.stacks.lambda.s3.event.AwsEventBatchResponse;
 import com.formkiq.stacks.lambda.s3.event.AwsEventDynamodbEntity;
 import com.formkiq.stacks.lambda.s3.event.AwsEventDynamodbNewImage;
 import com.formkiq.stacks.lambda.s3.event.AwsEventRecord;
@@ -127,11 +122,15 @@ import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import static com.formkiq.aws.dynamodb.objects.Strings.isEmpty;
@@ -143,10 +142,18 @@ import static com.formkiq.stacks.lambda.s3.DetailTypeResolver.DEFAULT_DETAIL;
 
 /** {@link RequestHandler} for handling Document Actions. */
 @Reflectable
-public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>, DbKeys {
+public class DocumentActionsProcessor
+    implements RequestHandler<AwsEvent, AwsEventBatchResponse>, DbKeys {
 
+  /** Default number of documents processed concurrently. */
+  private static final int DEFAULT_MAX_CONCURRENCY = 10;
   /** Max Retry Count. */
   private static final int MAX_RETRY_COUNT = 5;
+  /** Number of retries of failed or throttled webhook requests. */
+  private static final int WEBHOOK_RETRIES = 2;
+  /** Webhook {@link HttpClient}. */
+  private static final HttpClient WEBHOOK_CLIENT = HttpClient.newBuilder()
+      .followRedirects(Redirect.ALWAYS).connectTimeout(Duration.ofMinutes(1)).build();
   /** {@link AwsServiceCache}. */
   private static AwsServiceCache serviceCache;
 
@@ -172,7 +179,7 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
   static void initialize(final AwsServiceCache awsServiceCache) {
 
     awsServiceCache.register(DynamoDbService.class, new DynamoDbServiceExtension());
-    awsServiceCache.register(MappingService.class, new MappingServiceExtension());
+    awsServiceCache.register(MappingService.class, new MappingServiceCacheExtension());
     if (!awsServiceCache.containsExtension(SsmService.class)) {
       awsServiceCache.register(SsmService.class, new SsmServiceExtension());
     }
@@ -191,6 +198,10 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
     awsServiceCache.register(AttributeService.class, new AttributeServiceExtension());
     awsServiceCache.register(EventBridgeService.class, new EventBridgeServiceExtension());
 
+    if (!isEmpty(awsServiceCache.environment("OCR_S3_BUCKET"))) {
+      awsServiceCache.register(DocumentOcrService.class, new DocumentOcrServiceExtension());
+    }
+
     SsmService ssmService = awsServiceCache.getExtension(SsmService.class);
 
     String appEnvironment = awsServiceCache.environment("APP_ENVIRONMENT");
@@ -231,13 +242,15 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
 
   /** {@link Gson}. */
   private final Gson gson = new GsonBuilder().create();
+  /** {@link DocumentActionRegistry}. */
+  private final DocumentActionRegistry documentActions;
 
   /**
    * constructor.
    *
    */
   public DocumentActionsProcessor() {
-    // empty
+    this(serviceCache);
   }
 
   /**
@@ -247,9 +260,11 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
    * 
    */
   public DocumentActionsProcessor(final AwsServiceCache awsServiceCache) {
-    this();
-    initialize(awsServiceCache);
-    serviceCache = awsServiceCache;
+    if (awsServiceCache != serviceCache) {
+      initialize(awsServiceCache);
+      serviceCache = awsServiceCache;
+    }
+    this.documentActions = new DocumentActionRegistry(awsServiceCache);
   }
 
   private ActionsService getActionsService() {
@@ -260,8 +275,13 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
     return serviceCache.getExtension(ActionsNotificationService.class);
   }
 
+  private int getMaxConcurrency() {
+    return serviceCache.environmentPositiveInt("ACTIONS_MAX_CONCURRENCY",
+        DEFAULT_MAX_CONCURRENCY);
+  }
+
   @Override
-  public Void handleRequest(final AwsEvent event, final Context context) {
+  public AwsEventBatchResponse handleRequest(final AwsEvent event, final Context context) {
 
     Logger logger = serviceCache.getLogger();
 
@@ -273,13 +293,14 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
     List<AwsEventRecord> records = event.records();
 
     try {
-      processRecords(logger, records);
+      List<String> failed = processRecords(logger, records);
+      return new AwsEventBatchResponse(failed.stream().map(AwsEventBatchItemFailure::new).toList());
     } catch (IOException | InterruptedException e) {
       logger.error(e);
       throw new RuntimeException(e);
+    } finally {
+      Metrics.publishEmf(serviceCache);
     }
-
-    return null;
   }
 
   /**
@@ -332,31 +353,11 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
 
   private ProcessActionStatus performAction(final Logger logger, final String siteId,
       final DocumentArtifact document, final List<Action> actions, final Action action)
-      throws IOException, InterruptedException {
+      throws IOException, InterruptedException, ValidationException {
     ProcessActionStatus actionStatus;
     switch (action.type()) {
       case QUEUE -> actionStatus = new ProcessActionStatus(ActionStatus.IN_QUEUE);
 
-      case DOCUMENTTAGGING -> {
-        DocumentTaggingAction dtAction = new DocumentTaggingAction(serviceCache);
-        actionStatus = dtAction.run(logger, siteId, document, actions, action);
-      }
-
-      case OCR -> actionStatus =
-          new AddOcrAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      case FULLTEXT -> actionStatus =
-          new FullTextAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      case MOVE ->
-        actionStatus = new MoveAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      case DELETE -> actionStatus =
-          new DeleteAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      case CHECKSUM -> actionStatus =
-          new ChecksumAction(serviceCache).run(logger, siteId, document, actions, action);
-
       case ANTIVIRUS, MALWARE_SCAN -> {
         new SendHttpRequest(serviceCache).sendRequest(siteId, "PUT",
             "/documents/" + document.documentId() + "/malwareScan", "");
@@ -365,44 +366,13 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
 
       case WEBHOOK -> actionStatus = sendWebhook(siteId, document, action);
 
-      case NOTIFICATION -> {
-        DocumentAction da = new NotificationAction(siteId, serviceCache);
-        actionStatus = da.run(logger, siteId, document, actions, action);
-      }
-
-      case IDP -> {
-        DocumentAction da = new IdpAction(serviceCache);
-        actionStatus = da.run(logger, siteId, document, actions, action);
-      }
-
-      case PUBLISH -> {
-        DocumentAction da = new PublishAction(serviceCache);
-        actionStatus = da.run(logger, siteId, document, actions, action);
-      }
-
-      case PDFEXPORT -> {
-        DocumentAction da = new PdfExportAction(serviceCache);
-        actionStatus = da.run(logger, siteId, document, actions, action);
-      }
-
-      case EVENTBRIDGE -> {
-        DocumentAction da = new EventBridgeAction(serviceCache);
+      default -> {
+        DocumentAction da = this.documentActions.get(action.type());
+        if (da == null) {
+          throw new IOException("Unhandled Action Type: " + action.type());
+        }
         actionStatus = da.run(logger, siteId, document, actions, action);
       }
-
-      case RESIZE -> actionStatus =
-          new ResizeAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      case DATA_CLASSIFICATION -> actionStatus = new SetDataClassificationAction(serviceCache)
-          .run(logger, siteId, document, actions, action);
-
-      case METADATA_EXTRACTION -> actionStatus = new AddMetadataExtractionAction(serviceCache)
-          .run(logger, siteId, document, actions, action);
-
-      case LLMPROMPT -> actionStatus =
-          new LlmPromptAction(serviceCache).run(logger, siteId, document, actions, action);
-
-      default -> throw new IOException("Unhandled Action Type: " + action.type());
     }
 
     return actionStatus;
@@ -529,33 +499,146 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
   }
 
   /**
-   * Process Event Records.
+   * Process Event Records. Records for the same document are processed in order, records for
+   * different documents are processed concurrently.
    * 
    * @param logger {@link Logger}
    * @param records {@link List} {@link Map}
+   * @return {@link List} of failed record message ids
    * @throws InterruptedException InterruptedException
    * @throws IOException IOException
    */
-  private void processRecords(final Logger logger, final List<AwsEventRecord> records)
+  private List<String> processRecords(final Logger logger, final List<AwsEventRecord> records)
       throws IOException, InterruptedException {
 
+    List<EventBridgeMessage> eventBridgeMessages = new ArrayList<>();
+    Map<String, List<AwsEventRecord>> documentRecords = new LinkedHashMap<>();
+
     for (AwsEventRecord e : Objects.notNull(records)) {
 
       if (e.body() != null) {
+        documentRecords.computeIfAbsent(getDocumentKey(e), k -> new ArrayList<>()).add(e);
+      } else if (e.dynamodb() != null) {
+        processDynamodbStream(logger, e, eventBridgeMessages);
+      }
+    }
 
-        AwsEventSnsNotification map = this.gson.fromJson(e.body(), AwsEventSnsNotification.class);
+    publishEventBridgeMessages(logger, eventBridgeMessages);
 
-        if (map.message() != null) {
-          processDocumentEvent(logger, map);
-        }
+    return processDocumentRecords(logger, documentRecords.values());
+  }
 
-      } else if (e.dynamodb() != null) {
-        processDynamodbStream(logger, e);
+  /**
+   * Get the key to group records of the same document by, records that cannot be parsed are
+   * grouped by themselves.
+   *
+   * @param e {@link AwsEventRecord}
+   * @return {@link String}
+   */
+  private String getDocumentKey(final AwsEventRecord e) {
+    String key;
+    try {
+      DocumentEvent event = toDocumentEvent(e);
+      key = event != null ? event.siteId() + "#" + event.documentId() : e.messageId();
+    } catch (RuntimeException ex) {
+      key = e.messageId();
+    }
+    return key;
+  }
+
+  private DocumentEvent toDocumentEvent(final AwsEventRecord e) {
+    AwsEventSnsNotification map = this.gson.fromJson(e.body(), AwsEventSnsNotification.class);
+    return map != null && map.message() != null
+        ? this.gson.fromJson(map.message(), DocumentEvent.class)
+        : null;
+  }
+
+  /**
+   * Process groups of document records concurrently.
+   *
+   * @param logger {@link Logger}
+   * @param groups {@link Collection} of {@link AwsEventRecord} grouped by document
+   * @return {@link List} of failed record message ids
+   * @throws InterruptedException InterruptedException
+   * @throws IOException IOException
+   */
+  private List<String> processDocumentRecords(final Logger logger,
+      final Collection<List<AwsEventRecord>> groups) throws IOException, InterruptedException {
+
+    List<Callable<List<String>>> tasks = groups.stream()
+        .<Callable<List<String>>>map(g -> () -> processDocumentGroup(logger, g)).toList();
+
+    try {
+      BoundedExecutor executor = new BoundedExecutor(getMaxConcurrency());
+      return executor.invokeAll(tasks).stream().flatMap(List::stream).toList();
+    } catch (ExecutionException e) {
+      throw new IOException(BoundedExecutor.unwrap(e));
+    }
+  }
+
+  /**
+   * Process records of a single document in order. Once a record fails, the remaining records
+   * are reported as failed as well so they are retried in the same order.
+   *
+   * @param logger {@link Logger}
+   * @param records {@link List} {@link AwsEventRecord}
+   * @return {@link List} of failed record message ids
+   */
+  private List<String> processDocumentGroup(final Logger logger,
+      final List<AwsEventRecord> records) {
+
+    List<String> failed = new ArrayList<>();
+
+    for (AwsEventRecord e : records) {
+
+      if (failed.isEmpty()) {
+        try {
+          DocumentEvent event = toDocumentEvent(e);
+          if (event != null) {
+            processDocumentEvent(logger, event);
+          }
+        } catch (RuntimeException ex) {
+          logger.error(ex);
+          failed.add(e.messageId());
+        }
+      } else {
+        failed.add(e.messageId());
       }
     }
+
+    return failed;
   }
 
-  private void processDynamodbStream(final Logger logger, final AwsEventRecord map) {
+  /**
+   * Publish {@link EventBridgeMessage} in batches.
+   *
+   * @param logger {@link Logger}
+   * @param messages {@link List} {@link EventBridgeMessage}
+   */
+  private void publishEventBridgeMessages(final Logger logger,
+      final List<EventBridgeMessage> messages) {
+
+    if (!messages.isEmpty()) {
+
+      EventBridgeService eventBridgeService = serviceCache.getExtension(EventBridgeService.class);
+      String documentEventsBus = serviceCache.environment("DOCUMENT_EVENTS_BUS");
+
+      EventBridgeBatchResult result = eventBridgeService.putEvents(documentEventsBus, messages);
+
+      logger.debug(String.format(
+          "{\"type\":\"eventBridge\",\"entries\":%d,\"batches\":%d,\"calls\":%d,"
+              + "\"failedEntries\":%d}",
+          messages.size(), result.batches().size(), result.calls(), result.failed().size()));
+
+      result.failed().forEach(f -> logger.error(String.format(
+          "{\"type\":\"eventBridge\",\"detailType\":\"%s\",\"errorCode\":\"%s\","
+              + "\"errorMessage\":\"%s\"}",
+          f.message().getDetailType(), f.errorCode(), f.errorMessage())));
+    }
+  }
+
+  private void processDynamodbStream(final Logger logger, final AwsEventRecord map,
+      final List<EventBridgeMessage> eventBridgeMessages) {
 
     String eventName = map.eventName();
     AwsEventDynamodbEntity dynamodb = map.dynamodb();
@@ -586,13 +669,8 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
               activity.stream().map(new AttributeValueToMap()).toList());
 
           String appEnvironment = serviceCache.environment("APP_ENVIRONMENT");
-          EventBridgeMessage msg =
-              new EventBridgeMessageBuilder().build(appEnvironment, detailType, detail);
-          EventBridgeService eventBridgeService =
-              serviceCache.getExtension(EventBridgeService.class);
-
-          String documentEventsBus = serviceCache.environment("DOCUMENT_EVENTS_BUS");
-          eventBridgeService.putEvents(documentEventsBus, msg);
+          eventBridgeMessages
+              .add(new EventBridgeMessageBuilder().build(appEnvironment, detailType, detail));
         }
       }
     }
@@ -617,8 +695,7 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
     return map.values();
   }
 
-  private void processDocumentEvent(final Logger logger, final AwsEventSnsNotification map) {
-    DocumentEvent event = this.gson.fromJson(map.message(), DocumentEvent.class);
+  private void processDocumentEvent(final Logger logger, final DocumentEvent event) {
 
     String s = String.format(
         "{\"siteId\": \"%s\",\"documentId\": \"%s\",\"s3key\": \"%s\",\"s3bucket\": \"%s\","
@@ -639,10 +716,9 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
    * @param action {@link Action}
    * @return {@link ProcessActionStatus}
    * @throws IOException IOException
-   * @throws InterruptedException InterruptedException
    */
   private ProcessActionStatus sendWebhook(final String siteId, final DocumentArtifact document,
-      final Action action) throws IOException, InterruptedException {
+      final Action action) throws IOException {
 
     String url = (String) action.parameters().get("url");
 
@@ -653,9 +729,9 @@ public class DocumentActionsProcessor implements RequestHandler<AwsEvent, Void>,
       HttpRequest request = HttpRequest.newBuilder().uri(new URI(url))
           .timeout(Duration.ofMinutes(1)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
 
-      HttpClient client = HttpClient.newBuilder().followRedirects(Redirect.ALWAYS)
-          .connectTimeout(Duration.ofMinutes(1)).build();
-      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+      HttpResponse<Void> response = RetryExecutor.join(RetryExecutor.sendWithRetryAsync(
+          () -> WEBHOOK_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding()),
+          WEBHOOK_RETRIES));
 
       int statusCode = response.statusCode();
       final int statusOk = 200;
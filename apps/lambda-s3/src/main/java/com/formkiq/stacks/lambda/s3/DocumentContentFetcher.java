@@ -0,0 +1,204 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3;
+
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fetches Document Content Urls using a shared pooled {@link HttpClient}, with a bounded number of
+ * concurrent requests and bodies read as streams up to a maximum number of characters.
+ */
+public class DocumentContentFetcher {
+
+  /** Default maximum number of concurrent requests. */
+  public static final int DEFAULT_MAX_CONCURRENCY = 4;
+  /** Read Buffer Size. */
+  private static final int BUFFER_SIZE = 8192;
+  /** Request Timeout. */
+  private static final Duration TIMEOUT = Duration.ofMinutes(1);
+  /** Shared {@link HttpClient}, reuses connections between requests. */
+  private static final HttpClient CLIENT =
+      HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+  /**
+   * Get {@link Charset} from Content-Type header, defaults to UTF-8.
+   *
+   * @param contentType {@link String}
+   * @return {@link Charset}
+   */
+  static Charset getCharset(final String contentType) {
+
+    Charset charset = StandardCharsets.UTF_8;
+
+    if (contentType != null) {
+      for (String param : contentType.split(";")) {
+        String p = param.trim();
+        if (p.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+          try {
+            charset = Charset.forName(p.substring("charset=".length()).replace("\"", ""));
+          } catch (IllegalArgumentException e) {
+            charset = StandardCharsets.UTF_8;
+          }
+        }
+      }
+    }
+
+    return charset;
+  }
+
+  /** {@link BoundedExecutor}. */
+  private final BoundedExecutor executor;
+
+  /**
+   * constructor.
+   *
+   * @param maxConcurrency int
+   */
+  public DocumentContentFetcher(final int maxConcurrency) {
+    this.executor = new BoundedExecutor(maxConcurrency);
+  }
+
+  /**
+   * Fetch a single url, stop reading once characterMax characters have been read.
+   *
+   * @param contentUrl {@link String}
+   * @param characterMax int, -1 for no maximum
+   * @return {@link String}
+   * @throws IOException IOException
+   * @throws InterruptedException InterruptedException
+   */
+  private String fetch(final String contentUrl, final int characterMax)
+      throws IOException, InterruptedException {
+
+    try {
+      HttpRequest req = HttpRequest.newBuilder(new URI(contentUrl)).timeout(TIMEOUT).build();
+      HttpResponse<InputStream> response = CLIENT.send(req, BodyHandlers.ofInputStream());
+
+      Charset charset = getCharset(response.headers().firstValue("Content-Type").orElse(null));
+
+      try (Reader reader = new InputStreamReader(response.body(), charset)) {
+        return read(reader, characterMax);
+      }
+
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Fetch content from urls. Urls are requested concurrently, a window at a time, and no more
+   * windows are requested once characterMax characters have been read.
+   *
+   * @param contentUrls {@link List} {@link String}
+   * @param characterMax int, -1 for no maximum
+   * @return {@link StringBuilder}
+   * @throws IOException IOException
+   */
+  public StringBuilder fetch(final List<String> contentUrls, final int characterMax)
+      throws IOException {
+
+    StringBuilder sb = new StringBuilder();
+    int window = this.executor.maxConcurrency();
+
+    try {
+
+      for (int i = 0; i < contentUrls.size() && !isFull(sb, characterMax); i += window) {
+
+        final int remaining = characterMax != -1 ? characterMax - sb.length() : -1;
+
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (String contentUrl : contentUrls.subList(i, Math.min(i + window, contentUrls.size()))) {
+          tasks.add(() -> fetch(contentUrl, remaining));
+        }
+
+        this.executor.invokeAll(tasks).forEach(sb::append);
+      }
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof IOException ioe ? ioe : new IOException(cause);
+    }
+
+    if (isFull(sb, characterMax)) {
+      sb.setLength(characterMax);
+    }
+
+    return sb;
+  }
+
+  private boolean isFull(final StringBuilder sb, final int characterMax) {
+    return characterMax != -1 && sb.length() >= characterMax;
+  }
+
+  /**
+   * Read from {@link Reader} up to characterMax characters.
+   *
+   * @param reader {@link Reader}
+   * @param characterMax int, -1 for no maximum
+   * @return {@link String}
+   * @throws IOException IOException
+   */
+  private String read(final Reader reader, final int characterMax) throws IOException {
+
+    StringBuilder sb = new StringBuilder();
+    char[] buffer = new char[BUFFER_SIZE];
+
+    while (characterMax == -1 || sb.length() < characterMax) {
+
+      int len = characterMax != -1 ? Math.min(buffer.length, characterMax - sb.length())
+          : buffer.length;
+
+      int read = reader.read(buffer, 0, len);
+      if (read == -1) {
+        break;
+      }
+
+      sb.append(buffer, 0, read);
+    }
+
+    return sb.toString();
+  }
+}
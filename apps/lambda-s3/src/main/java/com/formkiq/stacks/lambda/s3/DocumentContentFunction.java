@@ -24,12 +24,7 @@
 package com.formkiq.stacks.lambda.s3;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,14 +34,19 @@ import java.util.Optional;
 import java.util.function.Function;
 
 import com.formkiq.aws.dynamodb.SiteIdKeyGenerator;
+import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
 import com.formkiq.aws.dynamodb.documents.DocumentRecord;
 import com.formkiq.aws.dynamodb.model.DocumentItem;
 import com.formkiq.aws.dynamodb.objects.MimeType;
 import com.formkiq.aws.s3.PresignGetUrlConfig;
 import com.formkiq.aws.s3.S3PresignerService;
+import com.formkiq.aws.s3.S3Service;
 import com.formkiq.module.http.HttpService;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.ocr.DocumentOcrService;
+import com.formkiq.module.ocr.Ocr;
+import com.formkiq.module.ocr.OcrScanStatus;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -57,6 +57,10 @@ import com.google.gson.GsonBuilder;
  */
 public class DocumentContentFunction {
 
+  /** Shared {@link DocumentContentFetcher}. */
+  private static final DocumentContentFetcher FETCHER =
+      new DocumentContentFetcher(DocumentContentFetcher.DEFAULT_MAX_CONCURRENCY);
+
   /** S3 Documents Bucket. */
   private final String documentsBucket;
   /** {@link Gson}. */
@@ -67,6 +71,12 @@ public class DocumentContentFunction {
   private final HttpService http;
   /** {@link String}. */
   private final String documentsIamUrl;
+  /** {@link DocumentOcrService}, null when OCR is not available in-process. */
+  private final DocumentOcrService ocrService;
+  /** {@link S3Service}. */
+  private final S3Service s3;
+  /** S3 OCR Bucket. */
+  private final String ocrBucket;
 
   /**
    * constructor.
@@ -78,6 +88,9 @@ public class DocumentContentFunction {
     this.documentsBucket = serviceCache.environment("DOCUMENTS_S3_BUCKET");
     this.documentsIamUrl = serviceCache.environment("documentsIamUrl");
     this.http = serviceCache.getExtension(HttpService.class);
+    this.ocrService = serviceCache.getExtensionOrNull(DocumentOcrService.class);
+    this.s3 = serviceCache.getExtensionOrNull(S3Service.class);
+    this.ocrBucket = serviceCache.environment("OCR_S3_BUCKET");
   }
 
   /**
@@ -91,6 +104,12 @@ public class DocumentContentFunction {
    */
   public List<Map<String, Object>> findContentKeyValues(final Logger logger, final String siteId,
       final DocumentRecord item) throws IOException {
+
+    if (isOcrInProcess()) {
+      List<String> contents = findOcrContents(siteId, item.documentId());
+      return contents != null ? this.ocrService.toKeyValue(contents) : Collections.emptyList();
+    }
+
     Map<String, Object> map = findDocumentOcr(logger, siteId, item.documentId(), true);
     return (List<Map<String, Object>>) map.getOrDefault("keyValues", Collections.emptyList());
   }
@@ -157,6 +176,69 @@ public class DocumentContentFunction {
     return this.gson.fromJson(response.body(), Map.class);
   }
 
+  /**
+   * Find the OCR contents of a document using the in-process {@link DocumentOcrService}.
+   *
+   * @param siteId {@link String}
+   * @param documentId {@link String}
+   * @return {@link List} {@link String}, null if no completed OCR is found
+   */
+  private List<String> findOcrContents(final String siteId, final String documentId) {
+
+    List<String> contents = null;
+    DocumentArtifact document = DocumentArtifact.of(documentId, null);
+    Ocr ocr = this.ocrService.get(siteId, document);
+
+    if (ocr != null && (OcrScanStatus.SUCCESSFUL.equals(ocr.status())
+        || OcrScanStatus.SKIPPED.equals(ocr.status()))) {
+
+      List<String> s3Keys = this.ocrService.getOcrS3Keys(siteId, document, ocr.jobId());
+      if (!s3Keys.isEmpty()) {
+        contents = s3Keys.stream()
+            .map(s3Key -> this.s3.getContentAsString(this.ocrBucket, s3Key, null)).toList();
+      }
+    }
+
+    return contents;
+  }
+
+  /**
+   * Get the text content of a Document. Plain text documents are read from their content url,
+   * otherwise the OCR text is used, resolved in-process when the OCR service is available.
+   *
+   * @param logger {@link Logger}
+   * @param siteId {@link String}
+   * @param item {@link DocumentRecord}
+   * @param characterMax int, -1 for no maximum
+   * @return {@link String}, null if the document has no content
+   * @throws IOException IOException
+   */
+  public String getContent(final Logger logger, final String siteId, final DocumentRecord item,
+      final int characterMax) throws IOException {
+
+    String content = null;
+
+    if (!MimeType.isPlainText(item.contentType()) && isOcrInProcess()) {
+
+      List<String> contents = findOcrContents(siteId, item.documentId());
+      if (contents != null) {
+        content = this.ocrService.toText(contents);
+        if (characterMax != -1 && content.length() > characterMax) {
+          content = content.substring(0, characterMax);
+        }
+      }
+
+    } else {
+
+      List<String> contentUrls = getContentUrls(logger, siteId, item);
+      if (!contentUrls.isEmpty()) {
+        content = getContentUrls(contentUrls, characterMax).toString();
+      }
+    }
+
+    return content;
+  }
+
   /**
    * Get Content from external urls.
    * 
@@ -165,22 +247,20 @@ public class DocumentContentFunction {
    * @throws IOException IOException
    */
   public StringBuilder getContentUrls(final List<String> contentUrls) throws IOException {
+    return getContentUrls(contentUrls, -1);
+  }
 
-    StringBuilder sb = new StringBuilder();
-
-    try {
-      for (String contentUrl : contentUrls) {
-        HttpRequest req =
-            HttpRequest.newBuilder(new URI(contentUrl)).timeout(Duration.ofMinutes(1)).build();
-        HttpResponse<String> response =
-            HttpClient.newBuilder().build().send(req, BodyHandlers.ofString());
-        sb.append(response.body());
-      }
-    } catch (URISyntaxException | InterruptedException e) {
-      throw new IOException(e);
-    }
-
-    return sb;
+  /**
+   * Get Content from external urls, reading at most characterMax characters.
+   *
+   * @param contentUrls {@link List} {@link String}
+   * @param characterMax int, -1 for no maximum
+   * @return {@link StringBuilder}
+   * @throws IOException IOException
+   */
+  public StringBuilder getContentUrls(final List<String> contentUrls, final int characterMax)
+      throws IOException {
+    return FETCHER.fetch(contentUrls, characterMax);
   }
 
   /**
@@ -201,4 +281,7 @@ public class DocumentContentFunction {
     return contentUrls;
   }
 
+  private boolean isOcrInProcess() {
+    return this.ocrService != null && this.s3 != null && this.ocrBucket != null;
+  }
 }
@@ -34,14 +34,21 @@ import static com.formkiq.stacks.dynamodb.DocumentService.SYSTEM_DEFINED_TAGS;
 import static com.formkiq.stacks.dynamodb.DocumentVersionService.S3VERSION_ATTRIBUTE;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -56,6 +63,7 @@ import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
 import com.formkiq.aws.dynamodb.documents.DocumentRecord;
 import com.formkiq.aws.dynamodb.model.DocumentTagRecord;
 import com.formkiq.aws.dynamodb.model.DocumentTagType;
+import com.formkiq.aws.dynamodb.objects.MimeFinder;
 import com.formkiq.aws.dynamodb.objects.MimeType;
 import com.formkiq.aws.dynamodb.objects.Strings;
 import com.formkiq.aws.dynamodb.useractivities.ChangeRecord;
@@ -85,9 +93,11 @@ import com.formkiq.module.httpsigv4.HttpServiceSigv4;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.lambdaservices.ClassServiceExtension;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.LogMessageBuilder;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.plugins.useractivity.MapChangesFunction;
 import com.formkiq.stacks.dynamodb.DocumentService;
 import com.formkiq.stacks.dynamodb.DocumentServiceExtension;
@@ -118,6 +128,9 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
   /** Server Error. */
   static final int SERVER_ERROR = 500;
 
+  /** Default maximum number of S3 objects processed concurrently. */
+  private static final int DEFAULT_MAX_CONCURRENCY = 10;
+
   /** {@link DocumentService}. */
   private static DocumentService service;
 
@@ -323,6 +336,15 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     }
   }
 
+  private HttpResponse<String> getResponse(final CompletableFuture<HttpResponse<String>> future)
+      throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+    }
+  }
+
   private Map<String, Object> convertToObjectMap(final Map<String, ChangeRecord> changes) {
     return changes.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> {
       ChangeRecord cr = entry.getValue();
@@ -344,7 +366,8 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     return metadata;
   }
 
-  private String findContentType(final DocumentRecord item, final String contentType) {
+  private String findContentType(final String s3bucket, final String key,
+      final DocumentRecord item, final String contentType, final Long contentLength) {
 
     MimeType mimeType = MimeType.fromContentType(contentType);
     if (contentType != null && contentType.endsWith("/octet-stream")) {
@@ -354,6 +377,10 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
       } else if (!com.formkiq.strings.Strings.isEmpty(item.path())) {
         mimeType = MimeType.findByPath(item.path());
       }
+
+      if (isUnknown(mimeType) && contentLength != null && contentLength > 0) {
+        mimeType = sniffContentType(s3bucket, key);
+      }
     }
 
     return MimeType.MIME_UNKNOWN.equals(mimeType) ? contentType : mimeType.getContentType();
@@ -363,7 +390,14 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     return service.findDocument(siteId, document);
   }
 
-  private String getContent(final DocumentEvent event) {
+  /**
+   * Get S3 Object content, if small enough to be sent in the SNS message.
+   *
+   * @param event {@link DocumentEvent}
+   * @param metadata {@link S3ObjectMetadata} from a previous HEAD request, can be null
+   * @return {@link String}
+   */
+  private String getContent(final DocumentEvent event, final S3ObjectMetadata metadata) {
 
     String content = null;
 
@@ -371,7 +405,8 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     String key = event.s3key();
     String contentType = event.contentType();
     S3Service s3Service = serviceCache.getExtension(S3Service.class);
-    S3ObjectMetadata resp = s3Service.getObjectMetadata(s3bucket, key, null);
+    S3ObjectMetadata resp =
+        metadata != null ? metadata : s3Service.getObjectMetadata(s3bucket, key, null);
 
     if (MimeType.isPlainText(contentType) && resp.getContentLength() != null
         && resp.getContentLength() < EventServiceSns.MAX_SNS_CONTENT_SIZE) {
@@ -404,6 +439,42 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     }).toList();
   }
 
+  /**
+   * Coalesce records of the same bucket, key and version id, so each S3 object version is
+   * processed once per batch. The latest event of an object version wins. Records are then grouped
+   * by S3 object, so records of the same document are processed in order.
+   *
+   * @param records {@link List} {@link Map}
+   * @return {@link Collection} {@link List} {@link Map}
+   */
+  private Collection<List<Map<String, Object>>> coalesce(
+      final List<Map<String, Object>> records) {
+
+    Map<String, Map<String, Object>> unique = new LinkedHashMap<>();
+    for (Map<String, Object> e : records) {
+      String id = e.get("s3bucket") + "#" + e.get("s3key") + "#" + e.get("s3VersionId");
+      unique.remove(id);
+      unique.put(id, e);
+    }
+
+    Map<String, List<Map<String, Object>>> groups = new LinkedHashMap<>();
+    for (Map<String, Object> e : unique.values()) {
+      String id = e.get("s3bucket") + "#" + e.get("s3key");
+      groups.computeIfAbsent(id, k -> new ArrayList<>()).add(e);
+    }
+
+    return groups.values();
+  }
+
+  private int getMaxConcurrency() {
+    return serviceCache.environmentPositiveInt("S3_UPDATE_MAX_CONCURRENCY",
+        DEFAULT_MAX_CONCURRENCY);
+  }
+
+  private boolean isUnknown(final MimeType mimeType) {
+    return MimeType.MIME_UNKNOWN.equals(mimeType) || MimeType.MIME_OCTET_STREAM.equals(mimeType);
+  }
+
   @Override
   public Void handleRequest(final Map<String, Object> map, final Context context) {
 
@@ -414,41 +485,23 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
       logger.debug(json);
     }
 
-    List<Map<String, Object>> list = processRecords(map);
-
-    for (Map<String, Object> e : list) {
-
-      String eventName = (String) e.getOrDefault("eventName", null);
-      String bucket = (String) e.getOrDefault("s3bucket", null);
-      String key = (String) e.getOrDefault("s3key", null);
-      String s3VersionId = (String) e.getOrDefault("s3VersionId", null);
-
-      Map<String, Object> s3PresignedUrlAttributes = login(bucket, key);
-
-      if (bucket != null && key != null) {
-
-        boolean create = eventName != null && eventName.toLowerCase().contains("objectcreated");
-
-        boolean remove = eventName != null && eventName.toLowerCase().contains("objectremove");
-
-        try {
-
-          if (remove) {
-
-            processS3Delete(eventName, bucket, key);
+    Collection<List<Map<String, Object>>> groups = coalesce(processRecords(map));
 
-          } else {
-            processS3File(eventName, create, bucket, key, s3VersionId, s3PresignedUrlAttributes);
-          }
-
-        } catch (IOException | InterruptedException ex) {
-          logger.error(ex);
-          throw new RuntimeException(ex);
+    List<Callable<Void>> tasks = groups.stream().<Callable<Void>>map(g -> () -> {
+      g.forEach(this::processS3Event);
+      return null;
+    }).toList();
 
-        } finally {
-          ApiAuthorization.logout();
-        }
-      }
+    try {
+      new BoundedExecutor(getMaxConcurrency()).invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof RuntimeException re ? re : new RuntimeException(cause);
+    } finally {
+      Metrics.publishEmf(serviceCache);
     }
 
     return null;
@@ -589,21 +642,22 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
         Optional<Map<String, String>> parameters =
             siteId != null ? Optional.of(Map.of("siteId", siteId)) : Optional.empty();
 
-        if (moduleOcr) {
+        String u = serviceCache.environment("DOCUMENTS_IAM_URL") + "/documents/" + documentId;
 
-          String u =
-              serviceCache.environment("DOCUMENTS_IAM_URL") + "/documents/" + documentId + "/ocr";
-          HttpResponse<String> response = http.delete(u, Optional.empty(), parameters);
+        // both deletes are sent before waiting on either response
+        CompletableFuture<HttpResponse<String>> ocr = moduleOcr ? http.sendAsync("DELETE",
+            u + "/ocr", Optional.empty(), parameters, null, BodyHandlers.ofString()) : null;
+        CompletableFuture<HttpResponse<String>> fulltext = moduleFulltext || moduleTypesense
+            ? http.sendAsync("DELETE", u + "/fulltext", Optional.empty(), parameters, null,
+                BodyHandlers.ofString())
+            : null;
 
-          checkResponse("ocr", siteId, documentId, response);
+        if (ocr != null) {
+          checkResponse("ocr", siteId, documentId, getResponse(ocr));
         }
 
-        if (moduleFulltext || moduleTypesense) {
-          String u = serviceCache.environment("DOCUMENTS_IAM_URL") + "/documents/" + documentId
-              + "/fulltext";
-          HttpResponse<String> response = http.delete(u, Optional.empty(), parameters);
-
-          checkResponse("opensearch", siteId, documentId, response);
+        if (fulltext != null) {
+          checkResponse("opensearch", siteId, documentId, getResponse(fulltext));
         }
       }
 
@@ -614,7 +668,47 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
 
       DocumentEvent event = new DocumentEvent().siteId(getSiteIdName(siteId)).documentId(documentId)
           .artifactId(artifactId).type(DELETE);
-      sendSnsMessage(event);
+      sendSnsMessage(event, null);
+    }
+  }
+
+  /**
+   * Process a single S3 Event.
+   *
+   * @param e {@link Map}
+   */
+  private void processS3Event(final Map<String, Object> e) {
+
+    String eventName = (String) e.getOrDefault("eventName", null);
+    String bucket = (String) e.getOrDefault("s3bucket", null);
+    String key = (String) e.getOrDefault("s3key", null);
+    String s3VersionId = (String) e.getOrDefault("s3VersionId", null);
+
+    Map<String, Object> s3PresignedUrlAttributes = login(bucket, key);
+
+    if (bucket != null && key != null) {
+
+      boolean create = eventName != null && eventName.toLowerCase().contains("objectcreated");
+
+      boolean remove = eventName != null && eventName.toLowerCase().contains("objectremove");
+
+      try {
+
+        if (remove) {
+
+          processS3Delete(eventName, bucket, key);
+
+        } else {
+          processS3File(eventName, create, bucket, key, s3VersionId, s3PresignedUrlAttributes);
+        }
+
+      } catch (IOException | InterruptedException ex) {
+        logger.error(ex);
+        throw new RuntimeException(ex);
+
+      } finally {
+        ApiAuthorization.logout();
+      }
     }
   }
 
@@ -657,7 +751,7 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
 
     if (item != null) {
 
-      contentType = findContentType(item, contentType);
+      contentType = findContentType(s3bucket, key, item, contentType, contentLength);
 
       if (logger.isLogged(LogLevel.TRACE)) {
         s = LogMessageBuilder.title("updating document").property("metadata", resp.getMetadata())
@@ -688,7 +782,7 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
           buildDocumentEvent(create ? CREATE : UPDATE, siteId, item, s3bucket, key, contentType);
 
       sendNextActionsSnsMessage(event);
-      sendSnsMessage(event);
+      sendSnsMessage(event, resp);
 
     } else {
       logger.error("Cannot find document " + documentId + " in site " + siteId);
@@ -728,15 +822,16 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
    * Either sends the Create Message to SNS.
    *
    * @param event {@link DocumentEvent}
+   * @param metadata {@link S3ObjectMetadata} of the S3 Object, can be null
    */
-  private void sendSnsMessage(final DocumentEvent event) {
+  private void sendSnsMessage(final DocumentEvent event, final S3ObjectMetadata metadata) {
 
     String contentType = event.contentType();
     String s3bucket = event.s3bucket();
     String key = event.s3key();
 
     if ("application/json".equals(contentType)) {
-      String content = getContent(event);
+      String content = getContent(event, metadata);
       event.content(content);
     }
 
@@ -750,4 +845,26 @@ public class DocumentsS3Update implements RequestHandler<Map<String, Object>, Vo
     EventService documentEventService = serviceCache.getExtension(EventService.class);
     documentEventService.publish(serviceCache.getLogger(), event);
   }
+
+  /**
+   * Find {@link MimeType} from the first bytes of the S3 Object, without downloading all of it.
+   *
+   * @param s3bucket {@link String}
+   * @param key {@link String}
+   * @return {@link MimeType}
+   */
+  private MimeType sniffContentType(final String s3bucket, final String key) {
+
+    MimeType mimeType;
+    String range = "bytes=0-" + (MimeFinder.SNIFF_LENGTH - 1);
+
+    try (InputStream is = s3service.getContentPartAsInputStream(s3bucket, key, range)) {
+      mimeType = MimeFinder.sniff(is);
+    } catch (IOException e) {
+      logger.error(e);
+      mimeType = MimeType.MIME_UNKNOWN;
+    }
+
+    return mimeType;
+  }
 }
@@ -71,6 +71,7 @@ import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.lambdaservices.ClassServiceExtension;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.stacks.dynamodb.DocumentSearchService;
 import com.formkiq.stacks.dynamodb.DocumentSearchServiceExtension;
 import com.formkiq.stacks.dynamodb.DocumentService;
@@ -334,6 +335,30 @@ public class StagingS3Create implements RequestHandler<Map<String, Object>, Void
     return s;
   }
 
+  /**
+   * Get S3 user metadata value, decoding RFC 2047 encoded values S3 returns for non US-ASCII
+   * characters.
+   *
+   * @param metadata {@link S3ObjectMetadata}
+   * @param key {@link String}
+   * @return {@link String}
+   */
+  private String getMetadata(final S3ObjectMetadata metadata, final String key) {
+    String value = metadata.getMetadata().entrySet().stream()
+        .filter(s -> s.getKey().equalsIgnoreCase(key)).findFirst().map(Map.Entry::getValue)
+        .orElse(null);
+
+    final String prefix = "=?UTF-8?B?";
+    final String suffix = "?=";
+    if (value != null && value.startsWith(prefix) && value.endsWith(suffix)) {
+      byte[] bytes =
+          Base64.getDecoder().decode(value.substring(prefix.length(), value.length() - 2));
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    return value;
+  }
+
   /**
    * Find DocumentId for File Path.
    *
@@ -406,6 +431,8 @@ public class StagingS3Create implements RequestHandler<Map<String, Object>, Void
     } catch (RuntimeException e) {
       logger.error(e);
       throw e;
+    } finally {
+      Metrics.publishEmf(serviceCache);
     }
 
     return null;
@@ -446,9 +473,18 @@ public class StagingS3Create implements RequestHandler<Map<String, Object>, Void
     // updateDocumentPath()
 
     S3ObjectMetadata metadata = s3.getObjectMetadata(bucket, s3Key, null);
-    String username = metadata.getMetadata().entrySet().stream()
-        .filter(s -> s.getKey().equalsIgnoreCase("userid")).findFirst().map(Map.Entry::getValue)
-        .orElse("System");
+    String username = getMetadata(metadata, "userid");
+    username = username != null ? username : "System";
+
+    if (!s3Key.endsWith(FORMKIQ_B64_EXT) && getMetadata(metadata, "webhookid") != null) {
+      // webhook payloads are written as is and send the document fields as metadata
+      String path = getMetadata(metadata, "path");
+      if (path != null && isEmpty(request.getPath())) {
+        request.setPath(path);
+      }
+
+      request.setTimeToLive(getMetadata(metadata, "timetolive"));
+    }
 
     updateIfMissing(siteId, request, username, true);
     notNull(request.getDocuments()).forEach(d -> updateIfMissing(siteId, d, username, false));
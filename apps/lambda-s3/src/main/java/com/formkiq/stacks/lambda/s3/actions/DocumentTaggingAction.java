@@ -107,15 +107,13 @@ public class DocumentTaggingAction implements DocumentAction {
     DocumentRecord item = this.documentService.findDocument(siteId, document);
 
     DocumentContentFunction docContentFucn = new DocumentContentFunction(this.serviceCache);
-    List<String> contentUrls = docContentFucn.getContentUrls(logger, siteId, item);
+    String content = docContentFucn.getContent(logger, siteId, item, -1);
 
-    if (contentUrls.isEmpty()) {
+    if (content == null) {
       throw new IOException("'contentUrls' is empty");
     }
 
-    StringBuilder sb = docContentFucn.getContentUrls(contentUrls);
-
-    String text = sb.toString().trim();
+    String text = content.trim();
     if (text.length() > CHAT_GPT_MAX_LENGTH) {
       text = text.substring(0, CHAT_GPT_MAX_LENGTH);
     }
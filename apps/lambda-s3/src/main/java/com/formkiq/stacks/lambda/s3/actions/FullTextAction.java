@@ -43,7 +43,6 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
@@ -108,28 +107,6 @@ public class FullTextAction implements DocumentAction {
     return parameters.containsKey("characterMax") ? -1 : DEFAULT_TYPESENSE_CHARACTER_MAX;
   }
 
-  /**
-   * Get Content from {@link Action}.
-   *
-   * @param dcFunc {@link DocumentContentFunction}
-   * @param action {@link Action}
-   * @param contentUrls {@link List} {@link String}
-   * @return {@link String}
-   * @throws URISyntaxException URISyntaxException
-   * @throws IOException IOException
-   * @throws InterruptedException InterruptedException
-   */
-  private String getContent(final DocumentContentFunction dcFunc, final Action action,
-      final List<String> contentUrls) throws URISyntaxException, IOException, InterruptedException {
-
-    StringBuilder sb = dcFunc.getContentUrls(contentUrls);
-
-    int characterMax = getCharacterMax(action);
-
-    return characterMax != -1 && sb.length() > characterMax ? sb.substring(0, characterMax)
-        : sb.toString();
-  }
-
   @Override
   public ProcessActionStatus run(final Logger logger, final String siteId,
       final DocumentArtifact document, final List<Action> actions, final Action action)
@@ -139,9 +116,18 @@ public class FullTextAction implements DocumentAction {
     DocumentRecord item = this.documentService.findDocument(siteId, document);
     debug(logger, siteId, item);
 
-    List<String> contentUrls = this.documentContentFunc.getContentUrls(logger, siteId, item);
+    List<String> contentUrls = List.of();
+    if (this.moduleFulltext || !this.moduleTypesense) {
+      contentUrls = this.documentContentFunc.getContentUrls(logger, siteId, item);
+    }
 
-    if (!contentUrls.isEmpty()) {
+    String content = null;
+    if (this.moduleTypesense) {
+      content =
+          this.documentContentFunc.getContent(logger, siteId, item, getCharacterMax(action));
+    }
+
+    if (!contentUrls.isEmpty() || content != null) {
 
       if (this.moduleFulltext) {
 
@@ -154,8 +140,8 @@ public class FullTextAction implements DocumentAction {
         status = ActionStatus.COMPLETE;
       }
 
-      if (this.moduleTypesense) {
-        updateTypesense(this.documentContentFunc, siteId, document, action, contentUrls);
+      if (this.moduleTypesense && content != null) {
+        updateTypesense(siteId, document, content);
         status = ActionStatus.COMPLETE;
       }
 
@@ -224,33 +210,23 @@ public class FullTextAction implements DocumentAction {
   /**
    * Update Typesense Content.
    *
-   * @param dcFunc {@link DocumentContentFunction}
    * @param siteId {@link String}
    * @param documentArtifact {@link DocumentArtifact}
-   * @param action {@link Action}
-   * @param contentUrls {@link List} {@link String}
+   * @param content {@link String}
    * @throws IOException IOException
    */
-  private void updateTypesense(final DocumentContentFunction dcFunc, final String siteId,
-      final DocumentArtifact documentArtifact, final Action action, final List<String> contentUrls)
-      throws IOException {
-
-    try {
+  private void updateTypesense(final String siteId, final DocumentArtifact documentArtifact,
+      final String content) throws IOException {
 
-      String content = getContent(dcFunc, action, contentUrls);
-      Map<String, String> data = Map.of("content", content);
+    Map<String, String> data = Map.of("content", content);
 
-      Map<String, Object> document = new DocumentMapToDocument().apply(data);
+    Map<String, Object> document = new DocumentMapToDocument().apply(data);
 
-      HttpResponse<String> response =
-          this.typesense.addOrUpdateDocument(siteId, documentArtifact.documentId(), document);
-
-      if (!is2XX(response)) {
-        throw new IOException(response.body());
-      }
+    HttpResponse<String> response =
+        this.typesense.addOrUpdateDocument(siteId, documentArtifact.documentId(), document);
 
-    } catch (URISyntaxException | InterruptedException e) {
-      throw new IOException(e);
+    if (!is2XX(response)) {
+      throw new IOException(response.body());
     }
   }
 }
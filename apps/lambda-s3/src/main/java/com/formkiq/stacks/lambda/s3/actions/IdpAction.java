@@ -61,6 +61,7 @@ import com.formkiq.stacks.lambda.s3.text.IdpTextMatcher;
 import com.formkiq.stacks.lambda.s3.text.TextMatch;
 import com.formkiq.stacks.lambda.s3.text.TextMatchAlgorithm;
 import com.formkiq.stacks.lambda.s3.text.TokenGeneratorRegex;
+import com.formkiq.stacks.lambda.s3.text.TokenIndex;
 import com.formkiq.stacks.lambda.s3.text.TokenGeneratorKeyValue;
 import com.formkiq.strings.StringFormatter;
 import com.formkiq.strings.StringFormatterAlphaNumeric;
@@ -263,13 +264,20 @@ public class IdpAction implements DocumentAction {
       final Map<String, Map<String, List<String>>> docAiPromptResultMap) throws IOException {
 
     Collection<DocumentAttributeRecord> records = new ArrayList<>();
+    TokenIndex contentIndex = null;
 
     for (MappingAttribute mappingAttribute : mappingAttributes) {
 
       MappingAttributeSourceType sourceType = mappingAttribute.getSourceType();
 
       switch (sourceType) {
-        case CONTENT -> records.addAll(processContent(logger, siteId, document, mappingAttribute));
+        case CONTENT -> {
+          if (contentIndex == null) {
+            contentIndex = new TokenIndex(getDocumentContent(logger, siteId, document),
+                new TokenGeneratorRegex(REGEX, FORMATTER));
+          }
+          records.addAll(processContent(siteId, document, mappingAttribute, contentIndex));
+        }
         case CONTENT_KEY_VALUE ->
           records.addAll(processContentKeyValue(logger, siteId, document, mappingAttribute));
         case METADATA -> records.addAll(processMetaData(siteId, document, mappingAttribute));
@@ -527,7 +535,8 @@ public class IdpAction implements DocumentAction {
     String text = getMetadataText(mappingAttribute, siteId, document);
 
     TextMatchAlgorithm alg = getTextMatchAlgorithm(mappingAttribute);
-    List<String> matchValues = findMappingAttributeValue(mappingAttribute, alg, text);
+    List<String> matchValues = findMappingAttributeValue(mappingAttribute, alg,
+        new TokenIndex(text, new TokenGeneratorRegex(REGEX, FORMATTER)));
     return createDocumentAttribute(siteId, document, mappingAttribute, matchValues);
   }
 
@@ -560,13 +569,12 @@ public class IdpAction implements DocumentAction {
     return records;
   }
 
-  private List<DocumentAttributeRecord> processContent(final Logger logger, final String siteId,
-      final DocumentArtifact document, final MappingAttribute mappingAttribute)
-      throws IOException, ValidationException {
-    String text = getDocumentContent(logger, siteId, document);
+  private List<DocumentAttributeRecord> processContent(final String siteId,
+      final DocumentArtifact document, final MappingAttribute mappingAttribute,
+      final TokenIndex contentIndex) throws ValidationException {
 
     TextMatchAlgorithm alg = getTextMatchAlgorithm(mappingAttribute);
-    List<String> matchValues = findMappingAttributeValue(mappingAttribute, alg, text);
+    List<String> matchValues = findMappingAttributeValue(mappingAttribute, alg, contentIndex);
     return createDocumentAttribute(siteId, document, mappingAttribute, matchValues);
   }
 
@@ -625,12 +633,12 @@ public class IdpAction implements DocumentAction {
   }
 
   private List<String> findMappingAttributeValue(final MappingAttribute mappingAttribute,
-      final TextMatchAlgorithm alg, final String text) {
+      final TextMatchAlgorithm alg, final TokenIndex index) {
 
     List<String> labelTexts = mappingAttribute.getLabelTexts();
+    String text = index.getText();
 
-    TextMatch match = matcher.findMatch(text, labelTexts, new TokenGeneratorRegex(REGEX, FORMATTER),
-        alg, REGEX, FORMATTER);
+    TextMatch match = matcher.findMatch(index, labelTexts, alg, REGEX, FORMATTER);
 
     String value;
 
@@ -679,9 +687,8 @@ public class IdpAction implements DocumentAction {
 
     DocumentRecord item = this.documentService.findDocument(siteId, document);
 
-    List<String> contentUrls = this.documentContentFunc.getContentUrls(logger, siteId, item);
-    StringBuilder sb = this.documentContentFunc.getContentUrls(contentUrls);
-    return sb.toString();
+    String content = this.documentContentFunc.getContent(logger, siteId, item, -1);
+    return content != null ? content : "";
   }
 
   private MappingRecord getMapping(final String siteId, final String mappingId) throws IOException {
@@ -56,20 +56,16 @@ public class NotificationAction implements DocumentAction {
   /** {@link SesService}. */
   private final SesService ses;
   /** {@link ConfigService}. */
-  private final String source;
+  private final ConfigService configService;
 
   /**
    * constructor.
    * 
-   * @param siteId {@link String}
    * @param serviceCache {@link AwsServiceCache}
    */
-  public NotificationAction(final String siteId, final AwsServiceCache serviceCache) {
+  public NotificationAction(final AwsServiceCache serviceCache) {
     this.ses = serviceCache.getExtension(SesService.class);
-
-    ConfigService configService = serviceCache.getExtension(ConfigService.class);
-    SiteConfiguration config = configService.get(siteId);
-    this.source = config.notificationEmail();
+    this.configService = serviceCache.getExtension(ConfigService.class);
   }
 
   @Override
@@ -93,7 +89,8 @@ public class NotificationAction implements DocumentAction {
       msg = msg.body(Body.builder().html(Content.builder().data(html).build()).build());
     }
 
-    this.ses.sendEmail(this.source, cc, bcc, msg.build());
+    SiteConfiguration config = this.configService.get(siteId);
+    this.ses.sendEmail(config.notificationEmail(), cc, bcc, msg.build());
     return new ProcessActionStatus(ActionStatus.COMPLETE);
   }
 }
@@ -25,23 +25,25 @@ package com.formkiq.stacks.lambda.s3.actions;
 
 import com.formkiq.module.http.HttpResponseStatus;
 import com.formkiq.module.http.HttpService;
+import com.formkiq.module.http.RetryExecutor;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 
 import java.io.IOException;
 import java.net.http.HttpResponse;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-
-import static com.formkiq.module.http.HttpResponseStatus.STATUS_429;
-import static com.formkiq.module.http.HttpResponseStatus.STATUS_502;
-import static com.formkiq.module.http.HttpResponseStatus.STATUS_503;
-import static com.formkiq.module.http.HttpResponseStatus.STATUS_509;
+import java.util.Set;
 
 /**
  * Send Http Request.
  */
 public class SendHttpRequest {
+  /** Number of retries of failed or throttled requests, before the action is retried. */
+  private static final int RETRIES = 2;
+  /** Supported HTTP methods. */
+  private static final Set<String> METHODS = Set.of("DELETE", "GET", "PATCH", "POST", "PUT");
   /** {@link HttpService}. */
   private final HttpService http;
   /** Documents IAM Url. */
@@ -57,13 +59,6 @@ public class SendHttpRequest {
     this.documentsIamUrl = serviceCache.environment("documentsIamUrl");
   }
 
-  private boolean isRetryStatus(final HttpResponse<String> response) {
-    return switch (response.statusCode()) {
-      case STATUS_429, STATUS_502, STATUS_503, STATUS_509 -> true;
-      default -> false;
-    };
-  }
-
   /**
    * Send Http Request.
    *
@@ -107,22 +102,17 @@ public class SendHttpRequest {
     Optional<Map<String, String>> parameters =
         params.isEmpty() ? Optional.empty() : Optional.of(params);
 
-    HttpResponse<String> response;
-    if ("delete".equalsIgnoreCase(method)) {
-      response = this.http.delete(u, Optional.empty(), parameters);
-    } else if ("get".equalsIgnoreCase(method)) {
-      response = this.http.get(u, Optional.empty(), parameters, payload);
-    } else if ("put".equalsIgnoreCase(method)) {
-      response = this.http.put(u, Optional.empty(), parameters, payload);
-    } else if ("post".equalsIgnoreCase(method)) {
-      response = this.http.post(u, Optional.empty(), parameters, payload);
-    } else if ("patch".equalsIgnoreCase(method)) {
-      response = this.http.patch(u, Optional.empty(), parameters, payload);
-    } else {
+    String httpMethod = method.toUpperCase(Locale.ROOT);
+    if (!METHODS.contains(httpMethod)) {
       throw new UnsupportedOperationException("unsupported method '" + method + "'");
     }
 
-    if (isRetryStatus(response)) {
+    String body = "DELETE".equals(httpMethod) ? null : payload;
+    HttpResponse<String> response =
+        RetryExecutor.join(RetryExecutor.sendWithRetryAsync(() -> this.http.sendAsync(httpMethod,
+            u, Optional.empty(), parameters, body, HttpResponse.BodyHandlers.ofString()), RETRIES));
+
+    if (RetryExecutor.isRetryStatus(response)) {
       throw new HttpRetryException(u, response);
     }
 
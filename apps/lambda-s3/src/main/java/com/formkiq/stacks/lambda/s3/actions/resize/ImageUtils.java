@@ -26,20 +26,24 @@ package com.formkiq.stacks.lambda.s3.actions.resize;
 import net.coobird.thumbnailator.Thumbnails;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.Iterator;
 
 class ImageUtils {
-  static BufferedImage bufferedImageFromByteArray(final byte[] imageData) throws IOException {
-    try (ByteArrayInputStream bais = new ByteArrayInputStream(imageData)) {
-      return ImageIO.read(bais);
-    }
-  }
+
+  /**
+   * Decode at least this many source pixels per output pixel, so the final resize still filters
+   * over the subsampled pixels.
+   */
+  private static final int OVERSAMPLE = 2;
 
   static byte[] bufferedImageToByteArray(final BufferedImage image, final String format)
       throws IOException {
@@ -66,9 +70,80 @@ class ImageUtils {
     }
   }
 
-  static BufferedImage resize(final BufferedImage image, final int width, final int height,
-      final boolean isKeepAspectRatio) throws IOException {
-    return Thumbnails.of(image).size(width, height).keepAspectRatio(isKeepAspectRatio)
-        .asBufferedImage();
+
+  /**
+   * Decode the first image of a stream, only decoding as many pixels as the largest
+   * {@link ResizeTarget} needs. The stream is read forward only and the dimensions come from the
+   * image header, so neither the encoded bytes nor the full resolution image are held in memory
+   * and later pages of multi-page images are never read.
+   *
+   * @param is {@link InputStream}
+   * @param targets {@link Collection} {@link ResizeTarget}
+   * @return {@link DecodedImage}
+   * @throws IOException IOException
+   */
+  static DecodedImage read(final InputStream is, final Collection<ResizeTarget> targets)
+      throws IOException {
+    try (ImageInputStream iis = ImageIO.createImageInputStream(is)) {
+      Iterator<ImageReader> imageReaders = iis != null ? ImageIO.getImageReaders(iis) : null;
+
+      if (imageReaders == null || !imageReaders.hasNext()) {
+        throw new IOException("Unsupported image format");
+      }
+
+      ImageReader reader = imageReaders.next();
+      try {
+        reader.setInput(iis, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = getSubsampling(width, height, targets);
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+        BufferedImage image = reader.read(0, param);
+        return new DecodedImage(reader.getFormatName().toLowerCase(), width, height, image);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Largest subsampling that still decodes {@link #OVERSAMPLE} pixels per output pixel for every
+   * {@link ResizeTarget}.
+   *
+   * @param width int
+   * @param height int
+   * @param targets {@link Collection} {@link ResizeTarget}
+   * @return int
+   */
+  static int getSubsampling(final int width, final int height,
+      final Collection<ResizeTarget> targets) {
+    int subsampling = Integer.MAX_VALUE;
+
+    for (ResizeTarget target : targets) {
+      int[] size = target.outputSize(width, height);
+      int sx = width / (size[0] * OVERSAMPLE);
+      int sy = height / (size[1] * OVERSAMPLE);
+      subsampling = Math.min(subsampling, Math.min(sx, sy));
+    }
+
+    return Math.max(1, subsampling);
+  }
+
+  /**
+   * Resize a {@link DecodedImage}, the output size is computed from the full resolution
+   * dimensions.
+   *
+   * @param image {@link DecodedImage}
+   * @param target {@link ResizeTarget}
+   * @return {@link BufferedImage}
+   * @throws IOException IOException
+   */
+  static BufferedImage resize(final DecodedImage image, final ResizeTarget target)
+      throws IOException {
+    int[] size = target.outputSize(image.width(), image.height());
+    return Thumbnails.of(image.bufferedImage()).forceSize(size[0], size[1]).asBufferedImage();
   }
 }
@@ -48,6 +48,7 @@ import com.formkiq.validation.ValidationException;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -67,21 +68,23 @@ public class ResizeAction implements DocumentAction {
     return item;
   }
 
-  private static String getFormat(final Image srcImage, final Map<String, Object> parameters) {
+  private static String getFormat(final DecodedImage srcImage,
+      final Map<String, Object> parameters) {
     String format = (String) parameters.get("outputType");
 
     return format != null ? format : srcImage.format();
   }
 
-  private static String getResPath(final Image srcImage, final Map<String, Object> parameters,
-      final BufferedImage resizedImage, final String format) {
+  private static String getResPath(final DecodedImage srcImage, final String srcPath,
+      final Map<String, Object> parameters, final BufferedImage resizedImage,
+      final String format) {
     String path = (String) parameters.get("path");
 
     if (path == null) {
       String imageFormatExtension =
-          FilenameUtils.imageFormatToExtension(srcImage.path(), srcImage.format());
-      path = FilenameUtils.getFileName(srcImage.path(), resizedImage.getWidth(),
-          resizedImage.getHeight(), imageFormatExtension, format);
+          FilenameUtils.imageFormatToExtension(srcPath, srcImage.format());
+      path = FilenameUtils.getFileName(srcPath, resizedImage.getWidth(), resizedImage.getHeight(),
+          imageFormatExtension, format);
     }
 
     return path;
@@ -91,20 +94,6 @@ public class ResizeAction implements DocumentAction {
     return "tif".equals(format) ? "tiff" : format;
   }
 
-  private static int parseDimension(final String dimensionStr) {
-    return "auto".equals(dimensionStr) ? Integer.MAX_VALUE : Integer.parseInt(dimensionStr);
-  }
-
-  private static BufferedImage resizeImage(final Image srcImage,
-      final Map<String, Object> parameters) throws IOException {
-    String widthStr = (String) parameters.get("width");
-    String heightStr = (String) parameters.get("height");
-    boolean isKeepAspectRatio = "auto".equals(widthStr) || "auto".equals(heightStr);
-
-    return ImageUtils.resize(srcImage.bufferedImage(), parseDimension(widthStr),
-        parseDimension(heightStr), isKeepAspectRatio);
-  }
-
   /** {@link DocumentService}. */
   private final DocumentService documentService;
 
@@ -120,38 +109,32 @@ public class ResizeAction implements DocumentAction {
     this.s3Service = serviceCache.getExtension(S3Service.class);
   }
 
-  private Image createResImage(final Image srcImage, final Map<String, Object> parameters)
-      throws IOException {
-    BufferedImage resizedImage = resizeImage(srcImage, parameters);
+  private Image createResImage(final String siteId, final DocumentArtifact document,
+      final String srcPath, final DecodedImage srcImage, final ResizeTarget target,
+      final Map<String, Object> parameters) throws IOException {
+    BufferedImage resizedImage = ImageUtils.resize(srcImage, target);
     String format = getFormat(srcImage, parameters);
 
     byte[] imageData = ImageUtils.bufferedImageToByteArray(resizedImage, format);
     // sometimes library fails to create image with desired format
     if (imageData.length == 0) {
-      throw new IOException("While converting <" + srcImage.document().documentId()
-          + "> we got empty resulting image.");
+      throw new IOException(
+          "While converting <" + document.documentId() + "> we got empty resulting image.");
     }
 
-    String path = getResPath(srcImage, parameters, resizedImage, format);
+    String path = getResPath(srcImage, srcPath, parameters, resizedImage, format);
 
-    return new Image(srcImage.siteId(), DocumentArtifact.of(ID.uuid(), null), imageData,
-        resizedImage, format, path);
+    return new Image(siteId, DocumentArtifact.of(ID.uuid(), null), imageData, resizedImage,
+        format, path);
   }
 
-  private Image createSrcImage(final String siteId, final DocumentArtifact document)
-      throws IOException {
-    byte[] imageData = getImageData(siteId, document);
-    BufferedImage bufferedImage = ImageUtils.bufferedImageFromByteArray(imageData);
-    String imageFormat = ImageUtils.getImageFormat(imageData);
-
-    return new Image(siteId, document, imageData, bufferedImage, imageFormat,
-        getPath(siteId, document));
-  }
-
-  private byte[] getImageData(final String siteId, final DocumentArtifact document) {
+  private DecodedImage decodeSrcImage(final String siteId, final DocumentArtifact document,
+      final Collection<ResizeTarget> targets) throws IOException {
     String s3key = SiteIdKeyGenerator.createS3Key(siteId, document);
 
-    return s3Service.getContentAsBytes(documentsBucket, s3key);
+    try (InputStream is = s3Service.getContentAsStream(documentsBucket, s3key)) {
+      return ImageUtils.read(is, targets);
+    }
   }
 
   private String getPath(final String siteId, final DocumentArtifact document) {
@@ -168,9 +151,12 @@ public class ResizeAction implements DocumentAction {
   public ProcessActionStatus run(final Logger logger, final String siteId,
       final DocumentArtifact document, final List<Action> actions, final Action action)
       throws IOException, ValidationException {
-    Image srcImage = createSrcImage(siteId, document);
-    Image resImage = createResImage(srcImage, action.parameters());
-    saveResImage(resImage, srcImage.document().documentId());
+    String srcPath = getPath(siteId, document);
+    ResizeTarget target = ResizeTarget.of(action.parameters());
+    DecodedImage srcImage = decodeSrcImage(siteId, document, List.of(target));
+    Image resImage =
+        createResImage(siteId, document, srcPath, srcImage, target, action.parameters());
+    saveResImage(resImage, document.documentId());
     return new ProcessActionStatus(ActionStatus.COMPLETE);
   }
 
@@ -0,0 +1,82 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3.actions.resize;
+
+import java.util.Map;
+
+/**
+ * Requested resize dimensions, "auto" width or height keeps the aspect ratio.
+ *
+ * @param width int
+ * @param height int
+ * @param keepAspectRatio boolean
+ */
+record ResizeTarget(int width, int height, boolean keepAspectRatio) {
+
+  /**
+   * Create {@link ResizeTarget} from RESIZE action parameters.
+   *
+   * @param parameters {@link Map}
+   * @return {@link ResizeTarget}
+   */
+  static ResizeTarget of(final Map<String, Object> parameters) {
+    String widthStr = (String) parameters.get("width");
+    String heightStr = (String) parameters.get("height");
+    boolean isKeepAspectRatio = "auto".equals(widthStr) || "auto".equals(heightStr);
+    return new ResizeTarget(parseDimension(widthStr), parseDimension(heightStr),
+        isKeepAspectRatio);
+  }
+
+  private static int parseDimension(final String dimensionStr) {
+    return "auto".equals(dimensionStr) ? Integer.MAX_VALUE : Integer.parseInt(dimensionStr);
+  }
+
+  /**
+   * Output dimensions for a source image, using the same aspect ratio rules as Thumbnailator's
+   * fixed size resize, so the result does not depend on any decode subsampling.
+   *
+   * @param sourceWidth int
+   * @param sourceHeight int
+   * @return int[] width and height
+   */
+  int[] outputSize(final int sourceWidth, final int sourceHeight) {
+    int w = this.width;
+    int h = this.height;
+
+    if (this.keepAspectRatio) {
+      double sourceRatio = (double) sourceWidth / (double) sourceHeight;
+      double targetRatio = (double) w / (double) h;
+
+      if (Double.compare(sourceRatio, targetRatio) != 0) {
+        if (sourceRatio > targetRatio) {
+          h = (int) Math.round(w / sourceRatio);
+        } else {
+          w = (int) Math.round(h * sourceRatio);
+        }
+      }
+    }
+
+    return new int[] {Math.max(1, w), Math.max(1, h)};
+  }
+}
@@ -26,7 +26,9 @@ package com.formkiq.stacks.lambda.s3.text;
 import com.formkiq.strings.lexer.Token;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -39,6 +41,59 @@ public class FuzzyMatcher implements TextMatchAlgorithm {
    */
   public FuzzyMatcher() {}
 
+  /**
+   * Find the highest scoring token group, returning the same match as
+   * {@link TextMatchAlgorithm#findBestMatch(TokenIndex, int, String)} while only scoring groups
+   * whose score upper bound can beat the best score found so far.
+   *
+   * <p>
+   * A group can match at most min(match length, group length) characters, earning one point each,
+   * plus a bonus of at most 3 for each character matched right after the previous one, which
+   * requires the group to contain that bigram of the match, plus 1 for the first character and 1
+   * for an exact match. Groups are scored in order of that bound, using the
+   * {@link TokenBigramIndex} shared bigram counts, and scoring stops once the bound drops below
+   * the best score. Groups sharing no bigram are only scored when the best score is low enough
+   * for them to beat it.
+   * </p>
+   */
+  @Override
+  public Optional<TextMatch> findBestMatch(final TokenIndex index, final int groupSize,
+      final String match) {
+
+    TokenBigramIndex bigramIndex = index.getBigramIndex(groupSize);
+    List<Token> groups = bigramIndex.getGroups();
+    TokenBigramIndex.CommonBigrams common = bigramIndex.countCommonBigrams(match);
+    int[] commonCounts = common.counts();
+
+    List<Integer> candidates = new ArrayList<>(common.groups());
+    candidates.sort(Comparator
+        .comparingInt((Integer i) -> upperBound(groups.get(i), match, commonCounts[i])).reversed()
+        .thenComparingInt(i -> i));
+
+    BestMatch best = new BestMatch();
+
+    for (Integer i : candidates) {
+      if (best.match != null
+          && upperBound(groups.get(i), match, commonCounts[i]) < best.match.getScore()) {
+        break;
+      }
+      best.offer(i, groups.get(i), fuzzyScore(groups.get(i).getFormatted(), match));
+    }
+
+    int noBigramBound = match.length() + 2;
+    if (best.match == null || best.match.getScore() <= noBigramBound) {
+      for (int i = 0; i < groups.size(); i++) {
+        Token group = groups.get(i);
+        if (commonCounts[i] == 0 && (best.match == null
+            || upperBound(group, match, 0) >= best.match.getScore())) {
+          best.offer(i, group, fuzzyScore(group.getFormatted(), match));
+        }
+      }
+    }
+
+    return Optional.ofNullable(best.match);
+  }
+
   @Override
   public List<TextMatch> findMatches(final List<Token> tokens, final String match) {
 
@@ -54,6 +109,12 @@ public class FuzzyMatcher implements TextMatchAlgorithm {
     return matches;
   }
 
+  private int upperBound(final Token group, final String match, final int commonBigrams) {
+    final int bigramBonus = 3;
+    return Math.min(match.length(), group.getFormatted().length()) + 2
+        + bigramBonus * commonBigrams;
+  }
+
   private Integer fuzzyScore(final CharSequence term, final CharSequence query) {
     if (term == null || query == null) {
       throw new IllegalArgumentException("CharSequences must not be null");
@@ -111,4 +172,20 @@ public class FuzzyMatcher implements TextMatchAlgorithm {
 
     return score;
   }
+
+  /** Highest scoring match, the lowest group index wins when scores are equal. */
+  private static final class BestMatch {
+    /** Best {@link TextMatch}. */
+    private TextMatch match;
+    /** Group index of the best match. */
+    private int index;
+
+    private void offer(final int groupIndex, final Token group, final int score) {
+      if (score > 0 && (this.match == null || score > this.match.getScore()
+          || (score == this.match.getScore() && groupIndex < this.index))) {
+        this.match = new TextMatch(group, score);
+        this.index = groupIndex;
+      }
+    }
+  }
 }
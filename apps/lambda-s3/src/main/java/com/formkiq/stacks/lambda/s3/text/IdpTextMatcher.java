@@ -25,11 +25,8 @@ package com.formkiq.stacks.lambda.s3.text;
 
 import com.formkiq.aws.dynamodb.objects.Strings;
 import com.formkiq.strings.StringFormatter;
-import com.formkiq.strings.lexer.Token;
 import com.formkiq.strings.lexer.TokenGenerator;
 
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -40,11 +37,6 @@ import java.util.regex.Pattern;
  */
 public class IdpTextMatcher implements TextMatcher {
 
-  private Token createToken(final Token token) {
-    return new Token().setOriginal(token.getOriginal()).setFormatted(token.getFormatted())
-        .setStart(token.getStart()).setEnd(token.getEnd());
-  }
-
   /**
    * Extracts text from the input string based on the provided regex pattern.
    *
@@ -70,19 +62,23 @@ public class IdpTextMatcher implements TextMatcher {
   public TextMatch findMatch(final String text, final List<String> matches,
       final TokenGenerator tokenGenerator, final TextMatchAlgorithm matchAlgorithm,
       final String splitRegex, final StringFormatter formatter) {
+    return findMatch(new TokenIndex(text, tokenGenerator), matches, matchAlgorithm, splitRegex,
+        formatter);
+  }
+
+  @Override
+  public TextMatch findMatch(final TokenIndex index, final List<String> matches,
+      final TextMatchAlgorithm matchAlgorithm, final String splitRegex,
+      final StringFormatter formatter) {
 
     TextMatch bestMatch = null;
-    List<Token> tokens = tokenGenerator.generateTokens(text);
 
     for (String m : matches) {
 
       String match = formatter.format(m);
       int groupSize = splitRegex != null ? match.split(splitRegex).length : 1;
 
-      List<Token> groupTokens = groupTokens(tokens, groupSize);
-
-      List<TextMatch> textMatches = matchAlgorithm.findMatches(groupTokens, match);
-      Optional<TextMatch> o = textMatches.stream().max(new TextMatchScoreComparator());
+      Optional<TextMatch> o = matchAlgorithm.findBestMatch(index, groupSize, match);
 
       if (o.isPresent()) {
         if (bestMatch == null || bestMatch.getScore() < o.get().getScore()) {
@@ -122,46 +118,4 @@ public class IdpTextMatcher implements TextMatcher {
 
     return value;
   }
-
-  /**
-   * Group Tokens to a certain size.
-   *
-   * @param tokens {@link List} {@link Token}
-   * @param tokenGroupSize int
-   * @return {@link List} {@link Token}
-   */
-  private List<Token> groupTokens(final List<Token> tokens, final int tokenGroupSize) {
-
-    List<Token> groupedTokens = tokenGroupSize > 1 ? new ArrayList<>() : new ArrayList<>(tokens);
-
-    if (tokenGroupSize > 1) {
-
-      Iterator<Token> itr = tokens.iterator();
-
-      for (int i = 0; i < tokenGroupSize - 1; i++) {
-
-        if (itr.hasNext()) {
-          Token token = itr.next();
-          groupedTokens.add(createToken(token));
-        }
-      }
-
-      while (itr.hasNext()) {
-
-        Token token = itr.next();
-        groupedTokens.add(createToken(token));
-
-        int size = groupedTokens.size();
-
-        for (int i = 1; i < tokenGroupSize; i++) {
-          Token groupedToken = groupedTokens.get(size - 1 - i);
-          groupedToken.setOriginal(groupedToken.getOriginal() + " " + token.getOriginal());
-          groupedToken.setFormatted(groupedToken.getFormatted() + " " + token.getFormatted());
-          groupedToken.setEnd(token.getEnd());
-        }
-      }
-    }
-
-    return groupedTokens;
-  }
 }
@@ -26,6 +26,7 @@ package com.formkiq.stacks.lambda.s3.text;
 import com.formkiq.strings.lexer.Token;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Text Matching Algorithm.
@@ -40,4 +41,19 @@ public interface TextMatchAlgorithm {
    * @return {@link List} {@link TextMatch}
    */
   List<TextMatch> findMatches(List<Token> tokens, String match);
+
+  /**
+   * Find the highest scoring match in the token groups of a {@link TokenIndex}, the first group
+   * wins when scores are equal.
+   *
+   * @param index {@link TokenIndex}
+   * @param groupSize int
+   * @param match {@link String}
+   * @return {@link Optional} {@link TextMatch}
+   */
+  default Optional<TextMatch> findBestMatch(final TokenIndex index, final int groupSize,
+      final String match) {
+    return findMatches(index.getGroups(groupSize), match).stream()
+        .max(new TextMatchScoreComparator());
+  }
 }
@@ -47,6 +47,19 @@ public interface TextMatcher {
   TextMatch findMatch(String text, List<String> matches, TokenGenerator tokenGenerator,
       TextMatchAlgorithm matchAlgorithm, String splitRegex, StringFormatter formatter);
 
+  /**
+   * Find Best Match using a prebuilt {@link TokenIndex}.
+   *
+   * @param index {@link TokenIndex}
+   * @param matches {@link List} {@link String}
+   * @param matchAlgorithm {@link TextMatchAlgorithm}
+   * @param splitRegex Regex to split strings or null for none
+   * @param formatter {@link StringFormatter}
+   * @return {@link TextMatch}
+   */
+  TextMatch findMatch(TokenIndex index, List<String> matches, TextMatchAlgorithm matchAlgorithm,
+      String splitRegex, StringFormatter formatter);
+
   /**
    * Find Match Value.
    * 
@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3.text;
+
+import com.formkiq.strings.lexer.Token;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Character bigram posting lists of a {@link List} of token groups.
+ *
+ * <p>
+ * Each posting list holds the groups containing a bigram and how many times it occurs in the
+ * group. {@link #countCommonBigrams(String)} uses them to count, for every group, how many of the
+ * match's bigrams it shares, touching only the groups that share at least one.
+ * </p>
+ */
+public class TokenBigramIndex {
+
+  /** Token groups. */
+  private final List<Token> groups;
+  /** Characters below this value use the {@link #asciiPostings} table. */
+  private static final int ASCII = 128;
+  /** Posting lists of ASCII bigrams, indexed by bigram. */
+  private final Postings[] asciiPostings = new Postings[ASCII * ASCII];
+  /** Posting lists of other bigrams. */
+  private final Map<Integer, Postings> postings = new HashMap<>();
+
+  /**
+   * constructor.
+   *
+   * @param tokenGroups {@link List} {@link Token}
+   */
+  public TokenBigramIndex(final List<Token> tokenGroups) {
+    this.groups = tokenGroups;
+
+    for (int group = 0; group < tokenGroups.size(); group++) {
+      String s = tokenGroups.get(group).getFormatted();
+      for (int i = 1; i < s.length(); i++) {
+        postings(s.charAt(i - 1), s.charAt(i), true).add(group);
+      }
+    }
+  }
+
+  private static int bigram(final char c0, final char c1) {
+    return (c0 << Character.SIZE) | c1;
+  }
+
+  private Postings postings(final char c0, final char c1, final boolean create) {
+    Postings p;
+    if (c0 < ASCII && c1 < ASCII) {
+      int i = c0 * ASCII + c1;
+      p = this.asciiPostings[i];
+      if (p == null && create) {
+        p = new Postings();
+        this.asciiPostings[i] = p;
+      }
+    } else {
+      p = create ? this.postings.computeIfAbsent(bigram(c0, c1), b -> new Postings())
+          : this.postings.get(bigram(c0, c1));
+    }
+    return p;
+  }
+
+  /**
+   * For every token group, count the bigrams (with multiplicity) it shares with the match.
+   *
+   * @param match {@link String}
+   * @return {@link CommonBigrams}
+   */
+  public CommonBigrams countCommonBigrams(final String match) {
+
+    int[] common = new int[this.groups.size()];
+    List<Integer> touched = new ArrayList<>();
+
+    Map<Integer, Integer> matchCounts = new HashMap<>();
+    for (int i = 1; i < match.length(); i++) {
+      matchCounts.merge(bigram(match.charAt(i - 1), match.charAt(i)), 1, Integer::sum);
+    }
+
+    matchCounts.forEach((bigram, matchCount) -> {
+      char c0 = (char) (bigram >>> Character.SIZE);
+      char c1 = (char) (bigram & Character.MAX_VALUE);
+      Postings p = postings(c0, c1, false);
+      if (p != null) {
+        for (int i = 0; i < p.size; i++) {
+          int group = p.groups[i];
+          if (common[group] == 0) {
+            touched.add(group);
+          }
+          common[group] += Math.min(matchCount, p.counts[i]);
+        }
+      }
+    });
+
+    return new CommonBigrams(common, touched);
+  }
+
+  /**
+   * Get Token Groups.
+   *
+   * @return {@link List} {@link Token}
+   */
+  public List<Token> getGroups() {
+    return this.groups;
+  }
+
+  /**
+   * Bigrams shared with a match.
+   *
+   * @param counts number of shared bigrams, by group index
+   * @param groups indexes of the groups sharing at least one bigram
+   */
+  public record CommonBigrams(int[] counts, List<Integer> groups) {
+  }
+
+  /** Growable posting list. */
+  private static final class Postings {
+    /** Group indexes. */
+    private int[] groups = new int[2];
+    /** Bigram count in each group. */
+    private int[] counts = new int[2];
+    /** Number of entries. */
+    private int size;
+
+    /**
+     * Add an occurrence in a group, groups are added in increasing order.
+     *
+     * @param group int
+     */
+    private void add(final int group) {
+      if (this.size > 0 && this.groups[this.size - 1] == group) {
+        this.counts[this.size - 1]++;
+        return;
+      }
+
+      if (this.size == this.groups.length) {
+        this.groups = Arrays.copyOf(this.groups, this.size * 2);
+        this.counts = Arrays.copyOf(this.counts, this.size * 2);
+      }
+      this.groups[this.size] = group;
+      this.counts[this.size] = 1;
+      this.size++;
+    }
+  }
+}
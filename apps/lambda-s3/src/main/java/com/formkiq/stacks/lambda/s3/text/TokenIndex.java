@@ -0,0 +1,135 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3.text;
+
+import com.formkiq.strings.lexer.Token;
+import com.formkiq.strings.lexer.TokenGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per document token index, built once and shared by every label match.
+ *
+ * <p>
+ * The document is tokenized once and for each token group size the grouped tokens (a window of
+ * consecutive tokens) and their {@link TokenBigramIndex} are built once, instead of once per label
+ * text.
+ * </p>
+ */
+public class TokenIndex {
+
+  /** Text the tokens were generated from. */
+  private final String text;
+  /** Document tokens. */
+  private final List<Token> tokens;
+  /** Grouped tokens by group size. */
+  private final Map<Integer, List<Token>> groups = new ConcurrentHashMap<>();
+  /** Bigram index of the grouped tokens by group size. */
+  private final Map<Integer, TokenBigramIndex> bigrams = new ConcurrentHashMap<>();
+
+  /**
+   * constructor.
+   *
+   * @param documentText {@link String}
+   * @param tokenGenerator {@link TokenGenerator}
+   */
+  public TokenIndex(final String documentText, final TokenGenerator tokenGenerator) {
+    this.text = documentText;
+    this.tokens = tokenGenerator.generateTokens(documentText);
+  }
+
+  private Token createToken(final Token token) {
+    return new Token().setOriginal(token.getOriginal()).setFormatted(token.getFormatted())
+        .setStart(token.getStart()).setEnd(token.getEnd());
+  }
+
+  /**
+   * Get the {@link TokenBigramIndex} of the token groups of a group size.
+   *
+   * @param groupSize int
+   * @return {@link TokenBigramIndex}
+   */
+  public TokenBigramIndex getBigramIndex(final int groupSize) {
+    return this.bigrams.computeIfAbsent(Math.max(1, groupSize),
+        size -> new TokenBigramIndex(getGroups(size)));
+  }
+
+  /**
+   * Get token groups, one group starting at every token (groups at the end of the document are
+   * shorter).
+   *
+   * @param groupSize int
+   * @return {@link List} {@link Token}
+   */
+  public List<Token> getGroups(final int groupSize) {
+    return this.groups.computeIfAbsent(Math.max(1, groupSize), this::groupTokens);
+  }
+
+  /**
+   * Get Text.
+   *
+   * @return {@link String}
+   */
+  public String getText() {
+    return this.text;
+  }
+
+  /**
+   * Group tokens, the group starting at token i holds tokens i to i + groupSize - 1.
+   *
+   * @param groupSize int
+   * @return {@link List} {@link Token}
+   */
+  private List<Token> groupTokens(final int groupSize) {
+
+    if (groupSize == 1) {
+      return new ArrayList<>(this.tokens);
+    }
+
+    int size = this.tokens.size();
+    List<Token> windows = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      int end = Math.min(size, i + groupSize);
+      Token first = this.tokens.get(i);
+      Token window = createToken(first);
+      StringBuilder original = new StringBuilder(first.getOriginal());
+      StringBuilder formatted = new StringBuilder(first.getFormatted());
+
+      for (int j = i + 1; j < end; j++) {
+        Token token = this.tokens.get(j);
+        original.append(' ').append(token.getOriginal());
+        formatted.append(' ').append(token.getFormatted());
+        window.setEnd(token.getEnd());
+      }
+
+      windows.add(window.setOriginal(original.toString()).setFormatted(formatted.toString()));
+    }
+
+    return windows;
+  }
+}
@@ -100,6 +100,8 @@ import com.formkiq.stacks.lambda.s3.actions.AddOcrAction;
 import com.formkiq.stacks.lambda.s3.actions.MalwareScanResponse;
 import com.formkiq.stacks.lambda.s3.actions.MalwareScanResult;
 import com.formkiq.stacks.lambda.s3.event.AwsEvent;
+import com.formkiq.stacks.lambda.s3.event.AwsEventBatchResponse;
+import com.formkiq.stacks.lambda.s3.event.AwsEventRecord;
 import com.formkiq.stacks.lambda.s3.util.FileUtils;
 import com.formkiq.testutils.aws.DynamoDbExtension;
 import com.formkiq.testutils.aws.DynamoDbTestServices;
@@ -137,6 +139,7 @@ import java.io.InputStream;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
@@ -2493,6 +2496,46 @@ public class DocumentActionsProcessorTest implements DbKeys {
     }
   }
 
+  /**
+   * Handle Queue Action for multiple documents in one batch, with malformed record.
+   *
+   */
+  @Test
+  public void testQueueAction02() {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      List<AwsEventRecord> records = new ArrayList<>();
+      List<DocumentArtifact> documents = new ArrayList<>();
+
+      final int count = 5;
+      for (int i = 0; i < count; i++) {
+        DocumentArtifact document = DocumentArtifact.of(ID.uuid(), null);
+        documents.add(document);
+        actionsService.saveNewActions(List.of(createAction(document, ActionType.QUEUE)
+            .queueId("testqueue#" + document.documentId()).build(siteId)));
+        records.addAll(SqsEventBuilder.builder().siteId(siteId).documentId(document.documentId())
+            .build().records());
+      }
+
+      AwsEventRecord record = records.getFirst();
+      AwsEventRecord malformed = new AwsEventRecord(null, null, null, record.eventSource(), null,
+          null, null, "malformed", null, "{", null, null, null, null, null, null, null, null);
+      records.add(malformed);
+
+      // when
+      AwsEventBatchResponse response = processor.handleRequest(new AwsEvent(records), null);
+
+      // then
+      assertEquals(1, response.batchItemFailures().size());
+      assertEquals("malformed", response.batchItemFailures().getFirst().itemIdentifier());
+
+      for (DocumentArtifact document : documents) {
+        var raction = actionsService.getActions(siteId, document).getFirst();
+        assertEquals(ActionStatus.IN_QUEUE, raction.status());
+      }
+    }
+  }
+
   @Test
   public void testResizeBmpToAllFormats() throws IOException, ValidationException {
     testResizeToAllFormatsTemplate("bmp", VALID_IMAGE_FORMATS);
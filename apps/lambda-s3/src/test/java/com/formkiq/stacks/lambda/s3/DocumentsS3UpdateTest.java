@@ -44,6 +44,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
@@ -1072,6 +1073,75 @@ public class DocumentsS3UpdateTest implements DbKeys {
     assertHandleContentType("test.txt", null, "binary/octet-stream", "text/plain");
   }
 
+  /**
+   * Duplicate S3 events for the same object in one batch are processed once, distinct objects
+   * are all processed.
+   *
+   * @throws InterruptedException InterruptedException
+   */
+  @Test
+  public void testHandleRequest16() throws InterruptedException {
+    // given
+    String siteId = ID.uuid();
+    final int count = 3;
+    S3EventJsonBuilder builder = new S3EventJsonBuilder();
+    List<String> documentIds = new ArrayList<>();
+
+    for (int i = 0; i < count; i++) {
+      String documentId = ID.uuid();
+      documentIds.add(documentId);
+      createDocument(siteId, documentId, "test.txt", null);
+      addS3File(createDatabaseKey(siteId, documentId), "text/plain", false, "testdata" + i);
+
+      String s3Key = SiteIdKeyGenerator.createS3Key(siteId, documentId, null);
+      // same object reported twice
+      for (int j = 0; j < 2; j++) {
+        builder.addRecord(new S3EventJsonBuilder.RecordBuilder().withEventName("ObjectCreated:Put")
+            .withS3(new S3EventJsonBuilder.S3Builder().withBucket("example-bucket")
+                .withObject(s3Key)));
+      }
+    }
+
+    // when
+    handler.handleRequest(builder.build(), null);
+
+    // then
+    login();
+    for (String documentId : documentIds) {
+      DocumentRecord item = service.findDocument(siteId, DocumentArtifact.of(documentId, null));
+      assertEquals("text/plain", item.contentType());
+      assertNotNull(item.s3version());
+    }
+
+    assertCreateDocumentSnsMessage(siteId, "create", count);
+  }
+
+  /**
+   * Create Document Request without contentType, content type found from the S3 Object's first
+   * bytes.
+   *
+   * @throws ValidationException ValidationException
+   */
+  @Test
+  public void testHandleRequest17() throws ValidationException {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      String documentId = ID.uuid();
+      String key = createDatabaseKey(siteId, documentId);
+
+      DocumentRecordSet doc = createDocument(siteId, documentId, documentId, null);
+      addS3File(key, "application/octet-stream", false, "%PDF-1.7\n%test document");
+
+      Map<String, Object> map = createS3Map(siteId, doc);
+
+      // when
+      DocumentRecord item = handleRequest(siteId, documentId, map);
+
+      // then
+      assertEquals("application/pdf", item.contentType());
+    }
+  }
+
   /**
    * Invalid Request.
    */
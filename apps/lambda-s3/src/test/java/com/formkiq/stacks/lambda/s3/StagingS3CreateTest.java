@@ -853,6 +853,76 @@ public class StagingS3CreateTest implements DbKeys {
     }
   }
 
+  /**
+   * S3 Object Create Event Unit Test for a file written as is with document fields as metadata,
+   * ie: webhooks.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  @Timeout(value = TEST_TIMEOUT)
+  void testCopyFile05() throws Exception {
+    final String timeToLive = "1612061365";
+
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      String documentId = ID.uuid();
+      String key = createDatabaseKey(siteId, documentId);
+
+      Map<String, String> metadata = Map.of("userid", "webhook/test", "webhookid", "123", "path",
+          "webhooks/123", "timetolive", timeToLive);
+      s3.putObject(STAGING_BUCKET, key, "{\"name\":\"john smith\"}".getBytes(UTF_8),
+          "application/json", metadata);
+
+      Map<String, Object> map = loadFileAsMap(this, "/objectcreate-event1.json", UUID1, key);
+
+      // when
+      handleRequest(map);
+
+      // then
+      DocumentRecord item = service.findDocument(siteId, DocumentArtifact.of(documentId, null));
+      assertNotNull(item);
+      assertEquals("webhooks/123", item.path());
+      assertEquals("webhook/test", item.userId());
+      assertEquals(timeToLive, item.timeToLive());
+      assertEquals("{\"name\":\"john smith\"}",
+          s3.getContentAsString(DOCUMENTS_BUCKET, createS3Key(siteId, documentId, null), null));
+      assertFalse(s3.getObjectMetadata(STAGING_BUCKET, key, null).isObjectExists());
+    }
+  }
+  /**
+   * S3 Object Create Event Unit Test for a file with path / timetolive metadata, that isn't a
+   * webhook payload.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  @Timeout(value = TEST_TIMEOUT)
+  void testCopyFile06() throws Exception {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      String documentId = ID.uuid();
+      String key = createDatabaseKey(siteId, documentId);
+
+      Map<String, String> metadata =
+          Map.of("userid", "joe", "path", "other/test.txt", "timetolive", "1612061365");
+      s3.putObject(STAGING_BUCKET, key, "test".getBytes(UTF_8), "text/plain", metadata);
+
+      Map<String, Object> map = loadFileAsMap(this, "/objectcreate-event1.json", UUID1, key);
+
+      // when
+      handleRequest(map);
+
+      // then
+      DocumentRecord item = service.findDocument(siteId, DocumentArtifact.of(documentId, null));
+      assertNotNull(item);
+      assertEquals("joe", item.userId());
+      assertNotEquals("other/test.txt", item.path());
+      assertNull(item.timeToLive());
+    }
+  }
+
+
   /**
    * Create folder.
    *
@@ -26,9 +26,11 @@ package com.formkiq.stacks.lambda.s3.actions.resize;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.utils.IoUtils;
 
+import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -49,4 +51,33 @@ public class ImageUtilsTest {
     getImageFormatTemplate("input.png", "png");
     getImageFormatTemplate("input.tif", "tif");
   }
+
+  @Test
+  public void testGetSubsampling() {
+    ResizeTarget small = new ResizeTarget(100, Integer.MAX_VALUE, true);
+    ResizeTarget large = new ResizeTarget(1000, 500, false);
+
+    assertEquals(33, ImageUtils.getSubsampling(6694, 4468, List.of(small)));
+    assertEquals(3, ImageUtils.getSubsampling(6694, 4468, List.of(small, large)));
+    assertEquals(1, ImageUtils.getSubsampling(640, 480, List.of(large)));
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    ResizeTarget target = new ResizeTarget(100, Integer.MAX_VALUE, true);
+
+    try (InputStream is = new FileInputStream("src/test/resources/resize/input.jpg")) {
+      DecodedImage image = ImageUtils.read(is, List.of(target));
+
+      assertEquals("jpeg", image.format());
+      assertEquals(6694, image.width());
+      assertEquals(4468, image.height());
+      assertEquals(203, image.bufferedImage().getWidth());
+      assertEquals(136, image.bufferedImage().getHeight());
+
+      BufferedImage resized = ImageUtils.resize(image, target);
+      assertEquals(100, resized.getWidth());
+      assertEquals(67, resized.getHeight());
+    }
+  }
 }
@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.lambda.s3.text;
+
+import static com.formkiq.stacks.lambda.s3.actions.IdpAction.REGEX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import com.formkiq.stacks.lambda.s3.actions.IdpAction;
+import com.formkiq.strings.lexer.Token;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Unit Test for {@link FuzzyMatcher} and {@link TokenBigramIndex}.
+ */
+public class FuzzyMatcherTest {
+
+  /** Words used to generate documents and labels. */
+  private static final String[] WORDS = {"po", "no", "number", "purchase", "order", "invoice",
+      "date", "total", "ship", "to", "address", "tax", "amount", "due", "bill", "a", "b"};
+  /** Labels used by the benchmark. */
+  private static final List<String> LABELS = List.of("po number", "purchase order number",
+      "invoice date", "invoice number", "total amount", "ship to address", "bill to", "tax",
+      "due date", "vendor name");
+
+  /** {@link FuzzyMatcher}. */
+  private final FuzzyMatcher fuzzy = new FuzzyMatcher();
+
+  private void assertSameBestMatch(final TokenIndex index, final String label) {
+    int groupSize = label.split(REGEX).length;
+
+    Optional<TextMatch> expected = this.fuzzy.findMatches(index.getGroups(groupSize), label)
+        .stream().max(new TextMatchScoreComparator());
+    Optional<TextMatch> indexed = this.fuzzy.findBestMatch(index, groupSize, label);
+
+    assertEquals(expected.isPresent(), indexed.isPresent(), label);
+    if (expected.isPresent()) {
+      assertEquals(expected.get().getScore(), indexed.get().getScore(), label);
+      assertSame(expected.get().getToken(), indexed.get().getToken(), label);
+    }
+  }
+
+  private TokenIndex createIndex(final String text) {
+    return new TokenIndex(text, new TokenGeneratorRegex(REGEX, IdpAction.FORMATTER));
+  }
+
+  private String randomText(final Random random, final int words, final String separator) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        sb.append(separator);
+      }
+
+      String word = random.nextInt(4) == 0 ? String.valueOf(random.nextInt(100000))
+          : WORDS[random.nextInt(WORDS.length)];
+
+      // misspell some words
+      sb.append(random.nextInt(5) == 0 ? word.substring(1) + "x" : word);
+    }
+    return sb.toString();
+  }
+
+  private String readText01() throws IOException {
+    try (InputStream is = new FileInputStream("src/test/resources/text/text01.txt")) {
+      return IoUtils.toUtf8String(is);
+    }
+  }
+
+  /**
+   * Indexed best match is the same match as scoring every token group, on random documents.
+   */
+  @Test
+  void testFindBestMatch01() {
+    // given
+    final int documents = 200;
+    final int labels = 20;
+    final int maxWords = 300;
+    final int maxLabelWords = 4;
+    Random random = new Random(0);
+
+    for (int i = 0; i < documents; i++) {
+      TokenIndex index = createIndex(randomText(random, random.nextInt(maxWords), "\n"));
+
+      for (int j = 0; j < labels; j++) {
+        // when / then
+        assertSameBestMatch(index, randomText(random, 1 + random.nextInt(maxLabelWords), " "));
+      }
+    }
+  }
+
+  /**
+   * Indexed best match for labels with no bigram in the document, or no bigrams at all.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void testFindBestMatch02() throws IOException {
+    // given
+    TokenIndex index = createIndex(readText01());
+
+    for (String label : List.of("", "z", "zq", "qzqzqz", "p", "po")) {
+      // when / then
+      assertSameBestMatch(index, label);
+    }
+  }
+
+  /**
+   * Indexed best match is the same match as scoring every token group, on text01.txt repeated to
+   * about 7,000 tokens.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void testFindBestMatch03() throws IOException {
+    // given
+    final int repeat = 50;
+    TokenIndex index = createIndex(readText01().repeat(repeat));
+
+    for (String label : LABELS) {
+      // when / then
+      assertSameBestMatch(index, label);
+    }
+  }
+
+  /**
+   * Token groups hold consecutive tokens, including the first groups.
+   */
+  @Test
+  void testGetGroups01() {
+    // given
+    TokenIndex index = createIndex("a b c d e");
+
+    // when
+    List<Token> groups = index.getGroups(3);
+
+    // then
+    assertEquals(List.of("a b c", "b c d", "c d e", "d e", "e"),
+        groups.stream().map(Token::getFormatted).toList());
+    assertEquals(0, groups.get(0).getStart());
+    assertEquals("a b c".length(), groups.get(0).getEnd());
+    assertEquals("a b c d e".length(), groups.get(2).getEnd());
+  }
+}
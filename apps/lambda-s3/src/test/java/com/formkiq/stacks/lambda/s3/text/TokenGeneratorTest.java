@@ -30,6 +30,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import com.formkiq.stacks.lambda.s3.actions.IdpAction;
@@ -123,4 +124,39 @@ public class TokenGeneratorTest {
       assertNull(matchValue1);
     }
   }
+
+  /**
+   * Indexed Fuzzy match returns the same best match as scoring every token group.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void testIdpTextMatcher04() throws IOException {
+    // given
+    try (InputStream is = new FileInputStream("src/test/resources/text/text01.txt")) {
+      String text = IoUtils.toUtf8String(is);
+      TokenIndex index = new TokenIndex(text, new TokenGeneratorRegex(REGEX, IdpAction.FORMATTER));
+      FuzzyMatcher fuzzy = new FuzzyMatcher();
+
+      for (String label : List.of("po number", "purchase order number", "invoice date", "total",
+          "ship to address", "zzz")) {
+
+        int groupSize = label.split(" ").length;
+
+        // when
+        TextMatch indexed = fuzzy.findBestMatch(index, groupSize, label).orElse(null);
+        TextMatch expected = fuzzy.findMatches(index.getGroups(groupSize), label).stream()
+            .max(Comparator.comparingInt(TextMatch::getScore)).orElse(null);
+
+        // then
+        if (expected == null) {
+          assertNull(indexed);
+        } else {
+          assertEquals(expected.getScore(), indexed.getScore());
+          assertEquals(expected.getToken().getFormatted(), indexed.getToken().getFormatted());
+          assertEquals(expected.getToken().getStart(), indexed.getToken().getStart());
+        }
+      }
+    }
+  }
 }
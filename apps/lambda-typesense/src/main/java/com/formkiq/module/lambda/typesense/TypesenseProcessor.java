@@ -51,6 +51,7 @@ import com.formkiq.module.lambdaservices.AwsServiceCache;
 import com.formkiq.module.lambdaservices.AwsServiceCacheBuilder;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.module.typesense.TypeSenseService;
 import com.formkiq.module.typesense.TypeSenseServiceExtension;
 import com.formkiq.stacks.dynamodb.DocumentSyncService;
@@ -212,7 +213,12 @@ public class TypesenseProcessor implements RequestHandler<Map<String, Object>, V
     }
 
     List<Map<String, Object>> records = (List<Map<String, Object>>) map.get("Records");
-    processRecords(logger, records);
+
+    try {
+      processRecords(logger, records);
+    } finally {
+      Metrics.publishEmf(serviceCache);
+    }
 
     return null;
   }
@@ -77,6 +77,7 @@ public class HttpServerHandler extends SimpleChannelInboundHandler<FullHttpReque
         new MinioS3HttpRequestHandler(stagingS3Create, documentS3Update),
         new AuthenticationLoginHttpRequestHandler(authCredentials),
         new AuthenticationLoginRefreshHttpRequestHandler(authCredentials),
+        new MetricsHttpRequestHandler(authCredentials),
         new ApiGatewayHttpRequestHandler(requestHandler, authCredentials, urls));
   }
 
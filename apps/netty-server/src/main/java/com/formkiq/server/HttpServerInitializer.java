@@ -32,6 +32,7 @@ import com.formkiq.aws.s3.S3AwsServiceRegistry;
 import com.formkiq.aws.sns.SnsAwsServiceRegistry;
 import com.formkiq.aws.sns.SnsService;
 import com.formkiq.aws.sqs.SqsAwsServiceRegistry;
+import com.formkiq.aws.sqs.SqsConsumer;
 import com.formkiq.aws.sqs.SqsService;
 import com.formkiq.aws.ssm.SsmAwsServiceRegistry;
 import com.formkiq.aws.ssm.SsmService;
@@ -116,8 +117,6 @@ public final class HttpServerInitializer extends ChannelInitializer<SocketChanne
   private static final String OCR_BUCKET = "ocr";
   /** Local OCR Queue Name. */
   private static final String OCR_QUEUE_NAME = "local-ocr-queue";
-  /** OCR Queue poll delay. */
-  private static final int OCR_QUEUE_POLL_DELAY_IN_SECONDS = 1;
   /** OCR Queue setup retry count. */
   private static final int OCR_QUEUE_RETRY_COUNT = 30;
   /** OCR Queue setup retry delay. */
@@ -132,6 +131,8 @@ public final class HttpServerInitializer extends ChannelInitializer<SocketChanne
   private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
   /** {@link NettyRequestHandler}. */
   private NettyRequestHandler handler;
+  /** OCR Queue {@link SqsConsumer}. */
+  private SqsConsumer ocrConsumer;
   /** {@link StagingS3Create}. */
   private StagingS3Create s3Create;
   /** {@link DocumentsS3Update}. */
@@ -412,9 +413,10 @@ public final class HttpServerInitializer extends ChannelInitializer<SocketChanne
       aws.environment().put("OCR_SQS_QUEUE_URL", queueUrl);
 
       OcrTesseractProcessor ocrProcessor = new OcrTesseractProcessor(aws);
-      LocalOcrSqsPoller poller = new LocalOcrSqsPoller(aws, sqsService, ocrProcessor, queueUrl);
-      this.executorService.scheduleWithFixedDelay(poller, INITIAL_TIME_DELAY_IN_SECONDS,
-          OCR_QUEUE_POLL_DELAY_IN_SECONDS, TimeUnit.SECONDS);
+      LocalOcrSqsPoller poller = new LocalOcrSqsPoller(aws, ocrProcessor, queueUrl);
+      this.ocrConsumer = new SqsConsumer(sqsService, queueUrl, poller,
+          Runtime.getRuntime().availableProcessors(), aws.getLogger());
+      this.ocrConsumer.start();
 
       DynamoDbConnectionBuilder db = aws.getExtension(DynamoDbConnectionBuilder.class);
 
@@ -496,6 +498,9 @@ public final class HttpServerInitializer extends ChannelInitializer<SocketChanne
     this.executorService.shutdown();
 
     try {
+      if (this.ocrConsumer != null) {
+        this.ocrConsumer.close();
+      }
       this.executorService.awaitTermination(1, TimeUnit.MINUTES);
       this.actionExecutorService.awaitTermination(1, TimeUnit.MINUTES);
     } catch (InterruptedException e) {
@@ -23,7 +23,9 @@
  */
 package com.formkiq.server;
 
-import com.formkiq.aws.sqs.SqsService;
+import java.io.IOException;
+
+import com.formkiq.aws.sqs.SqsMessageHandler;
 import com.formkiq.aws.sqs.events.SqsEvent;
 import com.formkiq.aws.sqs.events.SqsEventBuilder;
 import com.formkiq.aws.sqs.events.SqsEventRecord;
@@ -31,15 +33,11 @@ import com.formkiq.module.lambda.ocr.tesseract.OcrTesseractProcessor;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
 
 import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
 /**
- * Polls a local SQS-compatible queue and invokes the OCR processor in-process.
+ * Handles messages of a local SQS-compatible queue by invoking the OCR processor in-process.
  */
-final class LocalOcrSqsPoller implements Runnable {
-
-  /** Maximum messages to read per poll. */
-  private static final int MAX_MESSAGES = 10;
+final class LocalOcrSqsPoller implements SqsMessageHandler {
 
   /** {@link AwsServiceCache}. */
   private final AwsServiceCache awsServices;
@@ -47,41 +45,28 @@ final class LocalOcrSqsPoller implements Runnable {
   private final OcrTesseractProcessor processor;
   /** OCR queue URL. */
   private final String queueUrl;
-  /** {@link SqsService}. */
-  private final SqsService sqsService;
 
   /**
    * constructor.
    *
    * @param services {@link AwsServiceCache}
-   * @param sqs {@link SqsService}
    * @param ocrProcessor {@link OcrTesseractProcessor}
    * @param ocrQueueUrl {@link String}
    */
-  LocalOcrSqsPoller(final AwsServiceCache services, final SqsService sqs,
-      final OcrTesseractProcessor ocrProcessor, final String ocrQueueUrl) {
+  LocalOcrSqsPoller(final AwsServiceCache services, final OcrTesseractProcessor ocrProcessor,
+      final String ocrQueueUrl) {
     this.awsServices = services;
-    this.sqsService = sqs;
     this.processor = ocrProcessor;
     this.queueUrl = ocrQueueUrl;
   }
 
   @Override
-  public void run() {
-    try {
-      ReceiveMessageResponse response =
-          this.sqsService.receiveMessages(this.queueUrl, MAX_MESSAGES);
-
-      for (Message message : response.messages()) {
-        SqsEvent event = SqsEventBuilder.builder().record().body(message.body())
-            .eventSourceArn(this.queueUrl).awsRegion(this.awsServices.region().id()).add().build();
-        SqsEventRecord record = event.records().getFirst();
+  public void handle(final Message message) throws IOException {
+    SqsEvent event = SqsEventBuilder.builder().record().messageId(message.messageId())
+        .body(message.body()).eventSourceArn(this.queueUrl)
+        .awsRegion(this.awsServices.region().id()).add().build();
+    SqsEventRecord record = event.records().getFirst();
 
-        this.processor.handleSqsRequest(this.awsServices.getLogger(), this.awsServices, record);
-        this.sqsService.deleteMessage(this.queueUrl, message.receiptHandle());
-      }
-    } catch (Exception e) {
-      this.awsServices.getLogger().error(e);
-    }
+    this.processor.handleSqsRequest(this.awsServices.getLogger(), this.awsServices, record);
   }
 }
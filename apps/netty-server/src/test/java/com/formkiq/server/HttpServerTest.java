@@ -42,6 +42,7 @@ import com.formkiq.client.model.GetDocumentFulltextResponse;
 import com.formkiq.client.model.GetDocumentResponse;
 import com.formkiq.client.model.GetDocumentsResponse;
 import com.formkiq.client.model.SearchResultDocument;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.testutils.api.documents.GetDocumentsRequestBuilder;
 import com.formkiq.testutils.aws.DynamoDbExtension;
 import com.formkiq.testutils.aws.TypesenseExtension;
@@ -354,6 +355,40 @@ public class HttpServerTest {
     assertEquals("*", response.headers().firstValue("access-control-allow-origin").get());
   }
 
+  /**
+   * Test /metrics.
+   * 
+   * @throws Exception Exception
+   */
+  @Test
+  @Timeout(value = TEST_TIME)
+  void testMetrics() throws Exception {
+    // given
+    String name = "test." + ID.uuid();
+    Metrics.record(name, TimeUnit.MILLISECONDS.toNanos(2));
+    HttpClient client = HttpClient.newHttpClient();
+    URI uri = new URI(BASE_URL + "/metrics");
+
+    // when
+    HttpResponse<String> response = client.send(HttpRequest.newBuilder().uri(uri).build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    // then
+    assertEquals(HttpResponseStatus.FORBIDDEN.code(), response.statusCode());
+
+    // when
+    response = client.send(
+        HttpRequest.newBuilder().header("Authorization", NettyExtension.API_KEY).uri(uri).build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    // then
+    assertEquals(HttpResponseStatus.OK.code(), response.statusCode());
+    assertTrue(response.headers().firstValue("content-type").get().startsWith("text/plain"));
+    assertTrue(response.body().contains("# TYPE formkiq_operation_latency_seconds summary\n"));
+    assertTrue(response.body()
+        .contains("formkiq_operation_latency_seconds_count{operation=\"" + name + "\"} 1\n"));
+  }
+
   /**
    * Test /sites.
    * 
@@ -23,11 +23,10 @@
  */
 package com.formkiq.stacks.dynamodb;
 
+import com.formkiq.aws.dynamodb.objects.DateUtil;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.function.Function;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
@@ -37,11 +36,6 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
  */
 public class AttributeValueToDate implements Function<Map<String, AttributeValue>, Date> {
 
-  /** Date Format. */
-  private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ";
-
-  /** {@link SimpleDateFormat} in ISO Standard format. */
-  private SimpleDateFormat df;
   /** Map Key. */
   private String key = null;
 
@@ -51,10 +45,6 @@ public class AttributeValueToDate implements Function<Map<String, AttributeValue
    * @param dateField {@link String}
    */
   public AttributeValueToDate(final String dateField) {
-    this.df = new SimpleDateFormat(DATE_FORMAT);
-
-    TimeZone tz = TimeZone.getTimeZone("UTC");
-    this.df.setTimeZone(tz);
     this.key = dateField;
   }
 
@@ -68,7 +58,7 @@ public class AttributeValueToDate implements Function<Map<String, AttributeValue
 
       if (dateString != null) {
         try {
-          date = this.df.parse(dateString);
+          date = DateUtil.parseIsoDate(dateString);
         } catch (ParseException e) {
           // ignore
         }
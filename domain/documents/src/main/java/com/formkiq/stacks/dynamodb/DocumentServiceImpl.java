@@ -80,6 +80,7 @@ import com.formkiq.aws.dynamodb.objects.Objects;
 import com.formkiq.aws.dynamodb.objects.Strings;
 import com.formkiq.aws.dynamodb.attributes.AttributeDataType;
 import com.formkiq.aws.dynamodb.attributes.AttributeKeyReserved;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
 import com.formkiq.stacks.dynamodb.attributes.AttributeRecord;
 import com.formkiq.stacks.dynamodb.attributes.AttributeService;
 import com.formkiq.stacks.dynamodb.attributes.AttributeServiceDynamodb;
@@ -118,7 +119,6 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
@@ -128,7 +128,6 @@ import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -145,7 +144,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -169,6 +169,11 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
 
   /** Maximum number of Records DynamoDb can be queries for at a time. */
   private static final int MAX_QUERY_RECORDS = 100;
+  /** Maximum concurrent date bucket queries. */
+  private static final int MAX_DATE_BUCKET_QUERIES = 16;
+  /** {@link BoundedExecutor} for date bucket queries. */
+  private static final BoundedExecutor DATE_BUCKET_EXECUTOR =
+      new BoundedExecutor(MAX_DATE_BUCKET_QUERIES);
   /** Prediciate CompositeKey. */
   private static final DocumentAttributeRecordPredicate PREDICIATE_COMPOSITE_KEY =
       new DocumentAttributeRecordPredicate(DocumentAttributeValueType.COMPOSITE_STRING);
@@ -180,8 +185,6 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
   private final DynamoDbClient dbClient;
   /** {@link DynamoDbService}. */
   private final DynamoDbService dbService;
-  /** {@link SimpleDateFormat} in ISO Standard format. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
   /** Documents Table Name. */
   private final String documentTableName;
   /** {@link FolderIndexProcessor}. */
@@ -192,8 +195,6 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
   private final SchemaService schemaService;
   /** {@link DocumentVersionService}. */
   private final DocumentVersionService versionsService;
-  /** {@link SimpleDateFormat} YYYY-mm-dd format. */
-  private final SimpleDateFormat yyyymmddFormat;
   /** {@link DateTimeFormatter}. */
   private final DateTimeFormatter yyyymmddFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
   /** {@link DocumentServiceInterceptor}. */
@@ -295,11 +296,7 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
     this.dbService = new DynamoDbServiceImpl(connection, documentsTable);
     this.attributeValidator = new AttributeValidatorImpl(this.dbService);
     this.attributeService = new AttributeServiceDynamodb(this.dbService);
-    this.yyyymmddFormat = new SimpleDateFormat("yyyy-MM-dd");
     this.schemaService = new SchemaServiceDynamodb(this.dbService);
-
-    TimeZone tz = TimeZone.getTimeZone("UTC");
-    this.yyyymmddFormat.setTimeZone(tz);
   }
 
   @Override
@@ -336,12 +333,13 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
 
     if (!items.isEmpty()) {
 
-      WriteRequestBuilder writeBuilder =
-          new WriteRequestBuilder().appends(this.documentTableName, items);
+      WriteRequestBuilder writeBuilder = new WriteRequestBuilder()
+          .appends(this.documentTableName, items)
+          .appends(this.documentTableName, this.indexWriter.getTagIndexWrites(siteId, tagKeys));
 
       writeBuilder.batchWriteItem(this.dbClient);
 
-      this.indexWriter.writeTagIndex(siteId, tagKeys);
+      this.indexWriter.addKnownTagKeys(siteId, tagKeys);
     }
   }
 
@@ -1022,59 +1020,42 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
       final String token, final int maxresults) {
 
     List<Map<String, String>> searchMap = generateSearchCriteria(siteId, date, token);
+    Map<String, AttributeValue> startkey = new StringToMapAttributeValue().apply(token);
+
+    // query every date bucket concurrently, each for one more record than the page size so the
+    // existence of a next page is known without an extra query
+    List<CompletableFuture<List<Map<String, AttributeValue>>>> buckets = new ArrayList<>();
+    for (int i = 0; i < searchMap.size(); i++) {
+      Map<String, String> map = searchMap.get(i);
+      Map<String, AttributeValue> bucketStartKey = i == 0 ? startkey : null;
+      buckets.add(DATE_BUCKET_EXECUTOR
+          .submit(() -> queryDateBucket(siteId, map, bucketStartKey, maxresults + 1)));
+    }
 
-    Pagination<DocumentItem> results =
-        findDocumentsBySearchMap(siteId, searchMap, token, maxresults);
-
-    // if number of results == maxresult, check to see if next page has at least 1 record.
-    if (results.getResults().size() == maxresults) {
-      String nextToken = results.getNextToken();
-      searchMap = generateSearchCriteria(siteId, date, nextToken);
-      Pagination<DocumentItem> next = findDocumentsBySearchMap(siteId, searchMap, nextToken, 1);
-
-      if (next.getResults().isEmpty()) {
-        results = new Pagination<>(results.getResults());
+    List<Map<String, AttributeValue>> keys = new ArrayList<>();
+    for (CompletableFuture<List<Map<String, AttributeValue>>> bucket : buckets) {
+      if (keys.size() <= maxresults) {
+        keys.addAll(joinDateBucket(bucket));
+      } else {
+        bucket.cancel(false);
       }
     }
 
-    return results;
-  }
+    boolean hasNext = keys.size() > maxresults;
+    List<Map<String, AttributeValue>> page = hasNext ? keys.subList(0, maxresults) : keys;
 
-  /**
-   * Find Documents using the Search Map.
-   *
-   * @param siteId DynamoDB PK siteId
-   * @param searchMap {@link List}
-   * @param nextToken {@link String}
-   * @param maxresults int
-   * @return {@link Pagination}
-   */
-  private Pagination<DocumentItem> findDocumentsBySearchMap(final String siteId,
-      final List<Map<String, String>> searchMap, final String nextToken, final int maxresults) {
-
-    int max = maxresults;
-    String itemsToken = null;
-    String qtoken = nextToken;
-    List<DocumentItem> items = new ArrayList<>();
-
-    for (Map<String, String> map : searchMap) {
-      String pk = map.get("pk");
-      String skMin = map.get("skMin");
-      String skMax = map.get("skMax");
-      Pagination<DocumentItem> results = queryDocuments(siteId, pk, skMin, skMax, qtoken, max);
-
-      items.addAll(results.getResults());
-      itemsToken = results.getNextToken();
-      max = max - results.getResults().size();
-
-      if (max < 1) {
-        break;
-      }
+    List<DocumentArtifact> documents =
+        page.stream().map(k -> DocumentArtifact.of(k.get("documentId").s(), null)).toList();
+    List<DocumentItem> list = findDocuments(siteId, documents);
 
-      qtoken = null;
+    Map<String, AttributeValue> lastKey = null;
+    if (hasNext) {
+      Map<String, AttributeValue> last = page.getLast();
+      lastKey = Map.of(PK, last.get(PK), SK, last.get(SK), GSI1_PK, last.get(GSI1_PK), GSI1_SK,
+          last.get(GSI1_SK));
     }
 
-    return new Pagination<>(items, itemsToken);
+    return new Pagination<>(list, lastKey);
   }
 
   @Override
@@ -1308,15 +1289,15 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
 
     if (!nextDayPagination) {
       String skMin = startkey != null ? startkey.get(GSI1_SK).s()
-          : this.df.format(Date.from(startDate.toInstant(ZoneOffset.UTC)));
+          : DateUtil.formatIsoDate(Date.from(startDate.toInstant(ZoneOffset.UTC)));
       Map<String, String> map = createSearchMap(siteId, pk1, skMin, null);
       list.add(map);
     }
 
     if (!pk1.equals(pk2)) {
-      String skMin =
-          this.df.format(Date.from(endDate.toLocalDate().atStartOfDay().toInstant(ZoneOffset.UTC)));
-      String skMax = this.df.format(Date.from(endDate.toInstant(ZoneOffset.UTC)));
+      String skMin = DateUtil
+          .formatIsoDate(Date.from(endDate.toLocalDate().atStartOfDay().toInstant(ZoneOffset.UTC)));
+      String skMax = DateUtil.formatIsoDate(Date.from(endDate.toInstant(ZoneOffset.UTC)));
 
       if (startkey != null && nextDayPagination) {
         Map<String, String> map = createSearchMap(siteId, pk2, startkey.get(GSI1_SK).s(), skMax);
@@ -1436,25 +1417,39 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
     }
   }
 
+  private List<Map<String, AttributeValue>> joinDateBucket(
+      final CompletableFuture<List<Map<String, AttributeValue>>> bucket) {
+    try {
+      return bucket.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+    }
+  }
+
   /**
-   * Query Documents by Primary Key.
+   * Query a Document date bucket, until limit keys are found or the bucket is exhausted.
    *
    * @param siteId DynamoDB PK siteId
-   * @param pk {@link String}
-   * @param skMin {@link String}
-   * @param skMax {@link String}
-   * @param nextToken {@link String}
-   * @param maxresults int
-   * @return {@link Pagination}
+   * @param searchMap {@link Map} containing pk, skMin and skMax
+   * @param startkey {@link Map} exclusive start key
+   * @param limit int
+   * @return {@link List} of date bucket keys
    */
-  private Pagination<DocumentItem> queryDocuments(final String siteId, final String pk,
-      final String skMin, final String skMax, final String nextToken, final int maxresults) {
+  private List<Map<String, AttributeValue>> queryDateBucket(final String siteId,
+      final Map<String, String> searchMap, final Map<String, AttributeValue> startkey,
+      final int limit) {
+
+    String skMin = searchMap.get("skMin");
+    String skMax = searchMap.get("skMax");
 
     String expr = GSI1_PK + " = :pk";
     Map<String, AttributeValue> values = new HashMap<>();
-    values.put(":pk", AttributeValue.builder().s(createDatabaseKey(siteId, pk)).build());
-
-    Map<String, AttributeValue> startkey = new StringToMapAttributeValue().apply(nextToken);
+    values.put(":pk",
+        AttributeValue.builder().s(createDatabaseKey(siteId, searchMap.get("pk"))).build());
 
     if (skMax != null) {
       values.put(":sk1", AttributeValue.builder().s(skMin).build());
@@ -1465,25 +1460,21 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
       expr += " and " + GSI1_SK + " >= :sk";
     }
 
-    QueryRequest q = QueryRequest.builder().tableName(this.documentTableName).indexName(GSI1)
-        .keyConditionExpression(expr).expressionAttributeValues(values).limit(maxresults)
-        .exclusiveStartKey(startkey).build();
-
-    QueryResponse result = this.dbClient.query(q);
+    List<Map<String, AttributeValue>> keys = new ArrayList<>();
+    Map<String, AttributeValue> exclusiveStartKey = startkey;
 
-    List<DocumentItem> list = result.items().stream().map(s -> {
-      String documentId = s.get("documentId").s();
-      return new DocumentItemDynamoDb(documentId, null, null);
-    }).collect(Collectors.toList());
+    do {
+      QueryRequest q = QueryRequest.builder().tableName(this.documentTableName).indexName(GSI1)
+          .keyConditionExpression(expr).expressionAttributeValues(values)
+          .limit(limit - keys.size()).exclusiveStartKey(exclusiveStartKey).build();
 
-    if (!list.isEmpty()) {
-      List<DocumentArtifact> documents = list.stream()
-          .map(d -> DocumentArtifact.of(d.getDocumentId(), d.getArtifactId())).toList();
+      QueryResponse result = this.dbClient.query(q);
+      keys.addAll(result.items());
+      exclusiveStartKey = result.hasLastEvaluatedKey() ? result.lastEvaluatedKey() : null;
 
-      list = findDocuments(siteId, documents);
-    }
+    } while (keys.size() < limit && exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
 
-    return new Pagination<>(list, result.lastEvaluatedKey());
+    return keys;
   }
 
   @Override
@@ -1715,6 +1706,31 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
     updateDocumentHasArtifacts(siteId, document.documentId(), hasArtifacts);
   }
 
+  /**
+   * Append the Document Date record to the batch writes, unless it was already written for the
+   * Document's inserted date. The record only holds its key, so writing it again is harmless.
+   *
+   * @param document {@link DocumentRecord}
+   * @param writeOperations {@link WriteRequestOperations}
+   * @return {@link String} short date appended, null if none
+   */
+  private String appendDocumentDate(final DocumentRecord document,
+      final WriteRequestOperations writeOperations) {
+
+    Date insertedDate = document.insertedDate() != null ? document.insertedDate() : new Date();
+    String shortdate = DateUtil.formatYyyyMmDd(insertedDate);
+
+    String append = null;
+
+    if (this.lastShortDate == null || !this.lastShortDate.equals(shortdate)) {
+      writeOperations.appendBatch(this.documentTableName, Map.of(PK,
+          AttributeValue.fromS(PREFIX_DOCUMENT_DATE), SK, AttributeValue.fromS(shortdate)));
+      append = shortdate;
+    }
+
+    return append;
+  }
+
   /**
    * Save Document.
    *
@@ -1773,18 +1789,22 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
 
     deleteDocumentAttributes(writeOperations.batchWriter(), siteId, deleteDocumentAttributes);
 
+    Collection<String> tagKeys = notNull(set.documentTagRecords()).stream()
+        .map(DocumentTagRecord::tagKey).collect(Collectors.toSet());
+    writeOperations.appendsBatch(this.documentTableName,
+        this.indexWriter.getTagIndexWrites(siteId, tagKeys));
+    String shortDate = options.saveDocumentDate() ? appendDocumentDate(document, writeOperations)
+        : null;
+
     if (writeOperations.execute(this.dbClient)) {
 
       saveDocumentInterceptor(siteId, documentArtifact, documentValues,
           previous != null ? previous.getAttributes() : null, tx);
       deleteDocumentAttributesInterceptor(siteId, documentArtifact, deleteDocumentAttributes);
 
-      Collection<String> tagKeys = notNull(set.documentTagRecords()).stream()
-          .map(DocumentTagRecord::tagKey).collect(Collectors.toSet());
-      this.indexWriter.writeTagIndex(siteId, tagKeys);
-
-      if (options.saveDocumentDate()) {
-        saveDocumentDate(document);
+      this.indexWriter.addKnownTagKeys(siteId, tagKeys);
+      if (shortDate != null) {
+        this.lastShortDate = shortDate;
       }
     }
   }
@@ -2202,40 +2222,11 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
     return attributes.stream().map(a -> a.pk(null) + "#" + a.sk()).collect(Collectors.toSet());
   }
 
-  /**
-   * Save Document Date record, if it already doesn't exist.
-   *
-   * @param document {@link DocumentRecord}
-   */
-  private void saveDocumentDate(final DocumentRecord document) {
-
-    Date insertedDate = document.insertedDate() != null ? document.insertedDate() : new Date();
-    String shortdate = this.yyyymmddFormat.format(insertedDate);
-
-    if (this.lastShortDate == null || !this.lastShortDate.equals(shortdate)) {
-
-      this.lastShortDate = shortdate;
-
-      Map<String, AttributeValue> values =
-          Map.of(PK, AttributeValue.builder().s(PREFIX_DOCUMENT_DATE).build(), SK,
-              AttributeValue.builder().s(shortdate).build());
-      String conditionExpression = "attribute_not_exists(" + PK + ")";
-      PutItemRequest put = PutItemRequest.builder().tableName(this.documentTableName)
-          .conditionExpression(conditionExpression).item(values).build();
-
-      try {
-        this.dbClient.putItem(put).attributes();
-      } catch (ConditionalCheckFailedException e) {
-        // Conditional Check Fails on second insert attempt
-      }
-    }
-  }
-
   @Override
   public DocumentFormat saveDocumentFormat(final String siteId, final DocumentFormat format) {
 
     Date insertedDate = format.getInsertedDate();
-    String fulldate = this.df.format(insertedDate);
+    String fulldate = DateUtil.formatIsoDate(insertedDate);
 
     Map<String, AttributeValue> pkvalues =
         keysDocumentFormats(siteId, format.getDocumentId(), format.getContentType());
@@ -2256,7 +2247,7 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
 
     if (preset != null) {
       Date insertedDate = preset.getInsertedDate();
-      String fulldate = this.df.format(insertedDate);
+      String fulldate = DateUtil.formatIsoDate(insertedDate);
 
       Map<String, AttributeValue> pkvalues = keysPreset(siteId, preset.getId());
       addS(pkvalues, "inserteddate", fulldate);
@@ -2274,7 +2265,7 @@ public final class DocumentServiceImpl implements DocumentService, DbKeys {
       for (PresetTag tag : tags) {
 
         Date insertedDate = tag.getInsertedDate();
-        String fulldate = this.df.format(insertedDate);
+        String fulldate = DateUtil.formatIsoDate(insertedDate);
 
         Map<String, AttributeValue> pkvalues = keysPresetTag(siteId, id, tag.getKey());
         addS(pkvalues, "inserteddate", fulldate);
@@ -26,7 +26,6 @@ package com.formkiq.stacks.dynamodb;
 import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
 import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.fromS;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -166,8 +165,7 @@ public final class DocumentSyncServiceDynamoDb implements DocumentSyncService, D
 
     Collection<DynamoDbKey> keys = getDocumentKeys(siteId, documentId);
 
-    SimpleDateFormat df = DateUtil.getIsoDateFormatter();
-    AttributeValue val = fromS(df.format(new Date()));
+    AttributeValue val = fromS(DateUtil.formatIsoDate(new Date()));
 
     Map<String, AttributeValueUpdate> updateValues =
         Map.of("streamTriggeredDate", AttributeValueUpdate.builder().value(val).build());
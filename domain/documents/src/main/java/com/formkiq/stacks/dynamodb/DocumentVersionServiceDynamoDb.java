@@ -29,9 +29,12 @@ import static com.formkiq.aws.dynamodb.DbKeys.SK;
 import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
 import static software.amazon.awssdk.utils.StringUtils.isEmpty;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.formkiq.aws.dynamodb.AttributeValueToMap;
 import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
@@ -42,8 +45,10 @@ import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
 import com.formkiq.aws.dynamodb.documents.DocumentRecord;
 import com.formkiq.aws.dynamodb.model.DocumentItem;
 import com.formkiq.aws.dynamodb.model.DynamicDocumentItem;
+import com.formkiq.aws.dynamodb.objects.Objects;
 import com.formkiq.aws.dynamodb.objects.Strings;
 import com.formkiq.graalvm.annotations.Reflectable;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
@@ -55,8 +60,15 @@ import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 @Reflectable
 public class DocumentVersionServiceDynamoDb implements DocumentVersionService {
 
-  /** The Default maximum results returned. */
-  private static final int MAX_RESULTS = 100;
+  /** Maximum version keys queried per page when deleting. */
+  private static final int MAX_DELETE_QUERY_RESULTS = 500;
+  /** Maximum items in a BatchWriteItem request. */
+  private static final int MAX_BATCH_WRITE = 25;
+  /** Maximum concurrent BatchWriteItem requests. */
+  private static final int MAX_CONCURRENT_DELETES = 8;
+  /** {@link BoundedExecutor} for deleting versions. */
+  private static final BoundedExecutor DELETE_EXECUTOR =
+      new BoundedExecutor(MAX_CONCURRENT_DELETES);
   /** DynamoDB Document Versions Table Name. */
   private String tableName = null;
   /** {@link DynamoDbService}. */
@@ -67,21 +79,25 @@ public class DocumentVersionServiceDynamoDb implements DocumentVersionService {
 
     Map<String, AttributeValue> startkey = null;
     String pk = createDatabaseKey(siteId, PREFIX_DOCS + document.documentId());
+    QueryConfig config = new QueryConfig().projectionExpression(PK + "," + SK);
+    List<CompletableFuture<Boolean>> deletes = new ArrayList<>();
 
     do {
 
       QueryResponse response =
-          this.db.query(new QueryConfig(), AttributeValue.fromS(pk), startkey, MAX_RESULTS);
+          this.db.query(config, AttributeValue.fromS(pk), startkey, MAX_DELETE_QUERY_RESULTS);
 
-      List<Map<String, AttributeValue>> results = response.items();
-
-      for (Map<String, AttributeValue> map : results) {
-        this.db.deleteItem(map.get(PK), map.get(SK));
+      // delete the page with concurrent BatchWriteItem requests, while the next page is queried
+      for (List<Map<String, AttributeValue>> batch : Objects.parition(response.items(),
+          MAX_BATCH_WRITE)) {
+        deletes.add(DELETE_EXECUTOR.submit(() -> this.db.deleteItems(batch)));
       }
 
       startkey = response.lastEvaluatedKey();
 
     } while (startkey != null && !startkey.isEmpty());
+
+    waitForDeletes(deletes);
   }
 
   @Override
@@ -135,6 +151,20 @@ public class DocumentVersionServiceDynamoDb implements DocumentVersionService {
     return attrs.containsKey(S3VERSION_ATTRIBUTE) ? attrs.get(S3VERSION_ATTRIBUTE).s() : null;
   }
 
+  private void waitForDeletes(final List<CompletableFuture<Boolean>> deletes) {
+    try {
+      for (CompletableFuture<Boolean> delete : deletes) {
+        delete.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+    }
+  }
+
   @Override
   public void initialize(final Map<String, String> map,
       final DynamoDbConnectionBuilder connection) {
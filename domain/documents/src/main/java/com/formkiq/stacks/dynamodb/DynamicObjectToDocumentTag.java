@@ -24,13 +24,13 @@
 package com.formkiq.stacks.dynamodb;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 import com.formkiq.aws.dynamodb.DynamicObject;
 import com.formkiq.aws.dynamodb.model.DocumentTag;
 import com.formkiq.aws.dynamodb.model.DocumentTagType;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
 
 /**
  * 
@@ -39,17 +39,10 @@ import com.formkiq.aws.dynamodb.model.DocumentTagType;
  */
 public class DynamicObjectToDocumentTag implements Function<DynamicObject, DocumentTag> {
 
-  /** {@link SimpleDateFormat}. */
-  private SimpleDateFormat df;
-
   /**
    * constructor.
-   * 
-   * @param formatter {@link SimpleDateFormat}
    */
-  public DynamicObjectToDocumentTag(final SimpleDateFormat formatter) {
-    this.df = formatter;
-  }
+  public DynamicObjectToDocumentTag() {}
 
   @Override
   public DocumentTag apply(final DynamicObject t) {
@@ -68,9 +61,9 @@ public class DynamicObjectToDocumentTag implements Function<DynamicObject, Docum
     Object ob = t.get("insertedDate");
     if (ob instanceof Date) {
       tag.setInsertedDate((Date) ob);
-    } else if (this.df != null && ob instanceof String) {
+    } else if (ob instanceof String) {
       try {
-        tag.setInsertedDate(this.df.parse(ob.toString()));
+        tag.setInsertedDate(DateUtil.parseIsoDate(ob.toString()));
       } catch (ParseException e) {
         tag.setInsertedDate(new Date());
       }
@@ -27,19 +27,18 @@ import static com.formkiq.aws.dynamodb.DbKeys.GLOBAL_FOLDER_TAGS;
 import static com.formkiq.aws.dynamodb.DbKeys.PK;
 import static com.formkiq.aws.dynamodb.DbKeys.SK;
 import static com.formkiq.aws.dynamodb.DbKeys.TAG_DELIMINATOR;
+import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.DEFAULT_SITE_ID;
 import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.stream.Collectors;
-import com.formkiq.aws.dynamodb.BatchGetConfig;
+import java.util.concurrent.ConcurrentHashMap;
 import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
 import com.formkiq.aws.dynamodb.DynamoDbService;
 import com.formkiq.aws.dynamodb.DynamoDbServiceImpl;
-import com.formkiq.aws.dynamodb.ReadRequestBuilder;
 import com.formkiq.aws.dynamodb.WriteRequestBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -51,8 +50,10 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
  */
 public final class GlobalIndexService {
 
-  /** Cache Size. */
+  /** Maximum number of known tag keys per site. */
   private static final int CACHE_SIZE = 500;
+  /** {@link LinkedHashMap} load factor. */
+  private static final float LOAD_FACTOR = 0.75f;
   /** {@link DynamoDbClient}. */
   private DynamoDbClient dbClient;
 
@@ -60,8 +61,8 @@ public final class GlobalIndexService {
   private String documentTableName;
   /** {@link DynamoDbService}. */
   private DynamoDbService service;
-  /** Cache Queue. */
-  private Map<String, ArrayBlockingQueue<String>> tagCache = new HashMap<>();// new
+  /** Tag keys known to be in the index, by site. */
+  private final Map<String, Set<String>> knownTagKeys = new ConcurrentHashMap<>();
 
   /**
    * constructor.
@@ -81,20 +82,13 @@ public final class GlobalIndexService {
   }
 
   /**
-   * Add Keys {@link String} to {@link ArrayBlockingQueue}.
-   * 
-   * @param cache {@link ArrayBlockingQueue} {@link String}
-   * @param keys {@link Collection} {@link String}
+   * Mark Tag Keys as written to the index, so they are not written again.
+   *
+   * @param siteId {@link String}
+   * @param tagKeys {@link Collection} {@link String}
    */
-  private void addToCache(final ArrayBlockingQueue<String> cache, final Collection<String> keys) {
-    for (String key : keys) {
-
-      if (cache.remainingCapacity() == 0) {
-        cache.remove();
-      }
-
-      cache.add(key);
-    }
+  public void addKnownTagKeys(final String siteId, final Collection<String> tagKeys) {
+    getKnownTagKeys(siteId).addAll(tagKeys);
   }
 
   /**
@@ -109,19 +103,18 @@ public final class GlobalIndexService {
     String sk = getTagsSk(tagKey);
 
     this.service.deleteItem(AttributeValue.fromS(pk), AttributeValue.fromS(sk));
+    getKnownTagKeys(siteId).remove(tagKey);
   }
 
-  private ArrayBlockingQueue<String> getCache(final String siteId) {
-    ArrayBlockingQueue<String> cache = this.tagCache.get(siteId);
-    if (cache == null) {
-      cache = new ArrayBlockingQueue<String>(CACHE_SIZE);
-      this.tagCache.put(siteId, cache);
-    }
-    return cache;
-  }
-
-  private String getCacheKey(final Map<String, AttributeValue> r) {
-    return r.get(PK).s() + "_" + r.get(SK).s();
+  private Set<String> getKnownTagKeys(final String siteId) {
+    return this.knownTagKeys.computeIfAbsent(siteId != null ? siteId : DEFAULT_SITE_ID,
+        s -> Collections.newSetFromMap(
+            Collections.synchronizedMap(new LinkedHashMap<>(CACHE_SIZE, LOAD_FACTOR, true) {
+              @Override
+              protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > CACHE_SIZE;
+              }
+            })));
   }
 
   private String getTagsPk(final String siteId) {
@@ -133,49 +126,42 @@ public final class GlobalIndexService {
   }
 
   /**
-   * Write Tag Index.
-   * 
+   * Get the Tag Index items that need to be written for the Tag Keys. Tag Keys already known to be
+   * in the index are skipped. The items are idempotent puts, so they can be added to any batch
+   * write, after which {@link #addKnownTagKeys(String, Collection)} should be called.
+   *
    * @param siteId {@link String}
    * @param tagKeys {@link Collection} {@link String}
+   * @return {@link List} {@link Map}
    */
-  public void writeTagIndex(final String siteId, final Collection<String> tagKeys) {
-
-    ArrayBlockingQueue<String> cache = getCache(siteId);
-
-    tagKeys.removeIf(e -> cache.contains(e));
-    addToCache(cache, tagKeys);
-
-    List<Map<String, AttributeValue>> valueList = tagKeys.stream().map(tagKey -> {
+  public List<Map<String, AttributeValue>> getTagIndexWrites(final String siteId,
+      final Collection<String> tagKeys) {
 
-      String pk = getTagsPk(siteId);
-      String sk = getTagsSk(tagKey);
-
-      Map<String, AttributeValue> values = new HashMap<>(Map.of(PK, AttributeValue.fromS(pk), SK,
-          AttributeValue.fromS(sk), "tagKey", AttributeValue.fromS(tagKey)));
-
-      return values;
-    }).collect(Collectors.toList());
-
-    BatchGetConfig config = new BatchGetConfig();
-    ReadRequestBuilder readBuilder = new ReadRequestBuilder();
-    List<Map<String, AttributeValue>> keys = valueList.stream()
-        .map(v -> Map.of(PK, v.get(PK), SK, v.get(SK))).collect(Collectors.toList());
-    readBuilder.append(this.documentTableName, keys);
-
-    Map<String, List<Map<String, AttributeValue>>> batchReadItems =
-        readBuilder.batchReadItems(this.dbClient, config);
+    Set<String> known = getKnownTagKeys(siteId);
+    String pk = getTagsPk(siteId);
 
-    List<Map<String, AttributeValue>> batchReads = batchReadItems.get(this.documentTableName);
+    return tagKeys.stream().distinct().filter(tagKey -> !known.contains(tagKey))
+        .map(tagKey -> Map.of(PK, AttributeValue.fromS(pk), SK,
+            AttributeValue.fromS(getTagsSk(tagKey)), "tagKey", AttributeValue.fromS(tagKey)))
+        .toList();
+  }
 
-    Set<String> existingKeys =
-        batchReads.stream().map(r -> getCacheKey(r)).collect(Collectors.toSet());
+  /**
+   * Write Tag Index.
+   * 
+   * @param siteId {@link String}
+   * @param tagKeys {@link Collection} {@link String}
+   */
+  public void writeTagIndex(final String siteId, final Collection<String> tagKeys) {
 
-    valueList.removeIf(v -> existingKeys.contains(getCacheKey(v)));
+    List<Map<String, AttributeValue>> valueList = getTagIndexWrites(siteId, tagKeys);
 
     if (!valueList.isEmpty()) {
       WriteRequestBuilder builder =
           new WriteRequestBuilder().appends(this.documentTableName, valueList);
       builder.batchWriteItem(this.dbClient);
     }
+
+    addKnownTagKeys(siteId, tagKeys);
   }
 }
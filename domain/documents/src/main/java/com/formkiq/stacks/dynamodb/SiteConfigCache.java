@@ -0,0 +1,177 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.DEFAULT_SITE_ID;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+
+/**
+ * 
+ * Per site cache of small, rarely changing configuration items. The full set of a site's items is
+ * preloaded at once and kept for the cache TTL, or until {@link #invalidate(String)} bumps the
+ * site's version stamp.
+ *
+ * <p>
+ * Version stamps are kept in process memory, so writes made by another process are only seen once
+ * the TTL expires. Only use it where reads may be up to one TTL stale.
+ * </p>
+ *
+ * @param <V> Type of cached item
+ */
+public class SiteConfigCache<V> {
+
+  /** Cached site items, and the fallback reads of keys missing from the preloaded items. */
+  private record CachedItems<V>(Map<String, V> items, Map<String, Optional<V>> fallbacks,
+      long version, long expiresAtMs) {
+  }
+
+  /** Metric name prefix. */
+  private final String name;
+  /** Cache TTL in milliseconds. */
+  private final long cacheTtl;
+  /** Site items cache. */
+  private final Map<String, CachedItems<V>> cache = new ConcurrentHashMap<>();
+  /** Site version stamps. */
+  private final Map<String, Long> versions = new ConcurrentHashMap<>();
+  /** Number of cache hits. */
+  private final LongAdder hits = new LongAdder();
+  /** Number of cache misses. */
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * constructor.
+   *
+   * @param cacheName {@link String}, used as the hits / misses metric prefix
+   * @param cacheTtlMs cache TTL in milliseconds
+   */
+  public SiteConfigCache(final String cacheName, final long cacheTtlMs) {
+    this.name = cacheName;
+    this.cacheTtl = cacheTtlMs;
+  }
+
+  /**
+   * Get item from the site's preloaded items. Items missing from the preloaded set, for example
+   * added by another process since the set was loaded, are read using the fallback. The fallback
+   * result, including no item, is cached with the preloaded items.
+   *
+   * @param siteId {@link String}
+   * @param key {@link String}
+   * @param loader loads all of a site's items, keyed by item key
+   * @param fallback reads a single item
+   * @return V
+   */
+  public V get(final String siteId, final String key,
+      final Function<String, Map<String, V>> loader, final Function<String, V> fallback) {
+
+    CachedItems<V> cached = getItems(siteId, loader);
+
+    V value = cached.items().get(key);
+    Optional<V> fallbackValue = value == null ? cached.fallbacks().get(key) : null;
+
+    if (value != null || fallbackValue != null) {
+      this.hits.increment();
+      Metrics.increment(this.name + ".cache.hits");
+      if (fallbackValue != null) {
+        value = fallbackValue.orElse(null);
+      }
+    } else {
+      this.misses.increment();
+      Metrics.increment(this.name + ".cache.misses");
+      value = fallback.apply(key);
+
+      if (isCurrent(siteId, cached)) {
+        cached.fallbacks().put(key, Optional.ofNullable(value));
+      }
+    }
+
+    return value;
+  }
+
+  /**
+   * Get Number of cache hits.
+   *
+   * @return long
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  private CachedItems<V> getItems(final String siteId,
+      final Function<String, Map<String, V>> loader) {
+
+    String site = siteKey(siteId);
+    long version = this.versions.getOrDefault(site, 0L);
+    long now = System.currentTimeMillis();
+
+    CachedItems<V> cached = this.cache.get(site);
+    if (cached != null && cached.version() == version && cached.expiresAtMs() > now) {
+      return cached;
+    }
+
+    CachedItems<V> items = new CachedItems<>(Map.copyOf(loader.apply(siteId)),
+        new ConcurrentHashMap<>(), version, now + this.cacheTtl);
+
+    // skip caching if the site was written to while loading
+    if (isCurrent(siteId, items)) {
+      this.cache.put(site, items);
+    }
+
+    return items;
+  }
+
+  private boolean isCurrent(final String siteId, final CachedItems<V> items) {
+    return this.versions.getOrDefault(siteKey(siteId), 0L) == items.version();
+  }
+
+  /**
+   * Get Number of cache misses.
+   *
+   * @return long
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Invalidate a site's cached items.
+   *
+   * @param siteId {@link String}
+   */
+  public void invalidate(final String siteId) {
+    String site = siteKey(siteId);
+    this.versions.merge(site, 1L, Long::sum);
+    this.cache.remove(site);
+  }
+
+  private String siteKey(final String siteId) {
+    return siteId != null ? siteId : DEFAULT_SITE_ID;
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.formkiq.aws.dynamodb.DynamicObject;
+import com.formkiq.aws.dynamodb.base64.Pagination;
+import com.formkiq.aws.dynamodb.model.DocumentTag;
+
+/**
+ * 
+ * Cache wrapper for {@link WebhooksService}, caches webhook definitions returned from
+ * {@link #findWebhook(String, String)}. Updates and deletes made through the cache invalidate the
+ * cached webhook, changes made by another process are seen after at most the cache TTL.
+ *
+ */
+public class WebhooksServiceCache implements WebhooksService {
+
+  /** Default maximum number of cached webhooks. */
+  private static final int MAX_ENTRIES = 1000;
+  /** {@link LinkedHashMap} load factor. */
+  private static final float LOAD_FACTOR = 0.75f;
+
+  /** Cached Webhook. */
+  private record CachedWebhook(DynamicObject webhook, long expiresAtMs) {
+  }
+
+  /** {@link WebhooksService}. */
+  private final WebhooksService service;
+  /** Webhook cache, least recently used webhooks are evicted first. */
+  private final Map<String, CachedWebhook> cache;
+  /** Cache TTL in milliseconds. */
+  private final long cacheTtl;
+
+  /**
+   * constructor.
+   * 
+   * @param webhooksService {@link WebhooksService}
+   * @param cacheTtlMs cache TTL in milliseconds
+   */
+  public WebhooksServiceCache(final WebhooksService webhooksService, final long cacheTtlMs) {
+    this(webhooksService, cacheTtlMs, MAX_ENTRIES);
+  }
+
+  /**
+   * constructor.
+   *
+   * @param webhooksService {@link WebhooksService}
+   * @param cacheTtlMs cache TTL in milliseconds
+   * @param maxEntries maximum number of cached webhooks
+   */
+  WebhooksServiceCache(final WebhooksService webhooksService, final long cacheTtlMs,
+      final int maxEntries) {
+    this.service = webhooksService;
+    this.cacheTtl = cacheTtlMs;
+    this.cache =
+        Collections.synchronizedMap(new LinkedHashMap<>(maxEntries, LOAD_FACTOR, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, CachedWebhook> eldest) {
+            return size() > maxEntries;
+          }
+        });
+  }
+
+  @Override
+  public void addTags(final String siteId, final String webhookId,
+      final Collection<DocumentTag> tags, final Date ttl) {
+    this.service.addTags(siteId, webhookId, tags, ttl);
+  }
+
+  private String cacheKey(final String siteId, final String webhookId) {
+    return siteId + "#" + webhookId;
+  }
+
+  @Override
+  public void deleteWebhook(final String siteId, final String id) {
+    this.service.deleteWebhook(siteId, id);
+    this.cache.remove(cacheKey(siteId, id));
+  }
+
+  @Override
+  public DynamicObject findTag(final String siteId, final String webhookId, final String tagKey) {
+    return this.service.findTag(siteId, webhookId, tagKey);
+  }
+
+  @Override
+  public Pagination<DynamicObject> findTags(final String siteId, final String webhookId,
+      final String nextToken) {
+    return this.service.findTags(siteId, webhookId, nextToken);
+  }
+
+  @Override
+  public DynamicObject findWebhook(final String siteId, final String webhookId) {
+
+    String key = cacheKey(siteId, webhookId);
+    long now = System.currentTimeMillis();
+
+    CachedWebhook cached = this.cache.get(key);
+    if (cached != null && cached.expiresAtMs() > now) {
+      return cached.webhook();
+    }
+
+    DynamicObject webhook = this.service.findWebhook(siteId, webhookId);
+
+    // unknown webhooks are not cached, so random ids cannot fill the cache
+    if (webhook != null && this.cacheTtl > 0) {
+      this.cache.put(key, new CachedWebhook(webhook, now + this.cacheTtl));
+    }
+
+    return webhook;
+  }
+
+  @Override
+  public Pagination<DynamicObject> findWebhooks(final String siteId, final String nextToken,
+      final Integer limit) {
+    return this.service.findWebhooks(siteId, nextToken, limit);
+  }
+
+  @Override
+  public String saveWebhook(final String siteId, final String name, final String userId,
+      final Date ttl, final String enabled) {
+    return this.service.saveWebhook(siteId, name, userId, ttl, enabled);
+  }
+
+  @Override
+  public void updateTimeToLive(final String siteId, final String webhookId, final Date ttl) {
+    this.service.updateTimeToLive(siteId, webhookId, ttl);
+    this.cache.remove(cacheKey(siteId, webhookId));
+  }
+
+  @Override
+  public void updateWebhook(final String siteId, final String webhookId,
+      final DynamicObject obj) {
+    this.service.updateWebhook(siteId, webhookId, obj);
+    this.cache.remove(cacheKey(siteId, webhookId));
+  }
+}
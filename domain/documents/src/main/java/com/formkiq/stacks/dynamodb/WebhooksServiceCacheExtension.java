@@ -0,0 +1,62 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.AwsServiceExtension;
+
+/**
+ * 
+ * {@link AwsServiceExtension} for {@link WebhooksServiceCache}. Webhook changes made by another
+ * process, ie: the admin API running in a different function, are seen after at most
+ * WEBHOOKS_SERVICE_CACHE_TTL_MS (default 5 seconds, 0 disables the cache).
+ *
+ */
+public class WebhooksServiceCacheExtension implements AwsServiceExtension<WebhooksServiceCache> {
+
+  /** Environment variable for webhook cache TTL. */
+  private static final String CACHE_TTL_MS = "WEBHOOKS_SERVICE_CACHE_TTL_MS";
+  /** Default webhook cache TTL in milliseconds. */
+  private static final long DEFAULT_CACHE_TTL_MS = 5000L;
+
+  /** {@link WebhooksServiceCache}. */
+  private WebhooksServiceCache service;
+
+  /**
+   * constructor.
+   */
+  public WebhooksServiceCacheExtension() {}
+
+  @Override
+  public WebhooksServiceCache loadService(final AwsServiceCache awsServiceCache) {
+
+    if (this.service == null) {
+      long cacheTtlMs = awsServiceCache.environmentLong(CACHE_TTL_MS, DEFAULT_CACHE_TTL_MS);
+      this.service = new WebhooksServiceCache(awsServiceCache.getExtension(WebhooksService.class),
+          cacheTtlMs);
+    }
+
+    return this.service;
+  }
+}
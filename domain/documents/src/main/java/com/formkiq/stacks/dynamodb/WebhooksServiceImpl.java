@@ -24,7 +24,6 @@
 package com.formkiq.stacks.dynamodb;
 
 import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
-import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -67,8 +66,6 @@ public final class WebhooksServiceImpl implements WebhooksService, DbKeys {
   private final DynamoDbService db;
   /** {@link DynamoDbClient}. */
   private final DynamoDbClient dbClient;
-  /** {@link SimpleDateFormat} in ISO Standard format. */
-  private final SimpleDateFormat df;
   /** Documents Table Name. */
   private final String documentTableName;
 
@@ -86,7 +83,6 @@ public final class WebhooksServiceImpl implements WebhooksService, DbKeys {
 
     this.dbClient = connection.build();
     this.documentTableName = documentsTable;
-    this.df = DateUtil.getIsoDateFormatter();
     this.db = new DynamoDbServiceImpl(connection, documentsTable);
   }
 
@@ -97,7 +93,7 @@ public final class WebhooksServiceImpl implements WebhooksService, DbKeys {
     if (tags != null) {
 
       DocumentTagToAttributeValueMap mapper =
-          new DocumentTagToAttributeValueMap(this.df, PREFIX_WEBHOOK, siteId, webhookId);
+          new DocumentTagToAttributeValueMap(PREFIX_WEBHOOK, siteId, webhookId);
 
       List<List<Map<String, AttributeValue>>> valueList = tags.stream().map(mapper).toList();
 
@@ -251,7 +247,7 @@ public final class WebhooksServiceImpl implements WebhooksService, DbKeys {
       final Date ttl, final String enabled) {
 
     final String id = ID.uuid();
-    final String fulldate = this.df.format(new Date());
+    final String fulldate = DateUtil.formatIsoDate(new Date());
 
     Map<String, AttributeValue> pkvalues = keysGeneric(siteId, PREFIX_WEBHOOK + id, "webhook");
 
@@ -338,7 +334,7 @@ public final class WebhooksServiceImpl implements WebhooksService, DbKeys {
         ob.put("enabled", "false");
       }
 
-      ob.put("ttl", this.df.format(new Date(dateL)));
+      ob.put("ttl", DateUtil.formatIsoDate(new Date(dateL)));
     }
   }
 }
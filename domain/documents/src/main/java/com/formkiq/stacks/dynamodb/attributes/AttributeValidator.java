@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import com.formkiq.aws.dynamodb.DynamoDbKey;
 import com.formkiq.aws.dynamodb.attributes.AttributeValidationAccess;
 import com.formkiq.aws.dynamodb.documentattributes.DocumentAttributeRecord;
 import com.formkiq.stacks.dynamodb.schemas.Schema;
@@ -48,6 +49,13 @@ public interface AttributeValidator {
   Map<String, AttributeRecord> getAttributeRecordMap(String siteId,
       Collection<DocumentAttributeRecord> documentAttributes);
 
+  /**
+   * Invalidate a deleted Entity / Entity Type, so it is no longer accepted as existing.
+   *
+   * @param key {@link DynamoDbKey}
+   */
+  void invalidateEntity(DynamoDbKey key);
+
   /**
    * Validates Deleting Attribute.
    *
@@ -26,8 +26,10 @@ package com.formkiq.stacks.dynamodb.attributes;
 import static com.formkiq.aws.dynamodb.objects.Objects.notNull;
 import static com.formkiq.aws.dynamodb.objects.Strings.isEmpty;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +62,14 @@ import com.formkiq.validation.ValidationError;
  */
 public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
 
+  /** Entity exists cache time to live in milliseconds. */
+  private static final long ENTITY_CACHE_TTL_MS = 30000L;
+  /** Maximum entity exists cache entries. */
+  private static final int ENTITY_CACHE_MAX_ENTRIES = 10000;
+  /** {@link EntityExistsCache}, shared so deletes are seen by every validator. */
+  private static final EntityExistsCache ENTITY_CACHE =
+      new EntityExistsCache(ENTITY_CACHE_TTL_MS, ENTITY_CACHE_MAX_ENTRIES);
+
   /** {@link AttributeService}. */
   private final AttributeService attributeService;
   /** {@link DynamoDbService}. */
@@ -75,6 +85,55 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
     this.attributeService = new AttributeServiceDynamodb(dbService);
   }
 
+  private DynamoDbKey buildEntityKey(final String siteId,
+      final DocumentAttributeEntityKeyValue entityKey) {
+    return EntityRecord.builder().name("").entityTypeId(entityKey.entityTypeId())
+        .documentId(entityKey.entityId()).buildKey(siteId);
+  }
+
+  private DynamoDbKey buildEntityTypeKey(final String siteId,
+      final DocumentAttributeEntityKeyValue entityKey) {
+    return EntityTypeRecord.builder().nameEmpty().namespace(EntityTypeNamespace.CUSTOM)
+        .documentId(entityKey.entityTypeId()).buildKey(siteId);
+  }
+
+  /**
+   * Check every Entity Type / Entity referenced by the document attributes, with one batched
+   * read.
+   *
+   * @param siteId {@link String}
+   * @param attributesMap {@link Map}
+   * @param documentAttributes {@link Collection} {@link DocumentAttributeRecord}
+   * @return {@link Map} of entity cache key to whether it exists
+   */
+  private Map<String, Boolean> findEntities(final String siteId,
+      final Map<String, AttributeRecord> attributesMap,
+      final Collection<DocumentAttributeRecord> documentAttributes) {
+
+    List<DynamoDbKey> keys = new ArrayList<>();
+
+    for (DocumentAttributeRecord da : documentAttributes) {
+
+      AttributeRecord attribute = attributesMap.get(da.getKey());
+      AttributeKeyReserved reserved = AttributeKeyReserved.find(da.getKey());
+      AttributeDataType dataType = attribute != null ? attribute.getDataType()
+          : reserved != null ? reserved.getDataType() : null;
+
+      if (AttributeDataType.ENTITY.equals(dataType) && isProcessAttribute(da)
+          && isValidEntityValue(da.getStringValue())) {
+        var entityKey = DocumentAttributeEntityKeyValue.fromString(da.getStringValue());
+        keys.add(buildEntityTypeKey(siteId, entityKey));
+        keys.add(buildEntityKey(siteId, entityKey));
+      }
+    }
+
+    return !keys.isEmpty() ? ENTITY_CACHE.exists(this.db, keys) : new HashMap<>();
+  }
+
+  private boolean isValidEntityValue(final String value) {
+    return !isEmpty(value) && !value.endsWith("#null") && !value.startsWith("null#");
+  }
+
   @Override
   public Map<String, AttributeRecord> getAttributeRecordMap(final String siteId,
       final Collection<DocumentAttributeRecord> documentAttributes) {
@@ -85,11 +144,20 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
     return this.attributeService.getAttributes(siteId, attributeKeys);
   }
 
+  @Override
+  public void invalidateEntity(final DynamoDbKey key) {
+    ENTITY_CACHE.invalidate(key);
+  }
+
   private boolean isEmptyDefaultValue(final SchemaAttributesRequired attribute) {
     return isEmpty(attribute.getDefaultValue()) && notNull(attribute.getDefaultValues()).isEmpty()
         && (isEmpty(attribute.getDefaultEntityTypeId()) || isEmpty(attribute.getDefaultEntityId()));
   }
 
+  private boolean isEntityExists(final Map<String, Boolean> entities, final DynamoDbKey key) {
+    return entities.computeIfAbsent(EntityExistsCache.toKey(key), k -> this.db.exists(key));
+  }
+
   private boolean isKeyOnlyValues(final DocumentAttributeRecord da) {
     return isEmpty(da.getStringValue()) && da.getNumberValue() == null
         && da.getBooleanValue() == null;
@@ -187,6 +255,7 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
       final AttributeValidationAccess access, final ValidationBuilder vb) {
 
     Collection<String> savedReservedKeys = new HashSet<>();
+    Map<String, Boolean> entities = findEntities(siteId, attributesMap, documentAttributes);
 
     for (DocumentAttributeRecord da : documentAttributes) {
 
@@ -202,7 +271,7 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
 
             savedReservedKeys.add(da.getKey());
 
-            validateDataType(siteId, da, reserved.getDataType(), vb);
+            validateDataType(siteId, da, reserved.getDataType(), entities, vb);
 
           } else {
             String errorMsg = "attribute '" + da.getKey() + "' not found";
@@ -213,7 +282,7 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
 
           AttributeRecord attribute = attributesMap.get(da.getKey());
           AttributeDataType dataType = attribute.getDataType();
-          validateDataType(siteId, da, dataType, vb);
+          validateDataType(siteId, da, dataType, entities, vb);
           validateRegex(attribute, da, vb);
 
           AttributeValidationAccess va =
@@ -262,11 +331,12 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
   }
 
   private void validateDataType(final String siteId, final DocumentAttributeRecord a,
-      final AttributeDataType dataType, final ValidationBuilder vb) {
+      final AttributeDataType dataType, final Map<String, Boolean> entities,
+      final ValidationBuilder vb) {
     switch (dataType) {
       case STRING ->
         vb.isRequired(a.getKey(), a.getStringValue(), "attribute only support string value");
-      case ENTITY -> validateEntity(siteId, a, vb);
+      case ENTITY -> validateEntity(siteId, a, entities, vb);
       case NUMBER ->
         vb.isRequired(a.getKey(), a.getNumberValue(), "attribute only support number value");
       case BOOLEAN -> vb.isRequired(a.getKey(), a.getBooleanValue() != null,
@@ -283,7 +353,7 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
   }
 
   private void validateEntity(final String siteId, final DocumentAttributeRecord a,
-      final ValidationBuilder vb) {
+      final Map<String, Boolean> entities, final ValidationBuilder vb) {
     vb.isRequired("entityTypeId", a.getStringValue());
     vb.isRequired("entityId", a.getStringValue());
 
@@ -299,14 +369,12 @@ public class AttributeValidatorImpl implements AttributeValidator, DbKeys {
     if (vb.isEmpty()) {
       var entityKey = DocumentAttributeEntityKeyValue.fromString(a.getStringValue());
 
-      DynamoDbKey entityType =
-          EntityTypeRecord.builder().nameEmpty().namespace(EntityTypeNamespace.CUSTOM)
-              .documentId(entityKey.entityTypeId()).buildKey(siteId);
-      vb.isRequired("entityTypeId", this.db.exists(entityType), "EntityTypeId does not exist");
+      DynamoDbKey entityType = buildEntityTypeKey(siteId, entityKey);
+      vb.isRequired("entityTypeId", isEntityExists(entities, entityType),
+          "EntityTypeId does not exist");
 
-      DynamoDbKey entity = EntityRecord.builder().name("").entityTypeId(entityKey.entityTypeId())
-          .documentId(entityKey.entityId()).buildKey(siteId);
-      vb.isRequired("entityId", this.db.exists(entity), "EntityId does not exist");
+      DynamoDbKey entity = buildEntityKey(siteId, entityKey);
+      vb.isRequired("entityId", isEntityExists(entities, entity), "EntityId does not exist");
     }
   }
 
@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.attributes;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.formkiq.aws.dynamodb.DynamoDbKey;
+import com.formkiq.aws.dynamodb.DynamoDbService;
+
+/**
+ * Short-lived cache of Entity / Entity Type keys known to exist.
+ *
+ * <p>
+ * Keys include the siteId, so entries are per site. Only existing keys are cached, so a newly
+ * created entity is found straight away. Deleted entities must be removed with
+ * {@link #invalidate(DynamoDbKey)}.
+ * </p>
+ */
+class EntityExistsCache {
+
+  /**
+   * Cache key for a {@link DynamoDbKey}.
+   *
+   * @param key {@link DynamoDbKey}
+   * @return {@link String}
+   */
+  static String toKey(final DynamoDbKey key) {
+    return key.pk() + "\n" + key.sk();
+  }
+
+  /** Maximum cached keys. */
+  private final int maxEntries;
+  /** Time to live in milliseconds. */
+  private final long ttl;
+  /** Existing keys and their expiry time. */
+  private final Map<String, Long> cache = new ConcurrentHashMap<>();
+
+  /**
+   * constructor.
+   *
+   * @param ttlInMs time to live in milliseconds
+   * @param maxCacheEntries maximum cached keys
+   */
+  EntityExistsCache(final long ttlInMs, final int maxCacheEntries) {
+    this.ttl = ttlInMs;
+    this.maxEntries = maxCacheEntries;
+  }
+
+  /**
+   * Check which keys exist, using a single batched read for keys not in the cache.
+   *
+   * @param db {@link DynamoDbService}
+   * @param keys {@link Collection} {@link DynamoDbKey}
+   * @return {@link Map} of cache key to whether the key exists
+   */
+  Map<String, Boolean> exists(final DynamoDbService db, final Collection<DynamoDbKey> keys) {
+
+    long now = System.currentTimeMillis();
+    Map<String, Boolean> result = new HashMap<>();
+    Map<String, DynamoDbKey> missing = new LinkedHashMap<>();
+
+    for (DynamoDbKey key : keys) {
+      String k = toKey(key);
+      Long expires = this.cache.get(k);
+      if (expires != null && expires > now) {
+        result.put(k, Boolean.TRUE);
+      } else {
+        missing.put(k, key);
+        result.put(k, Boolean.FALSE);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+
+      if (this.cache.size() + missing.size() > this.maxEntries) {
+        this.cache.clear();
+      }
+
+      for (DynamoDbKey key : db.exists(missing.values())) {
+        String k = toKey(key);
+        result.put(k, Boolean.TRUE);
+        this.cache.put(k, now + this.ttl);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Remove a key, so the next check reads it again.
+   *
+   * @param key {@link DynamoDbKey}
+   */
+  void invalidate(final DynamoDbKey key) {
+    this.cache.remove(toKey(key));
+  }
+}
@@ -32,7 +32,6 @@ import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.from
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -613,9 +612,7 @@ public class FolderIndexProcessorImpl implements FolderIndexProcessor, DbKeys {
 
     // update parent folder lastModifiedDate
     if (!isEmpty(target.documentId())) {
-      SimpleDateFormat df = DateUtil.getIsoDateFormatter();
-
-      String lastModifiedDate = df.format(new Date());
+      String lastModifiedDate = DateUtil.formatIsoDate(new Date());
       this.db.updateValues(fromS(target.pk(siteId)), fromS(target.sk()),
           Map.of("lastModifiedDate", fromS(lastModifiedDate)));
     }
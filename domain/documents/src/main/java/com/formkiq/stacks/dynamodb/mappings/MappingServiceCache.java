@@ -0,0 +1,126 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.mappings;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.formkiq.aws.dynamodb.base64.Pagination;
+import com.formkiq.aws.dynamodb.model.MappingRecord;
+import com.formkiq.stacks.dynamodb.SiteConfigCache;
+import com.formkiq.validation.ValidationException;
+
+/**
+ * 
+ * Cache wrapper for {@link MappingService}, serves {@link #getMapping(String, String)} from a
+ * per site cache of all of the site's mappings. Mappings written by another process are seen after
+ * at most the cache TTL, see {@link MappingServiceCacheExtension}.
+ *
+ */
+public class MappingServiceCache implements MappingService {
+
+  /** Number of mappings loaded per page. */
+  private static final int PAGE_SIZE = 100;
+
+  /** {@link MappingService}. */
+  private final MappingService service;
+  /** {@link SiteConfigCache}. */
+  private final SiteConfigCache<MappingRecord> cache;
+
+  /**
+   * constructor.
+   * 
+   * @param mappingService {@link MappingService}
+   * @param cacheTtlMs cache TTL in milliseconds
+   */
+  public MappingServiceCache(final MappingService mappingService, final long cacheTtlMs) {
+    this.service = mappingService;
+    this.cache = new SiteConfigCache<>("mappings", cacheTtlMs);
+  }
+
+  @Override
+  public boolean deleteMapping(final String siteId, final String mappingId) {
+    try {
+      return this.service.deleteMapping(siteId, mappingId);
+    } finally {
+      this.cache.invalidate(siteId);
+    }
+  }
+
+  @Override
+  public Pagination<MappingRecord> findMappings(final String siteId, final String nextToken,
+      final int limit) {
+    return this.service.findMappings(siteId, nextToken, limit);
+  }
+
+  @Override
+  public List<MappingAttribute> getAttributes(final MappingRecord mapping) {
+    return this.service.getAttributes(mapping);
+  }
+
+  /**
+   * Get {@link SiteConfigCache}.
+   *
+   * @return {@link SiteConfigCache}
+   */
+  public SiteConfigCache<MappingRecord> getCache() {
+    return this.cache;
+  }
+
+  @Override
+  public List<MappingClassification> getClassifications(final MappingRecord mapping) {
+    return this.service.getClassifications(mapping);
+  }
+
+  @Override
+  public MappingRecord getMapping(final String siteId, final String mappingId) {
+    return this.cache.get(siteId, mappingId, this::loadMappings,
+        id -> this.service.getMapping(siteId, id));
+  }
+
+  private Map<String, MappingRecord> loadMappings(final String siteId) {
+
+    Map<String, MappingRecord> mappings = new HashMap<>();
+    String nextToken = null;
+
+    do {
+      Pagination<MappingRecord> page = this.service.findMappings(siteId, nextToken, PAGE_SIZE);
+      page.getResults().forEach(m -> mappings.put(m.getDocumentId(), m));
+      nextToken = page.getNextToken();
+    } while (nextToken != null);
+
+    return mappings;
+  }
+
+  @Override
+  public MappingRecord saveMapping(final String siteId, final String mappingId,
+      final Mapping mapping) throws ValidationException {
+    try {
+      return this.service.saveMapping(siteId, mappingId, mapping);
+    } finally {
+      this.cache.invalidate(siteId);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.mappings;
+
+import com.formkiq.aws.dynamodb.DynamoDbService;
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.AwsServiceExtension;
+
+/**
+ * 
+ * {@link AwsServiceExtension} for a {@link MappingServiceCache}, for processes that read mappings
+ * on a hot path (IDP document actions). Mappings written by another process (the API) are seen
+ * after at most MAPPINGS_CACHE_TTL_MS (default 60 seconds, 0 disables the cache), so it must not
+ * be used where mappings are written and read back.
+ *
+ */
+public class MappingServiceCacheExtension implements AwsServiceExtension<MappingService> {
+
+  /** Environment variable for mapping cache TTL. */
+  private static final String CACHE_TTL_MS = "MAPPINGS_CACHE_TTL_MS";
+  /** Default mapping cache TTL in milliseconds. */
+  private static final long DEFAULT_CACHE_TTL_MS = 60000L;
+
+  /** {@link MappingService}. */
+  private MappingService service;
+
+  /**
+   * constructor.
+   */
+  public MappingServiceCacheExtension() {}
+
+  @Override
+  public MappingService loadService(final AwsServiceCache awsServiceCache) {
+    if (this.service == null) {
+      DynamoDbService db = awsServiceCache.getExtension(DynamoDbService.class);
+      MappingService mappingService = new MappingServiceDynamodb(db);
+      long cacheTtlMs = awsServiceCache.environmentLong(CACHE_TTL_MS, DEFAULT_CACHE_TTL_MS);
+      this.service =
+          cacheTtlMs > 0 ? new MappingServiceCache(mappingService, cacheTtlMs) : mappingService;
+    }
+
+    return this.service;
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.reindex;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Site reindex job state, as checkpointed in DynamoDB.
+ *
+ * @param siteId {@link String}
+ * @param status {@link ReindexJobStatus}
+ * @param totalSegments number of parallel scan segments
+ * @param completedSegments number of segments that have been fully scanned
+ * @param processedCount number of documents reindexed
+ * @param failedCount number of documents that failed to reindex
+ * @param elapsedMillis total time spent running the job
+ * @param startDate {@link Date}
+ * @param lastUpdatedDate {@link Date}
+ * @param cursors per segment scan cursor, keyed by segment number
+ */
+public record ReindexJob(String siteId, ReindexJobStatus status, int totalSegments,
+    int completedSegments, long processedCount, long failedCount, long elapsedMillis,
+    Date startDate, Date lastUpdatedDate, Map<Integer, Map<String, String>> cursors) {
+
+  /** Milliseconds per second. */
+  private static final double MILLIS_PER_SECOND = 1000d;
+
+  /**
+   * Average number of documents reindexed per second of run time.
+   *
+   * @return double
+   */
+  public double documentsPerSecond() {
+    return elapsedMillis > 0 ? processedCount * MILLIS_PER_SECOND / elapsedMillis : 0;
+  }
+
+  /**
+   * Number of scan segments still to be completed.
+   *
+   * @return int
+   */
+  public int remainingSegments() {
+    return Math.max(0, totalSegments - completedSegments);
+  }
+
+  /**
+   * Whether the job has finished scanning every segment.
+   *
+   * @return boolean
+   */
+  public boolean isComplete() {
+    return ReindexJobStatus.COMPLETE.equals(status);
+  }
+}
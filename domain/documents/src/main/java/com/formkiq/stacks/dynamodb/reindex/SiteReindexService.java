@@ -0,0 +1,430 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.reindex;
+
+import static com.formkiq.aws.dynamodb.SiteIdKeyGenerator.createDatabaseKey;
+
+import com.formkiq.aws.dynamodb.DbKeys;
+import com.formkiq.aws.dynamodb.DynamoDbService;
+import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
+import com.formkiq.aws.dynamodb.objects.DateUtil;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
+import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+import com.formkiq.stacks.dynamodb.DocumentService;
+import com.formkiq.validation.ValidationException;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Site wide reindex of document attributes (composite keys / default values).
+ *
+ * <p>
+ * Documents are found using a parallel segmented scan of the documents table. Each scan segment
+ * checkpoints its cursor and counters to a job record after every page, so a run that is
+ * bounded by a deadline (for example a Lambda timeout) can be resumed by the next run. The job
+ * lease is held for {@link #LEASE_MARGIN_MS} past the deadline, so the final checkpoint and lease
+ * release happen while the lease is still owned.
+ * </p>
+ */
+public class SiteReindexService implements DbKeys {
+
+  /** Default number of scan segments. */
+  public static final int DEFAULT_SEGMENTS = 8;
+  /** Maximum number of scan segments. */
+  public static final int MAX_SEGMENTS = 64;
+  /** Job SK. */
+  private static final String JOB_SK = "job";
+  /** Job PK. */
+  private static final String JOB_PK = "reindex#documents";
+  /** Completed Segments attribute. */
+  private static final String COMPLETED_SEGMENTS = "completedSegments";
+  /** Cursor attribute prefix. */
+  private static final String CURSOR = "cursor#";
+  /** Lease Expiry attribute. */
+  private static final String LEASE_EXPIRY = "leaseExpiry";
+  /** Time past the deadline the lease is held, to checkpoint and release. */
+  static final long LEASE_MARGIN_MS = 15000L;
+  /** Maximum write attempts per document. */
+  private static final int MAX_ATTEMPTS = 5;
+  /** Scan page size. */
+  private static final int PAGE_SIZE = 100;
+
+  /** {@link DynamoDbService}. */
+  private final DynamoDbService db;
+  /** {@link DocumentService}. */
+  private final DocumentService documentService;
+  /** Maximum documents reindexed per second. */
+  private final int maxDocumentsPerSecond;
+  /** {@link Logger}. */
+  private final Logger logger;
+  /** Clock used to check the deadline. */
+  private final LongSupplier clock;
+
+  /**
+   * constructor.
+   *
+   * @param dbService {@link DynamoDbService}
+   * @param service {@link DocumentService}
+   * @param documentsPerSecond maximum documents reindexed per second
+   * @param log {@link Logger}
+   */
+  public SiteReindexService(final DynamoDbService dbService, final DocumentService service,
+      final int documentsPerSecond, final Logger log) {
+    this(dbService, service, documentsPerSecond, log, System::currentTimeMillis);
+  }
+
+  /**
+   * constructor.
+   *
+   * @param dbService {@link DynamoDbService}
+   * @param service {@link DocumentService}
+   * @param documentsPerSecond maximum documents reindexed per second
+   * @param log {@link Logger}
+   * @param deadlineClock clock used to check the deadline
+   */
+  SiteReindexService(final DynamoDbService dbService, final DocumentService service,
+      final int documentsPerSecond, final Logger log, final LongSupplier deadlineClock) {
+    this.db = dbService;
+    this.documentService = service;
+    this.maxDocumentsPerSecond = documentsPerSecond;
+    this.logger = log;
+    this.clock = deadlineClock;
+  }
+
+  private void checkpoint(final String siteId, final int segment,
+      final Map<String, AttributeValue> cursor, final long processed, final long failed) {
+
+    boolean complete = cursor == null || cursor.isEmpty();
+    Map<String, String> names = Map.of("#cursor", CURSOR + segment);
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":now", AttributeValue.fromS(DateUtil.getNowInIso8601Format()));
+    values.put(":processed", AttributeValue.fromN(String.valueOf(processed)));
+    values.put(":failed", AttributeValue.fromN(String.valueOf(failed)));
+
+    String expression;
+    if (complete) {
+      values.put(":segment", AttributeValue.fromNs(List.of(String.valueOf(segment))));
+      expression = "SET lastUpdatedDate = :now REMOVE #cursor "
+          + "ADD processedCount :processed, failedCount :failed, " + COMPLETED_SEGMENTS
+          + " :segment";
+    } else {
+      values.put(":cursor", AttributeValue.fromM(cursor));
+      expression = "SET lastUpdatedDate = :now, #cursor = :cursor "
+          + "ADD processedCount :processed, failedCount :failed";
+    }
+
+    this.db.updateItem(UpdateItemRequest.builder().tableName(this.db.getTableName())
+        .key(jobKey(siteId)).updateExpression(expression).expressionAttributeNames(names)
+        .expressionAttributeValues(values).build());
+  }
+
+  /**
+   * Get Site Reindex Job.
+   *
+   * @param siteId {@link String}
+   * @return {@link ReindexJob}
+   */
+  public ReindexJob get(final String siteId) {
+    Map<String, AttributeValue> keys = jobKey(siteId);
+    Map<String, AttributeValue> item = this.db.get(keys.get(PK), keys.get(SK));
+    return item != null && !item.isEmpty() ? toJob(siteId, item) : null;
+  }
+
+  private boolean isThrottle(final DynamoDbException e) {
+    return e instanceof ProvisionedThroughputExceededException
+        || e instanceof RequestLimitExceededException || e.isThrottlingException();
+  }
+
+  private Map<String, AttributeValue> jobKey(final String siteId) {
+    return Map.of(PK, AttributeValue.fromS(createDatabaseKey(siteId, JOB_PK)), SK,
+        AttributeValue.fromS(JOB_SK));
+  }
+
+  private boolean lease(final String siteId, final long deadline) {
+    long expiry = deadline + LEASE_MARGIN_MS;
+    try {
+      this.db.updateItem(UpdateItemRequest.builder().tableName(this.db.getTableName())
+          .key(jobKey(siteId)).updateExpression("SET " + LEASE_EXPIRY + " = :expiry")
+          .conditionExpression("attribute_exists(" + PK + ") AND (attribute_not_exists("
+              + LEASE_EXPIRY + ") OR " + LEASE_EXPIRY + " < :now)")
+          .expressionAttributeValues(
+              Map.of(":expiry", AttributeValue.fromN(String.valueOf(expiry)), ":now",
+                  AttributeValue.fromN(String.valueOf(System.currentTimeMillis()))))
+          .build());
+      return true;
+    } catch (ConditionalCheckFailedException e) {
+      return false;
+    }
+  }
+
+  private boolean reindex(final RunContext ctx, final String documentId)
+      throws InterruptedException {
+
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      ctx.budget().acquire();
+      try {
+        this.documentService.reindexDocumentAttributes(ctx.siteId(),
+            DocumentArtifact.of(documentId, null));
+        ctx.budget().onSuccess();
+        return true;
+      } catch (DynamoDbException e) {
+        if (!isThrottle(e)) {
+          return reindexFailed(ctx, documentId, e);
+        }
+        ctx.budget().onThrottle();
+      } catch (ValidationException | RuntimeException e) {
+        return reindexFailed(ctx, documentId, e);
+      }
+    }
+
+    return reindexFailed(ctx, documentId, null);
+  }
+
+  private boolean reindexFailed(final RunContext ctx, final String documentId,
+      final Exception e) {
+    Metrics.increment("SiteReindex.failed");
+    if (this.logger != null) {
+      String reason = e != null ? e.getClass().getSimpleName() + ": " + e.getMessage()
+          : "throttled after " + MAX_ATTEMPTS + " attempts";
+      this.logger.error("unable to reindex siteId: " + ctx.siteId() + " documentId: "
+          + documentId + " " + reason);
+    }
+    return false;
+  }
+
+  private void release(final String siteId, final ReindexJobStatus status,
+      final long elapsedMillis) {
+    this.db.updateItem(UpdateItemRequest.builder().tableName(this.db.getTableName())
+        .key(jobKey(siteId))
+        .updateExpression(
+            "SET #status = :status REMOVE " + LEASE_EXPIRY + " ADD elapsedMillis :elapsed")
+        .expressionAttributeNames(Map.of("#status", "status"))
+        .expressionAttributeValues(Map.of(":status", AttributeValue.fromS(status.name()),
+            ":elapsed", AttributeValue.fromN(String.valueOf(elapsedMillis))))
+        .build());
+  }
+
+  /**
+   * Run the Site Reindex Job until it completes or the deadline is reached.
+   *
+   * @param siteId {@link String}
+   * @param deadline time in epoch milliseconds to stop processing
+   * @return {@link ReindexJob}
+   * @throws InterruptedException InterruptedException
+   */
+  public ReindexJob run(final String siteId, final long deadline) throws InterruptedException {
+
+    ReindexJob job = get(siteId);
+    if (job == null || job.isComplete() || !lease(siteId, deadline)) {
+      return job;
+    }
+
+    long start = System.currentTimeMillis();
+    List<Callable<Void>> tasks = new ArrayList<>();
+    RunContext ctx = new RunContext(siteId, job.totalSegments(), deadline,
+        new WriteBudget(this.maxDocumentsPerSecond));
+
+    for (Map.Entry<Integer, Map<String, String>> e : job.cursors().entrySet()) {
+      tasks.add(() -> scanSegment(ctx, e.getKey(), e.getValue()));
+    }
+
+    try {
+      if (!tasks.isEmpty()) {
+        new BoundedExecutor(tasks.size()).invokeAll(tasks);
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = BoundedExecutor.unwrap(e);
+      throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause);
+    } finally {
+      ReindexJob current = get(siteId);
+      ReindexJobStatus status = current.remainingSegments() == 0 ? ReindexJobStatus.COMPLETE
+          : ReindexJobStatus.IN_PROGRESS;
+      release(siteId, status, System.currentTimeMillis() - start);
+    }
+
+    return get(siteId);
+  }
+
+  private Void scanSegment(final RunContext ctx, final int segment,
+      final Map<String, String> cursor) throws InterruptedException {
+
+    Map<String, AttributeValue> startKey = toAttributeValues(cursor);
+
+    boolean done = false;
+    while (!done && this.clock.getAsLong() < ctx.deadline()) {
+
+      ScanResponse response = this.db.getClient().scan(ScanRequest.builder()
+          .tableName(this.db.getTableName()).segment(segment).totalSegments(ctx.totalSegments())
+          .filterExpression("begins_with(#pk, :prefix) AND #sk = :sk")
+          .projectionExpression("#pk, #sk, documentId")
+          .expressionAttributeNames(Map.of("#pk", PK, "#sk", SK))
+          .expressionAttributeValues(Map.of(":prefix",
+              AttributeValue.fromS(createDatabaseKey(ctx.siteId(), PREFIX_DOCS)), ":sk",
+              AttributeValue.fromS("document")))
+          .limit(PAGE_SIZE).exclusiveStartKey(startKey.isEmpty() ? null : startKey).build());
+
+      long processed = 0;
+      long failed = 0;
+      Map<String, AttributeValue> next = response.lastEvaluatedKey();
+
+      for (Map<String, AttributeValue> item : response.items()) {
+        if (this.clock.getAsLong() >= ctx.deadline()) {
+          // resume after the last processed item, or from the same page if none were
+          next = startKey;
+          done = true;
+          break;
+        }
+
+        if (reindex(ctx, item.get("documentId").s())) {
+          processed++;
+        } else {
+          failed++;
+        }
+
+        startKey = Map.of(PK, item.get(PK), SK, item.get(SK));
+      }
+
+      if (done) {
+        if (processed + failed > 0) {
+          checkpoint(ctx.siteId(), segment, next, processed, failed);
+        }
+      } else {
+        checkpoint(ctx.siteId(), segment, next, processed, failed);
+        startKey = next != null ? next : Map.of();
+        done = startKey.isEmpty();
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Start a Site Reindex Job, if a job is already in progress the existing job is returned.
+   *
+   * @param siteId {@link String}
+   * @param segments number of parallel scan segments
+   * @return {@link ReindexJob}
+   */
+  public ReindexJob start(final String siteId, final int segments) {
+
+    String now = DateUtil.getNowInIso8601Format();
+    Map<String, AttributeValue> item = new HashMap<>(jobKey(siteId));
+    item.put("status", AttributeValue.fromS(ReindexJobStatus.IN_PROGRESS.name()));
+    item.put("totalSegments", AttributeValue.fromN(
+        String.valueOf(Math.min(MAX_SEGMENTS, Math.max(1, segments)))));
+    item.put("processedCount", AttributeValue.fromN("0"));
+    item.put("failedCount", AttributeValue.fromN("0"));
+    item.put("elapsedMillis", AttributeValue.fromN("0"));
+    item.put("startDate", AttributeValue.fromS(now));
+    item.put("lastUpdatedDate", AttributeValue.fromS(now));
+
+    try {
+      this.db.getClient()
+          .putItem(PutItemRequest.builder().tableName(this.db.getTableName()).item(item)
+              .conditionExpression("attribute_not_exists(" + PK + ") OR #status = :complete")
+              .expressionAttributeNames(Map.of("#status", "status"))
+              .expressionAttributeValues(
+                  Map.of(":complete", AttributeValue.fromS(ReindexJobStatus.COMPLETE.name())))
+              .build());
+    } catch (ConditionalCheckFailedException e) {
+      // job already in progress, resume it
+    }
+
+    return get(siteId);
+  }
+
+  private Map<String, AttributeValue> toAttributeValues(final Map<String, String> cursor) {
+    Map<String, AttributeValue> map = new HashMap<>();
+    if (cursor != null) {
+      cursor.forEach((k, v) -> map.put(k, AttributeValue.fromS(v)));
+    }
+    return map;
+  }
+
+  private ReindexJob toJob(final String siteId, final Map<String, AttributeValue> item) {
+
+    int totalSegments = toInt(item.get("totalSegments"));
+    AttributeValue completedValue = item.get(COMPLETED_SEGMENTS);
+    List<String> completed = completedValue != null ? completedValue.ns() : List.of();
+
+    Map<Integer, Map<String, String>> cursors = new HashMap<>();
+    for (int segment = 0; segment < totalSegments; segment++) {
+      if (!completed.contains(String.valueOf(segment))) {
+        AttributeValue cursor = item.get(CURSOR + segment);
+        Map<String, String> keys = new HashMap<>();
+        if (cursor != null) {
+          cursor.m().forEach((k, v) -> keys.put(k, v.s()));
+        }
+        cursors.put(segment, keys);
+      }
+    }
+
+    return new ReindexJob(siteId, ReindexJobStatus.valueOf(item.get("status").s()),
+        totalSegments, completed.size(), toLong(item.get("processedCount")),
+        toLong(item.get("failedCount")), toLong(item.get("elapsedMillis")),
+        toDate(item.get("startDate")), toDate(item.get("lastUpdatedDate")), cursors);
+  }
+
+  private Date toDate(final AttributeValue value) {
+    return value != null ? Date.from(Instant.parse(value.s())) : null;
+  }
+
+  private int toInt(final AttributeValue value) {
+    return (int) toLong(value);
+  }
+
+  private long toLong(final AttributeValue value) {
+    return value != null ? Long.parseLong(value.n()) : 0;
+  }
+
+  /**
+   * Per run state shared by all scan segments.
+   *
+   * @param siteId {@link String}
+   * @param totalSegments number of scan segments
+   * @param deadline time in epoch milliseconds to stop processing
+   * @param budget {@link WriteBudget}
+   */
+  private record RunContext(String siteId, int totalSegments, long deadline,
+      WriteBudget budget) {
+  }
+}
@@ -0,0 +1,63 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.reindex;
+
+import com.formkiq.aws.dynamodb.DynamoDbService;
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.AwsServiceExtension;
+import com.formkiq.stacks.dynamodb.DocumentService;
+
+/**
+ * 
+ * {@link AwsServiceExtension} for {@link SiteReindexService}.
+ *
+ */
+public class SiteReindexServiceExtension implements AwsServiceExtension<SiteReindexService> {
+
+  /** Environment variable for maximum documents reindexed per second. */
+  private static final String MAX_DOCUMENTS_PER_SECOND = "REINDEX_MAX_DOCUMENTS_PER_SECOND";
+  /** Default maximum documents reindexed per second. */
+  private static final long DEFAULT_MAX_DOCUMENTS_PER_SECOND = 50L;
+
+  /** {@link SiteReindexService}. */
+  private SiteReindexService service;
+
+  /**
+   * constructor.
+   */
+  public SiteReindexServiceExtension() {}
+
+  @Override
+  public SiteReindexService loadService(final AwsServiceCache awsServiceCache) {
+    if (this.service == null) {
+      long documentsPerSecond = awsServiceCache.environmentLong(MAX_DOCUMENTS_PER_SECOND,
+          DEFAULT_MAX_DOCUMENTS_PER_SECOND);
+      this.service = new SiteReindexService(awsServiceCache.getExtension(DynamoDbService.class),
+          awsServiceCache.getExtension(DocumentService.class), (int) documentsPerSecond,
+          awsServiceCache.getLogger());
+    }
+
+    return this.service;
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.reindex;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttle aware write budget shared by all reindex scan segments.
+ *
+ * <p>
+ * Permits are handed out at a rate (documents per second) which is halved every time DynamoDB
+ * throttles a write and increased by roughly one document per second of successful writes
+ * (additive increase / multiplicative decrease).
+ * </p>
+ */
+public class WriteBudget {
+
+  /** Nanoseconds per second. */
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  /** Minimum rate. */
+  private static final double MIN_RATE = 1d;
+
+  /** Maximum documents per second. */
+  private final double maxRate;
+  /** Current documents per second. */
+  private double rate;
+  /** Time next permit is available, in nanoseconds. */
+  private long nextPermitNanos;
+
+  /**
+   * constructor.
+   *
+   * @param maxDocumentsPerSecond maximum documents per second
+   */
+  public WriteBudget(final int maxDocumentsPerSecond) {
+    this.maxRate = Math.max(MIN_RATE, maxDocumentsPerSecond);
+    this.rate = this.maxRate;
+    this.nextPermitNanos = System.nanoTime();
+  }
+
+  /**
+   * Block until a write permit is available.
+   *
+   * @throws InterruptedException InterruptedException
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos;
+
+    synchronized (this) {
+      long now = System.nanoTime();
+      this.nextPermitNanos = Math.max(this.nextPermitNanos, now);
+      waitNanos = this.nextPermitNanos - now;
+      this.nextPermitNanos += (long) (NANOS_PER_SECOND / this.rate);
+    }
+
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Current documents per second.
+   *
+   * @return double
+   */
+  public synchronized double getRate() {
+    return this.rate;
+  }
+
+  /**
+   * Record a successful write.
+   */
+  public synchronized void onSuccess() {
+    this.rate = Math.min(this.maxRate, this.rate + MIN_RATE / this.rate);
+  }
+
+  /**
+   * Record a throttled write.
+   */
+  public synchronized void onThrottle() {
+    this.rate = Math.max(MIN_RATE, this.rate / 2);
+    this.nextPermitNanos = System.nanoTime() + (long) (NANOS_PER_SECOND / this.rate);
+  }
+}
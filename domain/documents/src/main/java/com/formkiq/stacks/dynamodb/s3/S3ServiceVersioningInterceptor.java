@@ -43,7 +43,6 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
 import software.amazon.awssdk.services.s3.model.ObjectVersion;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -64,8 +63,6 @@ public class S3ServiceVersioningInterceptor implements S3ServiceInterceptor {
   private final String watchBucket;
   /** {@link DynamoDbService}. */
   private final DynamoDbService versionService;
-  /** {@link SimpleDateFormat} in ISO Standard format. */
-  private final SimpleDateFormat df = DateUtil.getIsoDateFormatter();
   /** Audit Table DynamoDb. */
   private final String auditTable;
   /** {@link DocumentService}. */
@@ -114,7 +111,7 @@ public class S3ServiceVersioningInterceptor implements S3ServiceInterceptor {
 
     Map<String, AttributeValue> attr = new HashMap<>();
 
-    String fulldate = this.df.format(new Date());
+    String fulldate = DateUtil.formatIsoDate(new Date());
 
     DynamoDbKey key = new DocumentRecordBuilder().document(document).buildKey(siteId);
 
@@ -799,6 +799,45 @@ public class DocumentServiceImplTest implements DbKeys {
     }
   }
 
+  /**
+   * Test paginating files by name across shards.
+   *
+   * @throws ValidationException ValidationException
+   */
+  @Test
+  void testFindFolderFilesByName01() throws ValidationException {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      final int count = 20;
+      final int limit = 7;
+      String prefix = "mergetest" + ID.uuid().substring(0, 8);
+      List<String> expected = new ArrayList<>();
+
+      for (int i = 0; i < count; i++) {
+        DocumentItem item = new DocumentItemDynamoDb(ID.uuid(), new Date(), "joe");
+        String filename = prefix + String.format("%02d", i) + ".txt";
+        item.setPath("a/" + filename);
+        service.saveDocument(siteId, item, null);
+        expected.add(filename);
+      }
+
+      var get = new GetFolderFilesByNameQuery(false, prefix);
+      List<String> paths = new ArrayList<>();
+      String nextToken = null;
+
+      // when
+      do {
+        var results = get.query(db, db.getTableName(), siteId, nextToken, limit);
+        assertTrue(results.items().size() <= limit);
+        results.items().forEach(i -> paths.add(DynamoDbTypes.toString(i.get("path"))));
+        nextToken = results.toNextToken();
+      } while (nextToken != null);
+
+      // then
+      assertEquals(expected, paths);
+    }
+  }
+
   /**
    * Test document exists or not.
    * 
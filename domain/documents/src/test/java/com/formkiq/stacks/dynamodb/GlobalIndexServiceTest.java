@@ -0,0 +1,84 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import static com.formkiq.testutils.aws.DynamoDbExtension.DOCUMENTS_TABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.formkiq.aws.dynamodb.ID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+
+/**
+ * Unit Tests for {@link GlobalIndexService}.
+ */
+@ExtendWith(DynamoDbExtension.class)
+public class GlobalIndexServiceTest {
+
+  /** {@link GlobalIndexService}. */
+  private GlobalIndexService service;
+
+  /**
+   * Before Test.
+   *
+   * @throws Exception Exception
+   */
+  @BeforeEach
+  public void before() throws Exception {
+    this.service =
+        new GlobalIndexService(DynamoDbTestServices.getDynamoDbConnection(), DOCUMENTS_TABLE);
+  }
+
+  /**
+   * Known tag keys are not written again until deleted.
+   */
+  @Test
+  void testGetTagIndexWrites01() {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      List<String> tagKeys = List.of("category", "status", "category");
+
+      // when
+      final int expected = 2;
+      assertEquals(expected, this.service.getTagIndexWrites(siteId, tagKeys).size());
+      this.service.writeTagIndex(siteId, tagKeys);
+
+      // then
+      assertTrue(this.service.getTagIndexWrites(siteId, tagKeys).isEmpty());
+
+      // when
+      this.service.deleteTagIndex(siteId, "status");
+
+      // then
+      assertEquals(1, this.service.getTagIndexWrites(siteId, tagKeys).size());
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import static com.formkiq.testutils.aws.DynamoDbExtension.DOCUMENTS_TABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URISyntaxException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
+import com.formkiq.aws.dynamodb.DynamoDbService;
+import com.formkiq.aws.dynamodb.DynamoDbServiceImpl;
+import com.formkiq.aws.dynamodb.ID;
+import com.formkiq.aws.dynamodb.attributes.AttributeValidationAccess;
+import com.formkiq.aws.dynamodb.model.MappingRecord;
+import com.formkiq.stacks.dynamodb.attributes.AttributeServiceDynamodb;
+import com.formkiq.stacks.dynamodb.mappings.Mapping;
+import com.formkiq.stacks.dynamodb.mappings.MappingAttribute;
+import com.formkiq.stacks.dynamodb.mappings.MappingAttributeLabelMatchingType;
+import com.formkiq.stacks.dynamodb.mappings.MappingAttributeSourceType;
+import com.formkiq.stacks.dynamodb.mappings.MappingService;
+import com.formkiq.stacks.dynamodb.mappings.MappingServiceCache;
+import com.formkiq.stacks.dynamodb.mappings.MappingServiceDynamodb;
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+import com.formkiq.validation.ValidationException;
+
+/**
+ * 
+ * Unit Test for {@link MappingServiceCache}.
+ *
+ */
+@ExtendWith(DynamoDbExtension.class)
+class MappingServiceCacheTest {
+
+  /** Cache TTL. */
+  private static final long CACHE_TTL_MS = 60000L;
+
+  /** {@link DynamoDbService}. */
+  private static DynamoDbService db;
+  /** {@link MappingService}, bypassing the cache. */
+  private static MappingService dbService;
+
+  @BeforeAll
+  public static void beforeAll() throws URISyntaxException {
+    DynamoDbConnectionBuilder dynamoDbConnection = DynamoDbTestServices.getDynamoDbConnection();
+    db = new DynamoDbServiceImpl(dynamoDbConnection, DOCUMENTS_TABLE);
+    dbService = new MappingServiceDynamodb(db);
+  }
+
+  private Mapping createMapping(final String name) {
+    MappingAttribute a = new MappingAttribute().setAttributeKey("number")
+        .setLabelMatchingType(MappingAttributeLabelMatchingType.EXACT).setLabelTexts(List.of("PO"))
+        .setSourceType(MappingAttributeSourceType.CONTENT);
+    return new Mapping(name, null, List.of(a), null);
+  }
+
+  /**
+   * Get mappings are served from the preloaded site mappings.
+   */
+  @Test
+  void testGetMapping01() throws ValidationException {
+    // given
+    String siteId = ID.uuid();
+    new AttributeServiceDynamodb(db).addAttribute(AttributeValidationAccess.CREATE, siteId,
+        "number", null, null);
+
+    MappingServiceCache service = new MappingServiceCache(dbService, CACHE_TTL_MS);
+    String mappingId0 = service.saveMapping(siteId, null, createMapping("test0")).getDocumentId();
+    String mappingId1 = service.saveMapping(siteId, null, createMapping("test1")).getDocumentId();
+
+    // when
+    MappingRecord m0 = service.getMapping(siteId, mappingId0);
+    MappingRecord m1 = service.getMapping(siteId, mappingId1);
+    service.getMapping(siteId, mappingId0);
+
+    // then
+    assertEquals("test0", m0.getName());
+    assertEquals("test1", m1.getName());
+    assertEquals(2 + 1, service.getCache().getHits());
+    assertEquals(0, service.getCache().getMisses());
+
+    // when - added after preload
+    String mappingId2 = dbService.saveMapping(siteId, null, createMapping("test2")).getDocumentId();
+
+    // then
+    String missingId = ID.uuid();
+    assertEquals("test2", service.getMapping(siteId, mappingId2).getName());
+    assertNull(service.getMapping(siteId, missingId));
+    assertEquals(2, service.getCache().getMisses());
+
+    // when - read again
+    assertEquals("test2", service.getMapping(siteId, mappingId2).getName());
+    assertNull(service.getMapping(siteId, missingId));
+
+    // then - served from the cached fallback reads
+    assertEquals(2, service.getCache().getMisses());
+    assertEquals(2 + 1 + 2, service.getCache().getHits());
+  }
+
+  /**
+   * Writes invalidate the site's cached mappings.
+   */
+  @Test
+  void testGetMapping02() throws ValidationException {
+    // given
+    String siteId = ID.uuid();
+    new AttributeServiceDynamodb(db).addAttribute(AttributeValidationAccess.CREATE, siteId,
+        "number", null, null);
+
+    MappingServiceCache service = new MappingServiceCache(dbService, CACHE_TTL_MS);
+    String mappingId0 = service.saveMapping(siteId, null, createMapping("test0")).getDocumentId();
+    String mappingId1 = service.saveMapping(siteId, null, createMapping("test1")).getDocumentId();
+    assertEquals("test0", service.getMapping(siteId, mappingId0).getName());
+
+    // when - updated bypassing the cache
+    dbService.saveMapping(siteId, mappingId0, createMapping("other0"));
+
+    // then
+    assertEquals("test0", service.getMapping(siteId, mappingId0).getName());
+
+    // when
+    service.deleteMapping(siteId, mappingId1);
+
+    // then
+    assertEquals("other0", service.getMapping(siteId, mappingId0).getName());
+    assertNull(service.getMapping(siteId, mappingId1));
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Map;
+
+import com.formkiq.aws.dynamodb.DynamicObject;
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Unit Tests for {@link WebhooksServiceCache}.
+ */
+@ExtendWith(DynamoDbExtension.class)
+public class WebhooksServiceCacheTest {
+
+  /** Cache TTL. */
+  private static final long CACHE_TTL_MS = 60000L;
+
+  /** {@link WebhooksService}. */
+  private WebhooksService service;
+  /** {@link WebhooksServiceCache}. */
+  private WebhooksServiceCache cache;
+
+  /**
+   * Before Test.
+   *
+   * @throws Exception Exception
+   */
+  @BeforeEach
+  public void before() throws Exception {
+    this.service =
+        new WebhooksServiceImpl(DynamoDbTestServices.getDynamoDbConnection(), "Documents");
+    this.cache = new WebhooksServiceCache(this.service, CACHE_TTL_MS);
+  }
+
+  /**
+   * Find Webhook is cached until updated through the cache.
+   */
+  @Test
+  public void testFindWebhook01() {
+    // given
+    String id = this.service.saveWebhook(null, "test", "joe", null, "true");
+    assertEquals("true", this.cache.findWebhook(null, id).getString("enabled"));
+
+    // when
+    this.service.updateWebhook(null, id, new DynamicObject(Map.of("enabled", "false")));
+
+    // then
+    assertEquals("true", this.cache.findWebhook(null, id).getString("enabled"));
+
+    // when
+    this.cache.updateWebhook(null, id, new DynamicObject(Map.of("enabled", "false")));
+
+    // then
+    assertEquals("false", this.cache.findWebhook(null, id).getString("enabled"));
+
+    // when
+    this.cache.deleteWebhook(null, id);
+
+    // then
+    assertNull(this.cache.findWebhook(null, id));
+  }
+
+  /**
+   * Find Webhook with caching disabled.
+   */
+  @Test
+  public void testFindWebhook02() {
+    // given
+    WebhooksServiceCache noCache = new WebhooksServiceCache(this.service, 0);
+    String id = this.service.saveWebhook("site1", "test", "joe", null, "true");
+    assertEquals("true", noCache.findWebhook("site1", id).getString("enabled"));
+
+    // when
+    this.service.updateWebhook("site1", id, new DynamicObject(Map.of("enabled", "false")));
+
+    // then
+    assertEquals("false", noCache.findWebhook("site1", id).getString("enabled"));
+    assertNull(noCache.findWebhook(null, id));
+  }
+
+  /**
+   * Find Webhook evicts the least recently used webhook when full.
+   */
+  @Test
+  public void testFindWebhook03() {
+    // given
+    WebhooksServiceCache lruCache = new WebhooksServiceCache(this.service, CACHE_TTL_MS, 2);
+    String id0 = this.service.saveWebhook(null, "test0", "joe", null, "true");
+    String id1 = this.service.saveWebhook(null, "test1", "joe", null, "true");
+    String id2 = this.service.saveWebhook(null, "test2", "joe", null, "true");
+
+    lruCache.findWebhook(null, id0);
+    lruCache.findWebhook(null, id1);
+    lruCache.findWebhook(null, id0);
+
+    // when
+    lruCache.findWebhook(null, id2);
+    this.service.updateWebhook(null, id0, new DynamicObject(Map.of("enabled", "false")));
+    this.service.updateWebhook(null, id1, new DynamicObject(Map.of("enabled", "false")));
+
+    // then
+    assertEquals("true", lruCache.findWebhook(null, id0).getString("enabled"));
+    assertEquals("false", lruCache.findWebhook(null, id1).getString("enabled"));
+  }
+}
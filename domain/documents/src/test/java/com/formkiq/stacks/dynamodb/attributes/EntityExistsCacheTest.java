@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.attributes;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.formkiq.aws.dynamodb.DbKeys;
+import com.formkiq.aws.dynamodb.DynamoDbKey;
+import com.formkiq.aws.dynamodb.DynamoDbService;
+import com.formkiq.aws.dynamodb.DynamoDbServiceImpl;
+import com.formkiq.aws.dynamodb.ID;
+import com.formkiq.aws.dynamodb.entity.EntityRecord;
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+
+/**
+ * Unit Test for {@link EntityExistsCache}.
+ */
+@ExtendWith(DynamoDbExtension.class)
+class EntityExistsCacheTest implements DbKeys {
+
+  /** Cache time to live. */
+  private static final long TTL = 60000L;
+  /** Maximum cache entries. */
+  private static final int MAX_ENTRIES = 100;
+  /** {@link DynamoDbService}. */
+  private static DynamoDbService db;
+
+  @BeforeAll
+  public static void beforeAll() throws Exception {
+    db = new DynamoDbServiceImpl(DynamoDbTestServices.getDynamoDbConnection(), DOCUMENTS_TABLE);
+  }
+
+  private static DynamoDbKey addEntity(final String siteId) {
+    EntityRecord entity = EntityRecord.builder().entityTypeId(ID.uuid()).documentId(ID.uuid())
+        .name("test").build(siteId);
+    db.putItem(entity.getAttributes());
+    return entity.key();
+  }
+
+  private static boolean exists(final EntityExistsCache cache, final DynamoDbKey key) {
+    return cache.exists(db, List.of(key)).get(EntityExistsCache.toKey(key));
+  }
+
+  /**
+   * Deleted entity is cached until it is invalidated.
+   */
+  @Test
+  void testInvalidate01() {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      EntityExistsCache cache = new EntityExistsCache(TTL, MAX_ENTRIES);
+      DynamoDbKey key = addEntity(siteId);
+      assertTrue(exists(cache, key));
+      db.deleteItem(key);
+      assertTrue(exists(cache, key));
+
+      // when
+      cache.invalidate(key);
+
+      // then
+      assertFalse(exists(cache, key));
+    }
+  }
+
+  /**
+   * Missing entity is not cached, so it is found once added.
+   */
+  @Test
+  void testExists01() {
+    for (String siteId : Arrays.asList(null, ID.uuid())) {
+      // given
+      EntityExistsCache cache = new EntityExistsCache(TTL, MAX_ENTRIES);
+      EntityRecord entity = EntityRecord.builder().entityTypeId(ID.uuid()).documentId(ID.uuid())
+          .name("test").build(siteId);
+      assertFalse(exists(cache, entity.key()));
+
+      // when
+      db.putItem(entity.getAttributes());
+
+      // then
+      assertTrue(exists(cache, entity.key()));
+    }
+  }
+}
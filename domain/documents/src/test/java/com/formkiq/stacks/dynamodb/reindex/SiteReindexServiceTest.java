@@ -0,0 +1,199 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.stacks.dynamodb.reindex;
+
+import static com.formkiq.testutils.aws.DynamoDbExtension.DOCUMENTS_TABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.formkiq.aws.dynamodb.DynamoDbConnectionBuilder;
+import com.formkiq.aws.dynamodb.DynamoDbServiceImpl;
+import com.formkiq.aws.dynamodb.ID;
+import com.formkiq.aws.dynamodb.documents.DocumentArtifact;
+import com.formkiq.stacks.dynamodb.DocumentItemDynamoDb;
+import com.formkiq.stacks.dynamodb.DocumentService;
+import com.formkiq.stacks.dynamodb.DocumentServiceImpl;
+import com.formkiq.stacks.dynamodb.DocumentVersionServiceNoVersioning;
+import com.formkiq.testutils.aws.DynamoDbExtension;
+import com.formkiq.testutils.aws.DynamoDbTestServices;
+
+/** Unit tests for {@link SiteReindexService}. */
+@ExtendWith(DynamoDbExtension.class)
+public class SiteReindexServiceTest {
+
+  /** {@link DocumentService}. */
+  private static DocumentService documentService;
+  /** {@link SiteReindexService}. */
+  private static SiteReindexService service;
+
+  /**
+   * Before Test.
+   *
+   * @throws Exception Exception
+   */
+  @BeforeAll
+  public static void beforeAll() throws Exception {
+    DynamoDbConnectionBuilder connection = DynamoDbTestServices.getDynamoDbConnection();
+    documentService = new DocumentServiceImpl(connection, DOCUMENTS_TABLE,
+        new DocumentVersionServiceNoVersioning(), 1000);
+    service = new SiteReindexService(new DynamoDbServiceImpl(connection, DOCUMENTS_TABLE),
+        documentService, 1000, null);
+  }
+
+  /**
+   * Reindex all documents in a site.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  public void testRun01() throws Exception {
+    // given
+    final int count = 15;
+    String siteId = ID.uuid();
+    for (int i = 0; i < count; i++) {
+      documentService.saveDocument(siteId,
+          new DocumentItemDynamoDb(ID.uuid(), new Date(), "joe"), List.of());
+    }
+
+    assertNull(service.get(siteId));
+
+    // when
+    ReindexJob started = service.start(siteId, 4);
+    ReindexJob job =
+        service.run(siteId, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+
+    // then
+    assertEquals(ReindexJobStatus.IN_PROGRESS, started.status());
+    assertEquals(4, started.remainingSegments());
+
+    assertEquals(ReindexJobStatus.COMPLETE, job.status());
+    assertEquals(count, job.processedCount());
+    assertEquals(0, job.failedCount());
+    assertEquals(0, job.remainingSegments());
+    assertNotNull(job.startDate());
+    assertTrue(job.elapsedMillis() >= 0);
+  }
+
+  /**
+   * Run with an expired deadline checkpoints without processing, then resumes.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  public void testRun02() throws Exception {
+    // given
+    final int count = 5;
+    String siteId = ID.uuid();
+    for (int i = 0; i < count; i++) {
+      documentService.saveDocument(siteId,
+          new DocumentItemDynamoDb(ID.uuid(), new Date(), "joe"), List.of());
+    }
+
+    service.start(siteId, 2);
+
+    // when
+    ReindexJob paused = service.run(siteId, System.currentTimeMillis() - 1);
+    ReindexJob job =
+        service.run(siteId, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1));
+
+    // then
+    assertEquals(ReindexJobStatus.IN_PROGRESS, paused.status());
+    assertEquals(0, paused.processedCount());
+    assertEquals(ReindexJobStatus.COMPLETE, job.status());
+    assertEquals(count, job.processedCount());
+  }
+
+  /**
+   * Run that stops partway through a scan page resumes after the last processed document.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  public void testRun03() throws Exception {
+    // given
+    final int count = 5;
+    final int stopAfter = 2;
+    String siteId = ID.uuid();
+    List<String> documentIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String documentId = ID.uuid();
+      documentIds.add(documentId);
+      documentService.saveDocument(siteId,
+          new DocumentItemDynamoDb(documentId, new Date(), "joe"), List.of());
+    }
+
+    Set<String> reindexed = ConcurrentHashMap.newKeySet();
+    DocumentService recording = recordingDocumentService(reindexed);
+    DynamoDbServiceImpl db =
+        new DynamoDbServiceImpl(DynamoDbTestServices.getDynamoDbConnection(), DOCUMENTS_TABLE);
+
+    SiteReindexService stopping = new SiteReindexService(db, recording, 1000, null,
+        () -> reindexed.size() >= stopAfter ? Long.MAX_VALUE : System.currentTimeMillis());
+    SiteReindexService resuming = new SiteReindexService(db, recording, 1000, null);
+
+    service.start(siteId, 1);
+    final long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+
+    // when
+    ReindexJob paused = stopping.run(siteId, deadline);
+    ReindexJob job = resuming.run(siteId, deadline);
+
+    // then
+    assertEquals(ReindexJobStatus.IN_PROGRESS, paused.status());
+    assertEquals(stopAfter, paused.processedCount());
+    assertEquals(ReindexJobStatus.COMPLETE, job.status());
+    assertEquals(count, job.processedCount());
+    assertEquals(new HashSet<>(documentIds), reindexed);
+  }
+
+  private DocumentService recordingDocumentService(final Set<String> reindexed) {
+    return (DocumentService) Proxy.newProxyInstance(DocumentService.class.getClassLoader(),
+        new Class<?>[] {DocumentService.class}, (proxy, method, args) -> {
+          if ("reindexDocumentAttributes".equals(method.getName())) {
+            reindexed.add(((DocumentArtifact) args[1]).documentId());
+          }
+          try {
+            return method.invoke(documentService, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+}
@@ -23,6 +23,7 @@
  */
 package com.formkiq.aws.services.lambda;
 
+import static com.formkiq.aws.dynamodb.objects.Objects.notNull;
 import static com.formkiq.aws.services.lambda.ApiResponseStatus.SC_BAD_REQUEST;
 import static com.formkiq.aws.services.lambda.ApiResponseStatus.SC_ERROR;
 import java.io.IOException;
@@ -30,26 +31,35 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
 import com.formkiq.aws.dynamodb.ApiAuthorization;
 import com.formkiq.aws.dynamodb.ApiPermission;
+import com.formkiq.aws.dynamodb.cache.CacheService;
 import com.formkiq.aws.services.lambda.exceptions.ForbiddenException;
 import com.formkiq.aws.services.lambda.exceptions.NotFoundException;
 import com.formkiq.aws.services.lambda.http.HttpAccessLog;
 import com.formkiq.aws.services.lambda.http.HttpAccessLogBuilder;
+import com.formkiq.aws.sqs.events.SqsBatchItemFailure;
+import com.formkiq.aws.sqs.events.SqsBatchResponse;
 import com.formkiq.aws.sqs.events.SqsEvent;
 import com.formkiq.aws.sqs.events.SqsEventRecord;
 import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.concurrent.BoundedExecutor;
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import com.formkiq.plugins.useractivity.UserActivityContext;
+import com.formkiq.strings.Strings;
 import com.google.gson.Gson;
 import software.amazon.awssdk.utils.IoUtils;
 
@@ -60,8 +70,18 @@ import software.amazon.awssdk.utils.IoUtils;
  */
 public abstract class AbstractRestApiRequestHandler implements RequestStreamHandler {
 
+  /** Default number of SQS records processed concurrently. */
+  private static final int DEFAULT_SQS_MAX_CONCURRENCY = 10;
   /** Define the size limit in bytes (6 MB = 6 * 1024 * 1024 bytes). */
   private static final long MAX_PAYLOAD_SIZE_MB = 6L * 1024 * 1024;
+  /** Default seconds an SQS message is claimed for while it is processed. */
+  private static final long DEFAULT_SQS_MESSAGE_CLAIM_SECONDS = 900;
+  /** Cache Key prefix of SQS message ids. */
+  private static final String SQS_MESSAGE_KEY = "sqsmessage#";
+  /** Cache value of a SQS message that is being processed. */
+  private static final String SQS_MESSAGE_PROCESSING = "processing";
+  /** Cache value of a processed SQS message. */
+  private static final String SQS_MESSAGE_PROCESSED = "processed";
 
   private static void resetThreadLocal() {
     ApiAuthorization.logout();
@@ -305,25 +325,153 @@ public abstract class AbstractRestApiRequestHandler implements RequestStreamHand
     ApiGatewayRequestEvent event = getApiGatewayEvent(str, awsServices);
     Logger logger = awsServices.getLogger();
 
-    if (!isEmpty(event)) {
+    try {
 
-      processApiGatewayRequest(logger, event, awsServices, output);
+      if (!isEmpty(event)) {
 
-    } else {
+        processApiGatewayRequest(logger, event, awsServices, output);
+
+      } else if (str.contains("aws:sqs")) {
 
-      if (str.contains("aws:sqs")) {
         SqsEvent records = this.gson.fromJson(str, SqsEvent.class);
-        for (SqsEventRecord record : records.records()) {
-          if ("aws:sqs".equals(record.eventSource())) {
-            handleSqsRequest(logger, awsServices, record);
-          }
-        }
+        SqsBatchResponse response = handleSqsRequests(logger, awsServices, records.records());
+        writeSqsResponse(output, response);
 
       } else {
 
         handleOtherRequest(context, str);
       }
+
+    } finally {
+      Metrics.publishEmf(awsServices);
+    }
+  }
+
+  /**
+   * Handle Sqs Records concurrently, up to the SQS_MAX_CONCURRENCY environment variable.
+   *
+   * @param logger {@link Logger}
+   * @param awsServices {@link AwsServiceCache}
+   * @param records {@link List} {@link SqsEventRecord}
+   * @return {@link SqsBatchResponse} containing only the failed records
+   */
+  private SqsBatchResponse handleSqsRequests(final Logger logger,
+      final AwsServiceCache awsServices, final List<SqsEventRecord> records) {
+
+    List<CompletableFuture<SqsBatchItemFailure>> futures = new ArrayList<>();
+    BoundedExecutor executor = new BoundedExecutor(getSqsMaxConcurrency(awsServices));
+    CacheService cacheService = getSqsMessageCache(awsServices);
+    Duration claim = Duration.ofSeconds(awsServices
+        .environmentLong("SQS_MESSAGE_CLAIM_SECONDS", DEFAULT_SQS_MESSAGE_CLAIM_SECONDS));
+
+    for (SqsEventRecord record : notNull(records)) {
+
+      if (!"aws:sqs".equals(record.eventSource())) {
+        continue;
+      }
+
+      futures.add(
+          executor.submit(() -> handleSqsRecord(logger, awsServices, cacheService, claim, record)));
+    }
+
+    List<SqsBatchItemFailure> failures = new ArrayList<>();
+    for (CompletableFuture<SqsBatchItemFailure> future : futures) {
+      SqsBatchItemFailure failure = future.join();
+      if (failure != null) {
+        failures.add(failure);
+      }
+    }
+
+    return new SqsBatchResponse(failures);
+  }
+
+  /**
+   * Handle a Sqs Record once. When a {@link CacheService} is available the message id is claimed
+   * with a conditional write before processing, so a redelivered message is skipped once processed
+   * and retried later while another consumer is still processing it.
+   *
+   * @param logger {@link Logger}
+   * @param awsServices {@link AwsServiceCache}
+   * @param cacheService {@link CacheService}
+   * @param claim {@link Duration}
+   * @param record {@link SqsEventRecord}
+   * @return {@link SqsBatchItemFailure}
+   */
+  private SqsBatchItemFailure handleSqsRecord(final Logger logger,
+      final AwsServiceCache awsServices, final CacheService cacheService, final Duration claim,
+      final SqsEventRecord record) {
+
+    SqsBatchItemFailure failure = null;
+    String messageId = record.messageId();
+    String key = SQS_MESSAGE_KEY + messageId;
+    boolean dedupe = cacheService != null && messageId != null;
+    boolean claimed = false;
+
+    try {
+
+      claimed = !dedupe || cacheService.writeIfAbsent(key, SQS_MESSAGE_PROCESSING, claim);
+
+      if (claimed) {
+
+        handleSqsRequest(logger, awsServices, record);
+
+        if (dedupe) {
+          cacheService.write(key, SQS_MESSAGE_PROCESSED, 1);
+        }
+
+      } else if (SQS_MESSAGE_PROCESSING.equals(cacheService.read(key))) {
+        logger.debug("message " + messageId + " is being processed by another consumer");
+        failure = new SqsBatchItemFailure(messageId);
+      } else {
+        logger.debug("skipping already processed message " + messageId);
+      }
+
+    } catch (Exception e) {
+      logger.error(e);
+
+      if (dedupe && claimed) {
+        releaseSqsMessage(logger, cacheService, key);
+      }
+
+      failure = new SqsBatchItemFailure(messageId);
     }
+
+    return failure;
+  }
+
+  /**
+   * Get the {@link CacheService} used to deduplicate SQS messages, if configured.
+   *
+   * @param awsServices {@link AwsServiceCache}
+   * @return {@link CacheService}
+   */
+  private CacheService getSqsMessageCache(final AwsServiceCache awsServices) {
+    return awsServices.containsExtension(CacheService.class)
+        && !Strings.isEmpty(awsServices.environment("CACHE_TABLE"))
+            ? awsServices.getExtension(CacheService.class)
+            : null;
+  }
+
+  /**
+   * Release the claim of a failed SQS message so its redelivery is processed.
+   *
+   * @param logger {@link Logger}
+   * @param cacheService {@link CacheService}
+   * @param key {@link String}
+   */
+  private void releaseSqsMessage(final Logger logger, final CacheService cacheService,
+      final String key) {
+    try {
+      cacheService.delete(key);
+    } catch (RuntimeException e) {
+      logger.error(e);
+    }
+  }
+
+  private int getSqsMaxConcurrency(final AwsServiceCache awsServices) {
+    String maxConcurrency = awsServices.environment("SQS_MAX_CONCURRENCY");
+    return !Strings.isEmpty(maxConcurrency) ? Integer.parseInt(maxConcurrency)
+        : DEFAULT_SQS_MAX_CONCURRENCY;
   }
 
   /**
@@ -547,7 +695,12 @@ public abstract class AbstractRestApiRequestHandler implements RequestStreamHand
       throw new ForbiddenException(s);
     }
 
-    return callHandlerMethod(method, event, authorization, handler);
+    long start = System.nanoTime();
+    try {
+      return callHandlerMethod(method, event, authorization, handler);
+    } finally {
+      Metrics.record("api." + method.toUpperCase() + " " + resource, System.nanoTime() - start);
+    }
   }
 
   private List<ApiAuthorizationInterceptor> setupApiAuthorizationInterceptor(
@@ -580,4 +733,18 @@ public abstract class AbstractRestApiRequestHandler implements RequestStreamHand
 
     writer.close();
   }
+  /**
+   * Write {@link SqsBatchResponse} to {@link OutputStream}.
+   *
+   * @param output {@link OutputStream}
+   * @param response {@link SqsBatchResponse}
+   * @throws IOException IOException
+   */
+  private void writeSqsResponse(final OutputStream output, final SqsBatchResponse response)
+      throws IOException {
+    OutputStreamWriter writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    writer.write(this.gson.toJson(response));
+    writer.flush();
+  }
+
 }
@@ -0,0 +1,258 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.aws.services.lambda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import com.formkiq.aws.dynamodb.cache.CacheService;
+import com.formkiq.aws.sqs.events.SqsBatchResponse;
+import com.formkiq.aws.sqs.events.SqsEvent;
+import com.formkiq.aws.sqs.events.SqsEventRecord;
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.logger.Logger;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/** Unit tests for {@link AbstractRestApiRequestHandler} SQS handling. */
+class RestApiRequestHandlerSqsTest {
+
+  /** In memory {@link CacheService}. */
+  private static class TestCacheService implements CacheService {
+
+    /** Cached values. */
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    @Override
+    public void delete(final String key) {
+      this.values.remove(key);
+    }
+
+    @Override
+    public Date getExpiryDate(final String key) {
+      return null;
+    }
+
+    @Override
+    public String read(final String key) {
+      return this.values.get(key);
+    }
+
+    @Override
+    public void write(final String key, final String value, final int cacheInDays) {
+      this.values.put(key, value);
+    }
+
+    @Override
+    public boolean writeIfAbsent(final String key, final String value,
+        final Duration timeToLive) {
+      return this.values.putIfAbsent(key, value) == null;
+    }
+  }
+
+  private static class TestRestApiRequestHandler extends AbstractRestApiRequestHandler {
+
+    /** {@link AwsServiceCache}. */
+    private final AwsServiceCache services;
+    /** Processed Message Bodies. */
+    private final Queue<String> processed = new ConcurrentLinkedQueue<>();
+
+    TestRestApiRequestHandler(final AwsServiceCache awsServices) {
+      this.services = awsServices;
+    }
+
+    @Override
+    public AwsServiceCache getAwsServices() {
+      return this.services;
+    }
+
+    @Override
+    public Map<String, ApiGatewayRequestHandler> getUrlMap() {
+      return Map.of();
+    }
+
+    @Override
+    public void handleSqsRequest(final Logger logger, final AwsServiceCache awsServices,
+        final SqsEventRecord sqsEventRecord) throws IOException {
+      if ("fail".equals(sqsEventRecord.body())) {
+        throw new IOException("failed");
+      }
+      this.processed.add(sqsEventRecord.body());
+    }
+  }
+
+  /** {@link Gson}. */
+  private final Gson gson = new GsonBuilder().create();
+
+  private SqsEventRecord record(final String messageId, final String body) {
+    return new SqsEventRecord(messageId, "receipt", body, Map.of(), Map.of(), null, "aws:sqs",
+        "arn", "us-east-2");
+  }
+
+  private SqsBatchResponse handle(final TestRestApiRequestHandler handler,
+      final List<SqsEventRecord> records) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    String json = this.gson.toJson(new SqsEvent(records));
+    handler.handleRequest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+        output, null);
+    return this.gson.fromJson(output.toString(StandardCharsets.UTF_8), SqsBatchResponse.class);
+  }
+
+  /**
+   * Only failed records are returned.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void handleRequest01() throws IOException {
+    // given
+    AwsServiceCache services =
+        new AwsServiceCache().environment(Map.of("SQS_MAX_CONCURRENCY", "2"))
+            .setLogger("INFO", "TEXT");
+    TestRestApiRequestHandler handler = new TestRestApiRequestHandler(services);
+    List<SqsEventRecord> records = List.of(record("1", "a"), record("2", "fail"),
+        record("3", "b"), record("4", "c"), record("5", "fail"));
+
+    // when
+    SqsBatchResponse response = handle(handler, records);
+
+    // then
+    assertEquals(2, response.batchItemFailures().size());
+    assertEquals("2", response.batchItemFailures().get(0).itemIdentifier());
+    assertEquals("5", response.batchItemFailures().get(1).itemIdentifier());
+    assertEquals(3, handler.processed.size());
+  }
+
+  private AwsServiceCache services(final CacheService cacheService) {
+    AwsServiceCache services =
+        new AwsServiceCache().environment(Map.of("CACHE_TABLE", "Cache")).setLogger("INFO",
+            "TEXT");
+    services.register(CacheService.class, c -> cacheService);
+    return services;
+  }
+
+  /**
+   * Already processed message ids are skipped.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void handleRequest02() throws IOException {
+    // given
+    TestCacheService cache = new TestCacheService();
+    TestRestApiRequestHandler handler = new TestRestApiRequestHandler(services(cache));
+
+    // when
+    handle(handler, List.of(record("1", "a")));
+    SqsBatchResponse response = handle(handler, List.of(record("1", "a"), record("2", "b")));
+
+    // then
+    assertEquals(0, response.batchItemFailures().size());
+    assertEquals(List.of("a", "b"), List.copyOf(handler.processed));
+  }
+
+  /**
+   * Message ids are deduplicated across handler instances sharing the cache.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void handleRequest03() throws IOException {
+    // given
+    TestCacheService cache = new TestCacheService();
+    TestRestApiRequestHandler handler0 = new TestRestApiRequestHandler(services(cache));
+    TestRestApiRequestHandler handler1 = new TestRestApiRequestHandler(services(cache));
+
+    // when
+    handle(handler0, List.of(record("1", "a")));
+    SqsBatchResponse response = handle(handler1, List.of(record("1", "a")));
+
+    // then
+    assertEquals(0, response.batchItemFailures().size());
+    assertEquals(List.of("a"), List.copyOf(handler0.processed));
+    assertEquals(0, handler1.processed.size());
+  }
+
+  /**
+   * Message being processed by another consumer is reported as failed and not processed.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void handleRequest04() throws IOException {
+    // given
+    TestCacheService cache = new TestCacheService();
+    cache.writeIfAbsent("sqsmessage#1", "processing", Duration.ofMinutes(1));
+    TestRestApiRequestHandler handler = new TestRestApiRequestHandler(services(cache));
+
+    // when
+    SqsBatchResponse response = handle(handler, List.of(record("1", "a")));
+
+    // then
+    assertEquals(1, response.batchItemFailures().size());
+    assertEquals("1", response.batchItemFailures().get(0).itemIdentifier());
+    assertEquals(0, handler.processed.size());
+  }
+
+  /**
+   * Failed message releases its claim so the redelivery is processed.
+   *
+   * @throws IOException IOException
+   */
+  @Test
+  void handleRequest05() throws IOException {
+    // given
+    TestCacheService cache = new TestCacheService();
+    TestRestApiRequestHandler handler = new TestRestApiRequestHandler(services(cache));
+
+    // when
+    SqsBatchResponse response = handle(handler, List.of(record("1", "fail")));
+
+    // then
+    assertEquals(1, response.batchItemFailures().size());
+    assertNull(cache.read("sqsmessage#1"));
+
+    // when
+    response = handle(handler, List.of(record("1", "a")));
+
+    // then
+    assertEquals(0, response.batchItemFailures().size());
+    assertEquals(List.of("a"), List.copyOf(handler.processed));
+    assertEquals("processed", cache.read("sqsmessage#1"));
+  }
+}
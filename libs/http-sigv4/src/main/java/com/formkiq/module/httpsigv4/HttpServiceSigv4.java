@@ -42,10 +42,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 import com.formkiq.module.http.HttpHeaders;
 import com.formkiq.module.http.HttpService;
+import com.formkiq.module.http.HttpServiceJdk11;
+import com.formkiq.module.http.SharedHttpClient;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
@@ -112,7 +116,7 @@ public final class HttpServiceSigv4 implements HttpService {
    */
   public HttpServiceSigv4(final Region region, final AwsCredentials awsCredentials,
       final String serviceName) {
-    this(HttpClient.newHttpClient(), region, awsCredentials, serviceName);
+    this(SharedHttpClient.get(), region, awsCredentials, serviceName);
   }
 
   /**
@@ -184,32 +188,14 @@ public final class HttpServiceSigv4 implements HttpService {
    * @throws IOException IOException
    */
   private HttpResponse<String> execute(final SdkHttpFullRequest request) throws IOException {
-
-    Builder builder = HttpRequest.newBuilder().uri(request.getUri()).timeout(Duration.ofMinutes(1));
-
-    Map<String, List<String>> headers = request.headers();
-    for (Map.Entry<String, List<String>> e : headers.entrySet()) {
-
-      if (!NOT_ALLOWED_HEADERS.contains(e.getKey().toLowerCase())) {
-        String value = String.join(",", e.getValue());
-        builder = builder.setHeader(e.getKey(), value);
-      }
-    }
-
-    if (request.contentStreamProvider().isPresent()) {
-      try (InputStream is = request.contentStreamProvider().get().newStream()) {
-        byte[] data = IoUtils.toByteArray(is);
-        builder.method(request.method().name(), BodyPublishers.ofByteArray(data));
-        builder.header("x-amz-content-sha256", sha256Hex(data));
-      }
-    } else {
-      builder.method(request.method().name(), BodyPublishers.noBody());
-    }
-
+    HttpRequest httpRequest = toHttpRequest(request);
+    long start = System.nanoTime();
     try {
-      return this.client.send(builder.build(), BodyHandlers.ofString());
+      return this.client.send(httpRequest, BodyHandlers.ofString());
     } catch (InterruptedException e) {
       throw new IOException(e);
+    } finally {
+      Metrics.record(HttpServiceJdk11.toMetricName(httpRequest), System.nanoTime() - start);
     }
   }
 
@@ -279,6 +265,22 @@ public final class HttpServiceSigv4 implements HttpService {
     return execute(req);
   }
 
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(final String method, final String url,
+      final Optional<HttpHeaders> headers, final Optional<Map<String, String>> parameters,
+      final String payload, final HttpResponse.BodyHandler<T> bodyHandler) {
+    try {
+      SdkHttpFullRequest.Builder request = buildRequest(url, SdkHttpMethod.fromValue(method),
+          headers, parameters, Optional.ofNullable(payload));
+      HttpRequest httpRequest = toHttpRequest(sign(request));
+      long start = System.nanoTime();
+      return this.client.sendAsync(httpRequest, bodyHandler).whenComplete((r, e) -> Metrics
+          .record(HttpServiceJdk11.toMetricName(httpRequest), System.nanoTime() - start));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   /**
    * AWS Signature Version 4 signing.
    *
@@ -290,6 +292,39 @@ public final class HttpServiceSigv4 implements HttpService {
         .apply(request);
   }
 
+  /**
+   * Convert signed {@link SdkHttpFullRequest} to {@link HttpRequest}.
+   *
+   * @param request {@link SdkHttpFullRequest}
+   * @return {@link HttpRequest}
+   * @throws IOException IOException
+   */
+  private HttpRequest toHttpRequest(final SdkHttpFullRequest request) throws IOException {
+
+    Builder builder = HttpRequest.newBuilder().uri(request.getUri()).timeout(Duration.ofMinutes(1));
+
+    Map<String, List<String>> headers = request.headers();
+    for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+
+      if (!NOT_ALLOWED_HEADERS.contains(e.getKey().toLowerCase())) {
+        String value = String.join(",", e.getValue());
+        builder = builder.setHeader(e.getKey(), value);
+      }
+    }
+
+    if (request.contentStreamProvider().isPresent()) {
+      try (InputStream is = request.contentStreamProvider().get().newStream()) {
+        byte[] data = IoUtils.toByteArray(is);
+        builder.method(request.method().name(), BodyPublishers.ofByteArray(data));
+        builder.header("x-amz-content-sha256", sha256Hex(data));
+      }
+    } else {
+      builder.method(request.method().name(), BodyPublishers.noBody());
+    }
+
+    return builder.build();
+  }
+
   /**
    * Convert {@link String} to {@link URI}.
    *
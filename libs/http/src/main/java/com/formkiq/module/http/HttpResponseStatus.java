@@ -50,6 +50,8 @@ public class HttpResponseStatus {
   public static final int STATUS_502 = 502;
   /** 429 Response Code. */
   public static final int STATUS_503 = 503;
+  /** 504 Response Code. */
+  public static final int STATUS_504 = 504;
   /** 429 Response Code. */
   public static final int STATUS_509 = 509;
 
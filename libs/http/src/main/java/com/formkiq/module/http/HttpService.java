@@ -29,6 +29,7 @@ import java.net.http.HttpResponse;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 
@@ -150,4 +151,21 @@ public interface HttpService {
    */
   HttpResponse<String> put(String url, Optional<HttpHeaders> headers,
       Optional<Map<String, String>> parameters, String payload) throws IOException;
+
+  /**
+   * Send an HTTP Request without blocking the calling thread.
+   *
+   * @param <T> Type of response body
+   * @param method HTTP method
+   * @param url {@link String}
+   * @param headers {@link HttpHeaders}
+   * @param parameters {@link Optional} {@link Map}
+   * @param payload {@link String} or null for no body
+   * @param bodyHandler {@link HttpResponse.BodyHandler}, streaming handlers such as
+   *        {@link HttpResponse.BodyHandlers#ofInputStream()} avoid buffering the response
+   * @return {@link CompletableFuture} {@link HttpResponse}
+   */
+  <T> CompletableFuture<HttpResponse<T>> sendAsync(String method, String url,
+      Optional<HttpHeaders> headers, Optional<Map<String, String>> parameters, String payload,
+      HttpResponse.BodyHandler<T> bodyHandler);
 }
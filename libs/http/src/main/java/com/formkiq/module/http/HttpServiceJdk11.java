@@ -23,6 +23,8 @@
  */
 package com.formkiq.module.http;
 
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -39,6 +41,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
@@ -53,11 +56,10 @@ public class HttpServiceJdk11 implements HttpService {
   private final HttpClient client;
 
   /**
-   * constructor.
+   * constructor using the {@link SharedHttpClient}.
    */
   public HttpServiceJdk11() {
-    final int timeout = 10;
-    this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(timeout)).build();
+    this.client = SharedHttpClient.get();
   }
 
   /**
@@ -114,11 +116,7 @@ public class HttpServiceJdk11 implements HttpService {
   public HttpResponse<String> delete(final String url, final Optional<HttpHeaders> headers,
       final Optional<Map<String, String>> parameters) throws IOException {
     HttpRequest request = build(url, headers, parameters).DELETE().build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
   private String encode(final String s) {
@@ -129,11 +127,7 @@ public class HttpServiceJdk11 implements HttpService {
   public HttpResponse<String> get(final String url, final Optional<HttpHeaders> headers,
       final Optional<Map<String, String>> parameters) throws IOException {
     HttpRequest request = build(url, headers, parameters).GET().build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
   @Override
@@ -143,11 +137,7 @@ public class HttpServiceJdk11 implements HttpService {
     BodyPublisher body =
         payload != null ? BodyPublishers.ofString(payload) : HttpRequest.BodyPublishers.noBody();
     HttpRequest request = build(url, headers, parameters).method("GET", body).build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
   @Override
@@ -155,11 +145,7 @@ public class HttpServiceJdk11 implements HttpService {
       final Optional<HttpHeaders> headers, final Optional<Map<String, String>> parameters)
       throws IOException {
     HttpRequest request = build(url, headers, parameters).GET().build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofInputStream());
   }
 
   @Override
@@ -167,11 +153,7 @@ public class HttpServiceJdk11 implements HttpService {
       final Optional<Map<String, String>> parameters) throws IOException {
     HttpRequest request =
         build(url, headers, parameters).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
   @Override
@@ -183,11 +165,7 @@ public class HttpServiceJdk11 implements HttpService {
 
     HttpRequest request = build(url, headers, parameters).method("PATCH", body).build();
 
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
 
@@ -198,11 +176,7 @@ public class HttpServiceJdk11 implements HttpService {
     BodyPublisher body =
         payload != null ? BodyPublishers.ofString(payload) : HttpRequest.BodyPublishers.noBody();
     HttpRequest request = build(url, headers, parameters).POST(body).build();
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
 
@@ -213,11 +187,7 @@ public class HttpServiceJdk11 implements HttpService {
     HttpRequest request =
         build(url, headers, parameters).PUT(HttpRequest.BodyPublishers.ofFile(payload)).build();
 
-    try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
-    } catch (InterruptedException e) {
-      throw new IOException(e);
-    }
+    return send(request, HttpResponse.BodyHandlers.ofString());
   }
 
 
@@ -230,13 +200,49 @@ public class HttpServiceJdk11 implements HttpService {
 
     HttpRequest request = build(url, headers, parameters).PUT(body).build();
 
+    return send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+
+  private <T> HttpResponse<T> send(final HttpRequest request,
+      final HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+    long start = System.nanoTime();
     try {
-      return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+      return this.client.send(request, bodyHandler);
     } catch (InterruptedException e) {
       throw new IOException(e);
+    } finally {
+      Metrics.record(toMetricName(request), System.nanoTime() - start);
     }
   }
 
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(final String method, final String url,
+      final Optional<HttpHeaders> headers, final Optional<Map<String, String>> parameters,
+      final String payload, final HttpResponse.BodyHandler<T> bodyHandler) {
+
+    BodyPublisher body =
+        payload != null ? BodyPublishers.ofString(payload) : HttpRequest.BodyPublishers.noBody();
+
+    try {
+      HttpRequest request = build(url, headers, parameters).method(method, body).build();
+      long start = System.nanoTime();
+      return this.client.sendAsync(request, bodyHandler).whenComplete(
+          (r, e) -> Metrics.record(toMetricName(request), System.nanoTime() - start));
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Metric name of a {@link HttpRequest}, "http.METHOD host".
+   *
+   * @param request {@link HttpRequest}
+   * @return {@link String}
+   */
+  public static String toMetricName(final HttpRequest request) {
+    return "http." + request.method() + " " + request.uri().getHost();
+  }
 
   /**
    * Convert {@link String} to {@link URI}.
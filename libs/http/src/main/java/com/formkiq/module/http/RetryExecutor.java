@@ -23,17 +23,66 @@
  */
 package com.formkiq.module.http;
 
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A utility class for executing operations with retry logic and exponential backoff.
+ *
+ * <p>
+ * Retries are scheduled with {@link CompletableFuture#delayedExecutor}, so no thread is held while
+ * waiting for a retry. The delay is a random delay between a minimum delay and an exponentially
+ * growing ceiling, so clients retrying at the same time spread out.
+ * </p>
  */
 public class RetryExecutor {
 
-  /** Default initial delay for backoff in seconds. */
-  private static final long INITIAL_DELAY_SECONDS = 1L;
+  /** Base delay for backoff in milliseconds. */
+  private static final long BASE_DELAY_MILLIS = 200L;
+  /** Minimum delay for backoff in milliseconds. */
+  private static final long MIN_DELAY_MILLIS = 50L;
+  /** Maximum delay for backoff in milliseconds. */
+  private static final long MAX_DELAY_MILLIS = 20_000L;
+  /** Maximum backoff doublings, keeps the shift from overflowing. */
+  private static final int MAX_DOUBLINGS = 16;
+  /** {@link Executor} retried operations are started on. */
+  private static final Executor RETRY_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Backoff delay before a retry.
+   *
+   * @param attempt number of failed attempts so far, starting at 0
+   * @return long delay in milliseconds
+   */
+  static long backoff(final int attempt) {
+    long ceiling =
+        Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt, MAX_DOUBLINGS));
+    return MIN_DELAY_MILLIS + ThreadLocalRandom.current().nextLong(ceiling - MIN_DELAY_MILLIS + 1);
+  }
+
+  /**
+   * Is {@link HttpResponse} status code one that should be retried.
+   *
+   * @param response {@link HttpResponse}
+   * @return boolean
+   */
+  public static boolean isRetryStatus(final HttpResponse<?> response) {
+    return switch (response.statusCode()) {
+      case HttpResponseStatus.STATUS_429, HttpResponseStatus.STATUS_502,
+          HttpResponseStatus.STATUS_503, HttpResponseStatus.STATUS_504,
+          HttpResponseStatus.STATUS_509 -> true;
+      default -> false;
+    };
+  }
 
   /**
    * Executes the given operation with retry logic and exponential backoff.
@@ -48,33 +97,164 @@ public class RetryExecutor {
    */
   public static <R> R executeWithRetry(final Function<Void, R> operation, final int retries,
       final Predicate<Exception> retryExceptionCondition) {
-    int attempt = 0;
-    long waitTime = INITIAL_DELAY_SECONDS;
 
-    while (true) {
+    Supplier<CompletableFuture<R>> attempt = () -> {
       try {
-        return operation.apply(null);
+        return CompletableFuture.completedFuture(operation.apply(null));
       } catch (Exception e) {
+        return retryExceptionCondition.test(e) ? CompletableFuture.failedFuture(e)
+            : CompletableFuture.completedFuture(null);
+      }
+    };
 
-        if (retryExceptionCondition.test(e)) {
-          attempt++;
-          if (attempt > retries) {
-            throw new RuntimeException(String.format("Operation failed after %d retries", retries),
-                e);
-          }
+    try {
+      return executeWithRetryAsync(attempt, retries, e -> true).join();
+    } catch (CompletionException e) {
+      throw toUnchecked(e.getCause());
+    }
+  }
+
+  /**
+   * Executes the given asynchronous operation with retry logic and exponential backoff, without
+   * blocking a thread between attempts.
+   *
+   * @param <R> the return type of the operation
+   * @param operation starts one attempt of the operation
+   * @param retries the maximum number of retries before failing
+   * @param retryCondition a predicate that determines whether the failure should be retried
+   * @return {@link CompletableFuture} completing with the result of the successful operation,
+   *         the non retryable failure or a {@link RuntimeException} if the operation fails after
+   *         all retries
+   */
+  public static <R> CompletableFuture<R> executeWithRetryAsync(
+      final Supplier<CompletableFuture<R>> operation, final int retries,
+      final Predicate<Throwable> retryCondition) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    attempt(operation, retries, retryCondition, 0, result);
+    return result;
+  }
+
+  /**
+   * Sends HTTP requests with retry logic and exponential backoff, without blocking a thread between
+   * attempts. Requests failing with an {@link IOException} or returning a
+   * {@link #isRetryStatus(HttpResponse)} status code are retried, once the retries are used up the
+   * last response or request failure is returned.
+   *
+   * @param <T> Type of response body
+   * @param request starts one attempt of the request, ie: {@link HttpService#sendAsync}
+   * @param retries the maximum number of retries
+   * @return {@link CompletableFuture} {@link HttpResponse}
+   */
+  public static <T> CompletableFuture<HttpResponse<T>> sendWithRetryAsync(
+      final Supplier<CompletableFuture<HttpResponse<T>>> request, final int retries) {
+
+    Supplier<CompletableFuture<HttpResponse<T>>> operation = () -> request.get()
+        .thenCompose(r -> isRetryStatus(r) ? CompletableFuture.failedFuture(new RetryResponse(r))
+            : CompletableFuture.completedFuture(r));
+
+    return executeWithRetryAsync(operation, retries,
+        RetryExecutor::isRetryHttpFailure).exceptionallyCompose(e -> {
+          Throwable cause = unwrap(e);
 
-          try {
-            TimeUnit.SECONDS.sleep(waitTime);
-          } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Retry interrupted", ie);
+          // retries used up, return the last response or the request failure
+          if (!isRetryHttpFailure(cause) && isRetryHttpFailure(cause.getCause())) {
+            cause = cause.getCause();
           }
 
-          waitTime *= 2;
+          @SuppressWarnings("unchecked")
+          CompletableFuture<HttpResponse<T>> last = cause instanceof RetryResponse r
+              ? CompletableFuture.completedFuture((HttpResponse<T>) r.response)
+              : CompletableFuture.failedFuture(cause);
+          return last;
+        });
+  }
+
+  private static boolean isRetryHttpFailure(final Throwable e) {
+    return e instanceof IOException || e instanceof RetryResponse;
+  }
+
+  /**
+   * Waits for the {@link CompletableFuture} result, rethrowing the failure it completed with.
+   *
+   * @param <R> Type of result
+   * @param future {@link CompletableFuture}
+   * @return R
+   * @throws IOException IOException
+   */
+  public static <R> R join(final CompletableFuture<R> future) throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = unwrap(e);
+      if (cause instanceof IOException io) {
+        throw io;
+      }
+      throw toUnchecked(cause);
+    }
+  }
+
+  private static RuntimeException toUnchecked(final Throwable e) {
+    if (e instanceof RuntimeException re) {
+      return re;
+    }
+
+    if (e instanceof Error error) {
+      throw error;
+    }
+
+    return new CompletionException(e);
+  }
+
+  private static Throwable unwrap(final Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause()
+        : error;
+  }
+
+  private static <R> void attempt(final Supplier<CompletableFuture<R>> operation,
+      final int retries, final Predicate<Throwable> retryCondition, final int attempt,
+      final CompletableFuture<R> result) {
+
+    CompletableFuture<R> future;
+    try {
+      future = operation.get();
+    } catch (Throwable e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+
+    future.whenComplete((value, error) -> {
+      try {
+        Throwable cause = unwrap(error);
+
+        if (cause == null) {
+          result.complete(value);
+        } else if (!retryCondition.test(cause)) {
+          result.completeExceptionally(cause);
+        } else if (attempt >= retries) {
+          result.completeExceptionally(new RuntimeException(
+              String.format("Operation failed after %d retries", retries), cause));
         } else {
-          return null;
+          CompletableFuture
+              .delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS, RETRY_EXECUTOR)
+              .execute(() -> attempt(operation, retries, retryCondition, attempt + 1, result));
         }
+      } catch (Throwable e) {
+        // ie: the retry condition failed, never leave the result incomplete
+        result.completeExceptionally(e);
       }
+    });
+  }
+
+  /** Retryable {@link HttpResponse}, carried as a failure between attempts. */
+  private static final class RetryResponse extends RuntimeException {
+
+    /** serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+    /** {@link HttpResponse}. */
+    private final transient HttpResponse<?> response;
+
+    RetryResponse(final HttpResponse<?> httpResponse) {
+      super("retryable status " + httpResponse.statusCode(), null, false, false);
+      this.response = httpResponse;
     }
   }
 }
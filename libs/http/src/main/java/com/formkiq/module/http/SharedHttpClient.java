@@ -0,0 +1,59 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.http;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * 
+ * Shared {@link HttpClient}, {@link HttpClient} keeps a connection pool per host, so sharing one
+ * instance lets every {@link HttpService} reuse open connections.
+ *
+ */
+public final class SharedHttpClient {
+
+  /** Connect Timeout in seconds. */
+  private static final int CONNECT_TIMEOUT = 10;
+
+  /** Lazy holder for the shared {@link HttpClient}. */
+  private static final class Holder {
+    /** Shared {@link HttpClient}, response handling runs on virtual threads. */
+    private static final HttpClient CLIENT =
+        HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT))
+            .executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+  }
+
+  /**
+   * Get shared {@link HttpClient}.
+   * 
+   * @return {@link HttpClient}
+   */
+  public static HttpClient get() {
+    return Holder.CLIENT;
+  }
+
+  private SharedHttpClient() {}
+}
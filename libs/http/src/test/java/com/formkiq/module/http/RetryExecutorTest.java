@@ -0,0 +1,276 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLSession;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link RetryExecutor}.
+ */
+public class RetryExecutorTest {
+
+  /** Test timeout in seconds. */
+  private static final long TIMEOUT = 10;
+
+  /**
+   * Test {@link HttpResponse}.
+   *
+   * @param statusCode int
+   */
+  private record TestResponse(int statusCode) implements HttpResponse<String> {
+
+    @Override
+    public String body() {
+      return "";
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return HttpHeaders.of(Map.of(), (k, v) -> true);
+    }
+
+    @Override
+    public Optional<HttpResponse<String>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public HttpRequest request() {
+      return HttpRequest.newBuilder(uri()).build();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+      return URI.create("http://localhost");
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return HttpClient.Version.HTTP_1_1;
+    }
+  }
+
+  /**
+   * Backoff delay is never below the minimum delay.
+   */
+  @Test
+  void testBackoff01() {
+    final long minDelay = 50;
+    final long maxDelay = 20_000;
+
+    for (int attempt = 0; attempt < 100; attempt++) {
+      for (int i = 0; i < 100; i++) {
+        long delay = RetryExecutor.backoff(attempt);
+        assertTrue(delay >= minDelay, "delay " + delay);
+        assertTrue(delay <= maxDelay, "delay " + delay);
+      }
+    }
+  }
+
+  /**
+   * Failed attempts are retried until the operation succeeds.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testExecuteWithRetryAsync01() throws Exception {
+    // given
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    CompletableFuture<String> future = RetryExecutor.executeWithRetryAsync(
+        () -> attempts.incrementAndGet() < 3 ? CompletableFuture.failedFuture(new IOException())
+            : CompletableFuture.completedFuture("ok"),
+        3, e -> e instanceof IOException);
+
+    // then
+    assertEquals("ok", future.get(TIMEOUT, TimeUnit.SECONDS));
+    assertEquals(3, attempts.get());
+  }
+
+  /**
+   * Retries stop once they are used up.
+   */
+  @Test
+  void testExecuteWithRetryAsync02() {
+    // given
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    CompletableFuture<String> future = RetryExecutor.executeWithRetryAsync(() -> {
+      attempts.incrementAndGet();
+      return CompletableFuture.failedFuture(new IOException("failed"));
+    }, 2, e -> true);
+
+    // then
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(TIMEOUT, TimeUnit.SECONDS));
+    assertEquals("Operation failed after 2 retries", e.getCause().getMessage());
+    assertInstanceOf(IOException.class, e.getCause().getCause());
+    assertEquals(2 + 1, attempts.get());
+  }
+
+  /**
+   * An {@link Error} thrown by the operation or the retry condition completes the future.
+   */
+  @Test
+  void testExecuteWithRetryAsync03() {
+    // given
+    CompletableFuture<String> thrown = RetryExecutor.executeWithRetryAsync(() -> {
+      throw new AssertionError("operation");
+    }, 2, e -> false);
+
+    CompletableFuture<String> condition = RetryExecutor.executeWithRetryAsync(
+        () -> CompletableFuture.failedFuture(new IOException()), 2, e -> {
+          throw new AssertionError("condition");
+        });
+
+    // when
+    ExecutionException e0 =
+        assertThrows(ExecutionException.class, () -> thrown.get(TIMEOUT, TimeUnit.SECONDS));
+    ExecutionException e1 =
+        assertThrows(ExecutionException.class, () -> condition.get(TIMEOUT, TimeUnit.SECONDS));
+
+    // then
+    assertEquals("operation", e0.getCause().getMessage());
+    assertEquals("condition", e1.getCause().getMessage());
+  }
+
+  /**
+   * Execute With Retry returns null for non retryable exceptions.
+   */
+  @Test
+  void testExecuteWithRetry01() {
+    // given
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    String result = RetryExecutor.executeWithRetry(v -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException();
+    }, 2, e -> false);
+
+    // then
+    assertNull(result);
+    assertEquals(1, attempts.get());
+  }
+
+  /**
+   * Send With Retry retries retryable status codes.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testSendWithRetryAsync01() throws Exception {
+    // given
+    final int ok = 200;
+    final int unavailable = 503;
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    HttpResponse<String> response = RetryExecutor.join(RetryExecutor.sendWithRetryAsync(
+        () -> CompletableFuture.completedFuture(
+            new TestResponse(attempts.incrementAndGet() < 2 ? unavailable : ok)),
+        2));
+
+    // then
+    assertEquals(ok, response.statusCode());
+    assertEquals(2, attempts.get());
+  }
+
+  /**
+   * Send With Retry returns the last response once the retries are used up.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testSendWithRetryAsync02() throws Exception {
+    // given
+    final int tooManyRequests = 429;
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    HttpResponse<String> response = RetryExecutor.join(RetryExecutor.sendWithRetryAsync(() -> {
+      attempts.incrementAndGet();
+      return CompletableFuture.completedFuture(new TestResponse(tooManyRequests));
+    }, 2));
+
+    // then
+    assertEquals(tooManyRequests, response.statusCode());
+    assertEquals(2 + 1, attempts.get());
+  }
+
+  /**
+   * Send With Retry does not retry other status codes and rethrows request failures.
+   *
+   * @throws Exception Exception
+   */
+  @Test
+  void testSendWithRetryAsync03() throws Exception {
+    // given
+    final int badRequest = 400;
+    AtomicInteger attempts = new AtomicInteger();
+
+    // when
+    HttpResponse<String> response = RetryExecutor.join(RetryExecutor.sendWithRetryAsync(() -> {
+      attempts.incrementAndGet();
+      return CompletableFuture.completedFuture(new TestResponse(badRequest));
+    }, 2));
+
+    IOException e = assertThrows(IOException.class,
+        () -> RetryExecutor.join(RetryExecutor.<String>sendWithRetryAsync(
+            () -> CompletableFuture.failedFuture(new IOException("connect")), 1)));
+
+    // then
+    assertEquals(badRequest, response.statusCode());
+    assertEquals(1, attempts.get());
+    assertEquals("connect", e.getMessage());
+  }
+}
@@ -27,21 +27,31 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.LogType;
 import com.formkiq.module.lambdaservices.logger.Logger;
 import com.formkiq.module.lambdaservices.logger.LoggerImpl;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
 import software.amazon.awssdk.regions.Region;
 
 /**
  * Get Aws Services from Cache.
  *
+ * Services are resolved from their {@link AwsServiceExtension} once and kept in a type keyed table,
+ * re-registering or de-registering a class drops its resolved service.
+ *
  */
 public class AwsServiceCache {
 
+  /** Nanoseconds per millisecond. */
+  private static final long NANOS_PER_MILLI = 1_000_000L;
   /** {@link AwsServiceExtension}. */
-  private final Map<Class<?>, List<AwsServiceExtension<?>>> extensions = new HashMap<>();
+  private final Map<Class<?>, List<AwsServiceExtension<?>>> extensions =
+      new ConcurrentHashMap<>();
+  /** Resolved services. */
+  private final Map<Class<?>, Object> resolved = new ConcurrentHashMap<>();
   /** {@link Logger}. */
   private Logger logger;
   /** Enable X Ray. */
@@ -77,6 +87,7 @@ public class AwsServiceCache {
    */
   public <T> void deregister(final Class<T> clazz) {
     this.extensions.remove(clazz);
+    this.resolved.remove(clazz);
   }
 
   /**
@@ -117,6 +128,7 @@ public class AwsServiceCache {
   public AwsServiceCache environment(final Map<String, String> map) {
     this.environment = new HashMap<>(map);
     this.formKiQType = map.getOrDefault("FormKiQType", "core");
+    this.resolved.clear();
     return this;
   }
 
@@ -152,6 +164,20 @@ public class AwsServiceCache {
     return value;
   }
 
+  /**
+   * Get Environment positive int parameter, a missing, invalid or less than 1 value returns the
+   * default value.
+   *
+   * @param key {@link String}
+   * @param defaultValue int
+   * @return int
+   */
+  public int environmentPositiveInt(final String key, final int defaultValue) {
+    Long value = environmentLong(key, null);
+    return value != null && value > 0 && value <= Integer.MAX_VALUE ? value.intValue()
+        : defaultValue;
+  }
+
   /**
    * Get FormKiQ Type.
    * 
@@ -187,18 +213,13 @@ public class AwsServiceCache {
    */
   public <T> T getExtensionOrNull(final Class<T> clazz) {
 
-    T result = null;
+    Object result = this.resolved.get(clazz);
 
-    if (this.extensions.containsKey(clazz)) {
-      List<AwsServiceExtension<?>> list = this.extensions.get(clazz);
-      if (list.size() == 1) {
-        result = (T) list.get(0).loadService(this);
-      } else {
-        throw new RuntimeException("found " + list.size() + " services");
-      }
+    if (result == null) {
+      result = resolve(clazz);
     }
 
-    return result;
+    return (T) result;
   }
 
   /**
@@ -262,6 +283,36 @@ public class AwsServiceCache {
     return this.region;
   }
 
+  /**
+   * Resolve service from its {@link AwsServiceExtension}. Extensions can look up other services
+   * while loading, so this does not lock; the service is only kept if the registration has not
+   * changed while it was loading.
+   *
+   * @param clazz {@link Class}
+   * @return {@link Object}
+   */
+  private Object resolve(final Class<?> clazz) {
+
+    Object result = null;
+    List<AwsServiceExtension<?>> list = this.extensions.get(clazz);
+
+    if (list != null) {
+
+      if (list.size() != 1) {
+        throw new RuntimeException("found " + list.size() + " services");
+      }
+
+      result = list.get(0).loadService(this);
+
+      if (result != null && this.extensions.get(clazz) == list) {
+        Object existing = this.resolved.putIfAbsent(clazz, result);
+        result = existing != null ? existing : result;
+      }
+    }
+
+    return result;
+  }
+
   /**
    * Set {@link Region}.
    * 
@@ -300,13 +351,14 @@ public class AwsServiceCache {
 
     List<AwsServiceExtension<?>> list;
     if (this.extensions.containsKey(clazz) && !overwrite) {
-      list = this.extensions.get(clazz);
+      list = new ArrayList<>(this.extensions.get(clazz));
     } else {
       list = new ArrayList<>();
     }
 
     list.add(extension);
     this.extensions.put(clazz, list);
+    this.resolved.remove(clazz);
   }
 
   /**
@@ -341,4 +393,40 @@ public class AwsServiceCache {
   public AwsServiceCache setLogger(final String logLevel, final String logType) {
     return setLogger(new LoggerImpl(LogLevel.fromString(logLevel), LogType.fromString(logType)));
   }
+
+  /**
+   * Resolves every class registered with a single {@link AwsServiceExtension}, so the cost is paid
+   * during Lambda init (or before a SnapStart snapshot) instead of on the first request. Services
+   * that fail to load are skipped and resolved again on first use.
+   *
+   * @return int number of services resolved
+   */
+  public int warmUp() {
+
+    long start = System.nanoTime();
+    int count = 0;
+
+    for (Map.Entry<Class<?>, List<AwsServiceExtension<?>>> e : this.extensions.entrySet()) {
+      if (e.getValue().size() == 1) {
+        try {
+          if (getExtensionOrNull(e.getKey()) != null) {
+            count++;
+          }
+        } catch (RuntimeException ex) {
+          if (this.logger != null) {
+            this.logger.debug("unable to warm up " + e.getKey().getName() + ": " + ex.getMessage());
+          }
+        }
+      }
+    }
+
+    long nanos = System.nanoTime() - start;
+    Metrics.record("AwsServiceCache.warmUp", nanos);
+
+    if (this.logger != null) {
+      this.logger.info("warmed up " + count + " services in " + nanos / NANOS_PER_MILLI + " ms");
+    }
+
+    return count;
+  }
 }
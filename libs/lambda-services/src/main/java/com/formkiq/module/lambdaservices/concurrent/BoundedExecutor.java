@@ -0,0 +1,139 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs I/O bound tasks on virtual threads, allowing at most a fixed number of them to run at the
+ * same time.
+ */
+public class BoundedExecutor {
+
+  /** Shared virtual thread {@link ExecutorService}. */
+  private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Unwraps the cause of an {@link ExecutionException}.
+   *
+   * @param e {@link ExecutionException}
+   * @return {@link Throwable}
+   */
+  public static Throwable unwrap(final ExecutionException e) {
+    return e.getCause() != null ? e.getCause() : e;
+  }
+
+  /** Maximum number of concurrent tasks. */
+  private final int maxConcurrency;
+  /** {@link Semaphore}. */
+  private final Semaphore permits;
+
+  /**
+   * constructor.
+   *
+   * @param concurrency int
+   */
+  public BoundedExecutor(final int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("'concurrency' must be greater than 0");
+    }
+
+    this.maxConcurrency = concurrency;
+    this.permits = new Semaphore(concurrency);
+  }
+
+  /**
+   * Runs all tasks and waits for every one of them to complete, even when a task fails.
+   *
+   * @param <T> Type of result
+   * @param tasks {@link List} {@link Callable}
+   * @return {@link List} of results in the same order as the tasks
+   * @throws InterruptedException InterruptedException
+   * @throws ExecutionException the first task failure, in task order, once all tasks are done
+   */
+  public <T> List<T> invokeAll(final List<? extends Callable<T>> tasks)
+      throws InterruptedException, ExecutionException {
+
+    List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+    for (Callable<T> task : tasks) {
+      futures.add(submit(task));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .exceptionally(e -> null).get();
+
+    List<T> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<T> future : futures) {
+      results.add(future.get());
+    }
+
+    return results;
+  }
+
+  /**
+   * Get Maximum Concurrency.
+   *
+   * @return int
+   */
+  public int maxConcurrency() {
+    return this.maxConcurrency;
+  }
+
+  /**
+   * Submit task, the task waits for a free permit before it runs.
+   *
+   * @param <T> Type of result
+   * @param task {@link Callable}
+   * @return {@link CompletableFuture}
+   */
+  public <T> CompletableFuture<T> submit(final Callable<T> task) {
+
+    CompletableFuture<T> future = new CompletableFuture<>();
+
+    EXECUTOR.execute(() -> {
+      try {
+        this.permits.acquire();
+        try {
+          future.complete(task.call());
+        } finally {
+          this.permits.release();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.completeExceptionally(e);
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+
+    return future;
+  }
+}
@@ -89,6 +89,17 @@ public interface Logger {
    */
   void log(LogLevel level, String message);
 
+  /**
+   * Log a JSON object as is, whatever the log format, for example a CloudWatch Embedded Metric
+   * Format line.
+   *
+   * @param level {@link LogLevel}
+   * @param json {@link String}
+   */
+  default void logJson(final LogLevel level, final String json) {
+    log(level, json);
+  }
+
   /**
    * Log Exception.
    *
@@ -150,6 +150,13 @@ public class LoggerImpl implements Logger {
     }
   }
 
+  @Override
+  public void logJson(final LogLevel level, final String json) {
+    if (isLogged(level)) {
+      System.out.printf("%s%n", json);
+    }
+  }
+
   public void log(final LogLevel level, final Throwable e) {
     if (isLogged(level)) {
       if (LogType.JSON.equals(this.currentLogType)) {
@@ -0,0 +1,49 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import java.util.Map;
+
+/**
+ * Snapshot of a {@link LatencyHistogram}, values are in nanoseconds.
+ *
+ * @param name {@link String}
+ * @param count number of recorded values
+ * @param sum sum of recorded values
+ * @param max maximum recorded value
+ * @param p50 50th percentile
+ * @param p90 90th percentile
+ * @param p99 99th percentile
+ * @param values {@link Map} of recorded value, rounded to its bucket, to its count
+ */
+public record HistogramSnapshot(String name, long count, long sum, long max, long p50, long p90,
+    long p99, Map<Long, Long> values) {
+
+  /** 50th Percentile. */
+  static final double P50 = 50.0;
+  /** 90th Percentile. */
+  static final double P90 = 90.0;
+  /** 99th Percentile. */
+  static final double P99 = 99.0;
+}
@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free latency histogram with log-linear buckets (HDR style), each power of two range is
+ * split into 32 linear sub buckets, so any recorded value is reported within about 3%.
+ *
+ * <p>
+ * Recording is a few atomic increments, so histograms are cheap enough to leave always on.
+ * </p>
+ */
+public class LatencyHistogram {
+
+  /** Sub bucket bits, 32 sub buckets per power of two. */
+  private static final int SUB_BUCKET_BITS = 5;
+  /** Number of sub buckets per power of two. */
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  /** Largest recordable value in nanoseconds (about 73 minutes), larger values are clamped. */
+  private static final long MAX_VALUE = (1L << 42) - 1;
+  /** Number of buckets. */
+  private static final int BUCKETS = bucketIndex(MAX_VALUE) + 1;
+  /** Percent. */
+  private static final double PERCENT = 100.0;
+
+  /**
+   * Bucket index of a value, values below 64 have their own bucket.
+   *
+   * @param value long
+   * @return int
+   */
+  static int bucketIndex(final long value) {
+    if (value < 2 * SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  /**
+   * Highest value that lands in a bucket.
+   *
+   * @param index int
+   * @return long
+   */
+  static long bucketHighestValue(final int index) {
+    if (index < 2 * SUB_BUCKETS) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKETS - 1;
+    long top = index % SUB_BUCKETS + SUB_BUCKETS;
+    return ((top + 1) << shift) - 1;
+  }
+
+  /** Bucket counts. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  /** Total count. */
+  private final AtomicLong count = new AtomicLong();
+  /** Sum of recorded values. */
+  private final AtomicLong sum = new AtomicLong();
+  /** Maximum recorded value. */
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * constructor.
+   */
+  public LatencyHistogram() {}
+
+  /**
+   * Record a value.
+   *
+   * @param nanos long
+   */
+  public void record(final long nanos) {
+    long value = Math.min(MAX_VALUE, Math.max(0, nanos));
+    this.counts.incrementAndGet(bucketIndex(value));
+    this.count.incrementAndGet();
+    this.sum.addAndGet(value);
+    this.max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Snapshot of the histogram.
+   *
+   * @param name {@link String}
+   * @param reset reset the histogram after taking the snapshot, so the next snapshot only contains
+   *        values recorded since this one
+   * @return {@link HistogramSnapshot}
+   */
+  public HistogramSnapshot snapshot(final String name, final boolean reset) {
+
+    long[] buckets = new long[BUCKETS];
+    Map<Long, Long> values = new TreeMap<>();
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = reset ? this.counts.getAndSet(i, 0) : this.counts.get(i);
+      total += buckets[i];
+      if (buckets[i] > 0) {
+        values.put(bucketHighestValue(i), buckets[i]);
+      }
+    }
+
+    long totalSum = reset ? this.sum.getAndSet(0) : this.sum.get();
+    long maxValue = reset ? this.max.getAndSet(0) : this.max.get();
+    if (reset) {
+      this.count.set(0);
+    }
+
+    return new HistogramSnapshot(name, total, totalSum, maxValue,
+        valueAtPercentile(buckets, total, HistogramSnapshot.P50),
+        valueAtPercentile(buckets, total, HistogramSnapshot.P90),
+        valueAtPercentile(buckets, total, HistogramSnapshot.P99), values);
+  }
+
+  /**
+   * Get number of recorded values.
+   *
+   * @return long
+   */
+  public long getCount() {
+    return this.count.get();
+  }
+
+  private long valueAtPercentile(final long[] buckets, final long total,
+      final double percentile) {
+
+    long result = 0;
+
+    if (total > 0) {
+      long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * total));
+      long seen = 0;
+
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          result = bucketHighestValue(i);
+          break;
+        }
+      }
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,176 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.logger.LogLevel;
+import com.formkiq.module.lambdaservices.logger.Logger;
+
+/**
+ * In process metrics registry of counters and {@link LatencyHistogram} timers, shared by every
+ * service in the process.
+ *
+ * <p>
+ * Metrics are enabled unless the METRICS_ENABLED environment variable is "false".
+ * </p>
+ */
+public final class Metrics {
+
+  /** Default CloudWatch namespace of published metrics. */
+  public static final String DEFAULT_NAMESPACE = "FormKiQ";
+
+  /** Counters. */
+  private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+  /** Timers. */
+  private static final Map<String, LatencyHistogram> TIMERS = new ConcurrentHashMap<>();
+  /** Is Metrics enabled. */
+  private static volatile boolean enabled = !"false".equals(System.getenv("METRICS_ENABLED"));
+
+  /**
+   * Increment a counter.
+   *
+   * @param name {@link String}
+   */
+  public static void increment(final String name) {
+    if (enabled) {
+      COUNTERS.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+  }
+
+  /**
+   * Is Metrics enabled.
+   *
+   * @return boolean
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Publish the metrics recorded since the last publish as CloudWatch EMF log lines, when running
+   * in AWS Lambda, using the METRICS_NAMESPACE environment variable as the namespace.
+   *
+   * @param awsServices {@link AwsServiceCache}
+   */
+  public static void publishEmf(final AwsServiceCache awsServices) {
+    String functionName = awsServices.environment("AWS_LAMBDA_FUNCTION_NAME");
+
+    if (functionName != null && !functionName.isEmpty()) {
+      String namespace = awsServices.environment("METRICS_NAMESPACE");
+      publishEmf(awsServices.getLogger(),
+          namespace != null && !namespace.isEmpty() ? namespace : DEFAULT_NAMESPACE);
+    }
+  }
+
+  /**
+   * Write the metrics recorded since the last publish to the {@link Logger} as CloudWatch EMF log
+   * lines, where CloudWatch Logs extracts them as metrics, and reset them.
+   *
+   * @param logger {@link Logger}
+   * @param namespace CloudWatch namespace
+   */
+  public static void publishEmf(final Logger logger, final String namespace) {
+    if (enabled) {
+      MetricsSnapshot snapshot = snapshot(true);
+      for (String line : MetricsFormatter.toEmf(namespace, snapshot, System.currentTimeMillis())) {
+        logger.logJson(LogLevel.INFO, line);
+      }
+    }
+  }
+
+  /**
+   * Record a timing.
+   *
+   * @param name {@link String}
+   * @param nanos elapsed time in nanoseconds
+   */
+  public static void record(final String name, final long nanos) {
+    if (enabled) {
+      TIMERS.computeIfAbsent(name, n -> new LatencyHistogram()).record(nanos);
+    }
+  }
+
+  /**
+   * Enable / Disable Metrics.
+   *
+   * @param isEnabled boolean
+   */
+  public static void setEnabled(final boolean isEnabled) {
+    enabled = isEnabled;
+  }
+
+  /**
+   * Snapshot of all metrics, timers and counters with no values are skipped.
+   *
+   * @param reset reset metrics after taking the snapshot
+   * @return {@link MetricsSnapshot}
+   */
+  public static MetricsSnapshot snapshot(final boolean reset) {
+
+    List<HistogramSnapshot> timers = new ArrayList<>();
+    for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(TIMERS).entrySet()) {
+      HistogramSnapshot s = e.getValue().snapshot(e.getKey(), reset);
+      if (s.count() > 0) {
+        timers.add(s);
+      }
+    }
+
+    Map<String, Long> counters = new TreeMap<>();
+    for (Map.Entry<String, LongAdder> e : COUNTERS.entrySet()) {
+      long value = reset ? e.getValue().sumThenReset() : e.getValue().sum();
+      if (value > 0) {
+        counters.put(e.getKey(), value);
+      }
+    }
+
+    return new MetricsSnapshot(timers, counters);
+  }
+
+  /**
+   * Time a task, recording the elapsed time even if the task throws.
+   *
+   * @param <T> Type of result
+   * @param name {@link String}
+   * @param task {@link Supplier}
+   * @return T
+   */
+  public static <T> T time(final String name, final Supplier<T> task) {
+    long start = System.nanoTime();
+    try {
+      return task.get();
+    } finally {
+      record(name, System.nanoTime() - start);
+    }
+  }
+
+  private Metrics() {}
+}
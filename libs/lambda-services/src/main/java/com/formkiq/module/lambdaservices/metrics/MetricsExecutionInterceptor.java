@@ -0,0 +1,81 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * AWS SDK {@link ExecutionInterceptor} that records the latency of every call as
+ * "service.Operation" (for example "DynamoDB.Query") and counts failures as
+ * "service.Operation.errors".
+ */
+public class MetricsExecutionInterceptor implements ExecutionInterceptor {
+
+  /** Start time attribute. */
+  private static final ExecutionAttribute<Long> START_TIME =
+      new ExecutionAttribute<>("FormKiQMetricsStartTime");
+
+  /**
+   * constructor.
+   */
+  public MetricsExecutionInterceptor() {}
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    record(executionAttributes, false);
+  }
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    if (Metrics.isEnabled()) {
+      executionAttributes.putAttribute(START_TIME, System.nanoTime());
+    }
+  }
+
+  @Override
+  public void onExecutionFailure(final Context.FailedExecution context,
+      final ExecutionAttributes executionAttributes) {
+    record(executionAttributes, true);
+  }
+
+  private void record(final ExecutionAttributes executionAttributes, final boolean failed) {
+    Long start = executionAttributes.getAttribute(START_TIME);
+
+    if (start != null) {
+      String name = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME) + "."
+          + executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+      Metrics.record(name, System.nanoTime() - start);
+
+      if (failed) {
+        Metrics.increment(name + ".errors");
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats a {@link MetricsSnapshot} as CloudWatch Embedded Metric Format (EMF) log lines or as
+ * Prometheus text exposition format.
+ *
+ * <p>
+ * EMF lines carry the raw latency values and counts rather than percentiles, so CloudWatch
+ * computes percentiles across every invocation.
+ * </p>
+ */
+public final class MetricsFormatter {
+
+  /** Nanoseconds per millisecond. */
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  /** Nanoseconds per second. */
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  /** Maximum number of values of an EMF metric. */
+  static final int MAX_EMF_VALUES = 100;
+
+  private static String escape(final String s) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private static String emfHeader(final String namespace, final long timestamp,
+      final String dimension, final String metric, final String unit) {
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"_aws\":{\"Timestamp\":").append(timestamp)
+        .append(",\"CloudWatchMetrics\":[{\"Namespace\":\"").append(escape(namespace))
+        .append("\",\"Dimensions\":[[\"").append(dimension).append("\"]],\"Metrics\":[")
+        .append("{\"Name\":\"").append(metric).append("\",\"Unit\":\"").append(unit)
+        .append("\"}]}]}");
+
+    return sb.toString();
+  }
+
+  private static String millis(final double nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+  }
+
+  private static String seconds(final double nanos) {
+    return String.format(Locale.ROOT, "%.9f", nanos / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Format as CloudWatch EMF. Each timer is written as "Latency" value arrays of at most
+   * {@link #MAX_EMF_VALUES} values (dimension "Operation") and each counter as a "Count" (dimension
+   * "Counter").
+   *
+   * @param namespace CloudWatch namespace
+   * @param snapshot {@link MetricsSnapshot}
+   * @param timestamp epoch milliseconds
+   * @return {@link List} {@link String}
+   */
+  public static List<String> toEmf(final String namespace, final MetricsSnapshot snapshot,
+      final long timestamp) {
+
+    List<String> lines = new ArrayList<>();
+
+    String timerHeader = emfHeader(namespace, timestamp, "Operation", "Latency", "Milliseconds");
+    for (HistogramSnapshot t : snapshot.timers()) {
+
+      String prefix = timerHeader + ",\"Operation\":\"" + escape(t.name()) + "\",\"Latency\":[";
+      List<String> values = new ArrayList<>();
+
+      for (Map.Entry<Long, Long> e : t.values().entrySet()) {
+        String value = millis(e.getKey());
+
+        for (long i = 0; i < e.getValue(); i++) {
+          values.add(value);
+
+          if (values.size() == MAX_EMF_VALUES) {
+            lines.add(prefix + String.join(",", values) + "]}");
+            values.clear();
+          }
+        }
+      }
+
+      if (!values.isEmpty()) {
+        lines.add(prefix + String.join(",", values) + "]}");
+      }
+    }
+
+    String counterHeader = emfHeader(namespace, timestamp, "Counter", "Count", "Count");
+    for (Map.Entry<String, Long> e : snapshot.counters().entrySet()) {
+      lines.add(counterHeader + ",\"Counter\":\"" + escape(e.getKey()) + "\",\"Count\":"
+          + e.getValue() + "}");
+    }
+
+    return lines;
+  }
+
+  /**
+   * Format as Prometheus text exposition format, timers are summaries in seconds.
+   *
+   * @param snapshot {@link MetricsSnapshot}
+   * @return {@link String}
+   */
+  public static String toPrometheus(final MetricsSnapshot snapshot) {
+
+    final String latency = "formkiq_operation_latency_seconds";
+    StringBuilder sb = new StringBuilder();
+
+    sb.append("# TYPE ").append(latency).append(" summary\n");
+    for (HistogramSnapshot t : snapshot.timers()) {
+      String label = "operation=\"" + escape(t.name()) + "\"";
+      sb.append(latency).append('{').append(label).append(",quantile=\"0.5\"} ")
+          .append(seconds(t.p50())).append('\n');
+      sb.append(latency).append('{').append(label).append(",quantile=\"0.9\"} ")
+          .append(seconds(t.p90())).append('\n');
+      sb.append(latency).append('{').append(label).append(",quantile=\"0.99\"} ")
+          .append(seconds(t.p99())).append('\n');
+      sb.append(latency).append("_sum{").append(label).append("} ").append(seconds(t.sum()))
+          .append('\n');
+      sb.append(latency).append("_count{").append(label).append("} ").append(t.count())
+          .append('\n');
+    }
+
+    sb.append("# TYPE formkiq_counter_total counter\n");
+    for (Map.Entry<String, Long> e : snapshot.counters().entrySet()) {
+      sb.append("formkiq_counter_total{name=\"").append(escape(e.getKey())).append("\"} ")
+          .append(e.getValue()).append('\n');
+    }
+
+    return sb.toString();
+  }
+
+  private MetricsFormatter() {}
+}
@@ -25,9 +25,12 @@ package com.formkiq.module.lambdaservices.timer;
 
 import com.formkiq.module.lambdaservices.logger.LogLevel;
 import com.formkiq.module.lambdaservices.logger.Logger;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
 
 /**
- * Method Timer.
+ * Method Timer, every stopped timer is recorded in {@link Metrics} under the timer name.
  */
 public class MethodTimer {
 
@@ -42,16 +45,17 @@ public class MethodTimer {
   }
 
   /**
-   * Measures and prints the execution time of the provided code block.
+   * Runs the provided code block, recording its execution time and logging it at TRACE level.
    *
    * @param logger {@link Logger}
    * @param timerName {@link String}
    * @param task The code to run encapsulated as a Runnable.
    */
   public static void timer(final Logger logger, final String timerName, final Runnable task) {
-    if (logger.isLogged(LogLevel.TRACE)) {
-      MethodTimer methodTimer = startTimer(timerName);
+    MethodTimer methodTimer = startTimer(timerName);
+    try {
       task.run();
+    } finally {
       methodTimer.stop();
       methodTimer.logElapsedTime(logger);
     }
@@ -60,10 +64,10 @@ public class MethodTimer {
   /** Timer Name. */
   private String timerName;
 
-  /** Start of Timer. */
+  /** Start of Timer in nanoseconds. */
   private long startTime = -1;
 
-  /** End of Timer. */
+  /** End of Timer in nanoseconds. */
   private long endTime = -1;
 
   /**
@@ -72,12 +76,22 @@ public class MethodTimer {
   public MethodTimer() {}
 
   /**
-   * Returns the elapsed time in nanoseconds.
+   * Returns the elapsed time in milliseconds.
    * 
-   * @return elapsed time in nanoseconds.
+   * @return elapsed time in milliseconds.
    * @throws IllegalStateException if the timer is still running.
    */
   public long getElapsedTime() {
+    return TimeUnit.NANOSECONDS.toMillis(getElapsedTimeNanos());
+  }
+
+  /**
+   * Returns the elapsed time in nanoseconds.
+   *
+   * @return elapsed time in nanoseconds.
+   * @throws IllegalStateException if the timer is still running.
+   */
+  public long getElapsedTimeNanos() {
     if (endTime < 0) {
       throw new IllegalStateException(
           "Timer is still running. Stop it before getting the elapsed time.");
@@ -105,7 +119,7 @@ public class MethodTimer {
    */
   public MethodTimer start(final String name) {
     this.timerName = name;
-    this.startTime = System.currentTimeMillis();
+    this.startTime = System.nanoTime();
     return this;
   }
 
@@ -118,7 +132,8 @@ public class MethodTimer {
     if (startTime < 0) {
       throw new IllegalStateException("Timer has not been started.");
     }
-    endTime = System.currentTimeMillis();
+    endTime = System.nanoTime();
+    Metrics.record(this.timerName, endTime - startTime);
     return this;
   }
 }
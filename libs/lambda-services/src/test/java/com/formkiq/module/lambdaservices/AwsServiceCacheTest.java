@@ -25,8 +25,10 @@ package com.formkiq.module.lambdaservices;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -45,4 +47,83 @@ public class AwsServiceCacheTest {
     assertEquals(60000L, serviceCache.environmentLong("MISSING", 60000L));
     assertNull(serviceCache.environmentLong("MISSING", null));
   }
+
+  @Test
+  void environmentPositiveInt01() {
+    // given
+    AwsServiceCache serviceCache = new AwsServiceCache().environment(Map.of("VALUE", "12",
+        "INVALID", "abc", "ZERO", "0", "NEGATIVE", "-3", "TOO_LARGE", "3000000000"));
+
+    // then
+    assertEquals(12, serviceCache.environmentPositiveInt("VALUE", 10));
+    assertEquals(10, serviceCache.environmentPositiveInt("INVALID", 10));
+    assertEquals(10, serviceCache.environmentPositiveInt("ZERO", 10));
+    assertEquals(10, serviceCache.environmentPositiveInt("NEGATIVE", 10));
+    assertEquals(10, serviceCache.environmentPositiveInt("TOO_LARGE", 10));
+    assertEquals(10, serviceCache.environmentPositiveInt("MISSING", 10));
+  }
+
+  @Test
+  void getExtension01() {
+    // given
+    AtomicInteger loads = new AtomicInteger();
+    AwsServiceCache serviceCache = new AwsServiceCache().environment(Map.of());
+    serviceCache.register(StringBuilder.class, c -> {
+      loads.incrementAndGet();
+      return new StringBuilder("a");
+    });
+
+    // when
+    StringBuilder s0 = serviceCache.getExtension(StringBuilder.class);
+    StringBuilder s1 = serviceCache.getExtension(StringBuilder.class);
+
+    // then
+    assertSame(s0, s1);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void getExtension02() {
+    // given
+    AwsServiceCache serviceCache = new AwsServiceCache().environment(Map.of());
+    serviceCache.register(String.class, new ClassServiceExtension<>("a"));
+    assertEquals("a", serviceCache.getExtension(String.class));
+
+    // when
+    serviceCache.register(String.class, new ClassServiceExtension<>("b"));
+
+    // then
+    assertEquals("b", serviceCache.getExtension(String.class));
+
+    // when
+    serviceCache.deregister(String.class);
+
+    // then
+    assertNull(serviceCache.getExtensionOrNull(String.class));
+  }
+
+  @Test
+  void warmUp01() {
+    // given
+    AtomicInteger loads = new AtomicInteger();
+    AwsServiceCache serviceCache = new AwsServiceCache().environment(Map.of());
+    serviceCache.register(StringBuilder.class, c -> {
+      loads.incrementAndGet();
+      return new StringBuilder("a");
+    });
+    serviceCache.register(String.class, c -> {
+      throw new IllegalStateException("missing config");
+    });
+    serviceCache.register(Integer.class, new ClassServiceExtension<>(1));
+    serviceCache.registerAppend(Integer.class, new ClassServiceExtension<>(2));
+
+    // when
+    int count = serviceCache.warmUp();
+    serviceCache.getExtension(StringBuilder.class);
+
+    // then
+    assertEquals(1, count);
+    assertEquals(1, loads.get());
+    assertEquals(2, serviceCache.getExtensions(Integer.class).size());
+  }
 }
@@ -0,0 +1,110 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link BoundedExecutor}. */
+public class BoundedExecutorTest {
+
+  @Test
+  void invokeAll01() throws Exception {
+    // given
+    final int max = 3;
+    BoundedExecutor executor = new BoundedExecutor(max);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+
+    List<Callable<Integer>> tasks = IntStream.range(0, 20).<Callable<Integer>>mapToObj(i -> () -> {
+      peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+      TimeUnit.MILLISECONDS.sleep(10);
+      running.decrementAndGet();
+      return i;
+    }).toList();
+
+    // when
+    List<Integer> results = executor.invokeAll(tasks);
+
+    // then
+    assertEquals(IntStream.range(0, 20).boxed().toList(), results);
+    assertTrue(peak.get() <= max);
+  }
+
+  @Test
+  void invokeAll02() {
+    // given
+    BoundedExecutor executor = new BoundedExecutor(2);
+    List<Callable<String>> tasks = List.of(() -> "a", () -> {
+      throw new IOException("failed");
+    });
+
+    // when
+    ExecutionException e = assertThrows(ExecutionException.class, () -> executor.invokeAll(tasks));
+
+    // then
+    assertEquals("failed", BoundedExecutor.unwrap(e).getMessage());
+  }
+
+  /**
+   * A failing task does not return before a slower task is done.
+   */
+  @Test
+  void invokeAll03() {
+    // given
+    BoundedExecutor executor = new BoundedExecutor(2);
+    AtomicBoolean done = new AtomicBoolean(false);
+    List<Callable<String>> tasks = List.of(() -> {
+      throw new IOException("failed");
+    }, () -> {
+      TimeUnit.MILLISECONDS.sleep(200);
+      done.set(true);
+      return "slow";
+    });
+
+    // when
+    ExecutionException e = assertThrows(ExecutionException.class, () -> executor.invokeAll(tasks));
+
+    // then
+    assertEquals("failed", BoundedExecutor.unwrap(e).getMessage());
+    assertTrue(done.get());
+  }
+
+  @Test
+  void constructor01() {
+    assertThrows(IllegalArgumentException.class, () -> new BoundedExecutor(0));
+  }
+}
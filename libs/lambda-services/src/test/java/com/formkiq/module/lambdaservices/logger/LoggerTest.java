@@ -160,4 +160,35 @@ public class LoggerTest {
     String expectedOutput = "This is a test message.\n";
     assertEquals(expectedOutput, outputStream.toString(StandardCharsets.UTF_8));
   }
+
+  /**
+   * Log JSON writes the JSON unwrapped in JSON format.
+   */
+  @Test
+  public void testLogJson01() {
+    // given
+    String json = "{\"_aws\":{\"Timestamp\":1},\"Count\":1}";
+
+    // when
+    logger.logJson(LogLevel.INFO, json);
+    logger.logJson(LogLevel.DEBUG, json);
+
+    // then
+    assertEquals(json + "\n", outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Log JSON defaults to log for other {@link Logger} implementations.
+   */
+  @Test
+  public void testLogJson02() {
+    // given
+    LoggerRecorder recorder = new LoggerRecorder();
+
+    // when
+    recorder.logJson(LogLevel.INFO, "{}");
+
+    // then
+    assertEquals(List.of("{}"), recorder.getMessages());
+  }
 }
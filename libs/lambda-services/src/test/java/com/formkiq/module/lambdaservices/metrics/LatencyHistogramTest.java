@@ -0,0 +1,72 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link LatencyHistogram}. */
+public class LatencyHistogramTest {
+
+  @Test
+  void bucketIndex01() {
+    // given
+    final long[] values = {0, 1, 63, 64, 65, 127, 128, 1_000_000, 123_456_789_012L};
+
+    for (long value : values) {
+      // when
+      int index = LatencyHistogram.bucketIndex(value);
+      long highest = LatencyHistogram.bucketHighestValue(index);
+
+      // then
+      assertTrue(highest >= value);
+      assertTrue(highest - value <= value / 32, "value " + value);
+      assertEquals(index, LatencyHistogram.bucketIndex(highest));
+    }
+  }
+
+  @Test
+  void snapshot01() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    // when
+    HistogramSnapshot s = histogram.snapshot("test", true);
+
+    // then
+    assertEquals(1000, s.count());
+    assertEquals(500_500_000L, s.sum());
+    assertEquals(1_000_000L, s.max());
+    assertEquals(500_000, s.p50(), 500_000 / 32.0);
+    assertEquals(990_000, s.p99(), 990_000 / 32.0);
+    assertEquals(1000, s.values().values().stream().mapToLong(Long::longValue).sum());
+    assertTrue(s.values().keySet().stream().allMatch(v -> v >= 1000 && v <= 1_000_000 * 33 / 32));
+    assertEquals(0, histogram.snapshot("test", false).count());
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+/** Unit tests for {@link MetricsFormatter}. */
+public class MetricsFormatterTest {
+
+  /** {@link Gson}. */
+  private static final Gson GSON = new Gson();
+
+  private static HistogramSnapshot timer(final String name, final Map<Long, Long> values) {
+    long count = values.values().stream().mapToLong(Long::longValue).sum();
+    long sum = values.entrySet().stream().mapToLong(e -> e.getKey() * e.getValue()).sum();
+    long max = values.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+    return new HistogramSnapshot(name, count, sum, max, 0, 0, 0, new TreeMap<>(values));
+  }
+
+  /**
+   * EMF timers carry the raw latency values and counters their count.
+   */
+  @Test
+  void toEmf01() {
+    // given
+    MetricsSnapshot snapshot =
+        new MetricsSnapshot(List.of(timer("DynamoDB.Query", Map.of(2_000_000L, 2L))),
+            Map.of("DynamoDB.Query.errors", 1L));
+
+    // when
+    List<String> lines = MetricsFormatter.toEmf("FormKiQ", snapshot, 1L);
+
+    // then
+    assertEquals(2, lines.size());
+    assertEquals("{\"_aws\":{\"Timestamp\":1,\"CloudWatchMetrics\":[{\"Namespace\":\"FormKiQ\","
+        + "\"Dimensions\":[[\"Operation\"]],\"Metrics\":[{\"Name\":\"Latency\","
+        + "\"Unit\":\"Milliseconds\"}]}]},\"Operation\":\"DynamoDB.Query\","
+        + "\"Latency\":[2.000,2.000]}", lines.get(0));
+    assertEquals("{\"_aws\":{\"Timestamp\":1,\"CloudWatchMetrics\":[{\"Namespace\":\"FormKiQ\","
+        + "\"Dimensions\":[[\"Counter\"]],\"Metrics\":[{\"Name\":\"Count\","
+        + "\"Unit\":\"Count\"}]}]},\"Counter\":\"DynamoDB.Query.errors\",\"Count\":1}",
+        lines.get(1));
+
+    for (String line : lines) {
+      assertTrue(GSON.fromJson(line, Map.class).containsKey("_aws"));
+    }
+  }
+
+  /**
+   * EMF timers with more than the maximum values are split across lines.
+   */
+  @Test
+  void toEmf02() {
+    // given
+    final long count = 250;
+    MetricsSnapshot snapshot = new MetricsSnapshot(
+        List.of(timer("api.GET /documents", Map.of(1_000_000L, count - 1, 5_000_000L, 1L))),
+        Map.of());
+
+    // when
+    List<String> lines = MetricsFormatter.toEmf("FormKiQ \"test\"", snapshot, 1L);
+
+    // then
+    assertEquals(3, lines.size());
+
+    long total = 0;
+    for (String line : lines) {
+      Map<String, Object> map = GSON.fromJson(line, Map.class);
+      assertEquals("api.GET /documents", map.get("Operation"));
+      List<Double> values = (List<Double>) map.get("Latency");
+      assertTrue(values.size() <= MetricsFormatter.MAX_EMF_VALUES);
+      total += values.size();
+    }
+
+    assertEquals(count, total);
+    assertTrue(lines.get(0).contains("\"Namespace\":\"FormKiQ \\\"test\\\"\""));
+    assertTrue(lines.get(2).endsWith(",5.000]}"));
+  }
+
+  /**
+   * Empty snapshot has no EMF lines.
+   */
+  @Test
+  void toEmf03() {
+    assertEquals(0,
+        MetricsFormatter.toEmf("FormKiQ", new MetricsSnapshot(List.of(), Map.of()), 1L).size());
+  }
+
+  /**
+   * Prometheus timers are summaries in seconds and counters are totals.
+   */
+  @Test
+  void toPrometheus01() {
+    // given
+    HistogramSnapshot timer = new HistogramSnapshot("DynamoDB.Query", 2, 3_000_000L, 2_000_000L,
+        1_000_000L, 2_000_000L, 2_000_000L, Map.of(1_000_000L, 1L, 2_000_000L, 1L));
+    MetricsSnapshot snapshot =
+        new MetricsSnapshot(List.of(timer), Map.of("DynamoDB.Query.errors", 1L));
+
+    // when
+    String prometheus = MetricsFormatter.toPrometheus(snapshot);
+
+    // then
+    final String label = "formkiq_operation_latency_seconds{operation=\"DynamoDB.Query\"";
+    assertEquals("# TYPE formkiq_operation_latency_seconds summary\n" + label
+        + ",quantile=\"0.5\"} 0.001000000\n" + label + ",quantile=\"0.9\"} 0.002000000\n" + label
+        + ",quantile=\"0.99\"} 0.002000000\n"
+        + "formkiq_operation_latency_seconds_sum{operation=\"DynamoDB.Query\"} 0.003000000\n"
+        + "formkiq_operation_latency_seconds_count{operation=\"DynamoDB.Query\"} 2\n"
+        + "# TYPE formkiq_counter_total counter\n"
+        + "formkiq_counter_total{name=\"DynamoDB.Query.errors\"} 1\n", prometheus);
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.formkiq.module.lambdaservices.AwsServiceCache;
+import com.formkiq.module.lambdaservices.logger.LoggerRecorder;
+import com.google.gson.Gson;
+
+/** Unit tests for {@link Metrics}. */
+public class MetricsTest {
+
+  /** {@link Gson}. */
+  private static final Gson GSON = new Gson();
+
+  private static List<String> lines(final LoggerRecorder logger, final String name) {
+    return logger.getMessages().stream().filter(m -> m.contains("\"" + name + "\"")).toList();
+  }
+
+  /**
+   * Publish EMF writes the metrics to the {@link LoggerRecorder} and resets them.
+   */
+  @Test
+  void publishEmf01() {
+    // given
+    String name = "test." + System.nanoTime();
+    Metrics.record(name, 1_000_000L);
+    Metrics.record(name, 3_000_000L);
+    Metrics.increment(name + ".errors");
+    LoggerRecorder logger = new LoggerRecorder();
+
+    // when
+    Metrics.publishEmf(logger, "FormKiQ");
+
+    // then
+    List<String> timers = lines(logger, name);
+    assertEquals(1, timers.size());
+    Map<String, Object> emf = GSON.fromJson(timers.get(0), Map.class);
+    assertEquals(name, emf.get("Operation"));
+    assertEquals(2, ((List<?>) emf.get("Latency")).size());
+    assertEquals(1, lines(logger, name + ".errors").size());
+
+    // when
+    logger = new LoggerRecorder();
+    Metrics.publishEmf(logger, "FormKiQ");
+
+    // then
+    assertEquals(0, lines(logger, name).size());
+  }
+
+  /**
+   * Publish EMF only publishes when running in AWS Lambda.
+   */
+  @Test
+  void publishEmf02() {
+    // given
+    String name = "test." + System.nanoTime();
+    LoggerRecorder logger = new LoggerRecorder();
+    AwsServiceCache services = new AwsServiceCache().environment(Map.of()).setLogger(logger);
+    Metrics.record(name, 1_000_000L);
+
+    // when
+    Metrics.publishEmf(services);
+
+    // then
+    assertEquals(0, lines(logger, name).size());
+
+    // when
+    services.environment(Map.of("AWS_LAMBDA_FUNCTION_NAME", "test", "METRICS_NAMESPACE", "Custom"));
+    Metrics.publishEmf(services);
+
+    // then
+    List<String> timers = lines(logger, name);
+    assertEquals(1, timers.size());
+    assertTrue(timers.get(0).contains("\"Namespace\":\"Custom\""));
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ * 
+ * Copyright (c) 2018 - 2020 FormKiQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.formkiq.module.lambdaservices.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.formkiq.module.lambdaservices.logger.LogLevel;
+import com.formkiq.module.lambdaservices.logger.LoggerImpl;
+import com.formkiq.module.lambdaservices.logger.LogType;
+import com.formkiq.module.lambdaservices.logger.LoggerRecorder;
+import com.formkiq.module.lambdaservices.metrics.HistogramSnapshot;
+import com.formkiq.module.lambdaservices.metrics.Metrics;
+
+/** Unit tests for {@link MethodTimer}. */
+public class MethodTimerTest {
+
+  private static long count(final String name) {
+    return Metrics.snapshot(false).timers().stream().filter(t -> t.name().equals(name))
+        .mapToLong(HistogramSnapshot::count).sum();
+  }
+
+  /**
+   * Timer runs the task and records it when TRACE logging is disabled.
+   */
+  @Test
+  void timer01() {
+    // given
+    String name = "timer." + System.nanoTime();
+    AtomicBoolean ran = new AtomicBoolean(false);
+
+    // when
+    MethodTimer.timer(new LoggerImpl(LogLevel.INFO, LogType.TEXT), name, () -> ran.set(true));
+
+    // then
+    assertTrue(ran.get());
+    assertEquals(1, count(name));
+  }
+
+  /**
+   * Timer records and logs the elapsed time when the task throws.
+   */
+  @Test
+  void timer02() {
+    // given
+    String name = "timer." + System.nanoTime();
+    LoggerRecorder logger = new LoggerRecorder();
+
+    // when
+    assertThrows(IllegalStateException.class, () -> MethodTimer.timer(logger, name, () -> {
+      throw new IllegalStateException("failed");
+    }));
+
+    // then
+    assertEquals(1, count(name));
+    assertTrue(logger.containsString(name + ": elapsed time in milliseconds: "));
+  }
+
+  /**
+   * Stopped timer reports its elapsed time.
+   */
+  @Test
+  void stop01() {
+    // given
+    String name = "timer." + System.nanoTime();
+    MethodTimer timer = MethodTimer.startTimer(name);
+
+    // when
+    timer.stop();
+
+    // then
+    assertTrue(timer.getElapsedTimeNanos() >= 0);
+    assertEquals(1, count(name));
+    assertThrows(IllegalStateException.class, () -> new MethodTimer().getElapsedTime());
+    assertThrows(IllegalStateException.class, () -> new MethodTimer().stop());
+  }
+}
@@ -29,6 +29,7 @@ import com.formkiq.aws.sqs.SqsServiceImpl;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
 import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
 import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
 import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
@@ -38,6 +39,8 @@ import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
 
+import java.util.List;
+
 /**
  * 
  * {@link SqsService} configured specifically for FormKiQ.
@@ -67,6 +70,12 @@ public class FkqSqsService implements SqsService {
     return this.service.addPermission(request);
   }
 
+  @Override
+  public void changeMessageVisibility(final String queueUrl, final String receiptHandle,
+      final int visibilityTimeoutInSeconds) {
+    this.service.changeMessageVisibility(queueUrl, receiptHandle, visibilityTimeoutInSeconds);
+  }
+
   @Override
   public void clearQueue(final String queueUrl) {
     this.service.clearQueue(queueUrl);
@@ -87,6 +96,12 @@ public class FkqSqsService implements SqsService {
     this.service.deleteMessage(queueUrl, receiptHandle);
   }
 
+  @Override
+  public List<BatchResultErrorEntry> deleteMessages(final String queueUrl,
+      final List<String> receiptHandles) {
+    return this.service.deleteMessages(queueUrl, receiptHandles);
+  }
+
   @Override
   public DeleteQueueResponse deleteQueue(final String queueUrl) {
     return this.service.deleteQueue(queueUrl);
@@ -102,6 +117,11 @@ public class FkqSqsService implements SqsService {
     return this.service.getQueueArn(queueUrl);
   }
 
+  @Override
+  public int getVisibilityTimeout(final String queueUrl) {
+    return this.service.getVisibilityTimeout(queueUrl);
+  }
+
   @Override
   public ListQueuesResponse listQueues(final String queueNamePrefix) {
     return this.service.listQueues(queueNamePrefix);
@@ -118,11 +138,23 @@ public class FkqSqsService implements SqsService {
     return this.service.receiveMessages(queueUrl, maxNumberOfMessages);
   }
 
+  @Override
+  public ReceiveMessageResponse receiveMessages(final String queueUrl,
+      final int maxNumberOfMessages, final int waitTimeSeconds) {
+    return this.service.receiveMessages(queueUrl, maxNumberOfMessages, waitTimeSeconds);
+  }
+
   @Override
   public SendMessageResponse sendMessage(final String queueUrl, final String message) {
     return this.service.sendMessage(queueUrl, message);
   }
 
+  @Override
+  public List<BatchResultErrorEntry> sendMessages(final String queueUrl,
+      final List<String> messages) {
+    return this.service.sendMessages(queueUrl, messages);
+  }
+
   @Override
   public SetQueueAttributesResponse setQueueAttributes(final SetQueueAttributesRequest request) {
     return this.service.setQueueAttributes(request);